@@ -0,0 +1,133 @@
+package com.justdavis.jessentials.jversionsanity;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.justdavis.jessentials.jversionsanity.range.VersionRangeParseException;
+import com.justdavis.jessentials.jversionsanity.range.interval.IntervalVersionRange;
+import com.justdavis.jessentials.jversionsanity.semver.SemanticVersion;
+import com.justdavis.jessentials.jversionsanity.semver.SemanticVersionParser;
+
+/**
+ * JMH benchmarks for validating a batch of version and version range
+ * {@link String}s, one in five of which are malformed, via
+ * {@link VersionParser#tryParseVersion(String)} and
+ * {@link IntervalVersionRange#tryParseRange(VersionParser, String)}, compared
+ * to calling the throwing parse methods and catching their exceptions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParseResultBenchmark {
+	private static final String[] VERSION_STRINGS = { "1.4.2", "2.0.0-rc.1", "1.4", "0.9.12+build.7", "3.1.0" };
+	private static final String[] RANGE_STRINGS = { "[1.0.0,2.0.0)", "[1.4.2]", "[1.0.0,2.0", "(,3.0.0]",
+			"[2.0.0-rc.1,)" };
+
+	/**
+	 * The number of times each of the sample {@link String}s appears in each
+	 * batch.
+	 */
+	private static final int BATCH_REPEATS = 20;
+
+	private VersionParser<SemanticVersion> parser;
+	private String[] versionStrings;
+	private String[] rangeStrings;
+
+	/**
+	 * Creates the inputs used by each benchmark method.
+	 */
+	@Setup
+	public void setup() {
+		this.parser = new SemanticVersionParser();
+		this.versionStrings = repeat(VERSION_STRINGS);
+		this.rangeStrings = repeat(RANGE_STRINGS);
+	}
+
+	/**
+	 * @param samples
+	 *            the sample {@link String}s to repeat
+	 * @return a new array containing {@link #BATCH_REPEATS} copies of the
+	 *         specified samples
+	 */
+	private static String[] repeat(String[] samples) {
+		String[] batch = new String[samples.length * BATCH_REPEATS];
+		for (int i = 0; i < batch.length; i++)
+			batch[i] = samples[i % samples.length];
+		return batch;
+	}
+
+	/**
+	 * @return the number of valid {@link String}s found by
+	 *         {@link VersionParser#parseVersion(String)}
+	 */
+	@Benchmark
+	public int validateVersionsWithParse() {
+		int valid = 0;
+		for (String versionString : versionStrings) {
+			try {
+				parser.parseVersion(versionString);
+				valid++;
+			} catch (VersionParseException e) {
+				// Malformed, which is what's being counted here.
+			}
+		}
+		return valid;
+	}
+
+	/**
+	 * @return the number of valid {@link String}s found by
+	 *         {@link VersionParser#tryParseVersion(String)}
+	 */
+	@Benchmark
+	public int validateVersionsWithTryParse() {
+		int valid = 0;
+		for (String versionString : versionStrings)
+			if (parser.tryParseVersion(versionString).isSuccess())
+				valid++;
+		return valid;
+	}
+
+	/**
+	 * @return the number of valid {@link String}s found by
+	 *         {@link IntervalVersionRange#parse(VersionParser, String)}
+	 */
+	@Benchmark
+	public int validateRangesWithParse() {
+		int valid = 0;
+		for (String rangeString : rangeStrings) {
+			try {
+				IntervalVersionRange.parse(parser, rangeString);
+				valid++;
+			} catch (VersionRangeParseException e) {
+				// Malformed, which is what's being counted here.
+			}
+		}
+		return valid;
+	}
+
+	/**
+	 * @return the number of valid {@link String}s found by
+	 *         {@link IntervalVersionRange#tryParseRange(VersionParser, String)}
+	 */
+	@Benchmark
+	public int validateRangesWithTryParse() {
+		int valid = 0;
+		for (String rangeString : rangeStrings)
+			if (IntervalVersionRange.tryParseRange(parser, rangeString).isSuccess())
+				valid++;
+		return valid;
+	}
+}
@@ -0,0 +1,115 @@
+package com.justdavis.jessentials.jversionsanity.bareint;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.justdavis.jessentials.jversionsanity.range.interval.UnionVersionRange;
+
+/**
+ * JMH benchmarks for {@link BitSetVersionRange}: intersecting many consumer
+ * constraints via {@link BitSetVersionRange#intersectAll(java.util.Collection)}
+ * , compared to {@link UnionVersionRange#intersect(com.justdavis.jessentials.jversionsanity.range.VersionRange)}
+ * , and {@link BitSetVersionRange#matchesInt(int)}, compared to
+ * {@link UnionVersionRange#matches(IntegerVersion)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BitSetVersionRangeBenchmark {
+	/**
+	 * The number of constraints to intersect.
+	 */
+	@Param({ "100", "10000" })
+	public int constraintCount;
+
+	private List<UnionVersionRange<IntegerVersion>> unionRanges;
+	private List<BitSetVersionRange> bitSetRanges;
+
+	/**
+	 * Creates random (but overlapping) constraints over API versions
+	 * <code>0</code> through <code>10000</code>, each with a couple of
+	 * excluded versions.
+	 */
+	@Setup
+	public void setup() {
+		Random random = new Random(42L);
+		IntegerVersionParser parser = new IntegerVersionParser();
+		this.unionRanges = new ArrayList<UnionVersionRange<IntegerVersion>>(constraintCount);
+		this.bitSetRanges = new ArrayList<BitSetVersionRange>(constraintCount);
+		for (int i = 0; i < constraintCount; i++) {
+			int lower = random.nextInt(1000);
+			int excluded = 2000 + random.nextInt(6000);
+			int upper = 9000 + random.nextInt(1000);
+			UnionVersionRange<IntegerVersion> range = new UnionVersionRange<IntegerVersion>(parser,
+					"[" + lower + "," + excluded + "),(" + excluded + "," + upper + "]");
+			unionRanges.add(range);
+			bitSetRanges.add(BitSetVersionRange.valueOf(range));
+		}
+	}
+
+	/**
+	 * @return the intersection of all of the constraints, computed by
+	 *         {@link BitSetVersionRange#intersectAll(java.util.Collection)}
+	 */
+	@Benchmark
+	public BitSetVersionRange intersectBitSets() {
+		return BitSetVersionRange.intersectAll(bitSetRanges);
+	}
+
+	/**
+	 * @return the intersection of all of the constraints, computed by
+	 *         repeatedly calling
+	 *         {@link UnionVersionRange#intersect(com.justdavis.jessentials.jversionsanity.range.VersionRange)}
+	 */
+	@Benchmark
+	public UnionVersionRange<IntegerVersion> intersectUnions() {
+		UnionVersionRange<IntegerVersion> intersection = unionRanges.get(0);
+		for (int i = 1; i < unionRanges.size(); i++)
+			intersection = intersection.intersect(unionRanges.get(i));
+		return intersection;
+	}
+
+	/**
+	 * @return the number of constraints that match version <code>5000</code>,
+	 *         counted via {@link BitSetVersionRange#matchesInt(int)}
+	 */
+	@Benchmark
+	public int matchBitSets() {
+		int matches = 0;
+		for (int i = 0; i < bitSetRanges.size(); i++)
+			if (bitSetRanges.get(i).matchesInt(5000))
+				matches++;
+		return matches;
+	}
+
+	/**
+	 * @return the number of constraints that match version <code>5000</code>,
+	 *         counted via {@link UnionVersionRange#matches(IntegerVersion)}
+	 */
+	@Benchmark
+	public int matchUnions() {
+		IntegerVersion version = IntegerVersion.valueOf(5000);
+		int matches = 0;
+		for (int i = 0; i < unionRanges.size(); i++)
+			if (unionRanges.get(i).matches(version))
+				matches++;
+		return matches;
+	}
+}
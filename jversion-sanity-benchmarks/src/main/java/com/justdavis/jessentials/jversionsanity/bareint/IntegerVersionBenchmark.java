@@ -0,0 +1,99 @@
+package com.justdavis.jessentials.jversionsanity.bareint;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.justdavis.jessentials.jversionsanity.VersionParser;
+
+/**
+ * JMH benchmarks for {@link IntegerVersion} and {@link IntegerVersionParser}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IntegerVersionBenchmark {
+	/**
+	 * The {@link String}s to parse in {@link #parseVersion()}: canonical,
+	 * padded, and maximum-length inputs.
+	 */
+	@Param({ "0", "42", " 00 ", "2147483647" })
+	public String versionString;
+
+	private VersionParser<IntegerVersion> parser;
+	private ByteBuffer versionBytes;
+	private IntegerVersion lower;
+	private IntegerVersion lowerCopy;
+	private IntegerVersion higher;
+
+	/**
+	 * Creates the inputs used by each benchmark method.
+	 */
+	@Setup
+	public void setup() {
+		this.parser = new IntegerVersionParser();
+		this.versionBytes = ByteBuffer.wrap(versionString.getBytes(StandardCharsets.US_ASCII));
+		this.lower = parser.parseVersion(versionString);
+		this.lowerCopy = parser.parseVersion(versionString);
+		this.higher = new IntegerVersion(Integer.MAX_VALUE);
+	}
+
+	/**
+	 * @return the result of {@link IntegerVersionParser#parseVersion(String)}
+	 */
+	@Benchmark
+	public IntegerVersion parseVersion() {
+		return parser.parseVersion(versionString);
+	}
+
+	/**
+	 * @return the result of
+	 *         {@link IntegerVersionParser#parseVersion(ByteBuffer)}, for the
+	 *         ASCII encoding of the same {@link String}s
+	 */
+	@Benchmark
+	public IntegerVersion parseVersionByteBuffer() {
+		return parser.parseVersion(versionBytes);
+	}
+
+	/**
+	 * @return the result of
+	 *         {@link IntegerVersion#compareTo(com.justdavis.jessentials.jversionsanity.Version)}
+	 */
+	@Benchmark
+	public int compareTo() {
+		return lower.compareTo(higher);
+	}
+
+	/**
+	 * @return the result of {@link IntegerVersion#equals(Object)}, for two
+	 *         equivalent but distinct instances
+	 */
+	@Benchmark
+	public boolean equalsEquivalent() {
+		return lower.equals(lowerCopy);
+	}
+
+	/**
+	 * @return the result of {@link IntegerVersion#hashCode()}
+	 */
+	@Benchmark
+	public int hashCodeVersion() {
+		return lower.hashCode();
+	}
+}
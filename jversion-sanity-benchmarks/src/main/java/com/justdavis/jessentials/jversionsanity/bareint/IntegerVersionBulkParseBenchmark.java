@@ -0,0 +1,80 @@
+package com.justdavis.jessentials.jversionsanity.bareint;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.justdavis.jessentials.jversionsanity.ParseResults;
+import com.justdavis.jessentials.jversionsanity.VersionParseException;
+import com.justdavis.jessentials.jversionsanity.VersionParser;
+
+/**
+ * JMH benchmarks for {@link IntegerVersionParser#parseAll(java.util.stream.Stream)}
+ * , compared to parsing the same version dump one entry at a time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IntegerVersionBulkParseBenchmark {
+	/**
+	 * The number of version {@link String}s in the dump, one in a hundred of
+	 * which are malformed.
+	 */
+	@Param({ "10000", "1000000" })
+	public int dumpSize;
+
+	private VersionParser<IntegerVersion> parser;
+	private String[] versionStrings;
+
+	/**
+	 * Creates the inputs used by each benchmark method.
+	 */
+	@Setup
+	public void setup() {
+		this.parser = new IntegerVersionParser();
+		this.versionStrings = new String[dumpSize];
+		for (int i = 0; i < dumpSize; i++)
+			versionStrings[i] = i % 100 == 99 ? i + ".0" : Integer.toString(i);
+	}
+
+	/**
+	 * @return the {@link IntegerVersion}s parsed by calling
+	 *         {@link IntegerVersionParser#parseVersion(String)} for each entry
+	 */
+	@Benchmark
+	public List<IntegerVersion> parseSequentially() {
+		IntegerVersion[] versions = new IntegerVersion[versionStrings.length];
+		for (int i = 0; i < versionStrings.length; i++) {
+			try {
+				versions[i] = parser.parseVersion(versionStrings[i]);
+			} catch (VersionParseException e) {
+				// Leave the entry null.
+			}
+		}
+		return Arrays.asList(versions);
+	}
+
+	/**
+	 * @return the result of
+	 *         {@link IntegerVersionParser#parseAll(java.util.stream.Stream)}
+	 */
+	@Benchmark
+	public ParseResults<IntegerVersion> parseAll() {
+		return parser.parseAll(Arrays.stream(versionStrings));
+	}
+}
@@ -0,0 +1,101 @@
+package com.justdavis.jessentials.jversionsanity.dotted;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.justdavis.jessentials.jversionsanity.range.interval.IntervalVersionRange;
+
+/**
+ * JMH benchmarks for {@link DottedPrefixVersionRange} and
+ * {@link DottedVersionTrie}, compared to the hand-expanded
+ * {@link IntervalVersionRange} for the same prefix.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DottedPrefixVersionRangeBenchmark {
+	/**
+	 * The number of versions in the catalog.
+	 */
+	@Param({ "100", "10000" })
+	public int versionCount;
+
+	private DottedVersion version;
+	private DottedPrefixVersionRange prefixRange;
+	private IntervalVersionRange<DottedVersion> intervalRange;
+	private List<DottedVersion> versions;
+	private DottedVersionTrie trie;
+
+	/**
+	 * Creates the "<code>1.2.*</code>" range, its equivalent interval, and a
+	 * catalog of versions spread across several minor versions.
+	 */
+	@Setup
+	public void setup() {
+		this.version = new DottedVersion("1.2.17");
+		this.prefixRange = new DottedPrefixVersionRange("1.2.*");
+		this.intervalRange = new IntervalVersionRange<DottedVersion>(new DottedVersionParser(), "[1.2,1.3)");
+
+		this.versions = new ArrayList<DottedVersion>(versionCount);
+		for (int i = 0; i < versionCount; i++)
+			versions.add(new DottedVersion(1, i % 5, i / 5));
+		this.trie = new DottedVersionTrie(versions);
+	}
+
+	/**
+	 * @return the result of
+	 *         {@link DottedPrefixVersionRange#matches(DottedVersion)}
+	 */
+	@Benchmark
+	public boolean matchesPrefix() {
+		return prefixRange.matches(version);
+	}
+
+	/**
+	 * @return the result of {@link IntervalVersionRange#matches(com.justdavis.jessentials.jversionsanity.Version)}
+	 *         for the equivalent interval
+	 */
+	@Benchmark
+	public boolean matchesInterval() {
+		return intervalRange.matches(version);
+	}
+
+	/**
+	 * @return the result of
+	 *         {@link DottedVersionTrie#allMatching(DottedPrefixVersionRange)}
+	 */
+	@Benchmark
+	public List<DottedVersion> allMatchingTrie() {
+		return trie.allMatching(prefixRange);
+	}
+
+	/**
+	 * @return the catalog versions matching the prefix, found by calling
+	 *         {@link DottedPrefixVersionRange#matches(DottedVersion)} on each
+	 *         of them
+	 */
+	@Benchmark
+	public List<DottedVersion> allMatchingScan() {
+		List<DottedVersion> matches = new ArrayList<DottedVersion>();
+		for (DottedVersion candidate : versions)
+			if (prefixRange.matches(candidate))
+				matches.add(candidate);
+		return matches;
+	}
+}
@@ -0,0 +1,84 @@
+package com.justdavis.jessentials.jversionsanity.dotted;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.justdavis.jessentials.jversionsanity.VersionParser;
+
+/**
+ * JMH benchmarks for {@link DottedVersion} and {@link DottedVersionParser}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DottedVersionBenchmark {
+	/**
+	 * The {@link String}s to parse in {@link #parseVersion()}, and to compare
+	 * against a version with the same numeric components (and a different
+	 * qualifier) in {@link #compareTo()}.
+	 */
+	@Param({ "1.2.3.4", "2.0-rc1", "5.3.0.RELEASE" })
+	public String versionString;
+
+	private VersionParser<DottedVersion> parser;
+	private DottedVersion version;
+	private DottedVersion other;
+	private DottedVersion[] unsorted;
+
+	/**
+	 * Creates the inputs used by each benchmark method.
+	 */
+	@Setup
+	public void setup() {
+		this.parser = new DottedVersionParser();
+		this.version = parser.parseVersion(versionString);
+		this.other = parser.parseVersion(versionString.replaceAll("[-.]?[A-Za-z].*$", "") + "-SNAPSHOT");
+
+		this.unsorted = new DottedVersion[1000];
+		for (int i = 0; i < unsorted.length; i++)
+			unsorted[i] = new DottedVersion(1, (i * 7919) % 37, (i * 104729) % 101, i % 3);
+	}
+
+	/**
+	 * @return the result of {@link DottedVersionParser#parseVersion(String)}
+	 */
+	@Benchmark
+	public DottedVersion parseVersion() {
+		return parser.parseVersion(versionString);
+	}
+
+	/**
+	 * @return the result of
+	 *         {@link DottedVersion#compareTo(com.justdavis.jessentials.jversionsanity.Version)}
+	 *         , against a version with the same numeric components
+	 */
+	@Benchmark
+	public int compareTo() {
+		return version.compareTo(other);
+	}
+
+	/**
+	 * @return a sorted copy of 1000 {@link DottedVersion}s
+	 */
+	@Benchmark
+	public DottedVersion[] sort() {
+		DottedVersion[] sorted = unsorted.clone();
+		Arrays.sort(sorted);
+		return sorted;
+	}
+}
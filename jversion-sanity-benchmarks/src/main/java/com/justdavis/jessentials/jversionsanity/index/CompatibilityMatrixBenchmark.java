@@ -0,0 +1,92 @@
+package com.justdavis.jessentials.jversionsanity.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersion;
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersionParser;
+import com.justdavis.jessentials.jversionsanity.range.VersionRange;
+import com.justdavis.jessentials.jversionsanity.range.interval.IntervalVersionRange;
+
+/**
+ * JMH benchmarks for computing a {@link CompatibilityMatrix}, compared to
+ * filling in a <code>boolean[][]</code> by calling
+ * {@link VersionRange#matches(com.justdavis.jessentials.jversionsanity.Version)}
+ * for every pair of range and version.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompatibilityMatrixBenchmark {
+	/**
+	 * The number of versions (columns) in the matrix.
+	 */
+	@Param({ "2000" })
+	public int versionCount;
+
+	/**
+	 * The number of ranges (rows) in the matrix.
+	 */
+	@Param({ "100", "20000" })
+	public int rangeCount;
+
+	private List<IntegerVersion> versions;
+	private List<VersionRange<IntegerVersion>> ranges;
+
+	/**
+	 * Creates the versions, and random ranges over them of varying widths.
+	 */
+	@Setup
+	public void setup() {
+		this.versions = new ArrayList<IntegerVersion>(versionCount);
+		for (int i = 0; i < versionCount; i++)
+			versions.add(new IntegerVersion(i));
+
+		Random random = new Random(42L);
+		IntegerVersionParser parser = new IntegerVersionParser();
+		this.ranges = new ArrayList<VersionRange<IntegerVersion>>(rangeCount);
+		for (int i = 0; i < rangeCount; i++) {
+			int lower = random.nextInt(versionCount);
+			int upper = lower + 1 + random.nextInt(versionCount / 4);
+			ranges.add(new IntervalVersionRange<IntegerVersion>(parser, "[" + lower + "," + upper + ")"));
+		}
+	}
+
+	/**
+	 * @return a new {@link CompatibilityMatrix} for the versions and ranges
+	 */
+	@Benchmark
+	public CompatibilityMatrix<IntegerVersion> computeMatrix() {
+		return new CompatibilityMatrix<IntegerVersion>(versions, ranges);
+	}
+
+	/**
+	 * @return the equivalent matrix, computed via a nested loop over the ranges
+	 *         and versions
+	 */
+	@Benchmark
+	public boolean[][] computeNestedLoop() {
+		boolean[][] matrix = new boolean[ranges.size()][versions.size()];
+		for (int row = 0; row < ranges.size(); row++)
+			for (int column = 0; column < versions.size(); column++)
+				matrix[row][column] = ranges.get(row).matches(versions.get(column));
+		return matrix;
+	}
+}
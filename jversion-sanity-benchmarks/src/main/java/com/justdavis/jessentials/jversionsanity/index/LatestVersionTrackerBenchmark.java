@@ -0,0 +1,98 @@
+package com.justdavis.jessentials.jversionsanity.index;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersion;
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersionParser;
+import com.justdavis.jessentials.jversionsanity.range.interval.IntervalVersionRange;
+
+/**
+ * JMH benchmarks for {@link LatestVersionTracker}, with reader threads
+ * querying it while writer threads publish new versions to the same
+ * artifacts.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Group)
+public class LatestVersionTrackerBenchmark {
+	/**
+	 * The number of artifacts being tracked.
+	 */
+	@Param({ "100", "100000" })
+	public int artifactCount;
+
+	private String[] artifacts;
+	private LatestVersionTracker<IntegerVersion> tracker;
+	private IntervalVersionRange<IntegerVersion> range;
+
+	/**
+	 * Creates the {@link LatestVersionTracker}, with a few hundred versions
+	 * already published for each artifact.
+	 */
+	@Setup
+	public void setup() {
+		this.artifacts = new String[artifactCount];
+		this.tracker = new LatestVersionTracker<IntegerVersion>();
+		for (int a = 0; a < artifactCount; a++) {
+			artifacts[a] = "artifact-" + a;
+			for (int i = 0; i < 200; i++)
+				tracker.publish(artifacts[a], new IntegerVersion(i * 10));
+		}
+		this.range = new IntervalVersionRange<IntegerVersion>(new IntegerVersionParser(), "[500,1500)");
+	}
+
+	/**
+	 * @return the result of {@link LatestVersionTracker#getLatest(String)} for
+	 *         a random artifact
+	 */
+	@Benchmark
+	@Group("readWrite")
+	@GroupThreads(2)
+	public IntegerVersion getLatest() {
+		return tracker.getLatest(artifacts[ThreadLocalRandom.current().nextInt(artifactCount)]);
+	}
+
+	/**
+	 * @return the result of
+	 *         {@link LatestVersionTracker#getLatestMatching(String, com.justdavis.jessentials.jversionsanity.range.VersionRange)}
+	 *         for a random artifact
+	 */
+	@Benchmark
+	@Group("readWrite")
+	@GroupThreads(2)
+	public IntegerVersion getLatestMatching() {
+		return tracker.getLatestMatching(artifacts[ThreadLocalRandom.current().nextInt(artifactCount)], range);
+	}
+
+	/**
+	 * @return the result of
+	 *         {@link LatestVersionTracker#publish(String, com.justdavis.jessentials.jversionsanity.Version)}
+	 *         for a random version (which may already have been published) of
+	 *         a random artifact
+	 */
+	@Benchmark
+	@Group("readWrite")
+	@GroupThreads(2)
+	public boolean publish() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		return tracker.publish(artifacts[random.nextInt(artifactCount)], new IntegerVersion(random.nextInt(2000)));
+	}
+}
@@ -0,0 +1,108 @@
+package com.justdavis.jessentials.jversionsanity.index;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.justdavis.jessentials.jversionsanity.range.interval.IntervalVersionRange;
+import com.justdavis.jessentials.jversionsanity.semver.SemanticVersion;
+import com.justdavis.jessentials.jversionsanity.semver.SemanticVersionParser;
+
+/**
+ * JMH benchmarks for
+ * {@link MappedVersionCatalog#highestMatching(String, com.justdavis.jessentials.jversionsanity.range.VersionRange)}
+ * and {@link MappedVersionCatalog#open(Path, com.justdavis.jessentials.jversionsanity.VersionParser)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappedVersionCatalogBenchmark {
+	/**
+	 * The number of artifacts to catalog, each of which will have 100
+	 * versions.
+	 */
+	@Param({ "10", "10000" })
+	public int artifactCount;
+
+	private Path catalogFile;
+	private MappedVersionCatalog<SemanticVersion> catalog;
+	private IntervalVersionRange<SemanticVersion> range;
+	private String artifact;
+
+	/**
+	 * Writes and opens the catalog, and creates a range that only matches the
+	 * versions in the lower half of each artifact.
+	 * 
+	 * @throws IOException
+	 *             (indicates a benchmark error)
+	 */
+	@Setup
+	public void setup() throws IOException {
+		this.catalogFile = Files.createTempFile("versions", ".catalog");
+		try (MappedVersionCatalog.Writer<SemanticVersion> writer = new MappedVersionCatalog.Writer<SemanticVersion>(
+				catalogFile)) {
+			for (int i = 0; i < artifactCount; i++)
+				for (int j = 0; j < 100; j++)
+					writer.append(String.format("com.example:artifact-%08d", i), new SemanticVersion(1, j, 0));
+		}
+
+		this.catalog = MappedVersionCatalog.open(catalogFile, new SemanticVersionParser());
+		this.range = new IntervalVersionRange<SemanticVersion>(new SemanticVersionParser(), "[1.0.0,1.50.0)");
+		this.artifact = String.format("com.example:artifact-%08d", artifactCount / 2);
+	}
+
+	/**
+	 * Deletes the catalog file.
+	 * 
+	 * @throws IOException
+	 *             (indicates a benchmark error)
+	 */
+	@TearDown
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(catalogFile);
+	}
+
+	/**
+	 * @return the result of
+	 *         {@link MappedVersionCatalog#highestMatching(String, com.justdavis.jessentials.jversionsanity.range.VersionRange)}
+	 */
+	@Benchmark
+	public SemanticVersion highestMatching() {
+		return catalog.highestMatching(artifact, range);
+	}
+
+	/**
+	 * Note that each call leaves a mapping of the catalog file behind, which
+	 * isn't released until its {@link java.nio.MappedByteBuffer} is garbage
+	 * collected. This benchmark's JVM is run with a small young generation, so
+	 * that collections happen often enough to keep the process from running
+	 * into the OS limit on mappings (<code>vm.max_map_count</code> on Linux).
+	 * 
+	 * @return the result of
+	 *         {@link MappedVersionCatalog#open(Path, com.justdavis.jessentials.jversionsanity.VersionParser)}
+	 * @throws IOException
+	 *             (indicates a benchmark error)
+	 */
+	@Benchmark
+	@Fork(value = 1, jvmArgsAppend = "-Xmn8m")
+	public MappedVersionCatalog<SemanticVersion> open() throws IOException {
+		return MappedVersionCatalog.open(catalogFile, new SemanticVersionParser());
+	}
+}
@@ -0,0 +1,78 @@
+package com.justdavis.jessentials.jversionsanity.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersion;
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersionParser;
+import com.justdavis.jessentials.jversionsanity.range.interval.IntervalVersionRange;
+
+/**
+ * JMH benchmarks for {@link VersionIndex#highestMatching(com.justdavis.jessentials.jversionsanity.range.VersionRange)}
+ * , compared to a linear scan over the same {@link IntegerVersion}s.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VersionIndexBenchmark {
+	/**
+	 * The number of versions to index.
+	 */
+	@Param({ "100", "50000" })
+	public int versionCount;
+
+	private List<IntegerVersion> versions;
+	private VersionIndex<IntegerVersion> index;
+	private IntervalVersionRange<IntegerVersion> range;
+
+	/**
+	 * Creates the versions, and a range that only matches those in the lower
+	 * half of them.
+	 */
+	@Setup
+	public void setup() {
+		this.versions = new ArrayList<IntegerVersion>(versionCount);
+		for (int i = 0; i < versionCount; i++)
+			versions.add(new IntegerVersion(i));
+		this.index = new VersionIndex<IntegerVersion>(versions);
+		this.range = new IntervalVersionRange<IntegerVersion>(new IntegerVersionParser(),
+				"[1," + (versionCount / 2) + ")");
+	}
+
+	/**
+	 * @return the result of
+	 *         {@link VersionIndex#highestMatching(com.justdavis.jessentials.jversionsanity.range.VersionRange)}
+	 */
+	@Benchmark
+	public IntegerVersion highestMatchingIndex() {
+		return index.highestMatching(range);
+	}
+
+	/**
+	 * @return the highest matching version, found by checking every version
+	 */
+	@Benchmark
+	public IntegerVersion highestMatchingLinearScan() {
+		IntegerVersion highest = null;
+		for (IntegerVersion version : versions)
+			if (range.matches(version) && (highest == null || version.compareTo(highest) > 0))
+				highest = version;
+		return highest;
+	}
+}
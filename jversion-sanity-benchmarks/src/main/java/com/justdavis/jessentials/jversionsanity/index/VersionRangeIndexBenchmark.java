@@ -0,0 +1,88 @@
+package com.justdavis.jessentials.jversionsanity.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersion;
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersionParser;
+import com.justdavis.jessentials.jversionsanity.range.VersionRange;
+import com.justdavis.jessentials.jversionsanity.range.interval.IntervalVersionRange;
+
+/**
+ * JMH benchmarks for {@link VersionRangeIndex#findMatching(com.justdavis.jessentials.jversionsanity.Version)}
+ * , compared to calling
+ * {@link VersionRange#matches(com.justdavis.jessentials.jversionsanity.Version)}
+ * on every range.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VersionRangeIndexBenchmark {
+	/**
+	 * The number of ranges to index.
+	 */
+	@Param({ "1000", "100000" })
+	public int rangeCount;
+
+	private List<IntervalVersionRange<IntegerVersion>> ranges;
+	private VersionRangeIndex<IntegerVersion> index;
+	private IntegerVersion version;
+
+	/**
+	 * Creates narrow random ranges spread over a wide span of versions, so
+	 * that only a few of them match any given version.
+	 */
+	@Setup
+	public void setup() {
+		Random random = new Random(42);
+		IntegerVersionParser parser = new IntegerVersionParser();
+		this.ranges = new ArrayList<IntervalVersionRange<IntegerVersion>>(rangeCount);
+		this.index = new VersionRangeIndex<IntegerVersion>();
+		for (int i = 0; i < rangeCount; i++) {
+			int lower = random.nextInt(rangeCount * 10);
+			IntervalVersionRange<IntegerVersion> range = new IntervalVersionRange<IntegerVersion>(parser,
+					"[" + lower + "," + (lower + random.nextInt(50)) + ")");
+			ranges.add(range);
+			index.add(range);
+		}
+		this.version = new IntegerVersion(rangeCount * 5);
+	}
+
+	/**
+	 * @return the result of
+	 *         {@link VersionRangeIndex#findMatching(com.justdavis.jessentials.jversionsanity.Version)}
+	 */
+	@Benchmark
+	public List<VersionRange<IntegerVersion>> findMatchingIndex() {
+		return index.findMatching(version);
+	}
+
+	/**
+	 * @return the matching ranges, found by checking every range
+	 */
+	@Benchmark
+	public List<VersionRange<IntegerVersion>> findMatchingLinearScan() {
+		List<VersionRange<IntegerVersion>> matches = new ArrayList<VersionRange<IntegerVersion>>();
+		for (IntervalVersionRange<IntegerVersion> range : ranges)
+			if (range.matches(version))
+				matches.add(range);
+		return matches;
+	}
+}
@@ -0,0 +1,95 @@
+package com.justdavis.jessentials.jversionsanity.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersion;
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersionParser;
+import com.justdavis.jessentials.jversionsanity.range.VersionRange;
+import com.justdavis.jessentials.jversionsanity.range.interval.IntervalVersionRange;
+
+/**
+ * JMH benchmarks for {@link VersionResolver#resolve(java.util.Collection)},
+ * compared to filtering the same {@link IntegerVersion}s by every constraint
+ * and then picking the highest.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VersionResolverBenchmark {
+	/**
+	 * The number of versions available.
+	 */
+	@Param({ "100", "50000" })
+	public int versionCount;
+
+	/**
+	 * The number of constraints to resolve.
+	 */
+	@Param({ "2", "16" })
+	public int constraintCount;
+
+	private List<IntegerVersion> versions;
+	private VersionResolver<IntegerVersion> resolver;
+	private List<VersionRange<IntegerVersion>> constraints;
+
+	/**
+	 * Creates the versions, and overlapping constraints that all match the
+	 * versions in the middle of them.
+	 */
+	@Setup
+	public void setup() {
+		this.versions = new ArrayList<IntegerVersion>(versionCount);
+		for (int i = 0; i < versionCount; i++)
+			versions.add(new IntegerVersion(i));
+		this.resolver = new VersionResolver<IntegerVersion>(versions);
+
+		IntegerVersionParser parser = new IntegerVersionParser();
+		this.constraints = new ArrayList<VersionRange<IntegerVersion>>(constraintCount);
+		for (int i = 0; i < constraintCount; i++)
+			constraints.add(new IntervalVersionRange<IntegerVersion>(parser,
+					"[" + i + "," + (versionCount - i * 3) + ")"));
+	}
+
+	/**
+	 * @return the result of
+	 *         {@link VersionResolver#resolve(java.util.Collection)}
+	 */
+	@Benchmark
+	public VersionResolution<IntegerVersion> resolve() {
+		return resolver.resolve(constraints);
+	}
+
+	/**
+	 * @return the highest version matching every constraint, found by checking
+	 *         every version against each of them
+	 */
+	@Benchmark
+	public IntegerVersion resolveByFiltering() {
+		IntegerVersion highest = null;
+		for (IntegerVersion version : versions) {
+			boolean matchesAll = true;
+			for (int i = 0; i < constraints.size() && matchesAll; i++)
+				matchesAll = constraints.get(i).matches(version);
+			if (matchesAll && (highest == null || version.compareTo(highest) > 0))
+				highest = version;
+		}
+		return highest;
+	}
+}
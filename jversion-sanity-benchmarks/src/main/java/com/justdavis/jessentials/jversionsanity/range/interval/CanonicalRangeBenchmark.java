@@ -0,0 +1,108 @@
+package com.justdavis.jessentials.jversionsanity.range.interval;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.justdavis.jessentials.jversionsanity.semver.SemanticVersion;
+import com.justdavis.jessentials.jversionsanity.semver.SemanticVersionParser;
+
+/**
+ * JMH benchmarks for deduplicating {@link IntervalVersionRange}s, comparing
+ * separately-parsed instances to their
+ * {@link IntervalVersionRange#canonical(IntervalVersionRange)} instances.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CanonicalRangeBenchmark {
+	/**
+	 * The distinct ranges in each constraint set, each of which appears in it
+	 * several times, written in a few different ways.
+	 */
+	private static final String[][] RANGE_SPELLINGS = { { "[1.0.0,2.0.0)", " [ 1.0.0 , 2.0.0 ) " },
+			{ "1.4.2", "[1.4.2,)", "[1.4.2,]" }, { "(,3.0.0-rc.1]", "[,3.0.0-rc.1]" }, { "[2.1.0]", "[2.1.0,2.1.0]" } };
+
+	private IntervalVersionRange<SemanticVersion>[] ranges;
+	private IntervalVersionRange<SemanticVersion>[] canonicalRanges;
+
+	/**
+	 * Parses the ranges used by each benchmark method.
+	 */
+	@Setup
+	public void setup() {
+		SemanticVersionParser parser = new SemanticVersionParser();
+		int count = 0;
+		for (String[] spellings : RANGE_SPELLINGS)
+			count += spellings.length;
+
+		this.ranges = newRangeArray(count);
+		this.canonicalRanges = newRangeArray(count);
+		int index = 0;
+		for (String[] spellings : RANGE_SPELLINGS) {
+			for (String spelling : spellings) {
+				ranges[index] = new IntervalVersionRange<SemanticVersion>(parser, spelling);
+				canonicalRanges[index] = IntervalVersionRange.canonical(ranges[index]);
+				index++;
+			}
+		}
+	}
+
+	/**
+	 * @param length
+	 *            the length of the array to create
+	 * @return a new {@link IntervalVersionRange} array of the specified length
+	 */
+	@SuppressWarnings("unchecked")
+	private static IntervalVersionRange<SemanticVersion>[] newRangeArray(int length) {
+		return (IntervalVersionRange<SemanticVersion>[]) new IntervalVersionRange<?>[length];
+	}
+
+	/**
+	 * @return the number of distinct ranges, when deduplicating the
+	 *         separately-parsed instances
+	 */
+	@Benchmark
+	public int deduplicateParsed() {
+		Set<IntervalVersionRange<SemanticVersion>> distinct = new HashSet<IntervalVersionRange<SemanticVersion>>();
+		for (IntervalVersionRange<SemanticVersion> range : ranges)
+			distinct.add(range);
+		return distinct.size();
+	}
+
+	/**
+	 * @return the number of distinct ranges, when deduplicating the canonical
+	 *         instances
+	 */
+	@Benchmark
+	public int deduplicateCanonical() {
+		Set<IntervalVersionRange<SemanticVersion>> distinct = new HashSet<IntervalVersionRange<SemanticVersion>>();
+		for (IntervalVersionRange<SemanticVersion> range : canonicalRanges)
+			distinct.add(range);
+		return distinct.size();
+	}
+
+	/**
+	 * @return the canonical instance of an already-parsed range, i.e. the cost
+	 *         of a {@link IntervalVersionRange#canonical(IntervalVersionRange)}
+	 *         pool hit
+	 */
+	@Benchmark
+	public IntervalVersionRange<SemanticVersion> canonicalize() {
+		return IntervalVersionRange.canonical(ranges[1]);
+	}
+}
@@ -0,0 +1,73 @@
+package com.justdavis.jessentials.jversionsanity.range.interval;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersion;
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersionParser;
+
+/**
+ * <p>
+ * JMH benchmarks for {@link IntervalParser} and the parsing constructor of
+ * {@link IntervalVersionRange}.
+ * </p>
+ * <p>
+ * Note: {@link IntervalParser} is package-private, which is why this benchmark
+ * lives in the same package as it.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IntervalParserBenchmark {
+	/**
+	 * The range {@link String}s to parse: one for each boundary type, the
+	 * half-open variants, and one with lots of padding.
+	 */
+	@Param({ "4", "[4,7]", "(4,7)", "[4,7)", "[4,]", "[,7)", "  (  4  ,  7  ]  " })
+	public String rangeString;
+
+	private IntervalParser intervalParser;
+	private IntegerVersionParser versionParser;
+
+	/**
+	 * Creates the parsers used by each benchmark method.
+	 */
+	@Setup
+	public void setup() {
+		this.intervalParser = new IntervalParser();
+		this.versionParser = new IntegerVersionParser();
+	}
+
+	/**
+	 * @return the result of {@link IntervalParser#parseVersionRange(String)}
+	 */
+	@Benchmark
+	public Interval<String> parseVersionRange() {
+		return intervalParser.parseVersionRange(rangeString);
+	}
+
+	/**
+	 * @return the result of
+	 *         {@link IntervalVersionRange#IntervalVersionRange(com.justdavis.jessentials.jversionsanity.VersionParser, String)}
+	 *         , which also parses the {@link IntegerVersion} bounds
+	 */
+	@Benchmark
+	public IntervalVersionRange<IntegerVersion> parseIntervalVersionRange() {
+		return new IntervalVersionRange<IntegerVersion>(versionParser, rangeString);
+	}
+}
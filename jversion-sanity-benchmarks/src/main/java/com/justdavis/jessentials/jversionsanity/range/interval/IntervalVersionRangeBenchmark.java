@@ -0,0 +1,84 @@
+package com.justdavis.jessentials.jversionsanity.range.interval;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersion;
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersionParser;
+
+/**
+ * JMH benchmarks for {@link IntervalVersionRange#matches(com.justdavis.jessentials.jversionsanity.Version)}
+ * , across every {@link IntervalBoundaryType} and the half-open variants, and
+ * for the equivalent {@link IntegerIntervalVersionRange}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IntervalVersionRangeBenchmark {
+	/**
+	 * The ranges to match against.
+	 */
+	@Param({ "4", "[4,7]", "(4,7)", "[4,]", "[,7)" })
+	public String rangeString;
+
+	/**
+	 * The version to match: below, on the lower bound of, inside, and above
+	 * each range.
+	 */
+	@Param({ "2", "4", "5", "9" })
+	public int versionValue;
+
+	private IntervalVersionRange<IntegerVersion> range;
+	private IntegerIntervalVersionRange integerRange;
+	private IntegerVersion version;
+
+	/**
+	 * Parses the range and creates the version used by each benchmark method.
+	 */
+	@Setup
+	public void setup() {
+		this.range = new IntervalVersionRange<IntegerVersion>(new IntegerVersionParser(), rangeString);
+		this.integerRange = new IntegerIntervalVersionRange(range);
+		this.version = new IntegerVersion(versionValue);
+	}
+
+	/**
+	 * @return the result of
+	 *         {@link IntervalVersionRange#matches(com.justdavis.jessentials.jversionsanity.Version)}
+	 */
+	@Benchmark
+	public boolean matches() {
+		return range.matches(version);
+	}
+
+	/**
+	 * @return the result of
+	 *         {@link IntegerIntervalVersionRange#matches(IntegerVersion)}
+	 */
+	@Benchmark
+	public boolean matchesIntegerRange() {
+		return integerRange.matches(version);
+	}
+
+	/**
+	 * @return the result of {@link IntegerIntervalVersionRange#matchesInt(int)}
+	 */
+	@Benchmark
+	public boolean matchesInt() {
+		return integerRange.matchesInt(versionValue);
+	}
+}
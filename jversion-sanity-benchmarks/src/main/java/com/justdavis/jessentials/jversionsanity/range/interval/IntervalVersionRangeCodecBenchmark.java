@@ -0,0 +1,81 @@
+package com.justdavis.jessentials.jversionsanity.range.interval;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersion;
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersionCodec;
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersionParser;
+
+/**
+ * JMH benchmarks for restoring a snapshot of {@link IntervalVersionRange}s via
+ * {@link IntervalVersionRangeCodec#read(ByteBuffer)}, compared to re-parsing
+ * their {@link IntervalVersionRange#toString()} representations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IntervalVersionRangeCodecBenchmark {
+	/**
+	 * The number of ranges in the snapshot.
+	 */
+	private static final int SNAPSHOT_SIZE = 1000;
+
+	private IntegerVersionParser parser;
+	private IntervalVersionRangeCodec<IntegerVersion> codec;
+	private String[] rangeStrings;
+	private ByteBuffer encodedRanges;
+
+	/**
+	 * Creates the snapshot used by each benchmark method, in both forms.
+	 */
+	@Setup
+	public void setup() {
+		this.parser = new IntegerVersionParser();
+		this.codec = new IntervalVersionRangeCodec<IntegerVersion>(new IntegerVersionCodec());
+		this.rangeStrings = new String[SNAPSHOT_SIZE];
+		this.encodedRanges = ByteBuffer.allocate(SNAPSHOT_SIZE * 16);
+		for (int i = 0; i < SNAPSHOT_SIZE; i++) {
+			rangeStrings[i] = i % 3 == 0 ? "[" + i + "]" : "[" + i + "," + (i * 7 + 1) + ")";
+			codec.write(new IntervalVersionRange<IntegerVersion>(parser, rangeStrings[i]), encodedRanges);
+		}
+		encodedRanges.flip();
+	}
+
+	/**
+	 * @return the last range parsed from the snapshot's {@link String}s
+	 */
+	@Benchmark
+	public IntervalVersionRange<IntegerVersion> restoreByParsing() {
+		IntervalVersionRange<IntegerVersion> range = null;
+		for (String rangeString : rangeStrings)
+			range = new IntervalVersionRange<IntegerVersion>(parser, rangeString);
+		return range;
+	}
+
+	/**
+	 * @return the last range decoded from the encoded snapshot
+	 */
+	@Benchmark
+	public IntervalVersionRange<IntegerVersion> restoreByDecoding() {
+		ByteBuffer buffer = encodedRanges.duplicate();
+		IntervalVersionRange<IntegerVersion> range = null;
+		while (buffer.hasRemaining())
+			range = codec.read(buffer);
+		return range;
+	}
+}
@@ -0,0 +1,86 @@
+package com.justdavis.jessentials.jversionsanity.range.interval;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersion;
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersionParser;
+
+/**
+ * JMH benchmarks for {@link UnionVersionRange#matches(com.justdavis.jessentials.jversionsanity.Version)}
+ * , compared to checking the equivalent list of {@link IntervalVersionRange}s
+ * one at a time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UnionVersionRangeBenchmark {
+	/**
+	 * The number of disjoint intervals in the range.
+	 */
+	@Param({ "4", "64", "1024" })
+	public int intervalCount;
+
+	private UnionVersionRange<IntegerVersion> union;
+	private List<IntervalVersionRange<IntegerVersion>> intervals;
+	private IntegerVersion version;
+
+	/**
+	 * Builds a range of the form "<code>[0,2),[4,6),...</code>", and picks a
+	 * version in the gap before its last interval, which is the worst case for
+	 * checking the intervals one at a time.
+	 */
+	@Setup
+	public void setup() {
+		IntegerVersionParser parser = new IntegerVersionParser();
+		StringBuilder rangeString = new StringBuilder();
+		this.intervals = new ArrayList<IntervalVersionRange<IntegerVersion>>(intervalCount);
+		for (int i = 0; i < intervalCount; i++) {
+			String intervalString = "[" + (i * 4) + "," + (i * 4 + 2) + ")";
+			if (i > 0)
+				rangeString.append(',');
+			rangeString.append(intervalString);
+			intervals.add(new IntervalVersionRange<IntegerVersion>(parser, intervalString));
+		}
+
+		this.union = new UnionVersionRange<IntegerVersion>(parser, rangeString.toString());
+		this.version = new IntegerVersion(intervalCount * 4 - 1);
+	}
+
+	/**
+	 * @return the result of
+	 *         {@link UnionVersionRange#matches(com.justdavis.jessentials.jversionsanity.Version)}
+	 */
+	@Benchmark
+	public boolean matchesUnion() {
+		return union.matches(version);
+	}
+
+	/**
+	 * @return <code>true</code> if any of the {@link IntervalVersionRange}s
+	 *         match, checking them in order
+	 */
+	@Benchmark
+	public boolean matchesIntervalList() {
+		for (IntervalVersionRange<IntegerVersion> interval : intervals)
+			if (interval.matches(version))
+				return true;
+		return false;
+	}
+}
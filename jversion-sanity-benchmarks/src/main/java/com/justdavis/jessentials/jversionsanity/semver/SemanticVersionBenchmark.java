@@ -0,0 +1,82 @@
+package com.justdavis.jessentials.jversionsanity.semver;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.justdavis.jessentials.jversionsanity.VersionParser;
+
+/**
+ * JMH benchmarks for {@link SemanticVersion} and {@link SemanticVersionParser}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SemanticVersionBenchmark {
+	/**
+	 * The {@link String}s to parse in {@link #parseVersion()}, and to compare
+	 * against a version with the same core in {@link #compareTo()}: a release,
+	 * a pre-release, and a version with a component too large to pack.
+	 */
+	@Param({ "1.4.2", "1.4.2-beta.11+build.7", "20240101.0.0" })
+	public String versionString;
+
+	private VersionParser<SemanticVersion> parser;
+	private SemanticVersion version;
+	private SemanticVersion versionCopy;
+	private SemanticVersion other;
+
+	/**
+	 * Creates the inputs used by each benchmark method.
+	 */
+	@Setup
+	public void setup() {
+		this.parser = new SemanticVersionParser();
+		this.version = parser.parseVersion(versionString);
+		this.versionCopy = parser.parseVersion(versionString);
+		String preRelease = version.getPreRelease() != null ? "-beta.2" : "";
+		this.other = parser.parseVersion(
+				String.format("%d.%d.%d%s", version.getMajor(), version.getMinor(), version.getPatch(), preRelease));
+	}
+
+	/**
+	 * @return the result of {@link SemanticVersionParser#parseVersion(String)}
+	 */
+	@Benchmark
+	public SemanticVersion parseVersion() {
+		return parser.parseVersion(versionString);
+	}
+
+	/**
+	 * @return the result of
+	 *         {@link SemanticVersion#compareTo(com.justdavis.jessentials.jversionsanity.Version)}
+	 *         , against a version with the same core (and a different
+	 *         pre-release tag, if any)
+	 */
+	@Benchmark
+	public int compareTo() {
+		return version.compareTo(other);
+	}
+
+	/**
+	 * @return the result of {@link SemanticVersion#equals(Object)}, for two
+	 *         equivalent but distinct instances
+	 */
+	@Benchmark
+	public boolean equalsEquivalent() {
+		return version.equals(versionCopy);
+	}
+}
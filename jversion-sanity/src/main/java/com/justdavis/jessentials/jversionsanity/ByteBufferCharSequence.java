@@ -0,0 +1,123 @@
+package com.justdavis.jessentials.jversionsanity;
+
+import java.nio.ByteBuffer;
+
+/**
+ * <p>
+ * A read-only {@link CharSequence} view over the bytes of a {@link ByteBuffer}
+ * , which allows ASCII (or UTF-8) encoded versions and version ranges to be
+ * parsed straight out of the buffer, e.g. via
+ * {@link VersionParser#parseVersion(CharSequence, int, int)}, without first
+ * decoding them into {@link String}s.
+ * </p>
+ * <p>
+ * Some notes on how this view functions:
+ * </p>
+ * <ul>
+ * <li>Each byte is one character. ASCII bytes are mapped to the same
+ * character, and all other bytes (i.e. those that are part of multi-byte UTF-8
+ * sequences) are mapped to '<code>&#92;uFFFD</code>', the Unicode replacement
+ * character. As all of the version and version range syntaxes supported here
+ * are pure ASCII, those bytes will just cause parsing to fail, as they
+ * should.</li>
+ * <li>The view covers the bytes between the buffer's position and limit at the
+ * time it was created; later changes to the buffer's position or limit don't
+ * affect it, though changes to the buffer's contents do.</li>
+ * <li>Only absolute gets are used, so a single buffer can safely be shared by
+ * many views, including from multiple threads (as long as the buffer's
+ * contents aren't being modified).</li>
+ * </ul>
+ */
+public final class ByteBufferCharSequence implements CharSequence {
+	private final ByteBuffer buffer;
+
+	/**
+	 * The index in {@link #buffer} of the first byte in this view.
+	 */
+	private final int offset;
+
+	/**
+	 * The number of bytes in this view.
+	 */
+	private final int length;
+
+	/**
+	 * Constructs a new {@link ByteBufferCharSequence}.
+	 * 
+	 * @param buffer
+	 *            the {@link ByteBuffer} to provide a view of, which will cover
+	 *            the bytes between its current position and limit
+	 */
+	public ByteBufferCharSequence(ByteBuffer buffer) {
+		this(requireNonNull(buffer), buffer.position(), buffer.remaining());
+	}
+
+	/**
+	 * Constructs a new {@link ByteBufferCharSequence}.
+	 * 
+	 * @param buffer
+	 *            the value to use for {@link #buffer}
+	 * @param offset
+	 *            the value to use for {@link #offset}
+	 * @param length
+	 *            the value to use for {@link #length}
+	 */
+	private ByteBufferCharSequence(ByteBuffer buffer, int offset, int length) {
+		this.buffer = buffer;
+		this.offset = offset;
+		this.length = length;
+	}
+
+	/**
+	 * @param buffer
+	 *            the {@link ByteBuffer} to check
+	 * @return the specified {@link ByteBuffer}
+	 */
+	private static ByteBuffer requireNonNull(ByteBuffer buffer) {
+		if (buffer == null)
+			throw new IllegalArgumentException();
+		return buffer;
+	}
+
+	/**
+	 * @see java.lang.CharSequence#length()
+	 */
+	@Override
+	public int length() {
+		return length;
+	}
+
+	/**
+	 * @see java.lang.CharSequence#charAt(int)
+	 */
+	@Override
+	public char charAt(int index) {
+		if (index < 0 || index >= length)
+			throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + length);
+
+		byte b = buffer.get(offset + index);
+		return b >= 0 ? (char) b : '\uFFFD';
+	}
+
+	/**
+	 * @see java.lang.CharSequence#subSequence(int, int)
+	 */
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		if (start < 0 || end > length || start > end)
+			throw new IndexOutOfBoundsException("Start: " + start + ", End: " + end + ", Length: " + length);
+
+		return new ByteBufferCharSequence(buffer, offset + start, end - start);
+	}
+
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		char[] chars = new char[length];
+		for (int i = 0; i < length; i++)
+			chars[i] = charAt(i);
+		return new String(chars);
+	}
+}
@@ -0,0 +1,107 @@
+package com.justdavis.jessentials.jversionsanity;
+
+import java.nio.ByteBuffer;
+
+/**
+ * <p>
+ * An optional capability for {@link Version} implementations: each
+ * {@link OrderedKeyVersion} can be encoded as a "sort key," a sequence of bytes
+ * whose unsigned lexicographic order is exactly the same as the
+ * {@link #compareTo(Version)} order of the {@link Version}s they were encoded
+ * from.
+ * </p>
+ * <p>
+ * This allows versions to be stored, sorted, and searched as plain bytes, e.g.
+ * in off-heap or memory-mapped buffers, or in database indexes, without
+ * deserializing them back into {@link Version} instances to compare them.
+ * </p>
+ * <p>
+ * <strong>Note for implementors:</strong> Sort keys must satisfy all of the
+ * following, for any two {@link OrderedKeyVersion}s <code>a</code> and
+ * <code>b</code> of the same type:
+ * </p>
+ * <ul>
+ * <li>The keys of <code>a</code> and <code>b</code> are identical if and only
+ * if <code>a.compareTo(b) == 0</code>.</li>
+ * <li>Otherwise, {@link #compareSortKeys(ByteBuffer, ByteBuffer)} has the same
+ * sign as <code>a.compareTo(b)</code>, where a key that's a prefix of another
+ * key is considered to be "less" than it.</li>
+ * </ul>
+ * <p>
+ * Sort keys are not a serialization format: they don't necessarily contain
+ * enough information to reconstruct the {@link Version} they were encoded from
+ * (e.g. {@link #toString()} details that don't affect ordering may be lost).
+ * </p>
+ */
+public interface OrderedKeyVersion extends Version {
+	/**
+	 * @return the number of bytes that {@link #writeSortKey(ByteBuffer)} will
+	 *         write for this {@link OrderedKeyVersion}
+	 */
+	int getSortKeyLength();
+
+	/**
+	 * Writes this {@link OrderedKeyVersion}'s sort key to the specified
+	 * {@link ByteBuffer}, starting at its current position, and advances its
+	 * position past the key.
+	 * 
+	 * @param buffer
+	 *            the {@link ByteBuffer} to write to, which must have at least
+	 *            {@link #getSortKeyLength()} bytes remaining
+	 * @throws java.nio.BufferOverflowException
+	 *             A {@link java.nio.BufferOverflowException} will be thrown if
+	 *             the {@link ByteBuffer} does not have enough room remaining.
+	 */
+	void writeSortKey(ByteBuffer buffer);
+
+	/**
+	 * @return a new array containing this {@link OrderedKeyVersion}'s sort key
+	 */
+	default byte[] toSortKey() {
+		byte[] sortKey = new byte[getSortKeyLength()];
+		writeSortKey(ByteBuffer.wrap(sortKey));
+		return sortKey;
+	}
+
+	/**
+	 * Compares two sort keys, as produced by {@link #writeSortKey(ByteBuffer)},
+	 * using unsigned lexicographic order. (Note that
+	 * {@link ByteBuffer#compareTo(ByteBuffer)} can't be used for this, as it
+	 * compares bytes as signed values.)
+	 * 
+	 * @param a
+	 *            the first sort key to compare: the bytes between its position
+	 *            and limit, which will not be modified
+	 * @param b
+	 *            the second sort key to compare: the bytes between its position
+	 *            and limit, which will not be modified
+	 * @return a negative number, zero, or a positive number as the first sort
+	 *         key is less than, equal to, or greater than the second
+	 */
+	static int compareSortKeys(ByteBuffer a, ByteBuffer b) {
+		int aPosition = a.position();
+		int bPosition = b.position();
+		int sharedLength = Math.min(a.remaining(), b.remaining());
+		for (int i = 0; i < sharedLength; i++) {
+			int comparison = Integer.compare(a.get(aPosition + i) & 0xFF, b.get(bPosition + i) & 0xFF);
+			if (comparison != 0)
+				return comparison;
+		}
+		return Integer.compare(a.remaining(), b.remaining());
+	}
+
+	/**
+	 * Compares two sort keys, as produced by {@link #toSortKey()}, using
+	 * unsigned lexicographic order.
+	 * 
+	 * @param a
+	 *            the first sort key to compare
+	 * @param b
+	 *            the second sort key to compare
+	 * @return a negative number, zero, or a positive number as the first sort
+	 *         key is less than, equal to, or greater than the second
+	 */
+	static int compareSortKeys(byte[] a, byte[] b) {
+		return compareSortKeys(ByteBuffer.wrap(a), ByteBuffer.wrap(b));
+	}
+}
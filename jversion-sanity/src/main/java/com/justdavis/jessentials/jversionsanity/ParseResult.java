@@ -0,0 +1,169 @@
+package com.justdavis.jessentials.jversionsanity;
+
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * The outcome of a parsing attempt that doesn't throw on malformed input, e.g.
+ * {@link VersionParser#tryParseVersion(String)}: either the parsed value, or
+ * the exception that describes why it couldn't be parsed.
+ * </p>
+ * <p>
+ * This is intended for bulk validation, where a significant share of the
+ * inputs may be malformed. Exceptions that are created while a parse is being
+ * {@link #attempt(Supplier, Class)}ed (by this thread) don't capture a stack
+ * trace, as that's by far the most expensive part of creating them, and isn't
+ * useful for describing bad input anyhow.
+ * </p>
+ * 
+ * @param <T>
+ *            the type of value that was parsed
+ */
+public final class ParseResult<T> {
+	/**
+	 * Tracks how many {@link #attempt(Supplier, Class)} calls are in progress
+	 * on each thread (they may be nested, e.g. when parsing the versions in a
+	 * version range).
+	 */
+	private static final ThreadLocal<int[]> ATTEMPT_DEPTH = new ThreadLocal<int[]>() {
+		@Override
+		protected int[] initialValue() {
+			return new int[1];
+		}
+	};
+
+	private final T value;
+	private final RuntimeException error;
+
+	/**
+	 * Constructs a new {@link ParseResult}.
+	 * 
+	 * @param value
+	 *            the value to use for {@link #getValue()}
+	 * @param error
+	 *            the value to use for {@link #getError()}
+	 */
+	private ParseResult(T value, RuntimeException error) {
+		this.value = value;
+		this.error = error;
+	}
+
+	/**
+	 * @param value
+	 *            the value that was parsed
+	 * @return a new successful {@link ParseResult} for the specified value
+	 */
+	public static <T> ParseResult<T> success(T value) {
+		if (value == null)
+			throw new IllegalArgumentException();
+
+		return new ParseResult<T>(value, null);
+	}
+
+	/**
+	 * @param error
+	 *            the exception describing why parsing failed
+	 * @return a new failed {@link ParseResult} for the specified exception
+	 */
+	public static <T> ParseResult<T> failure(RuntimeException error) {
+		if (error == null)
+			throw new IllegalArgumentException();
+
+		return new ParseResult<T>(null, error);
+	}
+
+	/**
+	 * Runs the specified parse, capturing any exception of the specified type
+	 * that it throws as a failed {@link ParseResult}, rather than letting it
+	 * propagate. Exceptions that support it (such as
+	 * {@link VersionParseException}) will skip capturing a stack trace while
+	 * this is running: see {@link #isAttemptInProgress()}.
+	 * 
+	 * @param parse
+	 *            the parse to run
+	 * @param errorType
+	 *            the type of exception that indicates malformed input (any
+	 *            other exceptions will be allowed to propagate, as usual)
+	 * @return a successful {@link ParseResult} for the value returned by the
+	 *         parse, or a failed {@link ParseResult} for the exception that it
+	 *         threw
+	 */
+	public static <T> ParseResult<T> attempt(Supplier<? extends T> parse,
+			Class<? extends RuntimeException> errorType) {
+		if (parse == null)
+			throw new IllegalArgumentException();
+		if (errorType == null)
+			throw new IllegalArgumentException();
+
+		int[] attemptDepth = beginAttempt();
+		try {
+			return success(parse.get());
+		} catch (RuntimeException e) {
+			if (errorType.isInstance(e))
+				return failure(e);
+			throw e;
+		} finally {
+			attemptDepth[0]--;
+		}
+	}
+
+	/**
+	 * Marks the start of an attempt on this thread, which must be ended by
+	 * decrementing the returned counter (in a <code>finally</code> block).
+	 * 
+	 * @return the attempt depth counter for this thread, which will have
+	 *         already been incremented
+	 */
+	static int[] beginAttempt() {
+		int[] attemptDepth = ATTEMPT_DEPTH.get();
+		attemptDepth[0]++;
+		return attemptDepth;
+	}
+
+	/**
+	 * Parse exceptions should check this when filling in their stack trace,
+	 * and skip doing so if it returns <code>true</code>.
+	 * 
+	 * @return <code>true</code> if an {@link #attempt(Supplier, Class)} call is
+	 *         currently in progress on this thread, <code>false</code> if not
+	 */
+	public static boolean isAttemptInProgress() {
+		return ATTEMPT_DEPTH.get()[0] > 0;
+	}
+
+	/**
+	 * @return <code>true</code> if parsing succeeded, <code>false</code> if it
+	 *         failed
+	 */
+	public boolean isSuccess() {
+		return error == null;
+	}
+
+	/**
+	 * @return the value that was parsed
+	 * @throws RuntimeException
+	 *             The {@link #getError()} exception will be thrown if parsing
+	 *             failed.
+	 */
+	public T getValue() {
+		if (error != null)
+			throw error;
+		return value;
+	}
+
+	/**
+	 * @return the exception describing why parsing failed, or
+	 *         <code>null</code> if it succeeded
+	 */
+	public RuntimeException getError() {
+		return error;
+	}
+
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return isSuccess() ? "ParseResult[value=" + value + "]" : "ParseResult[error=" + error.getMessage() + "]";
+	}
+}
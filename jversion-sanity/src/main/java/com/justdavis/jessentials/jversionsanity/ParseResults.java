@@ -0,0 +1,215 @@
+package com.justdavis.jessentials.jversionsanity;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * <p>
+ * The outcome of a bulk parse, e.g. {@link VersionParser#parseAll(Stream)}:
+ * an array-backed, unmodifiable {@link java.util.List} with one element per
+ * input, in the same order as the inputs.
+ * </p>
+ * <p>
+ * Malformed inputs don't abort the batch. Instead, their elements in this
+ * {@link java.util.List} are <code>null</code>, and the exceptions describing
+ * why they couldn't be parsed are available from {@link #getError(int)}. Just
+ * as with {@link ParseResult}, those exceptions don't capture stack traces.
+ * </p>
+ * 
+ * @param <T>
+ *            the type of value that was parsed
+ */
+public final class ParseResults<T> extends AbstractList<T> implements RandomAccess {
+	private static final int[] NO_FAILURE_INDEXES = new int[0];
+	private static final RuntimeException[] NO_FAILURES = new RuntimeException[0];
+
+	/**
+	 * The parsed values, with <code>null</code> elements for the inputs that
+	 * failed to parse.
+	 */
+	private final Object[] values;
+
+	/**
+	 * The (ascending) indexes of the inputs that failed to parse.
+	 */
+	private final int[] failureIndexes;
+
+	/**
+	 * The exceptions for each of the {@link #failureIndexes}, in the same
+	 * order.
+	 */
+	private final RuntimeException[] failures;
+
+	/**
+	 * Constructs a new {@link ParseResults}.
+	 * 
+	 * @param values
+	 *            the value to use for {@link #values}
+	 * @param failureIndexes
+	 *            the value to use for {@link #failureIndexes}
+	 * @param failures
+	 *            the value to use for {@link #failures}
+	 */
+	private ParseResults(Object[] values, int[] failureIndexes, RuntimeException[] failures) {
+		this.values = values;
+		this.failureIndexes = failureIndexes;
+		this.failures = failures;
+	}
+
+	/**
+	 * <p>
+	 * Parses all of the specified inputs, in parallel, on the common
+	 * {@link java.util.concurrent.ForkJoinPool}.
+	 * </p>
+	 * <p>
+	 * The inputs are first collected into an array (preserving their
+	 * encounter order), which is then split up via the sized
+	 * {@link java.util.Spliterator} of an {@link IntStream} over its indexes,
+	 * and each parsed value is written straight into its slot of the result
+	 * array. This keeps the per-input overhead to a minimum: there's no
+	 * boxing, merging, or per-input result object.
+	 * </p>
+	 * 
+	 * @param inputs
+	 *            the {@link String}s to parse, none of which may be
+	 *            <code>null</code>
+	 * @param parse
+	 *            the {@link Function} to parse each input with, which must be
+	 *            safe to call concurrently
+	 * @param errorType
+	 *            the type of exception that indicates malformed input (any
+	 *            other exceptions will be propagated, aborting the batch)
+	 * @return the {@link ParseResults} for the specified inputs
+	 */
+	public static <T> ParseResults<T> parseAll(Stream<String> inputs, Function<String, ? extends T> parse,
+			Class<? extends RuntimeException> errorType) {
+		if (inputs == null)
+			throw new IllegalArgumentException();
+		if (parse == null)
+			throw new IllegalArgumentException();
+		if (errorType == null)
+			throw new IllegalArgumentException();
+
+		/*
+		 * Each slot starts out holding its input, and is replaced by either the
+		 * parsed value or a Failure, so that only one array is needed per batch.
+		 */
+		Object[] slots = inputs.toArray();
+		for (Object input : slots)
+			if (input == null)
+				throw new IllegalArgumentException("Null inputs not supported.");
+
+		IntStream.range(0, slots.length).parallel().forEach(i -> {
+			int[] attemptDepth = ParseResult.beginAttempt();
+			try {
+				slots[i] = parse.apply((String) slots[i]);
+			} catch (RuntimeException e) {
+				if (!errorType.isInstance(e))
+					throw e;
+				slots[i] = new Failure(e);
+			} finally {
+				attemptDepth[0]--;
+			}
+		});
+
+		// Move the failures out into their own (usually much smaller) arrays.
+		int failureCount = 0;
+		for (Object slot : slots)
+			if (slot instanceof Failure)
+				failureCount++;
+		if (failureCount == 0)
+			return new ParseResults<T>(slots, NO_FAILURE_INDEXES, NO_FAILURES);
+		int[] failureIndexes = new int[failureCount];
+		RuntimeException[] failures = new RuntimeException[failureCount];
+		for (int i = 0, f = 0; i < slots.length; i++) {
+			if (slots[i] instanceof Failure) {
+				failureIndexes[f] = i;
+				failures[f] = ((Failure) slots[i]).error;
+				slots[i] = null;
+				f++;
+			}
+		}
+		return new ParseResults<T>(slots, failureIndexes, failures);
+	}
+
+	/**
+	 * Returns the parsed value for the specified input, or <code>null</code> if
+	 * that input couldn't be parsed.
+	 * 
+	 * @see java.util.AbstractList#get(int)
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public T get(int index) {
+		return (T) values[index];
+	}
+
+	/**
+	 * @see java.util.AbstractCollection#size()
+	 */
+	@Override
+	public int size() {
+		return values.length;
+	}
+
+	/**
+	 * @return the number of inputs that couldn't be parsed
+	 */
+	public int getFailureCount() {
+		return failureIndexes.length;
+	}
+
+	/**
+	 * @return a new array with the (ascending) indexes of the inputs that
+	 *         couldn't be parsed
+	 */
+	public int[] getFailureIndexes() {
+		return failureIndexes.clone();
+	}
+
+	/**
+	 * @param index
+	 *            the index of the input to check
+	 * @return <code>true</code> if the specified input was parsed successfully,
+	 *         <code>false</code> if it wasn't
+	 */
+	public boolean isSuccess(int index) {
+		return getError(index) == null;
+	}
+
+	/**
+	 * @param index
+	 *            the index of the input to get the error for
+	 * @return the exception describing why the specified input couldn't be
+	 *         parsed, or <code>null</code> if it was parsed successfully
+	 */
+	public RuntimeException getError(int index) {
+		if (index < 0 || index >= values.length)
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + values.length);
+
+		int failure = Arrays.binarySearch(failureIndexes, index);
+		return failure >= 0 ? failures[failure] : null;
+	}
+
+	/**
+	 * Marks the slots of inputs that failed to parse, while a batch is being
+	 * parsed.
+	 */
+	private static final class Failure {
+		private final RuntimeException error;
+
+		/**
+		 * Constructs a new {@link Failure}.
+		 * 
+		 * @param error
+		 *            the exception describing why the input couldn't be parsed
+		 */
+		Failure(RuntimeException error) {
+			this.error = error;
+		}
+	}
+}
@@ -34,6 +34,10 @@ import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersion;
  * <li>Allow themselves to be mutated.</li>
  * </ul>
  * <p>
+ * Implementations may also provide optional capabilities by implementing
+ * sub-interfaces of {@link Version}, such as {@link OrderedKeyVersion}.
+ * </p>
+ * <p>
  * <strong>Note for implementors:</strong> Each implementation of this interface
  * must pass all of the unit tests provided by
  * <code>com.justdavis.jessentials.jversionsanity.AbstractVersionTest</code>.
@@ -0,0 +1,209 @@
+package com.justdavis.jessentials.jversionsanity;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * <p>
+ * Implementations of this interface can write their corresponding
+ * {@link Version} implementation in a compact binary form, and read it back
+ * again, which is much faster than formatting and re-parsing the
+ * {@link Version#toString()} representation.
+ * </p>
+ * <p>
+ * Encoded {@link Version}s are not self-delimiting in general, and don't
+ * identify their {@link Version} implementation: they can only be read back
+ * by the same kind of {@link VersionCodec}, in the same order they were
+ * written. Unlike sort keys (see {@link OrderedKeyVersion}), the encoding
+ * preserves everything that affects {@link Version#equals(Object)}, though
+ * not necessarily the exact {@link Version#toString()} representation.
+ * </p>
+ * <p>
+ * Implementations must be stateless, and so safe to share between threads.
+ * </p>
+ * 
+ * @param <V>
+ *            the {@link Version} implementation that this {@link VersionCodec}
+ *            is paired with
+ */
+public interface VersionCodec<V extends Version> {
+	/**
+	 * Writes the specified {@link Version} to a {@link DataOutput}.
+	 * 
+	 * @param version
+	 *            the {@link Version} to write
+	 * @param out
+	 *            the {@link DataOutput} to write to
+	 * @throws IOException
+	 *             Any {@link IOException}s thrown by the {@link DataOutput}
+	 *             will be passed through.
+	 */
+	void write(V version, DataOutput out) throws IOException;
+
+	/**
+	 * Writes the specified {@link Version} to a {@link ByteBuffer}, starting at
+	 * its current position, and advances its position past it.
+	 * 
+	 * @param version
+	 *            the {@link Version} to write
+	 * @param buffer
+	 *            the {@link ByteBuffer} to write to
+	 * @throws java.nio.BufferOverflowException
+	 *             A {@link java.nio.BufferOverflowException} will be thrown if
+	 *             the {@link ByteBuffer} does not have enough room remaining.
+	 */
+	void write(V version, ByteBuffer buffer);
+
+	/**
+	 * Reads a {@link Version} that was written by
+	 * {@link #write(Version, DataOutput)}.
+	 * 
+	 * @param in
+	 *            the {@link DataInput} to read from
+	 * @return the {@link Version} that was read
+	 * @throws IOException
+	 *             An {@link IOException} will be thrown if the data is
+	 *             malformed, and any {@link IOException}s thrown by the
+	 *             {@link DataInput} (e.g. {@link java.io.EOFException}s) will
+	 *             be passed through.
+	 */
+	V read(DataInput in) throws IOException;
+
+	/**
+	 * Reads a {@link Version} that was written by
+	 * {@link #write(Version, ByteBuffer)}, starting at the {@link ByteBuffer}'s
+	 * current position, and advances its position past it.
+	 * 
+	 * @param buffer
+	 *            the {@link ByteBuffer} to read from
+	 * @return the {@link Version} that was read
+	 * @throws BufferUnderflowException
+	 *             A {@link BufferUnderflowException} will be thrown if the
+	 *             {@link ByteBuffer} ends before the {@link Version} does.
+	 * @throws IllegalArgumentException
+	 *             An {@link IllegalArgumentException} will be thrown if the
+	 *             data is malformed.
+	 */
+	V read(ByteBuffer buffer);
+
+	/**
+	 * Writes the specified non-negative <code>int</code> as a variable-length
+	 * "varint": seven bits per byte, least significant group first, with the
+	 * high bit of each byte set if more bytes follow. Values below 128 take a
+	 * single byte, and no value takes more than five.
+	 * 
+	 * @param value
+	 *            the value to write, which must not be negative
+	 * @param out
+	 *            the {@link DataOutput} to write to
+	 * @throws IOException
+	 *             Any {@link IOException}s thrown by the {@link DataOutput}
+	 *             will be passed through.
+	 */
+	static void writeVarInt(int value, DataOutput out) throws IOException {
+		if (value < 0)
+			throw new IllegalArgumentException();
+
+		while (value >= 0x80) {
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	/**
+	 * Writes the specified non-negative <code>int</code> as a varint: see
+	 * {@link #writeVarInt(int, DataOutput)}.
+	 * 
+	 * @param value
+	 *            the value to write, which must not be negative
+	 * @param buffer
+	 *            the {@link ByteBuffer} to write to
+	 * @throws java.nio.BufferOverflowException
+	 *             A {@link java.nio.BufferOverflowException} will be thrown if
+	 *             the {@link ByteBuffer} does not have enough room remaining.
+	 */
+	static void writeVarInt(int value, ByteBuffer buffer) {
+		if (value < 0)
+			throw new IllegalArgumentException();
+
+		while (value >= 0x80) {
+			buffer.put((byte) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		buffer.put((byte) value);
+	}
+
+	/**
+	 * @param value
+	 *            the non-negative value to check
+	 * @return the number of bytes that {@link #writeVarInt(int, DataOutput)}
+	 *         will write for the specified value
+	 */
+	static int getVarIntLength(int value) {
+		if (value < 0)
+			throw new IllegalArgumentException();
+
+		int length = 1;
+		while (value >= 0x80) {
+			value >>>= 7;
+			length++;
+		}
+		return length;
+	}
+
+	/**
+	 * Reads a varint, as written by {@link #writeVarInt(int, DataOutput)}.
+	 * 
+	 * @param in
+	 *            the {@link DataInput} to read from
+	 * @return the value that was read
+	 * @throws IOException
+	 *             An {@link IOException} will be thrown if the varint is
+	 *             malformed, and any {@link IOException}s thrown by the
+	 *             {@link DataInput} will be passed through.
+	 */
+	static int readVarInt(DataInput in) throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 35; shift += 7) {
+			int b = in.readUnsignedByte();
+			value |= (b & 0x7F) << shift;
+			if (b < 0x80) {
+				if (shift == 28 && b > 0x07)
+					throw new IOException("Malformed varint: too large.");
+				return value;
+			}
+		}
+		throw new IOException("Malformed varint: too long.");
+	}
+
+	/**
+	 * Reads a varint, as written by {@link #writeVarInt(int, ByteBuffer)}.
+	 * 
+	 * @param buffer
+	 *            the {@link ByteBuffer} to read from
+	 * @return the value that was read
+	 * @throws BufferUnderflowException
+	 *             A {@link BufferUnderflowException} will be thrown if the
+	 *             {@link ByteBuffer} ends before the varint does.
+	 * @throws IllegalArgumentException
+	 *             An {@link IllegalArgumentException} will be thrown if the
+	 *             varint is malformed.
+	 */
+	static int readVarInt(ByteBuffer buffer) {
+		int value = 0;
+		for (int shift = 0; shift < 35; shift += 7) {
+			int b = buffer.get() & 0xFF;
+			value |= (b & 0x7F) << shift;
+			if (b < 0x80) {
+				if (shift == 28 && b > 0x07)
+					throw new IllegalArgumentException("Malformed varint: too large.");
+				return value;
+			}
+		}
+		throw new IllegalArgumentException("Malformed varint: too long.");
+	}
+}
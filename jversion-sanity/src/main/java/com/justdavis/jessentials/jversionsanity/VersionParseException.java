@@ -1,8 +1,15 @@
 package com.justdavis.jessentials.jversionsanity;
 
 /**
+ * <p>
  * Indicates that a {@link Version} could not be parsed from a {@link String}
  * representation of a version.
+ * </p>
+ * <p>
+ * Instances created during a {@link ParseResult#attempt(java.util.function.Supplier, Class)}
+ * (e.g. by {@link VersionParser#tryParseVersion(String)}) don't capture a stack
+ * trace.
+ * </p>
  */
 public class VersionParseException extends RuntimeException {
 	private static final long serialVersionUID = -6120863288693205230L;
@@ -40,4 +47,17 @@ public class VersionParseException extends RuntimeException {
 	public VersionParseException(String versionString, Class<? extends Version> versionImplementation) {
 		this(versionString, versionImplementation, null);
 	}
+
+	/**
+	 * Skips capturing the stack trace when
+	 * {@link ParseResult#isAttemptInProgress()}.
+	 * 
+	 * @see java.lang.Throwable#fillInStackTrace()
+	 */
+	@Override
+	public synchronized Throwable fillInStackTrace() {
+		if (ParseResult.isAttemptInProgress())
+			return this;
+		return super.fillInStackTrace();
+	}
 }
@@ -1,5 +1,8 @@
 package com.justdavis.jessentials.jversionsanity;
 
+import java.nio.ByteBuffer;
+import java.util.stream.Stream;
+
 /**
  * Implementations of this interface can parse {@link String} representations of
  * their corresponding {@link Version} implementation into instances of those
@@ -27,4 +30,136 @@ public interface VersionParser<V extends Version> {
 	 *             indicates a malformed {@link String}.
 	 */
 	V parseVersion(String versionString) throws VersionParseException;
+
+	/**
+	 * <p>
+	 * Parses a {@link Version} from the specified slice of a
+	 * {@link CharSequence}, which must contain the {@link String}
+	 * representation of it. This is otherwise identical to
+	 * {@link #parseVersion(String)}.
+	 * </p>
+	 * <p>
+	 * The default implementation just copies the slice into a new
+	 * {@link String}. {@link VersionParser} implementations are encouraged to
+	 * override this and parse the slice in place, where possible, as this is
+	 * used when parsing version ranges.
+	 * </p>
+	 * 
+	 * @param text
+	 *            the {@link CharSequence} containing the {@link String}
+	 *            representation of the {@link Version} to be parsed
+	 * @param start
+	 *            the index of the first character in the slice to be parsed
+	 * @param end
+	 *            the index after the last character in the slice to be parsed
+	 * @return a {@link Version} instance equivalent to the {@link String}
+	 *         representation that was parsed
+	 * @throws VersionParseException
+	 *             A {@link VersionParseException} will be thrown if an error
+	 *             occurs that prevents parsing the version. Typically, this
+	 *             indicates a malformed {@link String}.
+	 */
+	default V parseVersion(CharSequence text, int start, int end) throws VersionParseException {
+		return parseVersion(text.subSequence(start, end).toString());
+	}
+
+	/**
+	 * <p>
+	 * Parses a {@link Version} from the bytes between the specified
+	 * {@link ByteBuffer}'s position and limit, which must contain the ASCII (or
+	 * UTF-8) encoded {@link String} representation of it. This is otherwise
+	 * identical to {@link #parseVersion(String)}. The {@link ByteBuffer}'s
+	 * position and limit will not be modified.
+	 * </p>
+	 * <p>
+	 * The default implementation parses the bytes in place, by passing a
+	 * {@link ByteBufferCharSequence} view of them to
+	 * {@link #parseVersion(CharSequence, int, int)}.
+	 * </p>
+	 * 
+	 * @param buffer
+	 *            the {@link ByteBuffer} containing the encoded {@link String}
+	 *            representation of the {@link Version} to be parsed
+	 * @return a {@link Version} instance equivalent to the {@link String}
+	 *         representation that was parsed
+	 * @throws VersionParseException
+	 *             A {@link VersionParseException} will be thrown if an error
+	 *             occurs that prevents parsing the version. Typically, this
+	 *             indicates a malformed {@link String}.
+	 */
+	default V parseVersion(ByteBuffer buffer) throws VersionParseException {
+		if (buffer == null)
+			throw new IllegalArgumentException();
+		return parseVersion(new ByteBufferCharSequence(buffer), 0, buffer.remaining());
+	}
+
+	/**
+	 * <p>
+	 * Parses a {@link Version} from the specified {@link String} representation
+	 * of it, as {@link #parseVersion(String)} does, but reports malformed input
+	 * via the returned {@link ParseResult}, rather than by throwing a
+	 * {@link VersionParseException}.
+	 * </p>
+	 * <p>
+	 * This should be preferred when validating lots of possibly-malformed
+	 * version {@link String}s, as the {@link VersionParseException}s it returns
+	 * don't capture stack traces.
+	 * </p>
+	 * 
+	 * @param versionString
+	 *            the {@link String} representation of the {@link Version} to be
+	 *            parsed
+	 * @return a {@link ParseResult} with either the parsed {@link Version}, or
+	 *         the {@link VersionParseException} describing why it could not be
+	 *         parsed
+	 */
+	default ParseResult<V> tryParseVersion(String versionString) {
+		if (versionString == null)
+			throw new IllegalArgumentException("Null version strings not supported.");
+		return ParseResult.attempt(() -> parseVersion(versionString), VersionParseException.class);
+	}
+
+	/**
+	 * Parses a {@link Version} from the specified slice of a
+	 * {@link CharSequence}, as {@link #parseVersion(CharSequence, int, int)}
+	 * does, but reports malformed input via the returned {@link ParseResult},
+	 * rather than by throwing a {@link VersionParseException}. See
+	 * {@link #tryParseVersion(String)} for details.
+	 * 
+	 * @param text
+	 *            the {@link CharSequence} containing the {@link String}
+	 *            representation of the {@link Version} to be parsed
+	 * @param start
+	 *            the index of the first character in the slice to be parsed
+	 * @param end
+	 *            the index after the last character in the slice to be parsed
+	 * @return a {@link ParseResult} with either the parsed {@link Version}, or
+	 *         the {@link VersionParseException} describing why it could not be
+	 *         parsed
+	 */
+	default ParseResult<V> tryParseVersion(CharSequence text, int start, int end) {
+		if (text == null)
+			throw new IllegalArgumentException();
+		return ParseResult.attempt(() -> parseVersion(text, start, end), VersionParseException.class);
+	}
+
+	/**
+	 * Parses all of the specified version {@link String}s, in parallel, as
+	 * {@link #parseVersion(String)} does. Malformed {@link String}s don't abort
+	 * the batch: their {@link VersionParseException}s are instead collected
+	 * into the returned {@link ParseResults}, by index. See
+	 * {@link ParseResults#parseAll(Stream, java.util.function.Function, Class)}
+	 * for details. Note that this requires the {@link VersionParser} to be safe
+	 * to use concurrently.
+	 * 
+	 * @param versionStrings
+	 *            the {@link String} representations of the {@link Version}s to
+	 *            be parsed, none of which may be <code>null</code>
+	 * @return a {@link ParseResults} with the parsed {@link Version}s (in the
+	 *         same order as the {@link String}s), and the
+	 *         {@link VersionParseException}s for any that could not be parsed
+	 */
+	default ParseResults<V> parseAll(Stream<String> versionStrings) {
+		return ParseResults.parseAll(versionStrings, this::parseVersion, VersionParseException.class);
+	}
 }
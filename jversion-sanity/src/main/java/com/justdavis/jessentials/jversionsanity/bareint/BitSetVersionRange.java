@@ -0,0 +1,742 @@
+package com.justdavis.jessentials.jversionsanity.bareint;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import com.justdavis.jessentials.jversionsanity.range.VersionRange;
+import com.justdavis.jessentials.jversionsanity.range.interval.UnionVersionRange;
+
+/**
+ * <p>
+ * A {@link VersionRange} of {@link IntegerVersion}s that's represented as a
+ * bitmap, with one bit per version value. This is intended for the common
+ * case where many ranges need to be combined: {@link #matches(IntegerVersion)}
+ * is a single bit test (after finding its chunk, see below), and
+ * {@link #union(BitSetVersionRange)}, {@link #intersect(BitSetVersionRange)},
+ * {@link #complement()}, and {@link #cardinality()} all operate on 64
+ * versions at a time, rather than comparing {@link IntegerVersion}s.
+ * </p>
+ * <p>
+ * The bitmap is compressed by splitting it into fixed-size chunks of
+ * {@link #CHUNK_VALUES} version values each. Chunks that mix matching and
+ * non-matching versions are stored as an array of words, while each run of
+ * chunks that all match (or all don't match) is stored as a single fill flag.
+ * For example, <code>[3,)</code> is stored as one chunk plus one fill, no
+ * matter how large the version values go, and
+ * <code>[1],[2000000000]</code> only stores two chunks, rather than all of
+ * the words between them. Instances are always kept in that form (uniform
+ * chunks are never stored, and adjacent fills are always merged), so that
+ * equivalent {@link BitSetVersionRange}s are {@link #equals(Object)}.
+ * </p>
+ * <p>
+ * Instances are immutable.
+ * </p>
+ */
+public final class BitSetVersionRange implements VersionRange<IntegerVersion> {
+	/**
+	 * The number of bits to shift a version value right by, to get the index
+	 * of its chunk.
+	 */
+	private static final int CHUNK_SHIFT = 12;
+
+	/**
+	 * The number of version values in each chunk of the bitmap.
+	 */
+	private static final int CHUNK_VALUES = 1 << CHUNK_SHIFT;
+
+	/**
+	 * The number of 64-bit words in each chunk of the bitmap.
+	 */
+	private static final int CHUNK_WORDS = CHUNK_VALUES >>> 6;
+
+	/**
+	 * The number of chunks needed to cover every possible
+	 * {@link IntegerVersion#getVersionValue()}, from <code>0</code> through
+	 * {@link Integer#MAX_VALUE}.
+	 */
+	private static final int CHUNK_COUNT = (Integer.MAX_VALUE >>> CHUNK_SHIFT) + 1;
+
+	private static final BitSetVersionRange NONE = new BitSetVersionRange(new int[] { 0 }, new long[1][],
+			new boolean[] { false });
+	private static final BitSetVersionRange ALL = new BitSetVersionRange(new int[] { 0 }, new long[1][],
+			new boolean[] { true });
+
+	/**
+	 * The index of the first chunk in each of the bitmap's segments, starting
+	 * with <code>0</code>. Each segment runs up to the start of the next one,
+	 * or to the end of the bitmap.
+	 */
+	private final int[] segmentStarts;
+
+	/**
+	 * The words of each segment that's a single stored chunk, where bit
+	 * <code>n</code> of <code>segmentWords[s][i]</code> represents the version
+	 * value <code>(segmentStarts[s] * CHUNK_VALUES) + (i * 64) + n</code>, or
+	 * <code>null</code> for the segments that are fills.
+	 */
+	private final long[][] segmentWords;
+
+	/**
+	 * Whether or not the versions in each fill segment all match (always
+	 * <code>false</code> for the stored chunks).
+	 */
+	private final boolean[] segmentFills;
+
+	/**
+	 * Constructs a new {@link BitSetVersionRange}. The parameters must already
+	 * be in their canonical form (see {@link Builder}).
+	 * 
+	 * @param segmentStarts
+	 *            the value to use for {@link #segmentStarts}
+	 * @param segmentWords
+	 *            the value to use for {@link #segmentWords}
+	 * @param segmentFills
+	 *            the value to use for {@link #segmentFills}
+	 */
+	private BitSetVersionRange(int[] segmentStarts, long[][] segmentWords, boolean[] segmentFills) {
+		this.segmentStarts = segmentStarts;
+		this.segmentWords = segmentWords;
+		this.segmentFills = segmentFills;
+	}
+
+	/**
+	 * Converts an interval-based {@link VersionRange} (see
+	 * {@link UnionVersionRange#asUnion(VersionRange)}) into an equivalent
+	 * {@link BitSetVersionRange}, in time proportional to the number of
+	 * intervals in it.
+	 * 
+	 * @param range
+	 *            the interval-based {@link VersionRange} to convert
+	 * @return a {@link BitSetVersionRange} that matches exactly the same
+	 *         {@link IntegerVersion}s as the specified {@link VersionRange}
+	 */
+	public static BitSetVersionRange valueOf(VersionRange<IntegerVersion> range) {
+		if (range == null)
+			throw new IllegalArgumentException();
+		if (range instanceof BitSetVersionRange)
+			return (BitSetVersionRange) range;
+
+		UnionVersionRange<IntegerVersion> union = UnionVersionRange.asUnion(range);
+		if (union == null)
+			throw new IllegalArgumentException("Unsupported VersionRange implementation: " + range.getClass());
+
+		/*
+		 * Fold the bounds into inclusive ones, using longs to avoid overflow,
+		 * and skip any intervals that don't contain any integers, e.g. (2,3).
+		 */
+		Builder builder = new Builder();
+		for (int i = 0; i < union.getIntervalCount(); i++) {
+			IntegerVersion lower = union.getVersionLower(i);
+			IntegerVersion upper = union.getVersionUpper(i);
+			long from = lower == null ? 0L : lower.getVersionValue() + (union.isLowerInclusive(i) ? 0L : 1L);
+			long to = upper == null ? Integer.MAX_VALUE
+					: upper.getVersionValue() - (union.isUpperInclusive(i) ? 0L : 1L);
+			if (from <= to)
+				builder.set(from, to);
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Converts any {@link VersionRange} of {@link IntegerVersion}s into a
+	 * {@link BitSetVersionRange} that matches the same {@link IntegerVersion}s
+	 * from <code>0</code> through <code>maxValue</code>, and nothing above
+	 * those. Interval-based {@link VersionRange}s (see
+	 * {@link UnionVersionRange#asUnion(VersionRange)}) are converted
+	 * symbolically, but other implementations have to be checked via
+	 * {@link VersionRange#matches(com.justdavis.jessentials.jversionsanity.Version)}
+	 * for each of those values.
+	 * 
+	 * @param range
+	 *            the {@link VersionRange} to convert
+	 * @param maxValue
+	 *            the highest {@link IntegerVersion#getVersionValue()} to
+	 *            include
+	 * @return a {@link BitSetVersionRange} that matches the same
+	 *         {@link IntegerVersion}s as the specified {@link VersionRange},
+	 *         up to <code>maxValue</code>
+	 */
+	public static BitSetVersionRange valueOf(VersionRange<IntegerVersion> range, int maxValue) {
+		if (range == null)
+			throw new IllegalArgumentException();
+		if (maxValue < 0)
+			throw new IllegalArgumentException();
+
+		Builder builder = new Builder();
+		if (range instanceof BitSetVersionRange || UnionVersionRange.asUnion(range) != null) {
+			builder.set(0L, maxValue);
+			return valueOf(range).intersect(builder.build());
+		}
+
+		for (long value = 0; value <= maxValue; value++)
+			if (range.matches(IntegerVersion.valueOf((int) value)))
+				builder.set(value, value);
+		return builder.build();
+	}
+
+	/**
+	 * @param chunk
+	 *            the words of the chunk to set the bits in
+	 * @param from
+	 *            the offset (within the chunk) of the lowest bit to set
+	 * @param to
+	 *            the offset (within the chunk) of the highest bit to set
+	 */
+	private static void setBits(long[] chunk, int from, int to) {
+		int fromIndex = from >>> 6;
+		int toIndex = to >>> 6;
+		long fromMask = -1L << from;
+		long toMask = -1L >>> (63 - (to & 63));
+		if (fromIndex == toIndex) {
+			chunk[fromIndex] |= fromMask & toMask;
+		} else {
+			chunk[fromIndex] |= fromMask;
+			Arrays.fill(chunk, fromIndex + 1, toIndex, -1L);
+			chunk[toIndex] |= toMask;
+		}
+	}
+
+	/**
+	 * @return <code>true</code> if this {@link BitSetVersionRange} matches
+	 *         either everything or nothing, <code>false</code> otherwise
+	 */
+	private boolean isUniform() {
+		return segmentStarts.length == 1;
+	}
+
+	/**
+	 * @param segment
+	 *            the index of the segment to check
+	 * @return the index of the chunk after the last one in the specified
+	 *         segment
+	 */
+	private int getSegmentEnd(int segment) {
+		return segment + 1 < segmentStarts.length ? segmentStarts[segment + 1] : CHUNK_COUNT;
+	}
+
+	/**
+	 * @return the number of segments (stored chunks and fills) in this
+	 *         {@link BitSetVersionRange}, which is only exposed for testing
+	 *         purposes
+	 */
+	int getSegmentCount() {
+		return segmentStarts.length;
+	}
+
+	/**
+	 * @see com.justdavis.jessentials.jversionsanity.range.VersionRange#matches(com.justdavis.jessentials.jversionsanity.Version)
+	 */
+	@Override
+	public boolean matches(IntegerVersion version) {
+		if (version == null)
+			throw new IllegalArgumentException();
+
+		return matchesInt(version.getVersionValue());
+	}
+
+	/**
+	 * Determines whether or not the {@link IntegerVersion} with the specified
+	 * value matches this {@link BitSetVersionRange}, without needing an
+	 * {@link IntegerVersion} instance.
+	 * 
+	 * @param versionValue
+	 *            the {@link IntegerVersion#getVersionValue()} of the version to
+	 *            check
+	 * @return <code>true</code> if the specified version matches this
+	 *         {@link BitSetVersionRange}, <code>false</code> if it does not
+	 */
+	public boolean matchesInt(int versionValue) {
+		if (versionValue < 0)
+			return false;
+
+		int segment = Arrays.binarySearch(segmentStarts, versionValue >>> CHUNK_SHIFT);
+		if (segment < 0)
+			segment = -segment - 2;
+		long[] chunk = segmentWords[segment];
+		if (chunk == null)
+			return segmentFills[segment];
+		return (chunk[(versionValue >>> 6) & (CHUNK_WORDS - 1)] & (1L << versionValue)) != 0;
+	}
+
+	/**
+	 * @return <code>true</code> if this {@link BitSetVersionRange} won't match
+	 *         any {@link IntegerVersion}s, <code>false</code> if it will
+	 */
+	public boolean isEmpty() {
+		return this == NONE;
+	}
+
+	/**
+	 * @return the number of {@link IntegerVersion}s (with values from
+	 *         <code>0</code> through {@link Integer#MAX_VALUE}) that match this
+	 *         {@link BitSetVersionRange}
+	 */
+	public long cardinality() {
+		long cardinality = 0;
+		for (int i = 0; i < segmentStarts.length; i++) {
+			if (segmentWords[i] != null) {
+				for (long word : segmentWords[i])
+					cardinality += Long.bitCount(word);
+			} else if (segmentFills[i]) {
+				cardinality += (long) (getSegmentEnd(i) - segmentStarts[i]) << CHUNK_SHIFT;
+			}
+		}
+		return cardinality;
+	}
+
+	/**
+	 * @param other
+	 *            the {@link BitSetVersionRange} to combine with this one
+	 * @return a {@link BitSetVersionRange} that matches any
+	 *         {@link IntegerVersion} matched by either this
+	 *         {@link BitSetVersionRange} or the specified one
+	 */
+	public BitSetVersionRange union(BitSetVersionRange other) {
+		if (other == null)
+			throw new IllegalArgumentException();
+
+		return combine(this, other, false);
+	}
+
+	/**
+	 * @param other
+	 *            the {@link BitSetVersionRange} to intersect with this one
+	 * @return a {@link BitSetVersionRange} that matches only those
+	 *         {@link IntegerVersion}s matched by both this
+	 *         {@link BitSetVersionRange} and the specified one
+	 */
+	public BitSetVersionRange intersect(BitSetVersionRange other) {
+		if (other == null)
+			throw new IllegalArgumentException();
+
+		return combine(this, other, true);
+	}
+
+	/**
+	 * @return a {@link BitSetVersionRange} that matches exactly those
+	 *         {@link IntegerVersion}s not matched by this
+	 *         {@link BitSetVersionRange}
+	 */
+	public BitSetVersionRange complement() {
+		if (isUniform())
+			return segmentFills[0] ? NONE : ALL;
+
+		// Flipping every bit can't make a chunk uniform or merge any fills.
+		long[][] complementWords = new long[segmentWords.length][];
+		boolean[] complementFills = new boolean[segmentFills.length];
+		for (int i = 0; i < segmentStarts.length; i++) {
+			if (segmentWords[i] == null) {
+				complementFills[i] = !segmentFills[i];
+				continue;
+			}
+
+			complementWords[i] = new long[CHUNK_WORDS];
+			for (int w = 0; w < CHUNK_WORDS; w++)
+				complementWords[i][w] = ~segmentWords[i][w];
+		}
+		return new BitSetVersionRange(segmentStarts, complementWords, complementFills);
+	}
+
+	/**
+	 * Computes the union of all of the specified {@link BitSetVersionRange}s,
+	 * in a single pass over all of them.
+	 * 
+	 * @param ranges
+	 *            the {@link BitSetVersionRange}s to combine
+	 * @return a {@link BitSetVersionRange} that matches any
+	 *         {@link IntegerVersion} matched by at least one of the specified
+	 *         {@link BitSetVersionRange}s (which will match nothing, if there
+	 *         aren't any)
+	 */
+	public static BitSetVersionRange unionAll(Collection<BitSetVersionRange> ranges) {
+		return combineAll(ranges, false);
+	}
+
+	/**
+	 * Computes the intersection of all of the specified
+	 * {@link BitSetVersionRange}s, in a single pass over all of them.
+	 * 
+	 * @param ranges
+	 *            the {@link BitSetVersionRange}s to intersect
+	 * @return a {@link BitSetVersionRange} that matches only those
+	 *         {@link IntegerVersion}s matched by every one of the specified
+	 *         {@link BitSetVersionRange}s (which will match everything, if
+	 *         there aren't any)
+	 */
+	public static BitSetVersionRange intersectAll(Collection<BitSetVersionRange> ranges) {
+		return combineAll(ranges, true);
+	}
+
+	/**
+	 * @param a
+	 *            the first {@link BitSetVersionRange} to combine
+	 * @param b
+	 *            the second {@link BitSetVersionRange} to combine
+	 * @param intersect
+	 *            <code>true</code> to compute the intersection,
+	 *            <code>false</code> to compute the union
+	 * @return the intersection or union of the specified
+	 *         {@link BitSetVersionRange}s
+	 */
+	private static BitSetVersionRange combine(BitSetVersionRange a, BitSetVersionRange b, boolean intersect) {
+		if (b.isUniform())
+			return b.segmentFills[0] == intersect ? a : b;
+		if (a.isUniform())
+			return a.segmentFills[0] == intersect ? b : a;
+
+		return merge(new BitSetVersionRange[] { a, b }, intersect);
+	}
+
+	/**
+	 * @param ranges
+	 *            the {@link BitSetVersionRange}s to combine
+	 * @param intersect
+	 *            <code>true</code> to compute the intersection,
+	 *            <code>false</code> to compute the union
+	 * @return the intersection or union of the specified
+	 *         {@link BitSetVersionRange}s
+	 */
+	private static BitSetVersionRange combineAll(Collection<BitSetVersionRange> ranges, boolean intersect) {
+		if (ranges == null)
+			throw new IllegalArgumentException();
+
+		// ALL and NONE either decide the result, or don't change it at all.
+		BitSetVersionRange[] mixedRanges = new BitSetVersionRange[ranges.size()];
+		int mixedCount = 0;
+		for (BitSetVersionRange range : ranges) {
+			if (range == null)
+				throw new IllegalArgumentException("Null ranges not supported.");
+			if (!range.isUniform())
+				mixedRanges[mixedCount++] = range;
+			else if (range.segmentFills[0] != intersect)
+				return range;
+		}
+		if (mixedCount == 0)
+			return intersect ? ALL : NONE;
+		if (mixedCount == 1)
+			return mixedRanges[0];
+
+		return merge(Arrays.copyOf(mixedRanges, mixedCount), intersect);
+	}
+
+	/**
+	 * Walks through the segments of all of the specified
+	 * {@link BitSetVersionRange}s at once, combining them into a single new
+	 * {@link BitSetVersionRange}. Spans where all of them are fills are
+	 * combined without looking at any words, so this takes time proportional
+	 * to the total number of segments, rather than to the size of the bitmap.
+	 * 
+	 * @param ranges
+	 *            the {@link BitSetVersionRange}s to combine, none of which may
+	 *            be uniform
+	 * @param intersect
+	 *            <code>true</code> to compute the intersection,
+	 *            <code>false</code> to compute the union
+	 * @return the intersection or union of the specified
+	 *         {@link BitSetVersionRange}s
+	 */
+	private static BitSetVersionRange merge(BitSetVersionRange[] ranges, boolean intersect) {
+		Builder builder = new Builder();
+		int[] segments = new int[ranges.length];
+		int spanStart = 0;
+		while (spanStart < CHUNK_COUNT) {
+			// Find the end of the span where every range stays in the same segment.
+			int spanEnd = CHUNK_COUNT;
+			boolean hasChunk = false;
+			boolean fill = intersect;
+			for (int r = 0; r < ranges.length; r++) {
+				BitSetVersionRange range = ranges[r];
+				spanEnd = Math.min(spanEnd, range.getSegmentEnd(segments[r]));
+				if (range.segmentWords[segments[r]] != null)
+					hasChunk = true;
+				else if (range.segmentFills[segments[r]] != intersect)
+					fill = !intersect;
+			}
+
+			// A fill of NONE (when intersecting) or ALL (when unioning) decides the span.
+			if (!hasChunk || fill != intersect) {
+				builder.appendFill(fill, spanEnd - spanStart);
+			} else {
+				long[] chunk = new long[CHUNK_WORDS];
+				if (intersect)
+					Arrays.fill(chunk, -1L);
+				for (int r = 0; r < ranges.length; r++) {
+					long[] rangeChunk = ranges[r].segmentWords[segments[r]];
+					if (rangeChunk == null)
+						continue;
+					if (intersect)
+						for (int w = 0; w < CHUNK_WORDS; w++)
+							chunk[w] &= rangeChunk[w];
+					else
+						for (int w = 0; w < CHUNK_WORDS; w++)
+							chunk[w] |= rangeChunk[w];
+				}
+				builder.appendChunk(chunk);
+			}
+
+			for (int r = 0; r < ranges.length; r++)
+				if (ranges[r].getSegmentEnd(segments[r]) == spanEnd)
+					segments[r]++;
+			spanStart = spanEnd;
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Returns the interval notation for this {@link BitSetVersionRange}, in the
+	 * same format as {@link UnionVersionRange#toString()}, e.g. "
+	 * <code>[0,3],[5],[9,)</code>".
+	 * 
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		StringBuilder rangeString = new StringBuilder();
+		long runStart = -1;
+		for (int i = 0; i < segmentStarts.length; i++) {
+			long segmentStart = (long) segmentStarts[i] << CHUNK_SHIFT;
+			long[] chunk = segmentWords[i];
+			if (chunk == null) {
+				if (segmentFills[i] && runStart < 0) {
+					runStart = segmentStart;
+				} else if (!segmentFills[i] && runStart >= 0) {
+					appendRun(rangeString, runStart, segmentStart - 1);
+					runStart = -1;
+				}
+				continue;
+			}
+
+			for (int w = 0; w < CHUNK_WORDS; w++) {
+				// Skip past whole words that continue the run.
+				long word = chunk[w];
+				if ((runStart < 0 && word == 0L) || (runStart >= 0 && word == -1L))
+					continue;
+
+				long wordStart = segmentStart + (w << 6);
+				for (int bit = 0; bit < 64; bit++) {
+					boolean set = (word & (1L << bit)) != 0;
+					if (set && runStart < 0) {
+						runStart = wordStart + bit;
+					} else if (!set && runStart >= 0) {
+						appendRun(rangeString, runStart, wordStart + bit - 1);
+						runStart = -1;
+					}
+				}
+			}
+		}
+		if (runStart >= 0)
+			appendRun(rangeString, runStart, segmentWords[segmentStarts.length - 1] == null ? -1 : Integer.MAX_VALUE);
+		return rangeString.toString();
+	}
+
+	/**
+	 * @param rangeString
+	 *            the {@link StringBuilder} to append to
+	 * @param lower
+	 *            the first version value in the run
+	 * @param upper
+	 *            the last version value in the run, or <code>-1</code> if the
+	 *            run is unbounded above
+	 */
+	private static void appendRun(StringBuilder rangeString, long lower, long upper) {
+		if (rangeString.length() > 0)
+			rangeString.append(',');
+		rangeString.append('[').append(lower);
+		if (upper < 0)
+			rangeString.append(",)");
+		else if (upper != lower)
+			rangeString.append(',').append(upper).append(']');
+		else
+			rangeString.append(']');
+	}
+
+	/**
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		/*
+		 * This method was generated by Eclipse's 'Source > Generate hashCode()
+		 * and equals()...' feature.
+		 */
+
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + Arrays.hashCode(segmentFills);
+		result = prime * result + Arrays.hashCode(segmentStarts);
+		result = prime * result + Arrays.deepHashCode(segmentWords);
+		return result;
+	}
+
+	/**
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		/*
+		 * This method was generated by Eclipse's 'Source > Generate hashCode()
+		 * and equals()...' feature.
+		 */
+
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		BitSetVersionRange other = (BitSetVersionRange) obj;
+		if (!Arrays.equals(segmentFills, other.segmentFills))
+			return false;
+		if (!Arrays.equals(segmentStarts, other.segmentStarts))
+			return false;
+		if (!Arrays.deepEquals(segmentWords, other.segmentWords))
+			return false;
+		return true;
+	}
+
+	/**
+	 * Assembles the segments of a new {@link BitSetVersionRange} from the
+	 * lowest chunk up, and keeps them in their canonical form: chunks that
+	 * turn out to be uniform are stored as fills, and adjacent fills with the
+	 * same value are merged.
+	 */
+	private static final class Builder {
+		private int[] segmentStarts;
+		private long[][] segmentWords;
+		private boolean[] segmentFills;
+		private int segmentCount;
+
+		/**
+		 * The index of the next chunk to be appended.
+		 */
+		private int nextChunk;
+
+		/**
+		 * The chunk that {@link #set(long, long)} is currently setting bits in,
+		 * which hasn't been appended yet, or <code>null</code>.
+		 */
+		private long[] pendingChunk;
+
+		/**
+		 * Constructs a new, empty {@link Builder}.
+		 */
+		Builder() {
+			this.segmentStarts = new int[4];
+			this.segmentWords = new long[4][];
+			this.segmentFills = new boolean[4];
+			this.segmentCount = 0;
+			this.nextChunk = 0;
+			this.pendingChunk = null;
+		}
+
+		/**
+		 * Sets the bits for all of the specified version values. Each call must
+		 * be for values above those of the previous call, and no chunks may be
+		 * appended directly once this has been called.
+		 * 
+		 * @param from
+		 *            the lowest version value whose bit should be set
+		 * @param to
+		 *            the highest version value whose bit should be set
+		 */
+		void set(long from, long to) {
+			int fromChunk = (int) (from >>> CHUNK_SHIFT);
+			int toChunk = (int) (to >>> CHUNK_SHIFT);
+			int fromOffset = (int) (from & (CHUNK_VALUES - 1));
+			int toOffset = (int) (to & (CHUNK_VALUES - 1));
+
+			// Finish the pending chunk, unless these values are in it, too.
+			if (pendingChunk != null && nextChunk < fromChunk) {
+				appendChunk(pendingChunk);
+				pendingChunk = null;
+			}
+			if (pendingChunk == null) {
+				appendFill(false, fromChunk - nextChunk);
+				pendingChunk = new long[CHUNK_WORDS];
+			}
+
+			if (fromChunk == toChunk) {
+				setBits(pendingChunk, fromOffset, toOffset);
+				return;
+			}
+			setBits(pendingChunk, fromOffset, CHUNK_VALUES - 1);
+			appendChunk(pendingChunk);
+			appendFill(true, toChunk - fromChunk - 1);
+			pendingChunk = new long[CHUNK_WORDS];
+			setBits(pendingChunk, 0, toOffset);
+		}
+
+		/**
+		 * @param fill
+		 *            whether or not the versions in the fill all match
+		 * @param chunkCount
+		 *            the number of chunks that the fill covers, which may be
+		 *            <code>0</code>
+		 */
+		void appendFill(boolean fill, int chunkCount) {
+			if (chunkCount == 0)
+				return;
+
+			// The previous segment just grows, if it's the same fill.
+			if (segmentCount == 0 || segmentWords[segmentCount - 1] != null || segmentFills[segmentCount - 1] != fill)
+				appendSegment(null, fill);
+			nextChunk += chunkCount;
+		}
+
+		/**
+		 * @param chunk
+		 *            the words of the chunk to append, which this
+		 *            {@link Builder} will take ownership of
+		 */
+		void appendChunk(long[] chunk) {
+			long first = chunk[0];
+			boolean uniform = first == 0L || first == -1L;
+			for (int w = 1; uniform && w < CHUNK_WORDS; w++)
+				uniform = chunk[w] == first;
+			if (uniform) {
+				appendFill(first == -1L, 1);
+				return;
+			}
+
+			appendSegment(chunk, false);
+			nextChunk++;
+		}
+
+		/**
+		 * @param words
+		 *            the words of the new segment, or <code>null</code> if it's
+		 *            a fill
+		 * @param fill
+		 *            whether or not the versions in the new segment all match,
+		 *            if it's a fill
+		 */
+		private void appendSegment(long[] words, boolean fill) {
+			if (segmentCount == segmentStarts.length) {
+				segmentStarts = Arrays.copyOf(segmentStarts, segmentCount * 2);
+				segmentWords = Arrays.copyOf(segmentWords, segmentCount * 2);
+				segmentFills = Arrays.copyOf(segmentFills, segmentCount * 2);
+			}
+			segmentStarts[segmentCount] = nextChunk;
+			segmentWords[segmentCount] = words;
+			segmentFills[segmentCount] = fill;
+			segmentCount++;
+		}
+
+		/**
+		 * @return a new {@link BitSetVersionRange} for the appended segments,
+		 *         with everything above them left unmatched
+		 */
+		BitSetVersionRange build() {
+			if (pendingChunk != null) {
+				appendChunk(pendingChunk);
+				pendingChunk = null;
+			}
+			appendFill(false, CHUNK_COUNT - nextChunk);
+
+			if (segmentCount == 1)
+				return segmentFills[0] ? ALL : NONE;
+			return new BitSetVersionRange(Arrays.copyOf(segmentStarts, segmentCount),
+					Arrays.copyOf(segmentWords, segmentCount), Arrays.copyOf(segmentFills, segmentCount));
+		}
+	}
+}
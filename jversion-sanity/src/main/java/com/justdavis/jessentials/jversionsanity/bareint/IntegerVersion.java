@@ -1,5 +1,9 @@
 package com.justdavis.jessentials.jversionsanity.bareint;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+import com.justdavis.jessentials.jversionsanity.OrderedKeyVersion;
 import com.justdavis.jessentials.jversionsanity.Version;
 import com.justdavis.jessentials.jversionsanity.VersionParseException;
 
@@ -19,18 +23,42 @@ import com.justdavis.jessentials.jversionsanity.VersionParseException;
  * are equal. This equivalency intentionally ignores leading zeroes and leading
  * or trailing whitespace.
  * </p>
+ * <h3>Sort Keys</h3>
+ * <p>
+ * The {@link OrderedKeyVersion} sort key for an {@link IntegerVersion} is its
+ * value as a fixed-width, four byte, big-endian integer.
+ * </p>
  */
-public final class IntegerVersion implements Version {
+public final class IntegerVersion implements OrderedKeyVersion {
+	/**
+	 * The highest value that {@link #valueOf(int)} will return a cached
+	 * instance for.
+	 */
+	private static final int CACHE_MAX = 1023;
+
+	/**
+	 * The shared instances returned by {@link #valueOf(int)}, indexed by
+	 * value.
+	 */
+	private static final IntegerVersion[] CACHE = new IntegerVersion[CACHE_MAX + 1];
+
+	static {
+		for (int i = 0; i < CACHE.length; i++)
+			CACHE[i] = new IntegerVersion(i);
+	}
+
 	/**
 	 * Stores the {@link String} that this {@link IntegerVersion} instance was
-	 * parsed from, or <code>null</code> if it was constructed manually.
+	 * parsed from, or <code>null</code> if it was constructed manually or if
+	 * that {@link String} was already in canonical form (in which case
+	 * {@link #toString()} can just recreate it).
 	 */
 	private final String versionString;
 
 	/**
 	 * The non-negative integer version value.
 	 */
-	private final Integer versionValue;
+	private final int versionValue;
 
 	/**
 	 * Parses an {@link IntegerVersion} from the specified {@link String}
@@ -47,15 +75,11 @@ public final class IntegerVersion implements Version {
 		if (versionString == null)
 			throw new IllegalArgumentException("Null version strings not supported.");
 
-		this.versionString = versionString;
-
-		try {
-			this.versionValue = Integer.parseInt(versionString.trim());
-		} catch (NumberFormatException e) {
-			throw new VersionParseException(versionString, this.getClass(), e);
-		}
+		this.versionValue = parseValue(versionString.trim());
 		if (versionValue < 0)
 			throw new VersionParseException(versionString, this.getClass());
+
+		this.versionString = isCanonical(versionString) ? null : versionString;
 	}
 
 	/**
@@ -66,8 +90,19 @@ public final class IntegerVersion implements Version {
 	 *            represented by this {@link IntegerVersion}
 	 */
 	public IntegerVersion(Integer versionValue) {
-		if (versionValue == null)
-			throw new IllegalArgumentException("Null version strings not supported.");
+		this(unbox(versionValue));
+	}
+
+	/**
+	 * Constructs a new {@link IntegerVersion}. Consider using
+	 * {@link #valueOf(int)} instead, which avoids creating new instances for
+	 * common values.
+	 * 
+	 * @param versionValue
+	 *            the value of the version number that is represented by this
+	 *            {@link IntegerVersion}
+	 */
+	public IntegerVersion(int versionValue) {
 		if (versionValue < 0)
 			throw new IllegalArgumentException("Negative versions not supported.");
 
@@ -75,6 +110,99 @@ public final class IntegerVersion implements Version {
 		this.versionValue = versionValue;
 	}
 
+	/**
+	 * @param versionValue
+	 *            the value of the version number to get an
+	 *            {@link IntegerVersion} for
+	 * @return an {@link IntegerVersion} for the specified value, which (for
+	 *         values up to 1023) will be a shared instance
+	 */
+	public static IntegerVersion valueOf(int versionValue) {
+		if (versionValue >= 0 && versionValue <= CACHE_MAX)
+			return CACHE[versionValue];
+		return new IntegerVersion(versionValue);
+	}
+
+	/**
+	 * @param versionValue
+	 *            the {@link Integer} to unbox
+	 * @return the specified {@link Integer}'s value
+	 */
+	private static int unbox(Integer versionValue) {
+		if (versionValue == null)
+			throw new IllegalArgumentException("Null version strings not supported.");
+		return versionValue;
+	}
+
+	/**
+	 * Parses the specified (already trimmed) {@link String}, accepting exactly
+	 * what {@link Integer#parseInt(String)} does (less negative values), but
+	 * without creating a {@link NumberFormatException} for malformed input,
+	 * which is expensive and would just be discarded anyhow.
+	 * 
+	 * @param text
+	 *            the {@link String} to parse
+	 * @return the value represented by the specified {@link String}, or
+	 *         <code>-1</code> if it isn't a valid non-negative
+	 *         <code>int</code>
+	 */
+	private static int parseValue(String text) {
+		int length = text.length();
+		if (length == 0)
+			return -1;
+
+		int index = 0;
+		boolean negative = false;
+		char first = text.charAt(0);
+		if (first == '-' || first == '+') {
+			negative = first == '-';
+			index++;
+			if (length == 1)
+				return -1;
+		}
+
+		long value = 0;
+		for (; index < length; index++) {
+			int digit = Character.digit(text.charAt(index), 10);
+			if (digit < 0)
+				return -1;
+			value = value * 10 + digit;
+			if (value > Integer.MAX_VALUE)
+				return -1;
+		}
+
+		// Integer.parseInt(...) accepts "-0", so this does, too.
+		if (negative && value != 0)
+			return -1;
+		return (int) value;
+	}
+
+	/**
+	 * @param versionString
+	 *            a {@link String} that has already been successfully parsed as
+	 *            an {@link IntegerVersion}
+	 * @return <code>true</code> if the specified {@link String} is exactly what
+	 *         {@link #toString()} would produce for its value, i.e. it has no
+	 *         whitespace, sign, or leading zeroes, <code>false</code> if not
+	 */
+	private static boolean isCanonical(String versionString) {
+		if (versionString.isEmpty() || (versionString.charAt(0) == '0' && versionString.length() > 1))
+			return false;
+		for (int i = 0; i < versionString.length(); i++) {
+			char c = versionString.charAt(i);
+			if (c < '0' || c > '9')
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * @return the non-negative integer value of this {@link IntegerVersion}
+	 */
+	public int getVersionValue() {
+		return versionValue;
+	}
+
 	/**
 	 * @see java.lang.Object#toString()
 	 */
@@ -83,7 +211,34 @@ public final class IntegerVersion implements Version {
 		if (versionString != null)
 			return versionString;
 		else
-			return versionValue.toString();
+			return Integer.toString(versionValue);
+	}
+
+	/**
+	 * @see com.justdavis.jessentials.jversionsanity.OrderedKeyVersion#getSortKeyLength()
+	 */
+	@Override
+	public int getSortKeyLength() {
+		return Integer.BYTES;
+	}
+
+	/**
+	 * @see com.justdavis.jessentials.jversionsanity.OrderedKeyVersion#writeSortKey(java.nio.ByteBuffer)
+	 */
+	@Override
+	public void writeSortKey(ByteBuffer buffer) {
+		if (buffer.remaining() < Integer.BYTES)
+			throw new BufferOverflowException();
+
+		/*
+		 * Written a byte at a time, as the buffer's byte order may not be
+		 * big-endian. The value is never negative, so its sign bit is always
+		 * clear.
+		 */
+		buffer.put((byte) (versionValue >>> 24));
+		buffer.put((byte) (versionValue >>> 16));
+		buffer.put((byte) (versionValue >>> 8));
+		buffer.put((byte) versionValue);
 	}
 
 	/**
@@ -99,7 +254,7 @@ public final class IntegerVersion implements Version {
 					otherVersion, otherVersion.getClass(), this.getClass()));
 
 		IntegerVersion otherIntegerVersion = (IntegerVersion) otherVersion;
-		return versionValue.compareTo(otherIntegerVersion.versionValue);
+		return Integer.compare(versionValue, otherIntegerVersion.versionValue);
 	}
 
 	/**
@@ -114,7 +269,7 @@ public final class IntegerVersion implements Version {
 
 		final int prime = 31;
 		int result = 1;
-		result = prime * result + ((versionValue == null) ? 0 : versionValue.hashCode());
+		result = prime * result + versionValue;
 		return result;
 	}
 
@@ -135,10 +290,7 @@ public final class IntegerVersion implements Version {
 		if (getClass() != obj.getClass())
 			return false;
 		IntegerVersion other = (IntegerVersion) obj;
-		if (versionValue == null) {
-			if (other.versionValue != null)
-				return false;
-		} else if (!versionValue.equals(other.versionValue))
+		if (versionValue != other.versionValue)
 			return false;
 		return true;
 	}
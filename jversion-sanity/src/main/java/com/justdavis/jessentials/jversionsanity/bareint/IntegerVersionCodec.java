@@ -0,0 +1,57 @@
+package com.justdavis.jessentials.jversionsanity.bareint;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import com.justdavis.jessentials.jversionsanity.VersionCodec;
+
+/**
+ * The {@link VersionCodec} for {@link IntegerVersion}s, which encodes each one
+ * as the varint (see {@link VersionCodec#writeVarInt(int, DataOutput)}) of its
+ * {@link IntegerVersion#getVersionValue()}: a single byte for versions below
+ * 128. Non-canonical {@link IntegerVersion#toString()} representations (e.g.
+ * with leading zeroes) are not preserved.
+ */
+public final class IntegerVersionCodec implements VersionCodec<IntegerVersion> {
+	/**
+	 * @see com.justdavis.jessentials.jversionsanity.VersionCodec#write(com.justdavis.jessentials.jversionsanity.Version,
+	 *      java.io.DataOutput)
+	 */
+	@Override
+	public void write(IntegerVersion version, DataOutput out) throws IOException {
+		if (version == null)
+			throw new IllegalArgumentException();
+
+		VersionCodec.writeVarInt(version.getVersionValue(), out);
+	}
+
+	/**
+	 * @see com.justdavis.jessentials.jversionsanity.VersionCodec#write(com.justdavis.jessentials.jversionsanity.Version,
+	 *      java.nio.ByteBuffer)
+	 */
+	@Override
+	public void write(IntegerVersion version, ByteBuffer buffer) {
+		if (version == null)
+			throw new IllegalArgumentException();
+
+		VersionCodec.writeVarInt(version.getVersionValue(), buffer);
+	}
+
+	/**
+	 * @see com.justdavis.jessentials.jversionsanity.VersionCodec#read(java.io.DataInput)
+	 */
+	@Override
+	public IntegerVersion read(DataInput in) throws IOException {
+		return IntegerVersion.valueOf(VersionCodec.readVarInt(in));
+	}
+
+	/**
+	 * @see com.justdavis.jessentials.jversionsanity.VersionCodec#read(java.nio.ByteBuffer)
+	 */
+	@Override
+	public IntegerVersion read(ByteBuffer buffer) {
+		return IntegerVersion.valueOf(VersionCodec.readVarInt(buffer));
+	}
+}
@@ -1,5 +1,8 @@
 package com.justdavis.jessentials.jversionsanity.bareint;
 
+import java.nio.ByteBuffer;
+
+import com.justdavis.jessentials.jversionsanity.ByteBufferCharSequence;
 import com.justdavis.jessentials.jversionsanity.VersionParseException;
 import com.justdavis.jessentials.jversionsanity.VersionParser;
 
@@ -8,10 +11,122 @@ import com.justdavis.jessentials.jversionsanity.VersionParser;
  */
 public final class IntegerVersionParser implements VersionParser<IntegerVersion> {
 	/**
+	 * The number of decimal digits in {@link Integer#MAX_VALUE}.
+	 */
+	private static final int MAX_DIGITS = 10;
+
+	/**
+	 * Returns the shared {@link IntegerVersion#valueOf(int)} instance when the
+	 * {@link String} is already in canonical form (just digits, with no padding
+	 * or leading zeroes), as the resulting {@link IntegerVersion} doesn't then
+	 * need to hang on to the original {@link String} for
+	 * {@link IntegerVersion#toString()}.
+	 * 
 	 * @see com.justdavis.jessentials.jversionsanity.VersionParser#parseVersion(java.lang.String)
 	 */
 	@Override
 	public IntegerVersion parseVersion(String versionString) throws VersionParseException {
+		if (versionString == null)
+			throw new IllegalArgumentException("Null version strings not supported.");
+
+		int value = parseCanonical(versionString, 0, versionString.length());
+		if (value >= 0)
+			return IntegerVersion.valueOf(value);
 		return new IntegerVersion(versionString);
 	}
+
+	/**
+	 * Parses the slice in place when it's already in canonical form (just
+	 * digits, with no padding or leading zeroes), in which case no
+	 * {@link String} needs to be created at all. Anything else is handed off to
+	 * {@link #parseVersion(String)}.
+	 * 
+	 * @see com.justdavis.jessentials.jversionsanity.VersionParser#parseVersion(java.lang.CharSequence,
+	 *      int, int)
+	 */
+	@Override
+	public IntegerVersion parseVersion(CharSequence text, int start, int end) throws VersionParseException {
+		if (text == null || start < 0 || end > text.length() || start > end)
+			throw new IllegalArgumentException();
+
+		int value = parseCanonical(text, start, end);
+		if (value >= 0)
+			return IntegerVersion.valueOf(value);
+		return new IntegerVersion(text.subSequence(start, end).toString());
+	}
+
+	/**
+	 * Parses the bytes in place when they're already in canonical form (just
+	 * digits, with no padding or leading zeroes), in which case nothing needs
+	 * to be allocated at all. Anything else is handed off to
+	 * {@link #parseVersion(CharSequence, int, int)}.
+	 * 
+	 * @see com.justdavis.jessentials.jversionsanity.VersionParser#parseVersion(java.nio.ByteBuffer)
+	 */
+	@Override
+	public IntegerVersion parseVersion(ByteBuffer buffer) throws VersionParseException {
+		if (buffer == null)
+			throw new IllegalArgumentException();
+
+		int value = parseCanonical(buffer, buffer.position(), buffer.limit());
+		if (value >= 0)
+			return IntegerVersion.valueOf(value);
+		return parseVersion(new ByteBufferCharSequence(buffer), 0, buffer.remaining());
+	}
+
+	/**
+	 * @param text
+	 *            the {@link CharSequence} containing the version
+	 * @param start
+	 *            the index of the first character of the version
+	 * @param end
+	 *            the index after the last character of the version
+	 * @return the value of the specified slice, if it's a canonical
+	 *         {@link IntegerVersion} representation (just digits, with no
+	 *         padding or leading zeroes, and no larger than
+	 *         {@link Integer#MAX_VALUE}), or <code>-1</code> if it isn't
+	 */
+	private static int parseCanonical(CharSequence text, int start, int end) {
+		int length = end - start;
+		if (length <= 0 || length > MAX_DIGITS || (text.charAt(start) == '0' && length > 1))
+			return -1;
+
+		long value = 0;
+		for (int i = start; i < end; i++) {
+			char digit = text.charAt(i);
+			if (digit < '0' || digit > '9')
+				return -1;
+			value = value * 10 + (digit - '0');
+		}
+
+		return value <= Integer.MAX_VALUE ? (int) value : -1;
+	}
+
+	/**
+	 * @param buffer
+	 *            the {@link ByteBuffer} containing the encoded version
+	 * @param start
+	 *            the index of the first byte of the version
+	 * @param end
+	 *            the index after the last byte of the version
+	 * @return the value of the specified bytes, if they're a canonical
+	 *         {@link IntegerVersion} representation (just ASCII digits, with no
+	 *         padding or leading zeroes, and no larger than
+	 *         {@link Integer#MAX_VALUE}), or <code>-1</code> if they aren't
+	 */
+	private static int parseCanonical(ByteBuffer buffer, int start, int end) {
+		int length = end - start;
+		if (length <= 0 || length > MAX_DIGITS || (buffer.get(start) == '0' && length > 1))
+			return -1;
+
+		long value = 0;
+		for (int i = start; i < end; i++) {
+			byte digit = buffer.get(i);
+			if (digit < '0' || digit > '9')
+				return -1;
+			value = value * 10 + (digit - '0');
+		}
+
+		return value <= Integer.MAX_VALUE ? (int) value : -1;
+	}
 }
@@ -0,0 +1,123 @@
+package com.justdavis.jessentials.jversionsanity.dotted;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>
+ * A trie of the numeric prefixes that {@link DottedPrefixVersionRange}s match
+ * against, with one immutable node per distinct prefix. Ranges created with
+ * the same {@link DottedPrefixTrie} share the nodes for their prefixes, so
+ * thousands of ranges over a handful of distinct prefixes (e.g. all of the
+ * constraints in a dependency graph) only cost a handful of nodes.
+ * </p>
+ * <p>
+ * Nodes are never removed from a {@link DottedPrefixTrie}, so it grows with
+ * every distinct prefix that's parsed with it. Callers should scope each
+ * instance to a bounded set of inputs (e.g. one resolution run), and drop it
+ * when that's done, rather than sharing one across untrusted input that's
+ * never discarded. {@link DottedPrefixVersionRange}s don't depend on their
+ * trie for anything but memory use: ranges from different tries still
+ * compare equal if their prefixes are equal.
+ * </p>
+ * <p>
+ * Instances are thread-safe.
+ * </p>
+ */
+public final class DottedPrefixTrie {
+	private final Node root;
+
+	/**
+	 * Constructs a new, empty {@link DottedPrefixTrie}.
+	 */
+	public DottedPrefixTrie() {
+		this.root = new Node(null, 0);
+	}
+
+	/**
+	 * @return the {@link Node} for the empty prefix
+	 */
+	Node getRoot() {
+		return root;
+	}
+
+	/**
+	 * Each {@link Node} instance represents a single distinct prefix in a
+	 * {@link DottedPrefixTrie}: its last component, and a link to the node for
+	 * the rest of it.
+	 */
+	static final class Node {
+		final Node parent;
+		final int component;
+		final int depth;
+		final int hashCode;
+
+		/**
+		 * The nodes for the prefixes that extend this one by another
+		 * component, which are created on demand by {@link #getChild(int)}.
+		 */
+		private final ConcurrentMap<Integer, Node> children;
+
+		/**
+		 * Constructs a new {@link Node}.
+		 * 
+		 * @param parent
+		 *            the {@link Node} for the prefix without this node's
+		 *            component, or <code>null</code> for the root
+		 * @param component
+		 *            the last numeric component of this node's prefix
+		 */
+		private Node(Node parent, int component) {
+			this.parent = parent;
+			this.component = component;
+			this.depth = parent == null ? 0 : parent.depth + 1;
+			this.hashCode = parent == null ? 1 : 31 * parent.hashCode + component;
+			this.children = new ConcurrentHashMap<Integer, Node>(4);
+		}
+
+		/**
+		 * @param childComponent
+		 *            the component to extend this node's prefix by
+		 * @return the shared {@link Node} for this node's prefix, plus the
+		 *         specified component
+		 */
+		Node getChild(int childComponent) {
+			Node child = children.get(childComponent);
+			if (child != null)
+				return child;
+
+			Node newChild = new Node(this, childComponent);
+			child = children.putIfAbsent(childComponent, newChild);
+			return child != null ? child : newChild;
+		}
+
+		/**
+		 * @param other
+		 *            the {@link Node} to compare with, which may be from a
+		 *            different {@link DottedPrefixTrie}
+		 * @return <code>true</code> if the specified {@link Node} represents
+		 *         the same prefix as this one, <code>false</code> if it does
+		 *         not
+		 */
+		boolean hasSamePrefix(Node other) {
+			if (depth != other.depth || hashCode != other.hashCode)
+				return false;
+
+			// Within a single trie, the nodes are shared, so this stops early.
+			for (Node a = this, b = other; a != b; a = a.parent, b = b.parent)
+				if (a.component != b.component)
+					return false;
+			return true;
+		}
+
+		/**
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			if (parent == null)
+				return "";
+			return parent.parent == null ? Integer.toString(component) : parent + "." + component;
+		}
+	}
+}
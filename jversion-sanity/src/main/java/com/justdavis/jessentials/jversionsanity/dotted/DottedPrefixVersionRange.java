@@ -0,0 +1,239 @@
+package com.justdavis.jessentials.jversionsanity.dotted;
+
+import com.justdavis.jessentials.jversionsanity.dotted.DottedPrefixTrie.Node;
+import com.justdavis.jessentials.jversionsanity.range.VersionRange;
+import com.justdavis.jessentials.jversionsanity.range.VersionRangeParseException;
+
+/**
+ * <p>
+ * This {@link VersionRange} implementation matches all of the
+ * {@link DottedVersion}s that start with a given sequence of numeric
+ * components, as written in wildcard constraints such as "<code>1.2.*</code>"
+ * or "<code>2.x</code>". The wildcard may be any of '<code>*</code>', '
+ * <code>x</code>', '<code>X</code>', or '<code>+</code>', and must be the
+ * last component. A bare wildcard matches every {@link DottedVersion}.
+ * </p>
+ * <p>
+ * Some notes on how this range functions:
+ * </p>
+ * <ul>
+ * <li>Only the numeric components are matched, and any qualifier is ignored:
+ * "<code>1.2.*</code>" matches "<code>1.2-SNAPSHOT</code>" and "
+ * <code>1.2.5-rc1</code>". Missing components are treated as zero, just as
+ * they are when comparing {@link DottedVersion}s, so "<code>1.0.*</code>"
+ * also matches "<code>1</code>".</li>
+ * <li>The prefixes are stored in a caller-owned {@link DottedPrefixTrie} of
+ * immutable nodes, with one node per distinct prefix. Ranges created with the
+ * same {@link DottedPrefixTrie} share the node for the same prefix, and share
+ * the nodes for the overlapping parts of prefixes like "<code>1.2.*</code>"
+ * and "<code>1.3.*</code>". That way, thousands of ranges only cost a handful
+ * of nodes. Ranges created without one get a private trie of their own, so
+ * nothing is retained after they're garbage collected.</li>
+ * <li>{@link #matches(DottedVersion)} walks up from the range's node to the
+ * root, comparing one component per node, so it takes <code>O(depth)</code>
+ * time, and doesn't allocate anything.</li>
+ * <li>{@link DottedVersionTrie} can find all of the {@link DottedVersion}s in
+ * a catalog that match a {@link DottedPrefixVersionRange} in
+ * <code>O(depth)</code> time, too.</li>
+ * </ul>
+ * <p>
+ * Instances are immutable, and so are safe to share between threads.
+ * </p>
+ */
+public final class DottedPrefixVersionRange implements VersionRange<DottedVersion> {
+	private final Node prefix;
+
+	/**
+	 * Parses a {@link DottedPrefixVersionRange} from the specified
+	 * {@link String} representation, storing its prefix in the specified
+	 * {@link DottedPrefixTrie}.
+	 * 
+	 * @param trie
+	 *            the {@link DottedPrefixTrie} to share the prefix's nodes with
+	 * @param rangeString
+	 *            a {@link String} representation of a
+	 *            {@link DottedPrefixVersionRange}, e.g. "<code>1.2.*</code>",
+	 *            or as produced by {@link #toString()}
+	 * @throws VersionRangeParseException
+	 *             A {@link VersionRangeParseException} will be thrown if the
+	 *             specified {@link String} cannot be parsed.
+	 */
+	public DottedPrefixVersionRange(DottedPrefixTrie trie, String rangeString) {
+		if (trie == null)
+			throw new IllegalArgumentException();
+		if (rangeString == null)
+			throw new IllegalArgumentException("Null range strings not supported.");
+
+		int wildcardIndex = rangeString.length() - 1;
+		if (wildcardIndex < 0 || !isWildcard(rangeString.charAt(wildcardIndex)))
+			throw new VersionRangeParseException(rangeString, Math.max(wildcardIndex, 0),
+					"Prefix ranges must end with a wildcard.");
+		if (wildcardIndex > 0 && rangeString.charAt(wildcardIndex - 1) != '.')
+			throw new VersionRangeParseException(rangeString, wildcardIndex, "Expected '.' before the wildcard.");
+
+		Node node = trie.getRoot();
+		int componentStart = 0;
+		for (int i = 0; i < wildcardIndex; i++) {
+			char c = rangeString.charAt(i);
+			if (c == '.') {
+				if (i == componentStart)
+					throw new VersionRangeParseException(rangeString, i, "Empty version component.");
+				node = node.getChild(parseComponent(rangeString, componentStart, i));
+				componentStart = i + 1;
+			} else if (c < '0' || c > '9') {
+				throw new VersionRangeParseException(rangeString, i, "Unexpected character in version component.");
+			}
+		}
+		this.prefix = node;
+	}
+
+	/**
+	 * Parses a {@link DottedPrefixVersionRange} from the specified
+	 * {@link String} representation, storing its prefix in a new, private
+	 * {@link DottedPrefixTrie}.
+	 * 
+	 * @param rangeString
+	 *            a {@link String} representation of a
+	 *            {@link DottedPrefixVersionRange}, e.g. "<code>1.2.*</code>",
+	 *            or as produced by {@link #toString()}
+	 * @throws VersionRangeParseException
+	 *             A {@link VersionRangeParseException} will be thrown if the
+	 *             specified {@link String} cannot be parsed.
+	 */
+	public DottedPrefixVersionRange(String rangeString) {
+		this(new DottedPrefixTrie(), rangeString);
+	}
+
+	/**
+	 * Constructs a new {@link DottedPrefixVersionRange}, storing its prefix in
+	 * the specified {@link DottedPrefixTrie}.
+	 * 
+	 * @param trie
+	 *            the {@link DottedPrefixTrie} to share the prefix's nodes with
+	 * @param prefixComponents
+	 *            the numeric components that matching {@link DottedVersion}s
+	 *            must start with, none of which may be negative (if there are
+	 *            none, every {@link DottedVersion} will match)
+	 */
+	public DottedPrefixVersionRange(DottedPrefixTrie trie, int... prefixComponents) {
+		if (trie == null)
+			throw new IllegalArgumentException();
+		if (prefixComponents == null)
+			throw new IllegalArgumentException();
+
+		Node node = trie.getRoot();
+		for (int component : prefixComponents) {
+			if (component < 0)
+				throw new IllegalArgumentException("Negative version components not supported.");
+			node = node.getChild(component);
+		}
+		this.prefix = node;
+	}
+
+	/**
+	 * Constructs a new {@link DottedPrefixVersionRange}, storing its prefix in
+	 * a new, private {@link DottedPrefixTrie}.
+	 * 
+	 * @param prefixComponents
+	 *            the numeric components that matching {@link DottedVersion}s
+	 *            must start with, none of which may be negative (if there are
+	 *            none, every {@link DottedVersion} will match)
+	 */
+	public DottedPrefixVersionRange(int... prefixComponents) {
+		this(new DottedPrefixTrie(), prefixComponents);
+	}
+
+	/**
+	 * @param c
+	 *            the character to check
+	 * @return <code>true</code> if the specified character is one of the
+	 *         supported wildcards, <code>false</code> if it is not
+	 */
+	private static boolean isWildcard(char c) {
+		return c == '*' || c == 'x' || c == 'X' || c == '+';
+	}
+
+	/**
+	 * @param rangeString
+	 *            the range {@link String} being parsed
+	 * @param start
+	 *            the index of the component's first digit
+	 * @param end
+	 *            the index after the component's last digit
+	 * @return the value of the specified component
+	 * @throws VersionRangeParseException
+	 *             A {@link VersionRangeParseException} will be thrown if the
+	 *             component is too large to fit in an <code>int</code>.
+	 */
+	private static int parseComponent(String rangeString, int start, int end) {
+		long value = 0;
+		for (int i = start; i < end; i++) {
+			value = value * 10 + (rangeString.charAt(i) - '0');
+			if (value > Integer.MAX_VALUE)
+				throw new VersionRangeParseException(rangeString, start, "Version component is too large.");
+		}
+		return (int) value;
+	}
+
+	/**
+	 * @return the node in this {@link DottedPrefixVersionRange}'s
+	 *         {@link DottedPrefixTrie} for its prefix
+	 */
+	Node getPrefix() {
+		return prefix;
+	}
+
+	/**
+	 * @return the number of numeric components in this
+	 *         {@link DottedPrefixVersionRange}'s prefix
+	 */
+	public int getDepth() {
+		return prefix.depth;
+	}
+
+	/**
+	 * @see com.justdavis.jessentials.jversionsanity.range.VersionRange#matches(com.justdavis.jessentials.jversionsanity.Version)
+	 */
+	@Override
+	public boolean matches(DottedVersion version) {
+		if (version == null)
+			throw new IllegalArgumentException();
+
+		for (Node node = prefix; node.parent != null; node = node.parent)
+			if (version.getComponent(node.depth - 1) != node.component)
+				return false;
+		return true;
+	}
+
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return prefix.parent == null ? "*" : prefix + ".*";
+	}
+
+	/**
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return prefix.hashCode;
+	}
+
+	/**
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		DottedPrefixVersionRange other = (DottedPrefixVersionRange) obj;
+		// The ranges may be from different tries, so compare the prefixes themselves.
+		return prefix.hasSamePrefix(other.prefix);
+	}
+}
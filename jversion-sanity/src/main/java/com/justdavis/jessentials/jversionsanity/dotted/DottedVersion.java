@@ -0,0 +1,547 @@
+package com.justdavis.jessentials.jversionsanity.dotted;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Locale;
+
+import com.justdavis.jessentials.jversionsanity.OrderedKeyVersion;
+import com.justdavis.jessentials.jversionsanity.Version;
+import com.justdavis.jessentials.jversionsanity.VersionParseException;
+
+/**
+ * <p>
+ * This {@link Version} implementation can be used to represent Maven-style
+ * versions: any number of '<code>.</code>'-separated numeric components,
+ * optionally followed by a qualifier, e.g. "<code>1.2.3.4</code>", "
+ * <code>2.0-rc1</code>", "<code>1.0-SNAPSHOT</code>", or "
+ * <code>5.3.0.RELEASE</code>".
+ * </p>
+ * <p>
+ * Each {@link DottedVersion} is tokenized just once, when it's created: its
+ * numeric components are stored in an <code>int[]</code> and its qualifier is
+ * reduced to a rank from a fixed table of well-known qualifiers, plus an
+ * optional number (e.g. the "<code>1</code>" in "<code>rc1</code>"). This
+ * keeps {@link #compareTo(Version)} to a loop over primitive values, as it's
+ * called O(n log n) times whenever a list of versions is sorted.
+ * </p>
+ * <h3>Ordering</h3>
+ * <p>
+ * Numeric components are compared first, one at a time, with missing
+ * components treated as zero. Versions with the same numeric components are
+ * then ordered by their qualifiers, as follows (case-insensitive):
+ * </p>
+ * <ol>
+ * <li><code>alpha</code> or <code>a</code></li>
+ * <li><code>beta</code> or <code>b</code></li>
+ * <li><code>milestone</code> or <code>m</code></li>
+ * <li><code>rc</code> or <code>cr</code></li>
+ * <li><code>snapshot</code></li>
+ * <li>(no qualifier), <code>ga</code>, <code>final</code>, or
+ * <code>release</code></li>
+ * <li><code>sp</code></li>
+ * <li>any other qualifier, compared lexically</li>
+ * </ol>
+ * <p>
+ * Well-known qualifiers with the same rank are then ordered by their trailing
+ * numbers, e.g. "<code>rc1</code>" &lt; "<code>rc-2</code>" &lt; "
+ * <code>rc.10</code>".
+ * </p>
+ * <h3>Equivalency</h3>
+ * <p>
+ * Two {@link DottedVersion}s are considered equivalent if
+ * {@link #compareTo(Version)} considers them the same. This equivalency
+ * intentionally ignores trailing zero components, leading zeroes, the case of
+ * the qualifier, and the separator before it. For example, "<code>1</code>",
+ * "<code>1.0.0</code>", and "<code>1.0-GA</code>" are all equivalent.
+ * </p>
+ * <h3>Sort Keys</h3>
+ * <p>
+ * The {@link OrderedKeyVersion} sort key for a {@link DottedVersion} is each
+ * of its numeric components (other than trailing zeroes) as <code>0x01</code>
+ * followed by a four byte big-endian integer, then <code>0x00</code>, then the
+ * qualifier's rank as a single byte. That's followed by the qualifier's number
+ * as a four byte big-endian integer, for well-known qualifiers, or by the
+ * lowercased qualifier's characters, for other qualifiers.
+ * </p>
+ */
+public final class DottedVersion implements OrderedKeyVersion {
+	/**
+	 * The well-known qualifiers, in lowercase, and their ranks (i.e. the index
+	 * of the group they're in).
+	 */
+	private static final String[][] KNOWN_QUALIFIERS = { { "alpha", "a" }, { "beta", "b" }, { "milestone", "m" },
+			{ "rc", "cr" }, { "snapshot" }, { "", "ga", "final", "release" }, { "sp" } };
+
+	/**
+	 * The {@link #qualifierRank} of {@link DottedVersion}s with no qualifier.
+	 */
+	private static final int RELEASE_RANK = 5;
+
+	/**
+	 * The {@link #qualifierRank} of {@link DottedVersion}s with a qualifier
+	 * that isn't in {@link #KNOWN_QUALIFIERS}.
+	 */
+	private static final int UNKNOWN_RANK = KNOWN_QUALIFIERS.length;
+
+	/**
+	 * Stores the {@link String} that this {@link DottedVersion} instance was
+	 * parsed from, or that represents it if it was constructed manually.
+	 */
+	private final String versionString;
+
+	/**
+	 * The numeric components, with any trailing zeroes removed.
+	 */
+	private final int[] components;
+
+	/**
+	 * The qualifier's rank, as explained in the class comments.
+	 */
+	private final int qualifierRank;
+
+	/**
+	 * The number trailing a well-known qualifier, or <code>0</code> if there
+	 * isn't one.
+	 */
+	private final int qualifierNumber;
+
+	/**
+	 * The lowercased qualifier, if it's not a well-known one (i.e. if
+	 * {@link #qualifierRank} is {@link #UNKNOWN_RANK}), or <code>null</code>
+	 * otherwise.
+	 */
+	private final String unknownQualifier;
+
+	/**
+	 * The (precomputed) value for {@link #hashCode()}.
+	 */
+	private final int hashCode;
+
+	/**
+	 * Parses a {@link DottedVersion} from the specified {@link String}
+	 * representation.
+	 * 
+	 * @param versionString
+	 *            a {@link String} representation of a {@link DottedVersion},
+	 *            e.g. as produced by {@link #toString()}
+	 * @throws VersionParseException
+	 *             A {@link VersionParseException} will be thrown if the
+	 *             specified {@link String} cannot be parsed.
+	 */
+	public DottedVersion(String versionString) {
+		this(requireNonNull(versionString), 0, versionString.length());
+	}
+
+	/**
+	 * Parses a {@link DottedVersion} from the specified slice of a
+	 * {@link CharSequence}.
+	 * 
+	 * @param text
+	 *            the {@link CharSequence} containing the version
+	 * @param start
+	 *            the index of the first character of the version
+	 * @param end
+	 *            the index after the last character of the version
+	 * @throws VersionParseException
+	 *             A {@link VersionParseException} will be thrown if the
+	 *             specified slice cannot be parsed.
+	 */
+	DottedVersion(CharSequence text, int start, int end) {
+		this.versionString = text.subSequence(start, end).toString();
+
+		// Tokenize the numeric components.
+		int[] parsedComponents = new int[4];
+		int componentCount = 0;
+		int i = start;
+		int qualifierStart = -1;
+		while (true) {
+			if (i >= end || !isDigit(text.charAt(i)))
+				throw parseError();
+
+			long component = 0;
+			while (i < end && isDigit(text.charAt(i))) {
+				component = component * 10 + (text.charAt(i) - '0');
+				if (component > Integer.MAX_VALUE)
+					throw parseError();
+				i++;
+			}
+			if (componentCount == parsedComponents.length)
+				parsedComponents = Arrays.copyOf(parsedComponents, componentCount * 2);
+			parsedComponents[componentCount++] = (int) component;
+
+			if (i == end)
+				break;
+			char c = text.charAt(i);
+			if (c == '.' && i + 1 < end && isDigit(text.charAt(i + 1))) {
+				i++;
+				continue;
+			}
+			qualifierStart = (c == '-' || c == '.') ? i + 1 : i;
+			break;
+		}
+		this.components = trimTrailingZeroes(parsedComponents, componentCount);
+
+		// Rank the qualifier, if any.
+		if (qualifierStart < 0) {
+			this.qualifierRank = RELEASE_RANK;
+			this.qualifierNumber = 0;
+			this.unknownQualifier = null;
+		} else {
+			if (qualifierStart == end || !isValidQualifier(text, qualifierStart, end))
+				throw parseError();
+
+			int nameEnd = qualifierStart;
+			while (nameEnd < end && isLetter(text.charAt(nameEnd)))
+				nameEnd++;
+			int numberStart = nameEnd;
+			if (numberStart < end && numberStart > qualifierStart
+					&& (text.charAt(numberStart) == '-' || text.charAt(numberStart) == '.'))
+				numberStart++;
+			int number = parseNumber(text, numberStart, end);
+			int rank = number >= 0 ? findKnownQualifier(text, qualifierStart, nameEnd) : UNKNOWN_RANK;
+
+			this.qualifierRank = rank;
+			this.qualifierNumber = rank == UNKNOWN_RANK ? 0 : number;
+			// Qualifiers are ASCII-only, so this must not use the default locale's case rules.
+			this.unknownQualifier = rank == UNKNOWN_RANK
+					? text.subSequence(qualifierStart, end).toString().toLowerCase(Locale.ROOT) : null;
+		}
+
+		this.hashCode = computeHashCode();
+	}
+
+	/**
+	 * Constructs a new {@link DottedVersion} with no qualifier.
+	 * 
+	 * @param components
+	 *            the (non-negative) numeric components of the version, e.g.
+	 *            <code>1, 2, 3</code> for "<code>1.2.3</code>"
+	 */
+	public DottedVersion(int... components) {
+		if (components == null || components.length == 0)
+			throw new IllegalArgumentException("At least one component is required.");
+
+		StringBuilder versionString = new StringBuilder();
+		for (int i = 0; i < components.length; i++) {
+			if (components[i] < 0)
+				throw new IllegalArgumentException("Negative version numbers not supported.");
+			if (i > 0)
+				versionString.append('.');
+			versionString.append(components[i]);
+		}
+
+		this.versionString = versionString.toString();
+		this.components = trimTrailingZeroes(components, components.length);
+		this.qualifierRank = RELEASE_RANK;
+		this.qualifierNumber = 0;
+		this.unknownQualifier = null;
+		this.hashCode = computeHashCode();
+	}
+
+	/**
+	 * @param versionString
+	 *            the {@link String} to check
+	 * @return the specified {@link String}
+	 */
+	private static String requireNonNull(String versionString) {
+		if (versionString == null)
+			throw new IllegalArgumentException("Null version strings not supported.");
+		return versionString;
+	}
+
+	/**
+	 * @return a new {@link VersionParseException} for this {@link DottedVersion}
+	 */
+	private VersionParseException parseError() {
+		return new VersionParseException(versionString, DottedVersion.class);
+	}
+
+	/**
+	 * @param c
+	 *            the character to check
+	 * @return <code>true</code> if the character is an ASCII digit,
+	 *         <code>false</code> if not
+	 */
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	/**
+	 * @param c
+	 *            the character to check
+	 * @return <code>true</code> if the character is an ASCII letter,
+	 *         <code>false</code> if not
+	 */
+	private static boolean isLetter(char c) {
+		return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+	}
+
+	/**
+	 * @param text
+	 *            the {@link CharSequence} containing the qualifier
+	 * @param start
+	 *            the index of the first character of the qualifier
+	 * @param end
+	 *            the index after the last character of the qualifier
+	 * @return <code>true</code> if the qualifier starts with a letter or digit
+	 *         and is made up of only <code>[0-9A-Za-z._-]</code>,
+	 *         <code>false</code> if not
+	 */
+	private static boolean isValidQualifier(CharSequence text, int start, int end) {
+		if (!isDigit(text.charAt(start)) && !isLetter(text.charAt(start)))
+			return false;
+		for (int i = start; i < end; i++) {
+			char c = text.charAt(i);
+			if (!isDigit(c) && !isLetter(c) && c != '.' && c != '-' && c != '_')
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * @param text
+	 *            the {@link CharSequence} containing the number
+	 * @param start
+	 *            the index of the first character of the number
+	 * @param end
+	 *            the index after the last character of the number
+	 * @return the value of the specified number, <code>0</code> if the slice
+	 *         is empty, or <code>-1</code> if it's not a valid number
+	 */
+	private static int parseNumber(CharSequence text, int start, int end) {
+		long value = 0;
+		for (int i = start; i < end; i++) {
+			char digit = text.charAt(i);
+			if (!isDigit(digit))
+				return -1;
+			value = value * 10 + (digit - '0');
+			if (value > Integer.MAX_VALUE)
+				return -1;
+		}
+		return (int) value;
+	}
+
+	/**
+	 * @param text
+	 *            the {@link CharSequence} containing the qualifier name
+	 * @param start
+	 *            the index of the first character of the qualifier name
+	 * @param end
+	 *            the index after the last character of the qualifier name
+	 * @return the rank of the specified qualifier name in
+	 *         {@link #KNOWN_QUALIFIERS}, or {@link #UNKNOWN_RANK} if it's not
+	 *         a well-known qualifier
+	 */
+	private static int findKnownQualifier(CharSequence text, int start, int end) {
+		for (int rank = 0; rank < KNOWN_QUALIFIERS.length; rank++) {
+			for (String knownQualifier : KNOWN_QUALIFIERS[rank]) {
+				if (regionMatchesIgnoreCase(text, start, end, knownQualifier))
+					return rank;
+			}
+		}
+		return UNKNOWN_RANK;
+	}
+
+	/**
+	 * @param text
+	 *            the {@link CharSequence} containing the slice to check
+	 * @param start
+	 *            the index of the first character of the slice
+	 * @param end
+	 *            the index after the last character of the slice
+	 * @param lowercase
+	 *            the lowercase {@link String} to compare the slice to
+	 * @return <code>true</code> if the slice matches the specified
+	 *         {@link String}, ignoring case, <code>false</code> if not
+	 */
+	private static boolean regionMatchesIgnoreCase(CharSequence text, int start, int end, String lowercase) {
+		if (end - start != lowercase.length())
+			return false;
+		for (int i = 0; i < lowercase.length(); i++) {
+			if (Character.toLowerCase(text.charAt(start + i)) != lowercase.charAt(i))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * @param components
+	 *            the array containing the numeric components
+	 * @param length
+	 *            the number of numeric components in the array
+	 * @return a new array containing the specified components, with any
+	 *         trailing zeroes removed
+	 */
+	private static int[] trimTrailingZeroes(int[] components, int length) {
+		while (length > 0 && components[length - 1] == 0)
+			length--;
+		return Arrays.copyOf(components, length);
+	}
+
+	/**
+	 * @return the value to be returned by {@link #hashCode()}
+	 */
+	private int computeHashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + Arrays.hashCode(components);
+		result = prime * result + qualifierRank;
+		result = prime * result + qualifierNumber;
+		result = prime * result + ((unknownQualifier == null) ? 0 : unknownQualifier.hashCode());
+		return result;
+	}
+
+	/**
+	 * @param index
+	 *            the (zero-based) index of the numeric component to get
+	 * @return the numeric component at the specified index, which will be
+	 *         <code>0</code> for any index past the last non-zero component
+	 */
+	public int getComponent(int index) {
+		if (index < 0)
+			throw new IllegalArgumentException();
+		return index < components.length ? components[index] : 0;
+	}
+
+	/**
+	 * @return the number of numeric components, up to and including the last
+	 *         non-zero one
+	 */
+	int getComponentCount() {
+		return components.length;
+	}
+
+	/**
+	 * @return <code>true</code> if this {@link DottedVersion} has a qualifier
+	 *         that ranks it before the plain release version, e.g. "
+	 *         <code>alpha</code>" or "<code>SNAPSHOT</code>",
+	 *         <code>false</code> if not
+	 */
+	public boolean isPreRelease() {
+		return qualifierRank < RELEASE_RANK;
+	}
+
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return versionString;
+	}
+
+	/**
+	 * @see com.justdavis.jessentials.jversionsanity.OrderedKeyVersion#getSortKeyLength()
+	 */
+	@Override
+	public int getSortKeyLength() {
+		int qualifierLength = qualifierRank == UNKNOWN_RANK ? unknownQualifier.length() : Integer.BYTES;
+		return components.length * (1 + Integer.BYTES) + 1 + 1 + qualifierLength;
+	}
+
+	/**
+	 * @see com.justdavis.jessentials.jversionsanity.OrderedKeyVersion#writeSortKey(java.nio.ByteBuffer)
+	 */
+	@Override
+	public void writeSortKey(ByteBuffer buffer) {
+		if (buffer.remaining() < getSortKeyLength())
+			throw new BufferOverflowException();
+
+		for (int component : components) {
+			buffer.put((byte) 0x01);
+			putInt(buffer, component);
+		}
+		// Trailing zeroes are trimmed, so fewer components sort first.
+		buffer.put((byte) 0x00);
+
+		buffer.put((byte) qualifierRank);
+		if (qualifierRank == UNKNOWN_RANK) {
+			for (int i = 0; i < unknownQualifier.length(); i++)
+				buffer.put((byte) unknownQualifier.charAt(i));
+		} else {
+			putInt(buffer, qualifierNumber);
+		}
+	}
+
+	/**
+	 * Writes the specified value to the specified {@link ByteBuffer} as a big
+	 * endian integer, regardless of the {@link ByteBuffer}'s byte order.
+	 * 
+	 * @param buffer
+	 *            the {@link ByteBuffer} to write to
+	 * @param value
+	 *            the (non-negative) value to write
+	 */
+	private static void putInt(ByteBuffer buffer, int value) {
+		buffer.put((byte) (value >>> 24));
+		buffer.put((byte) (value >>> 16));
+		buffer.put((byte) (value >>> 8));
+		buffer.put((byte) value);
+	}
+
+	/**
+	 * @see com.justdavis.jessentials.jversionsanity.Version#compareTo(com.justdavis.jessentials.jversionsanity.Version)
+	 */
+	@Override
+	public int compareTo(Version otherVersion) {
+		if (otherVersion == null)
+			throw new IllegalArgumentException();
+		if (!(otherVersion instanceof DottedVersion))
+			throw new ClassCastException(String.format(
+					"The version '%s'" + " of type '%s' does not match this Version" + " implementation type of '%s'.",
+					otherVersion, otherVersion.getClass(), this.getClass()));
+
+		DottedVersion otherDottedVersion = (DottedVersion) otherVersion;
+		int[] otherComponents = otherDottedVersion.components;
+		int sharedLength = Math.min(components.length, otherComponents.length);
+		for (int i = 0; i < sharedLength; i++) {
+			if (components[i] != otherComponents[i])
+				return Integer.compare(components[i], otherComponents[i]);
+		}
+		// Trailing zeroes are trimmed, so whichever has more components is higher.
+		if (components.length != otherComponents.length)
+			return Integer.compare(components.length, otherComponents.length);
+
+		if (qualifierRank != otherDottedVersion.qualifierRank)
+			return Integer.compare(qualifierRank, otherDottedVersion.qualifierRank);
+		if (qualifierRank == UNKNOWN_RANK)
+			return unknownQualifier.compareTo(otherDottedVersion.unknownQualifier);
+		return Integer.compare(qualifierNumber, otherDottedVersion.qualifierNumber);
+	}
+
+	/**
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	/**
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		DottedVersion other = (DottedVersion) obj;
+		if (hashCode != other.hashCode)
+			return false;
+		if (!Arrays.equals(components, other.components))
+			return false;
+		if (qualifierRank != other.qualifierRank)
+			return false;
+		if (qualifierNumber != other.qualifierNumber)
+			return false;
+		if (unknownQualifier == null) {
+			if (other.unknownQualifier != null)
+				return false;
+		} else if (!unknownQualifier.equals(other.unknownQualifier))
+			return false;
+		return true;
+	}
+}
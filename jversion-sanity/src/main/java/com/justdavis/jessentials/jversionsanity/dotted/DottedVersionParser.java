@@ -0,0 +1,29 @@
+package com.justdavis.jessentials.jversionsanity.dotted;
+
+import com.justdavis.jessentials.jversionsanity.VersionParseException;
+import com.justdavis.jessentials.jversionsanity.VersionParser;
+
+/**
+ * The {@link VersionParser} for {@link DottedVersion}s.
+ */
+public final class DottedVersionParser implements VersionParser<DottedVersion> {
+	/**
+	 * @see com.justdavis.jessentials.jversionsanity.VersionParser#parseVersion(java.lang.String)
+	 */
+	@Override
+	public DottedVersion parseVersion(String versionString) throws VersionParseException {
+		return new DottedVersion(versionString);
+	}
+
+	/**
+	 * Tokenizes the slice in place, rather than first copying it into a new
+	 * {@link String} and then tokenizing that.
+	 * 
+	 * @see com.justdavis.jessentials.jversionsanity.VersionParser#parseVersion(java.lang.CharSequence,
+	 *      int, int)
+	 */
+	@Override
+	public DottedVersion parseVersion(CharSequence text, int start, int end) throws VersionParseException {
+		return new DottedVersion(text, start, end);
+	}
+}
@@ -0,0 +1,225 @@
+package com.justdavis.jessentials.jversionsanity.dotted;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>
+ * An immutable catalog of {@link DottedVersion}s, e.g. all of the published
+ * versions of an artifact, stored as a trie over their numeric components, so
+ * that all of the {@link DottedVersion}s matching a
+ * {@link DottedPrefixVersionRange} can be found in <code>O(depth)</code> time,
+ * no matter how many there are.
+ * </p>
+ * <p>
+ * Some notes on how this trie functions:
+ * </p>
+ * <ul>
+ * <li>The {@link DottedVersion}s are sorted once, when the trie is
+ * constructed. As they're ordered by their numeric components first, all of
+ * the {@link DottedVersion}s that share a prefix are next to each other, so
+ * each trie node only needs to store the <code>[start, end)</code> span of
+ * them, rather than a list of its own.</li>
+ * <li>Each node's children are stored in a sorted <code>int[]</code> of their
+ * components, with a parallel array of the child nodes, and found via binary
+ * search. Nodes whose {@link DottedVersion}s have no more non-zero components
+ * have no children: descending from them by a zero component just stays at
+ * the same node.</li>
+ * <li>The {@link List}s returned by
+ * {@link #allMatching(DottedPrefixVersionRange)} are unmodifiable views of the
+ * trie's sorted {@link DottedVersion}s, rather than copies of them.</li>
+ * </ul>
+ * <p>
+ * Instances are immutable, and so are safe to share between threads.
+ * </p>
+ */
+public final class DottedVersionTrie {
+	/**
+	 * The distinct {@link DottedVersion}s, sorted from lowest to highest.
+	 */
+	private final DottedVersion[] versions;
+
+	private final Node root;
+
+	/**
+	 * Constructs a new {@link DottedVersionTrie}.
+	 * 
+	 * @param versions
+	 *            the {@link DottedVersion}s to store, in any order
+	 */
+	public DottedVersionTrie(Collection<? extends DottedVersion> versions) {
+		if (versions == null)
+			throw new IllegalArgumentException();
+
+		DottedVersion[] sortedVersions = versions.toArray(new DottedVersion[versions.size()]);
+		for (DottedVersion version : sortedVersions)
+			if (version == null)
+				throw new IllegalArgumentException("Null versions not supported.");
+		Arrays.parallelSort(sortedVersions);
+
+		// Remove any duplicates, which will now be next to each other.
+		int distinctCount = 0;
+		for (int i = 0; i < sortedVersions.length; i++)
+			if (distinctCount == 0 || sortedVersions[distinctCount - 1].compareTo(sortedVersions[i]) != 0)
+				sortedVersions[distinctCount++] = sortedVersions[i];
+
+		this.versions = distinctCount == sortedVersions.length ? sortedVersions
+				: Arrays.copyOf(sortedVersions, distinctCount);
+		this.root = buildNode(this.versions, 0, this.versions.length, 0);
+	}
+
+	/**
+	 * @param versions
+	 *            the sorted, distinct {@link DottedVersion}s
+	 * @param start
+	 *            the index of the first {@link DottedVersion} in the node
+	 * @param end
+	 *            the index after the last {@link DottedVersion} in the node
+	 * @param depth
+	 *            the number of components shared by all of the node's
+	 *            {@link DottedVersion}s
+	 * @return a new {@link Node} for the specified span, and (recursively) its
+	 *         children
+	 */
+	private static Node buildNode(DottedVersion[] versions, int start, int end, int depth) {
+		int childCount = 0;
+		boolean hasMoreComponents = false;
+		for (int i = start; i < end; i++) {
+			if (i == start || versions[i].getComponent(depth) != versions[i - 1].getComponent(depth))
+				childCount++;
+			if (versions[i].getComponentCount() > depth)
+				hasMoreComponents = true;
+		}
+		if (!hasMoreComponents)
+			return new Node(start, end, null, null);
+
+		int[] childComponents = new int[childCount];
+		Node[] children = new Node[childCount];
+		int childStart = start;
+		for (int c = 0; c < childCount; c++) {
+			int component = versions[childStart].getComponent(depth);
+			int childEnd = childStart + 1;
+			while (childEnd < end && versions[childEnd].getComponent(depth) == component)
+				childEnd++;
+			childComponents[c] = component;
+			children[c] = buildNode(versions, childStart, childEnd, depth + 1);
+			childStart = childEnd;
+		}
+		return new Node(start, end, childComponents, children);
+	}
+
+	/**
+	 * @return the number of distinct {@link DottedVersion}s in this
+	 *         {@link DottedVersionTrie}
+	 */
+	public int size() {
+		return versions.length;
+	}
+
+	/**
+	 * @return an unmodifiable view of all of the {@link DottedVersion}s in this
+	 *         {@link DottedVersionTrie}, sorted from lowest to highest
+	 */
+	public List<DottedVersion> getVersions() {
+		return Collections.unmodifiableList(Arrays.asList(versions));
+	}
+
+	/**
+	 * @param range
+	 *            the {@link DottedPrefixVersionRange} to match against
+	 * @return an unmodifiable view of the {@link DottedVersion}s in this
+	 *         {@link DottedVersionTrie} that match the specified
+	 *         {@link DottedPrefixVersionRange}, sorted from lowest to highest
+	 */
+	public List<DottedVersion> allMatching(DottedPrefixVersionRange range) {
+		if (range == null)
+			throw new IllegalArgumentException();
+
+		Node node = find(range.getPrefix());
+		if (node == null)
+			return Collections.emptyList();
+		return Collections.unmodifiableList(Arrays.asList(versions).subList(node.start, node.end));
+	}
+
+	/**
+	 * @param range
+	 *            the {@link DottedPrefixVersionRange} to match against
+	 * @return the highest {@link DottedVersion} in this
+	 *         {@link DottedVersionTrie} that matches the specified
+	 *         {@link DottedPrefixVersionRange}, or <code>null</code> if none of
+	 *         them do
+	 */
+	public DottedVersion highestMatching(DottedPrefixVersionRange range) {
+		if (range == null)
+			throw new IllegalArgumentException();
+
+		Node node = find(range.getPrefix());
+		return node != null && node.start < node.end ? versions[node.end - 1] : null;
+	}
+
+	/**
+	 * @param prefix
+	 *            the {@link DottedPrefixTrie.Node} to find the {@link Node} for
+	 * @return the {@link Node} for the {@link DottedVersion}s that start with
+	 *         the specified prefix, or <code>null</code> if there are none
+	 */
+	private Node find(DottedPrefixTrie.Node prefix) {
+		if (prefix.parent == null)
+			return root;
+
+		Node parent = find(prefix.parent);
+		if (parent == null)
+			return null;
+		// If the node has no children, all of the remaining components are zero.
+		if (parent.children == null)
+			return prefix.component == 0 ? parent : null;
+
+		int childIndex = Arrays.binarySearch(parent.childComponents, prefix.component);
+		return childIndex >= 0 ? parent.children[childIndex] : null;
+	}
+
+	/**
+	 * Each {@link Node} instance represents the {@link DottedVersion}s in a
+	 * {@link DottedVersionTrie} that share a given prefix.
+	 */
+	private static final class Node {
+		private final int start;
+		private final int end;
+
+		/**
+		 * The sorted components of this {@link Node}'s children, or
+		 * <code>null</code> if all of its {@link DottedVersion}s have no more
+		 * non-zero components.
+		 */
+		private final int[] childComponents;
+
+		/**
+		 * The child {@link Node}s, in the same order as
+		 * {@link #childComponents}.
+		 */
+		private final Node[] children;
+
+		/**
+		 * Constructs a new {@link Node}.
+		 * 
+		 * @param start
+		 *            the index of the first {@link DottedVersion} that starts
+		 *            with this {@link Node}'s prefix
+		 * @param end
+		 *            the index after the last {@link DottedVersion} that starts
+		 *            with this {@link Node}'s prefix
+		 * @param childComponents
+		 *            the value to use for {@link #childComponents}
+		 * @param children
+		 *            the value to use for {@link #children}
+		 */
+		Node(int start, int end, int[] childComponents, Node[] children) {
+			this.start = start;
+			this.end = end;
+			this.childComponents = childComponents;
+			this.children = children;
+		}
+	}
+}
@@ -0,0 +1,7 @@
+/**
+ * Classes in this package provide support for
+ * {@link com.justdavis.jessentials.jversionsanity.dotted.DottedVersion}: the
+ * Maven-style scheme of any number of dotted numeric components with an
+ * optional qualifier, e.g. "<code>1.2.3.4</code>" or "<code>2.0-rc1</code>".
+ */
+package com.justdavis.jessentials.jversionsanity.dotted;
\ No newline at end of file
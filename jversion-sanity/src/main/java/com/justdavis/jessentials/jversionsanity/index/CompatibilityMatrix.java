@@ -0,0 +1,323 @@
+package com.justdavis.jessentials.jversionsanity.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import com.justdavis.jessentials.jversionsanity.Version;
+import com.justdavis.jessentials.jversionsanity.range.VersionRange;
+import com.justdavis.jessentials.jversionsanity.range.interval.UnionVersionRange;
+
+/**
+ * <p>
+ * A precomputed matrix of which {@link Version}s (e.g. all of the published
+ * versions of an artifact) satisfy which {@link VersionRange}s (e.g. all of
+ * the constraints that downstream consumers have on it). Each row of the
+ * matrix is a {@link VersionRange}, and each column is a {@link Version}.
+ * </p>
+ * <p>
+ * Some notes on how this matrix is computed:
+ * </p>
+ * <ul>
+ * <li>The {@link Version}s are sorted once, in a {@link VersionIndex}. Each
+ * interval of each interval-based {@link VersionRange} (see
+ * {@link UnionVersionRange#asUnion(VersionRange)}) is then turned into a
+ * <code>[start, end)</code> span of column indexes via a pair of binary
+ * searches, so computing a row takes <code>O(log m)</code> time per interval,
+ * plus the time to fill in its bits. Rows for any other {@link VersionRange}
+ * implementation have to fall back to calling
+ * {@link VersionRange#matches(Version)} on every {@link Version}.</li>
+ * <li>Each row is stored as a bitset, trimmed to just the words between its
+ * first and last matching columns, so rows for narrow {@link VersionRange}s
+ * stay small no matter how many {@link Version}s there are.</li>
+ * <li>When there are at least {@link #PARALLEL_THRESHOLD} rows, they're
+ * computed in parallel, on the common
+ * {@link java.util.concurrent.ForkJoinPool}. Any {@link VersionRange}s that
+ * aren't interval-based must therefore be safe to call concurrently.</li>
+ * </ul>
+ * <p>
+ * Instances are immutable, and so are safe to share between threads.
+ * </p>
+ * 
+ * @param <V>
+ *            the {@link Version} implementation of the matrix
+ */
+public final class CompatibilityMatrix<V extends Version> {
+	/**
+	 * The minimum number of {@link VersionRange}s for which the rows will be
+	 * computed in parallel: for fewer than this, the overhead of splitting up
+	 * the work isn't worth it.
+	 */
+	static final int PARALLEL_THRESHOLD = 1024;
+
+	private static final long[] NO_WORDS = new long[0];
+
+	private final VersionIndex<V> index;
+	private final List<VersionRange<V>> ranges;
+
+	/**
+	 * The index of the first bitset word stored in each row of {@link #rows}.
+	 */
+	private final int[] firstWords;
+
+	/**
+	 * The bitset for each row, where bit <code>i</code> of word
+	 * <code>w</code> is set if the {@link Version} at column
+	 * <code>((firstWords[row] + w) * 64) + i</code> satisfies the row's
+	 * {@link VersionRange}.
+	 */
+	private final long[][] rows;
+
+	/**
+	 * Constructs a new {@link CompatibilityMatrix}.
+	 * 
+	 * @param index
+	 *            the {@link VersionIndex} of the {@link Version}s to use as
+	 *            the columns of the matrix
+	 * @param ranges
+	 *            the {@link VersionRange}s to use as the rows of the matrix,
+	 *            none of which may be <code>null</code>
+	 */
+	public CompatibilityMatrix(VersionIndex<V> index, Collection<? extends VersionRange<V>> ranges) {
+		if (index == null)
+			throw new IllegalArgumentException();
+		if (ranges == null)
+			throw new IllegalArgumentException();
+
+		List<VersionRange<V>> rangesCopy = new ArrayList<VersionRange<V>>(ranges);
+		for (VersionRange<V> range : rangesCopy)
+			if (range == null)
+				throw new IllegalArgumentException("Null ranges not supported.");
+
+		this.index = index;
+		this.ranges = Collections.unmodifiableList(rangesCopy);
+		this.firstWords = new int[rangesCopy.size()];
+		this.rows = new long[rangesCopy.size()][];
+
+		IntStream rowIndexes = IntStream.range(0, rangesCopy.size());
+		if (rangesCopy.size() >= PARALLEL_THRESHOLD)
+			rowIndexes = rowIndexes.parallel();
+		rowIndexes.forEach(this::computeRow);
+	}
+
+	/**
+	 * Constructs a new {@link CompatibilityMatrix}.
+	 * 
+	 * @param versions
+	 *            the {@link Version}s to use as the columns of the matrix, in
+	 *            any order (they'll be sorted, and any duplicates removed)
+	 * @param ranges
+	 *            the {@link VersionRange}s to use as the rows of the matrix,
+	 *            none of which may be <code>null</code>
+	 */
+	public CompatibilityMatrix(Collection<? extends V> versions, Collection<? extends VersionRange<V>> ranges) {
+		this(new VersionIndex<V>(versions), ranges);
+	}
+
+	/**
+	 * Computes the specified row of the matrix, and stores it in
+	 * {@link #firstWords} and {@link #rows}.
+	 * 
+	 * @param row
+	 *            the index of the row (and {@link VersionRange}) to compute
+	 */
+	private void computeRow(int row) {
+		VersionRange<V> range = ranges.get(row);
+		UnionVersionRange<V> union = UnionVersionRange.asUnion(range);
+		if (union == null) {
+			long[] words = new long[(index.size() + 63) >>> 6];
+			int first = -1;
+			int last = -1;
+			for (int column = 0; column < index.size(); column++) {
+				if (range.matches(index.get(column))) {
+					words[column >>> 6] |= 1L << column;
+					if (first < 0)
+						first = column;
+					last = column;
+				}
+			}
+			storeRow(row, words, first, last + 1);
+			return;
+		}
+
+		int[] starts = new int[union.getIntervalCount()];
+		int[] ends = new int[union.getIntervalCount()];
+		int spanCount = 0;
+		for (int i = 0; i < union.getIntervalCount(); i++) {
+			int start = index.searchLower(union, i);
+			int end = index.searchUpper(union, i);
+			if (start < end) {
+				starts[spanCount] = start;
+				ends[spanCount] = end;
+				spanCount++;
+			}
+		}
+		if (spanCount == 0) {
+			storeRow(row, NO_WORDS, -1, 0);
+			return;
+		}
+
+		// The intervals are sorted and disjoint, and so are their spans.
+		int firstWord = starts[0] >>> 6;
+		long[] words = new long[((ends[spanCount - 1] - 1) >>> 6) - firstWord + 1];
+		for (int i = 0; i < spanCount; i++)
+			setSpan(words, firstWord, starts[i], ends[i]);
+		firstWords[row] = firstWord;
+		rows[row] = words;
+	}
+
+	/**
+	 * Trims the specified untrimmed bitset (starting at word <code>0</code>)
+	 * down to just the words between its first and last set bits, and stores
+	 * it in {@link #firstWords} and {@link #rows}.
+	 * 
+	 * @param row
+	 *            the index of the row to store
+	 * @param words
+	 *            the untrimmed bitset for the row
+	 * @param start
+	 *            the first set column, or <code>-1</code> if there are none
+	 * @param end
+	 *            the column after the last set one
+	 */
+	private void storeRow(int row, long[] words, int start, int end) {
+		if (start < 0) {
+			firstWords[row] = 0;
+			rows[row] = NO_WORDS;
+			return;
+		}
+
+		int firstWord = start >>> 6;
+		int endWord = ((end - 1) >>> 6) + 1;
+		firstWords[row] = firstWord;
+		rows[row] = firstWord == 0 && endWord == words.length ? words
+				: Arrays.copyOfRange(words, firstWord, endWord);
+	}
+
+	/**
+	 * @param words
+	 *            the bitset to modify
+	 * @param firstWord
+	 *            the index of the first word stored in the bitset
+	 * @param start
+	 *            the first column to set
+	 * @param end
+	 *            the column after the last one to set
+	 */
+	private static void setSpan(long[] words, int firstWord, int start, int end) {
+		int startWord = (start >>> 6) - firstWord;
+		int endWord = ((end - 1) >>> 6) - firstWord;
+		long startMask = -1L << start;
+		long endMask = -1L >>> -end;
+		if (startWord == endWord) {
+			words[startWord] |= startMask & endMask;
+			return;
+		}
+
+		words[startWord] |= startMask;
+		for (int w = startWord + 1; w < endWord; w++)
+			words[w] = -1L;
+		words[endWord] |= endMask;
+	}
+
+	/**
+	 * @return the {@link VersionIndex} of the {@link Version}s used as the
+	 *         columns of this matrix
+	 */
+	public VersionIndex<V> getIndex() {
+		return index;
+	}
+
+	/**
+	 * @return an unmodifiable {@link List} of the {@link VersionRange}s used as
+	 *         the rows of this matrix, in the order they were provided
+	 */
+	public List<VersionRange<V>> getRanges() {
+		return ranges;
+	}
+
+	/**
+	 * @return the number of rows (i.e. {@link VersionRange}s) in this matrix
+	 */
+	public int getRowCount() {
+		return rows.length;
+	}
+
+	/**
+	 * @return the number of columns (i.e. distinct {@link Version}s) in this
+	 *         matrix
+	 */
+	public int getColumnCount() {
+		return index.size();
+	}
+
+	/**
+	 * @param row
+	 *            the index of the {@link VersionRange} in {@link #getRanges()}
+	 * @param column
+	 *            the index of the {@link Version} in
+	 *            {@link VersionIndex#getVersions()}
+	 * @return <code>true</code> if the specified {@link Version} satisfies the
+	 *         specified {@link VersionRange}, <code>false</code> if it does
+	 *         not
+	 */
+	public boolean isCompatible(int row, int column) {
+		if (column < 0 || column >= index.size())
+			throw new IndexOutOfBoundsException("Column: " + column + ", Columns: " + index.size());
+
+		long[] words = rows[row];
+		int word = (column >>> 6) - firstWords[row];
+		return word >= 0 && word < words.length && (words[word] & (1L << column)) != 0;
+	}
+
+	/**
+	 * @param row
+	 *            the index of the {@link VersionRange} in {@link #getRanges()}
+	 * @return the number of {@link Version}s that satisfy the specified
+	 *         {@link VersionRange}
+	 */
+	public int getCompatibleCount(int row) {
+		int count = 0;
+		for (long word : rows[row])
+			count += Long.bitCount(word);
+		return count;
+	}
+
+	/**
+	 * @param row
+	 *            the index of the {@link VersionRange} in {@link #getRanges()}
+	 * @return the indexes (in {@link VersionIndex#getVersions()}) of the
+	 *         {@link Version}s that satisfy the specified {@link VersionRange},
+	 *         sorted from lowest to highest
+	 */
+	public int[] getCompatibleColumns(int row) {
+		long[] words = rows[row];
+		int[] columns = new int[getCompatibleCount(row)];
+		int c = 0;
+		for (int w = 0; w < words.length; w++) {
+			long word = words[w];
+			while (word != 0) {
+				columns[c++] = ((firstWords[row] + w) << 6) + Long.numberOfTrailingZeros(word);
+				word &= word - 1;
+			}
+		}
+		return columns;
+	}
+
+	/**
+	 * @param row
+	 *            the index of the {@link VersionRange} in {@link #getRanges()}
+	 * @return the {@link Version}s that satisfy the specified
+	 *         {@link VersionRange}, sorted from lowest to highest
+	 */
+	public List<V> getCompatibleVersions(int row) {
+		int[] columns = getCompatibleColumns(row);
+		List<V> versions = new ArrayList<V>(columns.length);
+		for (int column : columns)
+			versions.add(index.get(column));
+		return versions;
+	}
+}
@@ -0,0 +1,189 @@
+package com.justdavis.jessentials.jversionsanity.index;
+
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.justdavis.jessentials.jversionsanity.Version;
+import com.justdavis.jessentials.jversionsanity.range.VersionRange;
+
+/**
+ * <p>
+ * A thread-safe tracker of the {@link Version}s that have been published for
+ * each of many artifacts, which can be efficiently queried for the highest
+ * {@link Version} of an artifact, or the highest one that matches a
+ * {@link VersionRange}, while other threads are still publishing new ones.
+ * </p>
+ * <p>
+ * Some notes on how this tracker functions:
+ * </p>
+ * <ul>
+ * <li>Each artifact's history is an immutable {@link VersionIndex}, held in an
+ * {@link AtomicReference}. Publishing a {@link Version} builds a new
+ * {@link VersionIndex} with it inserted (an array copy, with no re-sorting),
+ * and swaps it in via a compare-and-set, retrying if another thread published
+ * to the same artifact first. No locks are ever taken, and each retry is
+ * counted by {@link #getContentionCount()}.</li>
+ * <li>Queries are just a {@link ConcurrentHashMap#get(Object)}, a volatile
+ * read, and (for {@link #getLatestMatching(String, VersionRange)}) the
+ * {@link VersionIndex} binary searches, so they never block or retry, no
+ * matter how busy the writers are. Each query sees a consistent snapshot of
+ * its artifact's history.</li>
+ * <li>Each history is stored as an exactly-sized, sorted array, so it costs
+ * about one reference per distinct {@link Version}. This makes publishing an
+ * artifact's <code>n</code>th {@link Version} take <code>O(n)</code> time,
+ * which is fine for the usual few hundred versions per artifact.</li>
+ * <li>Publishing a {@link Version} that's already in an artifact's history
+ * doesn't change anything, and is counted by {@link #getDuplicateCount()}.
+ * </li>
+ * </ul>
+ * 
+ * @param <V>
+ *            the {@link Version} implementation being tracked
+ */
+public final class LatestVersionTracker<V extends Version> {
+	private final ConcurrentMap<String, AtomicReference<VersionIndex<V>>> histories;
+	private final VersionIndex<V> emptyHistory;
+	private final LongAdder publishCount;
+	private final LongAdder duplicateCount;
+	private final LongAdder contentionCount;
+
+	/**
+	 * Constructs a new, empty {@link LatestVersionTracker}.
+	 */
+	public LatestVersionTracker() {
+		this.histories = new ConcurrentHashMap<String, AtomicReference<VersionIndex<V>>>();
+		this.emptyHistory = new VersionIndex<V>(Collections.<V> emptyList());
+		this.publishCount = new LongAdder();
+		this.duplicateCount = new LongAdder();
+		this.contentionCount = new LongAdder();
+	}
+
+	/**
+	 * Adds the specified {@link Version} to the history of the specified
+	 * artifact.
+	 * 
+	 * @param artifact
+	 *            the identifier of the artifact that the {@link Version} was
+	 *            published for
+	 * @param version
+	 *            the newly-published {@link Version}
+	 * @return <code>true</code> if the {@link Version} was added, or
+	 *         <code>false</code> if an equal one was already in the artifact's
+	 *         history
+	 */
+	public boolean publish(String artifact, V version) {
+		if (artifact == null)
+			throw new IllegalArgumentException();
+		if (version == null)
+			throw new IllegalArgumentException();
+
+		AtomicReference<VersionIndex<V>> history = histories.get(artifact);
+		if (history == null) {
+			/*
+			 * Don't use computeIfAbsent(...) here, as it locks the map's bin
+			 * while creating the value.
+			 */
+			AtomicReference<VersionIndex<V>> newHistory = new AtomicReference<VersionIndex<V>>(
+					emptyHistory.with(version));
+			history = histories.putIfAbsent(artifact, newHistory);
+			if (history == null) {
+				publishCount.increment();
+				return true;
+			}
+		}
+
+		while (true) {
+			VersionIndex<V> current = history.get();
+			VersionIndex<V> updated = current.with(version);
+			if (updated == current) {
+				duplicateCount.increment();
+				return false;
+			}
+			if (history.compareAndSet(current, updated)) {
+				publishCount.increment();
+				return true;
+			}
+			contentionCount.increment();
+		}
+	}
+
+	/**
+	 * @param artifact
+	 *            the identifier of the artifact to query
+	 * @return the highest {@link Version} that has been published for the
+	 *         specified artifact, or <code>null</code> if none have been
+	 */
+	public V getLatest(String artifact) {
+		VersionIndex<V> history = getHistory(artifact);
+		return history.size() > 0 ? history.get(history.size() - 1) : null;
+	}
+
+	/**
+	 * @param artifact
+	 *            the identifier of the artifact to query
+	 * @param range
+	 *            the {@link VersionRange} to match against
+	 * @return the highest {@link Version} that has been published for the
+	 *         specified artifact and matches the specified
+	 *         {@link VersionRange}, or <code>null</code> if there is no such
+	 *         {@link Version}
+	 */
+	public V getLatestMatching(String artifact, VersionRange<V> range) {
+		if (range == null)
+			throw new IllegalArgumentException();
+
+		return getHistory(artifact).highestMatching(range);
+	}
+
+	/**
+	 * @param artifact
+	 *            the identifier of the artifact to query
+	 * @return a snapshot of all of the {@link Version}s that have been
+	 *         published for the specified artifact, which will not reflect any
+	 *         later calls to {@link #publish(String, Version)}
+	 */
+	public VersionIndex<V> getHistory(String artifact) {
+		if (artifact == null)
+			throw new IllegalArgumentException();
+
+		AtomicReference<VersionIndex<V>> history = histories.get(artifact);
+		return history != null ? history.get() : emptyHistory;
+	}
+
+	/**
+	 * @return the (approximate, if other threads are publishing to this
+	 *         {@link LatestVersionTracker}) number of artifacts that have had
+	 *         {@link Version}s published for them
+	 */
+	public int size() {
+		return histories.size();
+	}
+
+	/**
+	 * @return the number of calls to {@link #publish(String, Version)} that
+	 *         added a {@link Version}
+	 */
+	public long getPublishCount() {
+		return publishCount.sum();
+	}
+
+	/**
+	 * @return the number of calls to {@link #publish(String, Version)} that
+	 *         didn't add a {@link Version}, as it had already been published
+	 */
+	public long getDuplicateCount() {
+		return duplicateCount.sum();
+	}
+
+	/**
+	 * @return the number of times that {@link #publish(String, Version)} had to
+	 *         retry, because another thread published a {@link Version} for the
+	 *         same artifact at the same time
+	 */
+	public long getContentionCount() {
+		return contentionCount.sum();
+	}
+}
@@ -0,0 +1,630 @@
+package com.justdavis.jessentials.jversionsanity.index;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import com.justdavis.jessentials.jversionsanity.OrderedKeyVersion;
+import com.justdavis.jessentials.jversionsanity.Version;
+import com.justdavis.jessentials.jversionsanity.VersionParser;
+import com.justdavis.jessentials.jversionsanity.range.VersionRange;
+import com.justdavis.jessentials.jversionsanity.range.interval.UnionVersionRange;
+
+/**
+ * <p>
+ * An immutable, on-disk catalog of (artifact, {@link Version}) pairs, which
+ * can be efficiently queried for the {@link Version}s of an artifact that match
+ * a {@link VersionRange}, without first loading the catalog into memory.
+ * </p>
+ * <p>
+ * Some notes on how this catalog functions:
+ * </p>
+ * <ul>
+ * <li>Catalog files are created by a {@link Writer}, which appends each entry
+ * to the file in order, and are then opened via
+ * {@link #open(Path, VersionParser)}, which maps the whole file into memory
+ * via {@link FileChannel#map(FileChannel.MapMode, long, long)}. Opening a
+ * catalog doesn't read or parse any of its entries, and the heap used by a
+ * {@link MappedVersionCatalog} doesn't depend on the size of the catalog.</li>
+ * <li>Each entry stores the {@link OrderedKeyVersion#writeSortKey(ByteBuffer)
+ * sort key} of its {@link Version}, and entries are sorted by artifact and then
+ * sort key. Queries against interval-based {@link VersionRange}s (see
+ * {@link UnionVersionRange#asUnion(VersionRange)}) are answered by binary
+ * searches for the artifact and then each interval's bounds, directly over the
+ * mapped bytes, and so take <code>O(log n)</code> time per interval. Queries
+ * against any other {@link VersionRange} implementation have to fall back to
+ * parsing and calling {@link VersionRange#matches(Version)} on each of the
+ * artifact's {@link Version}s.</li>
+ * <li>Each entry also stores its {@link Version}'s {@link Version#toString()}
+ * representation, which is only parsed when that {@link Version} is returned
+ * from a query.</li>
+ * <li>Catalog files are limited to {@link Integer#MAX_VALUE} bytes, as that's
+ * the most that can be mapped into a single {@link ByteBuffer}.</li>
+ * </ul>
+ * <h3>File Format</h3>
+ * <p>
+ * All integers are four byte big-endian values. The file consists of:
+ * </p>
+ * <ol>
+ * <li>The entries, each of which is the length and UTF-8 bytes of the
+ * artifact, then the length and bytes of the sort key, then the length and
+ * UTF-8 bytes of the {@link Version}'s {@link String} representation.</li>
+ * <li>The file offset of each entry.</li>
+ * <li>A footer: the file offset of the entry offsets, the number of entries,
+ * the format version ({@value #FORMAT_VERSION}), and the magic number
+ * {@value #MAGIC}.</li>
+ * </ol>
+ * 
+ * @param <V>
+ *            the {@link Version} implementation being cataloged
+ */
+public final class MappedVersionCatalog<V extends OrderedKeyVersion> {
+	/**
+	 * The magic number at the very end of every catalog file.
+	 */
+	static final int MAGIC = 0x4A56434C;
+
+	/**
+	 * The version of the file format written by {@link Writer}.
+	 */
+	static final int FORMAT_VERSION = 1;
+
+	/**
+	 * The size of the footer at the end of every catalog file.
+	 */
+	private static final int FOOTER_LENGTH = 4 * Integer.BYTES;
+
+	private final VersionParser<V> versionParser;
+
+	/**
+	 * The read-only mapping of the whole catalog file, which is only ever
+	 * accessed via absolute gets, and so is safe to share between threads.
+	 */
+	private final ByteBuffer buffer;
+
+	/**
+	 * The offset in {@link #buffer} of the entry offsets.
+	 */
+	private final int offsetsStart;
+
+	/**
+	 * The number of entries in the catalog.
+	 */
+	private final int entryCount;
+
+	/**
+	 * Constructs a new {@link MappedVersionCatalog}.
+	 * 
+	 * @param versionParser
+	 *            the {@link VersionParser} to use for the cataloged
+	 *            {@link Version}s
+	 * @param buffer
+	 *            the contents of the catalog file
+	 * @throws IOException
+	 *             An {@link IOException} will be thrown if the specified
+	 *             {@link ByteBuffer} isn't a valid catalog file.
+	 */
+	private MappedVersionCatalog(VersionParser<V> versionParser, ByteBuffer buffer) throws IOException {
+		this.versionParser = versionParser;
+		this.buffer = buffer;
+
+		int footerStart = buffer.limit() - FOOTER_LENGTH;
+		if (footerStart < 0 || buffer.getInt(footerStart + 3 * Integer.BYTES) != MAGIC)
+			throw new IOException("Not a version catalog file.");
+		if (buffer.getInt(footerStart + 2 * Integer.BYTES) != FORMAT_VERSION)
+			throw new IOException(
+					"Unsupported version catalog format: " + buffer.getInt(footerStart + 2 * Integer.BYTES));
+
+		this.offsetsStart = buffer.getInt(footerStart);
+		this.entryCount = buffer.getInt(footerStart + Integer.BYTES);
+		if (offsetsStart < 0 || entryCount < 0
+				|| (long) offsetsStart + (long) entryCount * Integer.BYTES != footerStart)
+			throw new IOException("Corrupt version catalog file.");
+	}
+
+	/**
+	 * Opens the specified catalog file, by mapping it into memory.
+	 * 
+	 * @param catalogFile
+	 *            the catalog file to open, as created by a {@link Writer}
+	 * @param versionParser
+	 *            the {@link VersionParser} to use for the cataloged
+	 *            {@link Version}s, which must be the same {@link Version}
+	 *            implementation that the catalog was written with
+	 * @return a {@link MappedVersionCatalog} for the specified catalog file
+	 * @throws IOException
+	 *             An {@link IOException} will be thrown if the file can't be
+	 *             mapped, or isn't a valid catalog file.
+	 */
+	public static <V extends OrderedKeyVersion> MappedVersionCatalog<V> open(Path catalogFile,
+			VersionParser<V> versionParser) throws IOException {
+		if (catalogFile == null || versionParser == null)
+			throw new IllegalArgumentException();
+
+		// The mapping remains valid after the channel is closed.
+		try (FileChannel channel = FileChannel.open(catalogFile, StandardOpenOption.READ)) {
+			if (channel.size() > Integer.MAX_VALUE)
+				throw new IOException("Version catalog file too large: " + channel.size());
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			return new MappedVersionCatalog<V>(versionParser, buffer);
+		}
+	}
+
+	/**
+	 * @return the number of (artifact, {@link Version}) entries in this
+	 *         {@link MappedVersionCatalog}
+	 */
+	public int size() {
+		return entryCount;
+	}
+
+	/**
+	 * @param artifact
+	 *            the artifact to get the {@link Version}s of
+	 * @return the number of {@link Version}s cataloged for the specified
+	 *         artifact
+	 */
+	public int getVersionCount(String artifact) {
+		byte[] artifactBytes = encodeArtifact(artifact);
+		return searchArtifact(artifactBytes, true) - searchArtifact(artifactBytes, false);
+	}
+
+	/**
+	 * @param artifact
+	 *            the artifact to check
+	 * @param version
+	 *            the {@link Version} to check for
+	 * @return <code>true</code> if the specified {@link Version} (or an
+	 *         equivalent one) is cataloged for the specified artifact,
+	 *         <code>false</code> if not
+	 */
+	public boolean contains(String artifact, V version) {
+		if (version == null)
+			throw new IllegalArgumentException();
+
+		byte[] artifactBytes = encodeArtifact(artifact);
+		int start = searchArtifact(artifactBytes, false);
+		int end = searchArtifact(artifactBytes, true);
+		byte[] key = version.toSortKey();
+		int index = searchKey(start, end, key, false);
+		return index < end && compareKey(index, key) == 0;
+	}
+
+	/**
+	 * @param artifact
+	 *            the artifact to get the {@link Version}s of
+	 * @param range
+	 *            the {@link VersionRange} to match against
+	 * @return the highest {@link Version} cataloged for the specified artifact
+	 *         that matches the specified {@link VersionRange}, or
+	 *         <code>null</code> if none of them do
+	 */
+	public V highestMatching(String artifact, VersionRange<V> range) {
+		byte[] artifactBytes = encodeArtifact(artifact);
+		int artifactStart = searchArtifact(artifactBytes, false);
+		int artifactEnd = searchArtifact(artifactBytes, true);
+
+		UnionVersionRange<V> union = UnionVersionRange.asUnion(range);
+		if (union == null) {
+			for (int i = artifactEnd - 1; i >= artifactStart; i--) {
+				V version = readVersion(i);
+				if (range.matches(version))
+					return version;
+			}
+			return null;
+		}
+
+		for (int i = union.getIntervalCount() - 1; i >= 0; i--) {
+			int start = searchLower(union, i, artifactStart, artifactEnd);
+			int end = searchUpper(union, i, artifactStart, artifactEnd);
+			if (start < end)
+				return readVersion(end - 1);
+		}
+		return null;
+	}
+
+	/**
+	 * @param artifact
+	 *            the artifact to get the {@link Version}s of
+	 * @param range
+	 *            the {@link VersionRange} to match against
+	 * @return the lowest {@link Version} cataloged for the specified artifact
+	 *         that matches the specified {@link VersionRange}, or
+	 *         <code>null</code> if none of them do
+	 */
+	public V lowestMatching(String artifact, VersionRange<V> range) {
+		byte[] artifactBytes = encodeArtifact(artifact);
+		int artifactStart = searchArtifact(artifactBytes, false);
+		int artifactEnd = searchArtifact(artifactBytes, true);
+
+		UnionVersionRange<V> union = UnionVersionRange.asUnion(range);
+		if (union == null) {
+			for (int i = artifactStart; i < artifactEnd; i++) {
+				V version = readVersion(i);
+				if (range.matches(version))
+					return version;
+			}
+			return null;
+		}
+
+		for (int i = 0; i < union.getIntervalCount(); i++) {
+			int start = searchLower(union, i, artifactStart, artifactEnd);
+			int end = searchUpper(union, i, artifactStart, artifactEnd);
+			if (start < end)
+				return readVersion(start);
+		}
+		return null;
+	}
+
+	/**
+	 * @param artifact
+	 *            the artifact to get the {@link Version}s of
+	 * @param range
+	 *            the {@link VersionRange} to match against
+	 * @return a new, unmodifiable {@link List} of the {@link Version}s
+	 *         cataloged for the specified artifact that match the specified
+	 *         {@link VersionRange}, sorted from lowest to highest
+	 */
+	public List<V> allMatching(String artifact, VersionRange<V> range) {
+		byte[] artifactBytes = encodeArtifact(artifact);
+		int artifactStart = searchArtifact(artifactBytes, false);
+		int artifactEnd = searchArtifact(artifactBytes, true);
+
+		List<V> matches = new ArrayList<V>();
+		UnionVersionRange<V> union = UnionVersionRange.asUnion(range);
+		if (union == null) {
+			for (int i = artifactStart; i < artifactEnd; i++) {
+				V version = readVersion(i);
+				if (range.matches(version))
+					matches.add(version);
+			}
+		} else {
+			for (int i = 0; i < union.getIntervalCount(); i++) {
+				int start = searchLower(union, i, artifactStart, artifactEnd);
+				int end = searchUpper(union, i, artifactStart, artifactEnd);
+				for (int j = start; j < end; j++)
+					matches.add(readVersion(j));
+			}
+		}
+		return Collections.unmodifiableList(matches);
+	}
+
+	/**
+	 * @param artifact
+	 *            the artifact to encode
+	 * @return the UTF-8 encoding of the specified artifact
+	 */
+	private static byte[] encodeArtifact(String artifact) {
+		if (artifact == null)
+			throw new IllegalArgumentException();
+		return artifact.getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * @param union
+	 *            the {@link UnionVersionRange} containing the interval
+	 * @param intervalIndex
+	 *            the index of the interval within the {@link UnionVersionRange}
+	 * @param start
+	 *            the index of the artifact's first entry
+	 * @param end
+	 *            the index after the artifact's last entry
+	 * @return the index of the first of the artifact's entries that satisfies
+	 *         the lower bound of the specified interval
+	 */
+	private int searchLower(UnionVersionRange<V> union, int intervalIndex, int start, int end) {
+		V lower = union.getVersionLower(intervalIndex);
+		return lower == null ? start : searchKey(start, end, lower.toSortKey(), !union.isLowerInclusive(intervalIndex));
+	}
+
+	/**
+	 * @param union
+	 *            the {@link UnionVersionRange} containing the interval
+	 * @param intervalIndex
+	 *            the index of the interval within the {@link UnionVersionRange}
+	 * @param start
+	 *            the index of the artifact's first entry
+	 * @param end
+	 *            the index after the artifact's last entry
+	 * @return the index after the last of the artifact's entries that
+	 *         satisfies the upper bound of the specified interval
+	 */
+	private int searchUpper(UnionVersionRange<V> union, int intervalIndex, int start, int end) {
+		V upper = union.getVersionUpper(intervalIndex);
+		return upper == null ? end : searchKey(start, end, upper.toSortKey(), union.isUpperInclusive(intervalIndex));
+	}
+
+	/**
+	 * @param artifact
+	 *            the UTF-8 encoded artifact to search for
+	 * @param strictlyGreater
+	 *            <code>true</code> to find the first entry for an artifact
+	 *            greater than the specified one, <code>false</code> to find
+	 *            the first entry for an artifact greater than or equal to it
+	 * @return the index of the first matching entry, or {@link #size()} if
+	 *         there is none
+	 */
+	private int searchArtifact(byte[] artifact, boolean strictlyGreater) {
+		int low = 0;
+		int high = entryCount;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			int entryOffset = getEntryOffset(middle);
+			int comparison = compareBytes(entryOffset + Integer.BYTES, buffer.getInt(entryOffset), artifact);
+			if (comparison < 0 || (strictlyGreater && comparison == 0))
+				low = middle + 1;
+			else
+				high = middle;
+		}
+		return low;
+	}
+
+	/**
+	 * @param start
+	 *            the index of the first entry to search
+	 * @param end
+	 *            the index after the last entry to search
+	 * @param key
+	 *            the sort key to search for
+	 * @param strictlyGreater
+	 *            <code>true</code> to find the first entry with a sort key
+	 *            greater than the specified one, <code>false</code> to find the
+	 *            first one greater than or equal to it
+	 * @return the index of the first matching entry, or <code>end</code> if
+	 *         there is none
+	 */
+	private int searchKey(int start, int end, byte[] key, boolean strictlyGreater) {
+		int low = start;
+		int high = end;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			int comparison = compareKey(middle, key);
+			if (comparison < 0 || (strictlyGreater && comparison == 0))
+				low = middle + 1;
+			else
+				high = middle;
+		}
+		return low;
+	}
+
+	/**
+	 * @param index
+	 *            the index of the entry to compare
+	 * @param key
+	 *            the sort key to compare against
+	 * @return the result of comparing the specified entry's sort key to the
+	 *         specified one
+	 */
+	private int compareKey(int index, byte[] key) {
+		int keyLengthOffset = getKeyLengthOffset(getEntryOffset(index));
+		return compareBytes(keyLengthOffset + Integer.BYTES, buffer.getInt(keyLengthOffset), key);
+	}
+
+	/**
+	 * @param offset
+	 *            the offset in {@link #buffer} of the bytes to compare
+	 * @param length
+	 *            the number of bytes in {@link #buffer} to compare
+	 * @param other
+	 *            the bytes to compare against
+	 * @return the result of comparing the specified bytes in {@link #buffer}
+	 *         to the specified other bytes, using unsigned lexicographic order
+	 */
+	private int compareBytes(int offset, int length, byte[] other) {
+		int sharedLength = Math.min(length, other.length);
+		for (int i = 0; i < sharedLength; i++) {
+			int comparison = Integer.compare(buffer.get(offset + i) & 0xFF, other[i] & 0xFF);
+			if (comparison != 0)
+				return comparison;
+		}
+		return Integer.compare(length, other.length);
+	}
+
+	/**
+	 * @param index
+	 *            the index of the entry to get the offset of
+	 * @return the offset in {@link #buffer} of the specified entry
+	 */
+	private int getEntryOffset(int index) {
+		return buffer.getInt(offsetsStart + index * Integer.BYTES);
+	}
+
+	/**
+	 * @param entryOffset
+	 *            the offset in {@link #buffer} of the entry
+	 * @return the offset in {@link #buffer} of the specified entry's sort key
+	 *         length
+	 */
+	private int getKeyLengthOffset(int entryOffset) {
+		return entryOffset + Integer.BYTES + buffer.getInt(entryOffset);
+	}
+
+	/**
+	 * @param index
+	 *            the index of the entry to read
+	 * @return the {@link Version} parsed from the specified entry's
+	 *         {@link String} representation
+	 */
+	private V readVersion(int index) {
+		int keyLengthOffset = getKeyLengthOffset(getEntryOffset(index));
+		int versionLengthOffset = keyLengthOffset + Integer.BYTES + buffer.getInt(keyLengthOffset);
+		byte[] versionBytes = new byte[buffer.getInt(versionLengthOffset)];
+		for (int i = 0; i < versionBytes.length; i++)
+			versionBytes[i] = buffer.get(versionLengthOffset + Integer.BYTES + i);
+		return versionParser.parseVersion(new String(versionBytes, StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * <p>
+	 * Creates {@link MappedVersionCatalog} files, by appending each entry to
+	 * the file in turn.
+	 * </p>
+	 * <p>
+	 * Entries must be appended in order: sorted by the unsigned lexicographic
+	 * order of their artifacts' UTF-8 encodings (which is the same as sorting
+	 * them by code point), and then by {@link Version}. Entries that are
+	 * duplicates of the previous entry are ignored.
+	 * {@link #appendAll(String, Collection)} can be used to sort all of an
+	 * artifact's {@link Version}s.
+	 * </p>
+	 * <p>
+	 * The file isn't valid until the {@link Writer} has been closed.
+	 * </p>
+	 * 
+	 * @param <V>
+	 *            the {@link Version} implementation being cataloged
+	 */
+	public static final class Writer<V extends OrderedKeyVersion> implements Closeable {
+		private final DataOutputStream output;
+
+		/**
+		 * The offset of each appended entry, of which only the first
+		 * {@link #entryCount} are used.
+		 */
+		private int[] entryOffsets;
+
+		private int entryCount;
+
+		/**
+		 * The current size of the file.
+		 */
+		private long fileLength;
+
+		private byte[] previousArtifact;
+		private byte[] previousKey;
+		private boolean closed;
+
+		/**
+		 * Constructs a new {@link Writer}, creating or replacing the specified
+		 * file.
+		 * 
+		 * @param catalogFile
+		 *            the catalog file to write
+		 * @throws IOException
+		 *             An {@link IOException} will be thrown if the file can't
+		 *             be opened for writing.
+		 */
+		public Writer(Path catalogFile) throws IOException {
+			if (catalogFile == null)
+				throw new IllegalArgumentException();
+
+			this.output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(catalogFile)));
+			this.entryOffsets = new int[16];
+		}
+
+		/**
+		 * Appends an entry to the catalog.
+		 * 
+		 * @param artifact
+		 *            the artifact of the entry
+		 * @param version
+		 *            the {@link Version} of the entry
+		 * @throws IOException
+		 *             An {@link IOException} will be thrown if the entry can't
+		 *             be written.
+		 * @throws IllegalArgumentException
+		 *             An {@link IllegalArgumentException} will be thrown if the
+		 *             entry is out of order.
+		 */
+		public void append(String artifact, V version) throws IOException {
+			if (artifact == null || version == null)
+				throw new IllegalArgumentException();
+			if (closed)
+				throw new IllegalStateException("Writer has been closed.");
+
+			byte[] artifactBytes = encodeArtifact(artifact);
+			byte[] key = version.toSortKey();
+			if (previousArtifact != null) {
+				// Artifacts are ordered the same way as sort keys are.
+				int comparison = OrderedKeyVersion.compareSortKeys(previousArtifact, artifactBytes);
+				if (comparison == 0)
+					comparison = OrderedKeyVersion.compareSortKeys(previousKey, key);
+				if (comparison == 0)
+					return;
+				if (comparison > 0)
+					throw new IllegalArgumentException(
+							String.format("Entry '%s' '%s' appended out of order.", artifact, version));
+			}
+
+			byte[] versionBytes = version.toString().getBytes(StandardCharsets.UTF_8);
+			long entryLength = 3 * Integer.BYTES + artifactBytes.length + key.length + versionBytes.length;
+			if (fileLength + entryLength + (long) (entryCount + 1) * Integer.BYTES + FOOTER_LENGTH > Integer.MAX_VALUE)
+				throw new IllegalStateException("Version catalog file too large.");
+
+			if (entryCount == entryOffsets.length)
+				entryOffsets = Arrays.copyOf(entryOffsets, entryCount * 2);
+			entryOffsets[entryCount++] = (int) fileLength;
+
+			output.writeInt(artifactBytes.length);
+			output.write(artifactBytes);
+			output.writeInt(key.length);
+			output.write(key);
+			output.writeInt(versionBytes.length);
+			output.write(versionBytes);
+			fileLength += entryLength;
+
+			previousArtifact = artifactBytes;
+			previousKey = key;
+		}
+
+		/**
+		 * Appends an entry to the catalog for each of the specified
+		 * {@link Version}s, after sorting them.
+		 * 
+		 * @param artifact
+		 *            the artifact of the entries
+		 * @param versions
+		 *            the {@link Version}s of the entries, in any order
+		 * @throws IOException
+		 *             An {@link IOException} will be thrown if the entries
+		 *             can't be written.
+		 * @throws IllegalArgumentException
+		 *             An {@link IllegalArgumentException} will be thrown if the
+		 *             entries would be out of order.
+		 */
+		public void appendAll(String artifact, Collection<? extends V> versions) throws IOException {
+			if (versions == null)
+				throw new IllegalArgumentException();
+
+			List<V> sortedVersions = new ArrayList<V>(versions);
+			Collections.sort(sortedVersions);
+			for (V version : sortedVersions)
+				append(artifact, version);
+		}
+
+		/**
+		 * Writes the entry offsets and footer, and closes the file.
+		 * 
+		 * @see java.io.Closeable#close()
+		 */
+		@Override
+		public void close() throws IOException {
+			if (closed)
+				return;
+			closed = true;
+
+			try {
+				for (int i = 0; i < entryCount; i++)
+					output.writeInt(entryOffsets[i]);
+				output.writeInt((int) fileLength);
+				output.writeInt(entryCount);
+				output.writeInt(FORMAT_VERSION);
+				output.writeInt(MAGIC);
+			} finally {
+				output.close();
+			}
+		}
+	}
+}
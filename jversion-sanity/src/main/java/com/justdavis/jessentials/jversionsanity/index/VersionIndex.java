@@ -0,0 +1,359 @@
+package com.justdavis.jessentials.jversionsanity.index;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+
+import com.justdavis.jessentials.jversionsanity.Version;
+import com.justdavis.jessentials.jversionsanity.range.VersionRange;
+import com.justdavis.jessentials.jversionsanity.range.interval.UnionVersionRange;
+
+/**
+ * <p>
+ * An immutable, sorted index of {@link Version}s, e.g. all of the published
+ * versions of an artifact, which can be efficiently queried for the
+ * {@link Version}s matching a {@link VersionRange}.
+ * </p>
+ * <p>
+ * Some notes on how this index functions:
+ * </p>
+ * <ul>
+ * <li>The {@link Version}s are sorted once, when the index is constructed, via
+ * {@link Arrays#parallelSort(Comparable[])}, which will sort large inputs in
+ * parallel. {@link Version}s that compare as equal are only indexed once.</li>
+ * <li>Queries against interval-based {@link VersionRange}s (see
+ * {@link UnionVersionRange#asUnion(VersionRange)}) are answered by binary
+ * searches for each interval's bounds, and so take <code>O(log n)</code> time
+ * per interval.
+ * Queries against any other {@link VersionRange} implementation have to fall
+ * back to calling {@link VersionRange#matches(Version)} on each indexed
+ * {@link Version}, and so take <code>O(n)</code> time.</li>
+ * <li>The {@link List}s returned by {@link #allMatching(VersionRange)} are
+ * unmodifiable views of this index's sorted {@link Version}s, rather than
+ * copies of them.</li>
+ * </ul>
+ * 
+ * @param <V>
+ *            the {@link Version} implementation being indexed
+ */
+public final class VersionIndex<V extends Version> {
+	/**
+	 * The distinct indexed {@link Version}s, sorted from lowest to highest.
+	 */
+	private final Version[] versions;
+
+	/**
+	 * Constructs a new {@link VersionIndex}.
+	 * 
+	 * @param versions
+	 *            the {@link Version}s to index, in any order
+	 */
+	public VersionIndex(Collection<? extends V> versions) {
+		if (versions == null)
+			throw new IllegalArgumentException();
+
+		Version[] sortedVersions = versions.toArray(new Version[versions.size()]);
+		for (Version version : sortedVersions)
+			if (version == null)
+				throw new IllegalArgumentException("Null versions not supported.");
+		Arrays.parallelSort(sortedVersions);
+
+		// Remove any duplicates, which will now be next to each other.
+		int distinctCount = 0;
+		for (int i = 0; i < sortedVersions.length; i++)
+			if (distinctCount == 0 || sortedVersions[distinctCount - 1].compareTo(sortedVersions[i]) != 0)
+				sortedVersions[distinctCount++] = sortedVersions[i];
+
+		this.versions = distinctCount == sortedVersions.length ? sortedVersions
+				: Arrays.copyOf(sortedVersions, distinctCount);
+	}
+
+	/**
+	 * Constructs a new {@link VersionIndex}.
+	 * 
+	 * @param sortedVersions
+	 *            the value to use for {@link #versions}, which must already be
+	 *            sorted and distinct
+	 */
+	private VersionIndex(Version[] sortedVersions) {
+		this.versions = sortedVersions;
+	}
+
+	/**
+	 * @param version
+	 *            the {@link Version} to add
+	 * @return a new {@link VersionIndex} with the specified {@link Version}
+	 *         added to the ones in this {@link VersionIndex}, or this
+	 *         {@link VersionIndex} if an equal {@link Version} is already
+	 *         indexed
+	 */
+	VersionIndex<V> with(V version) {
+		int index = search(version, false);
+		if (index < versions.length && versions[index].compareTo(version) == 0)
+			return this;
+
+		Version[] newVersions = new Version[versions.length + 1];
+		System.arraycopy(versions, 0, newVersions, 0, index);
+		newVersions[index] = version;
+		System.arraycopy(versions, index, newVersions, index + 1, versions.length - index);
+		return new VersionIndex<V>(newVersions);
+	}
+
+	/**
+	 * @return the number of distinct {@link Version}s in this
+	 *         {@link VersionIndex}
+	 */
+	public int size() {
+		return versions.length;
+	}
+
+	/**
+	 * @return an unmodifiable view of all of the {@link Version}s in this
+	 *         {@link VersionIndex}, sorted from lowest to highest
+	 */
+	public List<V> getVersions() {
+		return new SortedSliceList<V>(versions, new int[] { 0 }, new int[] { versions.length });
+	}
+
+	/**
+	 * @param version
+	 *            the {@link Version} to search for
+	 * @return the highest indexed {@link Version} that is less than or equal
+	 *         to the specified one, or <code>null</code> if there is no such
+	 *         {@link Version}
+	 */
+	public V floor(V version) {
+		if (version == null)
+			throw new IllegalArgumentException();
+
+		int index = search(version, true) - 1;
+		return index >= 0 ? get(index) : null;
+	}
+
+	/**
+	 * @param version
+	 *            the {@link Version} to search for
+	 * @return the lowest indexed {@link Version} that is greater than or equal
+	 *         to the specified one, or <code>null</code> if there is no such
+	 *         {@link Version}
+	 */
+	public V ceiling(V version) {
+		if (version == null)
+			throw new IllegalArgumentException();
+
+		int index = search(version, false);
+		return index < versions.length ? get(index) : null;
+	}
+
+	/**
+	 * @param range
+	 *            the {@link VersionRange} to match against
+	 * @return the highest indexed {@link Version} that matches the specified
+	 *         {@link VersionRange}, or <code>null</code> if none of them do
+	 */
+	public V highestMatching(VersionRange<V> range) {
+		UnionVersionRange<V> union = UnionVersionRange.asUnion(range);
+		if (union == null) {
+			for (int i = versions.length - 1; i >= 0; i--)
+				if (range.matches(get(i)))
+					return get(i);
+			return null;
+		}
+
+		for (int i = union.getIntervalCount() - 1; i >= 0; i--) {
+			int start = searchLower(union, i);
+			int end = searchUpper(union, i);
+			if (start < end)
+				return get(end - 1);
+		}
+		return null;
+	}
+
+	/**
+	 * @param range
+	 *            the {@link VersionRange} to match against
+	 * @return the lowest indexed {@link Version} that matches the specified
+	 *         {@link VersionRange}, or <code>null</code> if none of them do
+	 */
+	public V lowestMatching(VersionRange<V> range) {
+		UnionVersionRange<V> union = UnionVersionRange.asUnion(range);
+		if (union == null) {
+			for (int i = 0; i < versions.length; i++)
+				if (range.matches(get(i)))
+					return get(i);
+			return null;
+		}
+
+		for (int i = 0; i < union.getIntervalCount(); i++) {
+			int start = searchLower(union, i);
+			int end = searchUpper(union, i);
+			if (start < end)
+				return get(start);
+		}
+		return null;
+	}
+
+	/**
+	 * @param range
+	 *            the {@link VersionRange} to match against
+	 * @return an unmodifiable {@link List} of the indexed {@link Version}s that
+	 *         match the specified {@link VersionRange}, sorted from lowest to
+	 *         highest, which (for interval-based {@link VersionRange}s) is a
+	 *         view of this
+	 *         {@link VersionIndex} rather than a copy
+	 */
+	public List<V> allMatching(VersionRange<V> range) {
+		UnionVersionRange<V> union = UnionVersionRange.asUnion(range);
+		if (union == null) {
+			List<V> matches = new ArrayList<V>();
+			for (int i = 0; i < versions.length; i++)
+				if (range.matches(get(i)))
+					matches.add(get(i));
+			return Collections.unmodifiableList(matches);
+		}
+
+		int[] starts = new int[union.getIntervalCount()];
+		int[] ends = new int[union.getIntervalCount()];
+		int sliceCount = 0;
+		for (int i = 0; i < union.getIntervalCount(); i++) {
+			int start = searchLower(union, i);
+			int end = searchUpper(union, i);
+			if (start < end) {
+				starts[sliceCount] = start;
+				ends[sliceCount] = end;
+				sliceCount++;
+			}
+		}
+
+		return new SortedSliceList<V>(versions, Arrays.copyOf(starts, sliceCount), Arrays.copyOf(ends, sliceCount));
+	}
+
+	/**
+	 * @param union
+	 *            the {@link UnionVersionRange} containing the interval
+	 * @param intervalIndex
+	 *            the index of the interval within the {@link UnionVersionRange}
+	 * @return the index of the first indexed {@link Version} that satisfies the
+	 *         lower bound of the specified interval
+	 */
+	int searchLower(UnionVersionRange<V> union, int intervalIndex) {
+		V lower = union.getVersionLower(intervalIndex);
+		return lower == null ? 0 : search(lower, !union.isLowerInclusive(intervalIndex));
+	}
+
+	/**
+	 * @param union
+	 *            the {@link UnionVersionRange} containing the interval
+	 * @param intervalIndex
+	 *            the index of the interval within the {@link UnionVersionRange}
+	 * @return the index after the last indexed {@link Version} that satisfies
+	 *         the upper bound of the specified interval
+	 */
+	int searchUpper(UnionVersionRange<V> union, int intervalIndex) {
+		V upper = union.getVersionUpper(intervalIndex);
+		return upper == null ? versions.length : search(upper, union.isUpperInclusive(intervalIndex));
+	}
+
+	/**
+	 * @param key
+	 *            the {@link Version} to search for
+	 * @param strictlyGreater
+	 *            <code>true</code> to find the first indexed {@link Version}
+	 *            greater than the key, <code>false</code> to find the first
+	 *            one greater than or equal to it
+	 * @return the index of the first indexed {@link Version} that is greater
+	 *         than (or, if <code>strictlyGreater</code> is <code>false</code>,
+	 *         equal to) the specified key, or {@link #size()} if there is none
+	 */
+	int search(Version key, boolean strictlyGreater) {
+		int low = 0;
+		int high = versions.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			int comparison = versions[middle].compareTo(key);
+			if (comparison < 0 || (strictlyGreater && comparison == 0))
+				low = middle + 1;
+			else
+				high = middle;
+		}
+		return low;
+	}
+
+	/**
+	 * @param index
+	 *            the index of the {@link Version} to get
+	 * @return the {@link Version} at the specified index in {@link #versions}
+	 */
+	@SuppressWarnings("unchecked")
+	V get(int index) {
+		return (V) versions[index];
+	}
+
+	/**
+	 * An unmodifiable {@link List} view over one or more slices of a sorted
+	 * {@link Version} array.
+	 * 
+	 * @param <V>
+	 *            the {@link Version} implementation in the array
+	 */
+	private static final class SortedSliceList<V extends Version> extends AbstractList<V> implements RandomAccess {
+		private final Version[] versions;
+		private final int[] starts;
+
+		/**
+		 * The number of {@link Version}s in all of the slices before each
+		 * slice, plus a final entry for the total size.
+		 */
+		private final int[] offsets;
+
+		/**
+		 * Constructs a new {@link SortedSliceList}.
+		 * 
+		 * @param versions
+		 *            the sorted {@link Version} array to provide a view of
+		 * @param starts
+		 *            the index of the first {@link Version} in each slice
+		 *            (which must all be non-empty, if there's more than one)
+		 * @param ends
+		 *            the index after the last {@link Version} in each slice
+		 */
+		SortedSliceList(Version[] versions, int[] starts, int[] ends) {
+			this.versions = versions;
+			this.starts = starts;
+			this.offsets = new int[starts.length + 1];
+			for (int i = 0; i < starts.length; i++)
+				offsets[i + 1] = offsets[i] + (ends[i] - starts[i]);
+		}
+
+		/**
+		 * @see java.util.AbstractList#get(int)
+		 */
+		@SuppressWarnings("unchecked")
+		@Override
+		public V get(int index) {
+			if (index < 0 || index >= size())
+				throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+
+			// Find the slice containing the index.
+			int slice = 0;
+			if (starts.length > 1) {
+				slice = Arrays.binarySearch(offsets, index);
+				slice = slice >= 0 ? slice : -slice - 2;
+			}
+
+			return (V) versions[starts[slice] + (index - offsets[slice])];
+		}
+
+		/**
+		 * @see java.util.AbstractCollection#size()
+		 */
+		@Override
+		public int size() {
+			return offsets[starts.length];
+		}
+	}
+}
@@ -0,0 +1,532 @@
+package com.justdavis.jessentials.jversionsanity.index;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+
+import com.justdavis.jessentials.jversionsanity.Version;
+import com.justdavis.jessentials.jversionsanity.range.VersionRange;
+import com.justdavis.jessentials.jversionsanity.range.interval.UnionVersionRange;
+
+/**
+ * <p>
+ * A mutable index of {@link VersionRange}s, e.g. all of the constraints that
+ * downstream consumers have on an artifact, which can be efficiently queried
+ * for the {@link VersionRange}s that match a given {@link Version}.
+ * </p>
+ * <p>
+ * Some notes on how this index functions:
+ * </p>
+ * <ul>
+ * <li>It's a <a href=
+ * "https://en.wikipedia.org/wiki/Interval_tree#Centered_interval_tree">centered
+ * interval tree</a>: a binary search tree of center points, where each interval
+ * is stored at the highest node whose center it spans, sorted both by lower
+ * bound and by upper bound. Every interval in a node's left subtree ends at or
+ * before its center, and every one in its right subtree starts after it.</li>
+ * <li>{@link #findMatching(Version)} walks a single path down from the root,
+ * and at each node reads the intervals in bound order only until the first one
+ * that doesn't match, so it takes <code>O(log n + k)</code> time, where
+ * <code>k</code> is the number of matches.</li>
+ * <li>Each node's center is the lower bound of the interval that created it.
+ * The nodes are kept balanced as a <a
+ * href="https://en.wikipedia.org/wiki/Treap">treap</a>, so
+ * {@link #add(VersionRange)} and {@link #remove(VersionRange)} take (expected)
+ * <code>O(log n)</code> time to find their node. A rotation also has to move
+ * any intervals that now span the center of the node rotated above them,
+ * which is usually only a few of them. Any node left with no intervals, by
+ * either a rotation or a removal, is deleted from the tree right away.</li>
+ * <li>Only interval-based {@link VersionRange}s are supported (see
+ * {@link UnionVersionRange#asUnion(VersionRange)}). Each interval in a
+ * {@link UnionVersionRange} is indexed separately; as those intervals are
+ * disjoint, at most one of them can match any given {@link Version}.</li>
+ * <li>The same (or an equal) {@link VersionRange} may be added more than once,
+ * and will then be returned once for each time it was added.</li>
+ * <li>Instances are not thread-safe: callers must synchronize access to them if
+ * they're shared between threads.</li>
+ * </ul>
+ * 
+ * @param <V>
+ *            the {@link Version} implementation of the ranges being indexed
+ */
+public final class VersionRangeIndex<V extends Version> {
+	/**
+	 * The indexed intervals for each {@link VersionRange}, with one
+	 * {@link List} of them per time that the {@link VersionRange} was added.
+	 */
+	private final Map<VersionRange<V>, Deque<List<Entry<V>>>> entries;
+
+	private final Random priorities;
+	private Node<V> root;
+	private long nextSequenceNumber;
+	private int size;
+
+	/**
+	 * Constructs a new, empty {@link VersionRangeIndex}.
+	 */
+	public VersionRangeIndex() {
+		this.entries = new HashMap<VersionRange<V>, Deque<List<Entry<V>>>>();
+		this.priorities = new Random();
+		this.root = null;
+		this.nextSequenceNumber = 0;
+		this.size = 0;
+	}
+
+	/**
+	 * @return the number of {@link VersionRange}s in this
+	 *         {@link VersionRangeIndex}, counting each time that the same one
+	 *         was added
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Adds the specified {@link VersionRange} to this {@link VersionRangeIndex}.
+	 * 
+	 * @param range
+	 *            the interval-based {@link VersionRange} to add (see
+	 *            {@link UnionVersionRange#asUnion(VersionRange)})
+	 */
+	public void add(VersionRange<V> range) {
+		UnionVersionRange<V> union = UnionVersionRange.asUnion(range);
+		if (union == null)
+			throw new IllegalArgumentException("Unsupported VersionRange implementation: " + range.getClass());
+
+		List<Entry<V>> rangeIntervals = new ArrayList<Entry<V>>(union.getIntervalCount());
+		for (int i = 0; i < union.getIntervalCount(); i++) {
+			Entry<V> entry = new Entry<V>(range, union.getVersionLower(i), union.isLowerInclusive(i),
+					union.getVersionUpper(i), union.isUpperInclusive(i), nextSequenceNumber++);
+			// An interval that can't match anything has no center to go under.
+			if (compareCuts(entry.upper, entry.upperAbove, entry.lower, entry.lowerAbove, false) > 0)
+				root = insert(root, entry);
+			rangeIntervals.add(entry);
+		}
+
+		Deque<List<Entry<V>>> rangeEntries = entries.get(range);
+		if (rangeEntries == null) {
+			rangeEntries = new ArrayDeque<List<Entry<V>>>(1);
+			entries.put(range, rangeEntries);
+		}
+		rangeEntries.add(rangeIntervals);
+		size++;
+	}
+
+	/**
+	 * Removes one occurrence of the specified {@link VersionRange} from this
+	 * {@link VersionRangeIndex}, if present.
+	 * 
+	 * @param range
+	 *            the {@link VersionRange} to remove
+	 * @return <code>true</code> if the {@link VersionRange} was removed,
+	 *         <code>false</code> if it wasn't present
+	 */
+	public boolean remove(VersionRange<V> range) {
+		if (range == null)
+			throw new IllegalArgumentException();
+
+		Deque<List<Entry<V>>> rangeEntries = entries.get(range);
+		if (rangeEntries == null)
+			return false;
+
+		List<Entry<V>> rangeIntervals = rangeEntries.removeLast();
+		if (rangeEntries.isEmpty())
+			entries.remove(range);
+		for (Entry<V> entry : rangeIntervals) {
+			Node<V> node = entry.node;
+			if (node == null)
+				continue;
+			node.byLower.remove(entry);
+			node.byUpper.remove(entry);
+			if (node.byLower.isEmpty())
+				root = deleteNode(root, node);
+		}
+		size--;
+		return true;
+	}
+
+	/**
+	 * @param version
+	 *            the {@link Version} to match
+	 * @return the {@link VersionRange}s in this {@link VersionRangeIndex} that
+	 *         match the specified {@link Version}, in no particular order
+	 */
+	public List<VersionRange<V>> findMatching(V version) {
+		if (version == null)
+			throw new IllegalArgumentException();
+
+		List<VersionRange<V>> matches = new ArrayList<VersionRange<V>>();
+		Node<V> node = root;
+		while (node != null) {
+			if (isAboveCut(version, node.center, node.centerAbove, true)) {
+				/*
+				 * Every interval here starts at or before the center, so it
+				 * matches if it hasn't ended before the version. Nothing to
+				 * the left ends after the center, so nothing there matches.
+				 */
+				for (Entry<V> entry : node.byUpper) {
+					if (isAboveCut(version, entry.upper, entry.upperAbove, false))
+						break;
+					matches.add(entry.range);
+				}
+				node = node.right;
+			} else {
+				// And vice versa, for a version below the center.
+				for (Entry<V> entry : node.byLower) {
+					if (!isAboveCut(version, entry.lower, entry.lowerAbove, true))
+						break;
+					matches.add(entry.range);
+				}
+				node = node.left;
+			}
+		}
+		return matches;
+	}
+
+	/**
+	 * @param emptyOnly
+	 *            <code>true</code> to only count the {@link Node}s that have no
+	 *            intervals stored at them, <code>false</code> to count all of
+	 *            them
+	 * @return the number of {@link Node}s in the tree, which is only exposed
+	 *         for testing purposes
+	 */
+	int countNodes(boolean emptyOnly) {
+		return countNodes(root, emptyOnly);
+	}
+
+	/**
+	 * @param node
+	 *            the root of the subtree to count, or <code>null</code>
+	 * @param emptyOnly
+	 *            the value passed to {@link #countNodes(boolean)}
+	 * @return the number of (matching) {@link Node}s in the specified subtree
+	 */
+	private static <V extends Version> int countNodes(Node<V> node, boolean emptyOnly) {
+		if (node == null)
+			return 0;
+		int count = !emptyOnly || node.byLower.isEmpty() ? 1 : 0;
+		return count + countNodes(node.left, emptyOnly) + countNodes(node.right, emptyOnly);
+	}
+
+	/**
+	 * @param node
+	 *            the root of the subtree to insert into
+	 * @param entry
+	 *            the {@link Entry} to insert
+	 * @return the new root of the subtree
+	 */
+	private Node<V> insert(Node<V> node, Entry<V> entry) {
+		if (node == null) {
+			Node<V> newNode = new Node<V>(entry.lower, entry.lowerAbove, priorities.nextInt());
+			newNode.store(entry);
+			return newNode;
+		}
+
+		if (compareCuts(entry.upper, entry.upperAbove, node.center, node.centerAbove, false) <= 0) {
+			node.left = insert(node.left, entry);
+			if (node.left.priority > node.priority) {
+				Node<V> demoted = node;
+				node = rotateRight(node);
+				// The rotation may have moved all of the demoted node's intervals up.
+				if (demoted.byLower.isEmpty())
+					node.right = deleteNode(node.right, demoted);
+			}
+		} else if (compareCuts(entry.lower, entry.lowerAbove, node.center, node.centerAbove, true) > 0) {
+			node.right = insert(node.right, entry);
+			if (node.right.priority > node.priority) {
+				Node<V> demoted = node;
+				node = rotateLeft(node);
+				if (demoted.byLower.isEmpty())
+					node.left = deleteNode(node.left, demoted);
+			}
+		} else {
+			node.store(entry);
+		}
+		return node;
+	}
+
+	/**
+	 * @param node
+	 *            the root of the subtree to delete from
+	 * @param target
+	 *            the (empty) {@link Node} to delete, which must be present in
+	 *            the subtree
+	 * @return the new root of the subtree
+	 */
+	private static <V extends Version> Node<V> deleteNode(Node<V> node, Node<V> target) {
+		if (node == target) {
+			// Rotate the node down until it has at most one child.
+			if (node.left == null)
+				return node.right;
+			if (node.right == null)
+				return node.left;
+			if (node.left.priority > node.right.priority) {
+				node = rotateRight(node);
+				node.right = deleteNode(node.right, target);
+			} else {
+				node = rotateLeft(node);
+				node.left = deleteNode(node.left, target);
+			}
+		} else if (compareCuts(target.center, target.centerAbove, node.center, node.centerAbove, true) < 0) {
+			node.left = deleteNode(node.left, target);
+		} else {
+			node.right = deleteNode(node.right, target);
+		}
+		return node;
+	}
+
+	/**
+	 * @param node
+	 *            the root of the subtree to rotate, which must have a left
+	 *            child
+	 * @return the new root of the subtree (the former left child)
+	 */
+	private static <V extends Version> Node<V> rotateRight(Node<V> node) {
+		Node<V> newRoot = node.left;
+		node.left = newRoot.right;
+		newRoot.right = node;
+
+		// The intervals that start at or before the new root's center now belong to it.
+		for (Iterator<Entry<V>> iter = node.byLower.iterator(); iter.hasNext();) {
+			Entry<V> entry = iter.next();
+			if (compareCuts(entry.lower, entry.lowerAbove, newRoot.center, newRoot.centerAbove, true) > 0)
+				break;
+			iter.remove();
+			node.byUpper.remove(entry);
+			newRoot.store(entry);
+		}
+		return newRoot;
+	}
+
+	/**
+	 * @param node
+	 *            the root of the subtree to rotate, which must have a right
+	 *            child
+	 * @return the new root of the subtree (the former right child)
+	 */
+	private static <V extends Version> Node<V> rotateLeft(Node<V> node) {
+		Node<V> newRoot = node.right;
+		node.right = newRoot.left;
+		newRoot.left = node;
+
+		// The intervals that end after the new root's center now belong to it.
+		for (Iterator<Entry<V>> iter = node.byUpper.iterator(); iter.hasNext();) {
+			Entry<V> entry = iter.next();
+			if (compareCuts(entry.upper, entry.upperAbove, newRoot.center, newRoot.centerAbove, false) <= 0)
+				break;
+			iter.remove();
+			node.byLower.remove(entry);
+			newRoot.store(entry);
+		}
+		return newRoot;
+	}
+
+	/**
+	 * <p>
+	 * Compares two "cuts": the points between {@link Version}s that interval
+	 * bounds and {@link Node} centers sit at. A cut is specified as a
+	 * {@link Version} and whether the cut is just above it (an exclusive lower
+	 * bound or an inclusive upper bound) or just below it (an inclusive lower
+	 * bound or an exclusive upper bound).
+	 * </p>
+	 * <p>
+	 * The first cut's {@link Version} may be <code>null</code>, if it's an
+	 * unbounded lower or upper bound. The second cut's {@link Version} may be
+	 * <code>null</code> if it's an unbounded lower bound.
+	 * </p>
+	 * 
+	 * @param a
+	 *            the {@link Version} of the first cut
+	 * @param aAbove
+	 *            whether the first cut is just above its {@link Version}
+	 * @param b
+	 *            the {@link Version} of the second cut
+	 * @param bAbove
+	 *            whether the second cut is just above its {@link Version}
+	 * @param aLower
+	 *            whether a <code>null</code> first {@link Version} is an
+	 *            unbounded lower bound (rather than an unbounded upper bound)
+	 * @return a negative number, zero, or a positive number if the first cut is
+	 *         below, at, or above the second
+	 */
+	private static int compareCuts(Version a, boolean aAbove, Version b, boolean bAbove, boolean aLower) {
+		if (a == null)
+			return aLower ? (b == null ? 0 : -1) : 1;
+		if (b == null)
+			return 1;
+		int comparison = a.compareTo(b);
+		return comparison != 0 ? comparison : Boolean.compare(aAbove, bAbove);
+	}
+
+	/**
+	 * @param version
+	 *            the {@link Version} to check
+	 * @param cut
+	 *            the {@link Version} of the cut to check against, or
+	 *            <code>null</code> if it's unbounded
+	 * @param cutAbove
+	 *            whether the cut is just above its {@link Version}
+	 * @param cutLower
+	 *            whether a <code>null</code> cut is an unbounded lower bound
+	 *            (rather than an unbounded upper bound)
+	 * @return <code>true</code> if the specified {@link Version} is above the
+	 *         specified cut, <code>false</code> if it's below it
+	 */
+	private static boolean isAboveCut(Version version, Version cut, boolean cutAbove, boolean cutLower) {
+		if (cut == null)
+			return cutLower;
+		int comparison = version.compareTo(cut);
+		return cutAbove ? comparison > 0 : comparison >= 0;
+	}
+
+	/**
+	 * Each {@link Entry} instance represents a single interval of an indexed
+	 * {@link VersionRange}.
+	 * 
+	 * @param <V>
+	 *            the {@link Version} implementation of the interval
+	 */
+	private static final class Entry<V extends Version> {
+		/**
+		 * Orders {@link Entry}s by their lower bounds, from lowest to highest.
+		 */
+		private static final Comparator<Entry<?>> BY_LOWER = (a, b) -> {
+			int comparison = compareCuts(a.lower, a.lowerAbove, b.lower, b.lowerAbove, true);
+			return comparison != 0 ? comparison : Long.compare(a.sequenceNumber, b.sequenceNumber);
+		};
+
+		/**
+		 * Orders {@link Entry}s by their upper bounds, from highest to lowest.
+		 */
+		private static final Comparator<Entry<?>> BY_UPPER_DESCENDING = (a, b) -> {
+			int comparison;
+			if (a.upper == null || b.upper == null)
+				comparison = (b.upper == null ? 1 : 0) - (a.upper == null ? 1 : 0);
+			else
+				comparison = compareCuts(b.upper, b.upperAbove, a.upper, a.upperAbove, false);
+			return comparison != 0 ? comparison : Long.compare(a.sequenceNumber, b.sequenceNumber);
+		};
+
+		private final VersionRange<V> range;
+		private final V lower;
+		private final boolean lowerAbove;
+		private final V upper;
+		private final boolean upperAbove;
+
+		/**
+		 * Breaks ties between {@link Entry}s with the same bounds, so that
+		 * every {@link Entry} has a unique position in its {@link Node}.
+		 */
+		private final long sequenceNumber;
+
+		/**
+		 * The {@link Node} that this {@link Entry} is currently stored at, or
+		 * <code>null</code> if it's empty and so isn't in the tree at all.
+		 */
+		private Node<V> node;
+
+		/**
+		 * Constructs a new {@link Entry}.
+		 * 
+		 * @param range
+		 *            the {@link VersionRange} that the interval is part of
+		 * @param lower
+		 *            the interval's lower bound, or <code>null</code>
+		 * @param lowerInclusive
+		 *            whether or not the lower bound is inclusive
+		 * @param upper
+		 *            the interval's upper bound, or <code>null</code>
+		 * @param upperInclusive
+		 *            whether or not the upper bound is inclusive
+		 * @param sequenceNumber
+		 *            the value to use for {@link #sequenceNumber}
+		 */
+		Entry(VersionRange<V> range, V lower, boolean lowerInclusive, V upper, boolean upperInclusive,
+				long sequenceNumber) {
+			this.range = range;
+			this.lower = lower;
+			this.lowerAbove = !lowerInclusive;
+			this.upper = upper;
+			this.upperAbove = upperInclusive;
+			this.sequenceNumber = sequenceNumber;
+			this.node = null;
+		}
+	}
+
+	/**
+	 * Each {@link Node} instance represents a center point in the tree, along
+	 * with the intervals stored there.
+	 * 
+	 * @param <V>
+	 *            the {@link Version} implementation of the intervals
+	 */
+	private static final class Node<V extends Version> {
+		/**
+		 * The {@link Version} of the cut that this {@link Node} is centered
+		 * at, or <code>null</code> if it's centered below every
+		 * {@link Version}.
+		 */
+		private final V center;
+		private final boolean centerAbove;
+
+		/**
+		 * The treap heap priority: each {@link Node}'s priority is no lower
+		 * than its children's.
+		 */
+		private final int priority;
+
+		/**
+		 * The {@link Entry}s that span {@link #center}, ordered by
+		 * {@link Entry#BY_LOWER}.
+		 */
+		private final TreeSet<Entry<V>> byLower;
+
+		/**
+		 * The same {@link Entry}s as {@link #byLower}, ordered by
+		 * {@link Entry#BY_UPPER_DESCENDING}.
+		 */
+		private final TreeSet<Entry<V>> byUpper;
+
+		private Node<V> left;
+		private Node<V> right;
+
+		/**
+		 * Constructs a new, empty {@link Node}.
+		 * 
+		 * @param center
+		 *            the value to use for {@link #center}
+		 * @param centerAbove
+		 *            whether the center is just above its {@link Version}
+		 * @param priority
+		 *            the value to use for {@link #priority}
+		 */
+		Node(V center, boolean centerAbove, int priority) {
+			this.center = center;
+			this.centerAbove = centerAbove;
+			this.priority = priority;
+			this.byLower = new TreeSet<Entry<V>>(Entry.BY_LOWER);
+			this.byUpper = new TreeSet<Entry<V>>(Entry.BY_UPPER_DESCENDING);
+		}
+
+		/**
+		 * Stores the specified {@link Entry} at this {@link Node}.
+		 * 
+		 * @param entry
+		 *            the {@link Entry} to store, which must span
+		 *            {@link #center}
+		 */
+		void store(Entry<V> entry) {
+			byLower.add(entry);
+			byUpper.add(entry);
+			entry.node = this;
+		}
+	}
+}
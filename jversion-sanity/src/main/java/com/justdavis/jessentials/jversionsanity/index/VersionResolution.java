@@ -0,0 +1,92 @@
+package com.justdavis.jessentials.jversionsanity.index;
+
+import java.util.Collections;
+import java.util.List;
+
+import com.justdavis.jessentials.jversionsanity.Version;
+import com.justdavis.jessentials.jversionsanity.range.VersionRange;
+
+/**
+ * <p>
+ * The outcome of {@link VersionResolver#resolve(java.util.Collection)}: either
+ * the highest {@link Version} that satisfies all of the constraints, or a
+ * minimal subset of the constraints that can't all be satisfied at once.
+ * </p>
+ * <p>
+ * Instances are immutable.
+ * </p>
+ * 
+ * @param <V>
+ *            the {@link Version} implementation being resolved
+ */
+public final class VersionResolution<V extends Version> {
+	private final V version;
+	private final List<VersionRange<V>> conflicts;
+
+	/**
+	 * Constructs a new {@link VersionResolution}.
+	 * 
+	 * @param version
+	 *            the value to use for {@link #getVersion()}
+	 * @param conflicts
+	 *            the value to use for {@link #getConflicts()}
+	 */
+	private VersionResolution(V version, List<VersionRange<V>> conflicts) {
+		this.version = version;
+		this.conflicts = conflicts;
+	}
+
+	/**
+	 * @param version
+	 *            the resolved {@link Version}
+	 * @return a new, successful {@link VersionResolution}
+	 */
+	static <V extends Version> VersionResolution<V> resolved(V version) {
+		return new VersionResolution<V>(version, Collections.<VersionRange<V>> emptyList());
+	}
+
+	/**
+	 * @param conflicts
+	 *            the minimal subset of the constraints that can't all be
+	 *            satisfied at once
+	 * @return a new, failed {@link VersionResolution}
+	 */
+	static <V extends Version> VersionResolution<V> conflicted(List<VersionRange<V>> conflicts) {
+		return new VersionResolution<V>(null, Collections.unmodifiableList(conflicts));
+	}
+
+	/**
+	 * @return <code>true</code> if a {@link Version} satisfying all of the
+	 *         constraints was found, <code>false</code> if there wasn't one
+	 */
+	public boolean isResolved() {
+		return version != null;
+	}
+
+	/**
+	 * @return the highest {@link Version} that satisfies all of the
+	 *         constraints, or <code>null</code> if there isn't one
+	 */
+	public V getVersion() {
+		return version;
+	}
+
+	/**
+	 * @return an unmodifiable {@link List} of the constraints that conflict
+	 *         with each other (or with the available {@link Version}s), in the
+	 *         order they were specified, which will be empty if this
+	 *         {@link VersionResolution} {@link #isResolved()}
+	 */
+	public List<VersionRange<V>> getConflicts() {
+		return conflicts;
+	}
+
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return isResolved() ? "VersionResolution[version=" + version + "]"
+				: "VersionResolution[conflicts=" + conflicts + "]";
+	}
+}
@@ -0,0 +1,344 @@
+package com.justdavis.jessentials.jversionsanity.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import com.justdavis.jessentials.jversionsanity.Version;
+import com.justdavis.jessentials.jversionsanity.range.VersionRange;
+import com.justdavis.jessentials.jversionsanity.range.interval.UnionVersionRange;
+
+/**
+ * <p>
+ * Picks the highest of an artifact's available {@link Version}s that satisfies
+ * every one of a set of {@link VersionRange} constraints on it, e.g. those
+ * declared by each of the things that depend on the artifact.
+ * </p>
+ * <p>
+ * Some notes on how this resolver functions:
+ * </p>
+ * <ul>
+ * <li>The bounds of all single-interval constraints (see
+ * {@link UnionVersionRange#asUnion(VersionRange)}) are intersected
+ * symbolically, by comparing them with each other rather than with the
+ * available {@link Version}s. The {@link Version}s within the resulting
+ * bounds are then found via a pair of binary searches over the
+ * {@link VersionIndex}, so that resolving <code>k</code> such constraints
+ * against <code>n</code> {@link Version}s takes <code>O(k + log n)</code>
+ * time.</li>
+ * <li>Multiple-interval constraints are handled by repeatedly moving the
+ * candidate {@link Version} down to the highest one inside each of their
+ * intervals, via further binary searches, until all of them agree.</li>
+ * <li>Any other {@link VersionRange} implementations have to fall back to
+ * calling {@link VersionRange#matches(Version)} on each of the candidate
+ * {@link Version}s, from the highest down.</li>
+ * <li>When no {@link Version} satisfies all of the constraints, the
+ * {@link VersionResolution} will report a minimal subset of them that
+ * conflict: removing any one of the reported constraints would allow a
+ * {@link Version} to be resolved. This is more expensive than a successful
+ * resolution, but usually not by much, as it first checks whether the
+ * tightest lower bound and the tightest upper bound conflict on their own.
+ * </li>
+ * </ul>
+ * <p>
+ * Instances are immutable, and so are safe to share between threads.
+ * </p>
+ * 
+ * @param <V>
+ *            the {@link Version} implementation being resolved
+ */
+public final class VersionResolver<V extends Version> {
+	private final VersionIndex<V> index;
+
+	/**
+	 * Constructs a new {@link VersionResolver}.
+	 * 
+	 * @param index
+	 *            the {@link VersionIndex} of the available {@link Version}s
+	 */
+	public VersionResolver(VersionIndex<V> index) {
+		if (index == null)
+			throw new IllegalArgumentException();
+
+		this.index = index;
+	}
+
+	/**
+	 * Constructs a new {@link VersionResolver}.
+	 * 
+	 * @param versions
+	 *            the available {@link Version}s, in any order
+	 */
+	public VersionResolver(Collection<? extends V> versions) {
+		this(new VersionIndex<V>(versions));
+	}
+
+	/**
+	 * @return the {@link VersionIndex} of the available {@link Version}s
+	 */
+	public VersionIndex<V> getIndex() {
+		return index;
+	}
+
+	/**
+	 * @param constraints
+	 *            the {@link VersionRange}s that the resolved {@link Version}
+	 *            must satisfy, none of which may be <code>null</code> (if this
+	 *            is empty, the highest available {@link Version} will be
+	 *            resolved)
+	 * @return a {@link VersionResolution} with either the highest available
+	 *         {@link Version} that satisfies all of the specified constraints,
+	 *         or a minimal subset of them that conflict
+	 */
+	public VersionResolution<V> resolve(Collection<? extends VersionRange<V>> constraints) {
+		if (constraints == null)
+			throw new IllegalArgumentException();
+
+		int[] boundOwners = new int[2];
+		int highest = findHighest(constraints, boundOwners);
+		if (highest >= 0)
+			return VersionResolution.resolved(index.get(highest));
+
+		return VersionResolution.conflicted(findConflicts(new ArrayList<VersionRange<V>>(constraints), boundOwners));
+	}
+
+	/**
+	 * @param constraints
+	 *            the {@link VersionRange}s to resolve
+	 * @param boundOwners
+	 *            if not <code>null</code>, an array that will receive the
+	 *            position of the constraint with the tightest lower bound
+	 *            (element 0) and the position of the one with the tightest
+	 *            upper bound (element 1), or <code>-1</code> where there
+	 *            aren't any such bounds
+	 * @return the position in the {@link VersionIndex} of the highest
+	 *         {@link Version} that satisfies all of the specified constraints,
+	 *         or <code>-1</code> if there isn't one
+	 */
+	private int findHighest(Iterable<? extends VersionRange<V>> constraints, int[] boundOwners) {
+		V lower = null;
+		boolean lowerInclusive = false;
+		int lowerOwner = -1;
+		V upper = null;
+		boolean upperInclusive = false;
+		int upperOwner = -1;
+		List<UnionVersionRange<V>> unions = null;
+		List<VersionRange<V>> others = null;
+
+		int position = 0;
+		for (VersionRange<V> constraint : constraints) {
+			if (constraint == null)
+				throw new IllegalArgumentException("Null constraints not supported.");
+
+			UnionVersionRange<V> union = UnionVersionRange.asUnion(constraint);
+			if (union == null) {
+				if (others == null)
+					others = new ArrayList<VersionRange<V>>();
+				others.add(constraint);
+				position++;
+				continue;
+			} else if (union.getIntervalCount() == 0) {
+				// This constraint can't ever be satisfied.
+				if (boundOwners != null) {
+					boundOwners[0] = position;
+					boundOwners[1] = position;
+				}
+				return -1;
+			} else if (union.getIntervalCount() > 1) {
+				if (unions == null)
+					unions = new ArrayList<UnionVersionRange<V>>();
+				unions.add(union);
+				position++;
+				continue;
+			}
+
+			V constraintLower = union.getVersionLower(0);
+			boolean constraintLowerInclusive = union.isLowerInclusive(0);
+			V constraintUpper = union.getVersionUpper(0);
+			boolean constraintUpperInclusive = union.isUpperInclusive(0);
+			if (constraintLower != null && isTighterLower(constraintLower, constraintLowerInclusive, lower,
+					lowerInclusive)) {
+				lower = constraintLower;
+				lowerInclusive = constraintLowerInclusive;
+				lowerOwner = position;
+			}
+			if (constraintUpper != null && isTighterUpper(constraintUpper, constraintUpperInclusive, upper,
+					upperInclusive)) {
+				upper = constraintUpper;
+				upperInclusive = constraintUpperInclusive;
+				upperOwner = position;
+			}
+			position++;
+		}
+		if (boundOwners != null) {
+			boundOwners[0] = lowerOwner;
+			boundOwners[1] = upperOwner;
+		}
+
+		int start = lower == null ? 0 : index.search(lower, !lowerInclusive);
+		int end = upper == null ? index.size() : index.search(upper, upperInclusive);
+
+		/*
+		 * Walk the candidate down from the top of the bounds until every
+		 * multiple-interval constraint agrees on it, and then check it against
+		 * the other constraints. Each step moves the candidate down, so this
+		 * always terminates.
+		 */
+		int candidate = end - 1;
+		while (candidate >= start) {
+			int next = candidate;
+			if (unions != null)
+				for (int i = 0; i < unions.size() && next >= start; i++)
+					next = floor(unions.get(i), next);
+			if (next != candidate) {
+				candidate = next;
+				continue;
+			}
+
+			if (others == null || matchesAll(others, index.get(candidate)))
+				return candidate;
+			candidate--;
+		}
+		return -1;
+	}
+
+	/**
+	 * @param union
+	 *            the {@link UnionVersionRange} to check against
+	 * @param candidate
+	 *            the position in the {@link VersionIndex} of the
+	 *            {@link Version} to check
+	 * @return the specified candidate position, if its {@link Version} is
+	 *         within the bounds of the {@link UnionVersionRange} interval that
+	 *         starts at or below it, or else the position of the highest
+	 *         {@link Version} below the upper bound of that interval (which may
+	 *         or may not be within that interval), or <code>-1</code> if no
+	 *         interval starts at or below the candidate
+	 */
+	private int floor(UnionVersionRange<V> union, int candidate) {
+		V version = index.get(candidate);
+
+		// Find the last interval with a lower bound at or below the candidate.
+		int interval = -1;
+		int low = 0;
+		int high = union.getIntervalCount() - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			V intervalLower = union.getVersionLower(middle);
+			int comparison = intervalLower == null ? -1 : intervalLower.compareTo(version);
+			if (comparison < 0 || (comparison == 0 && union.isLowerInclusive(middle))) {
+				interval = middle;
+				low = middle + 1;
+			} else {
+				high = middle - 1;
+			}
+		}
+		if (interval < 0)
+			return -1;
+
+		V intervalUpper = union.getVersionUpper(interval);
+		if (intervalUpper == null)
+			return candidate;
+		int comparison = version.compareTo(intervalUpper);
+		if (comparison < 0 || (comparison == 0 && union.isUpperInclusive(interval)))
+			return candidate;
+		return index.search(intervalUpper, union.isUpperInclusive(interval)) - 1;
+	}
+
+	/**
+	 * @param constraints
+	 *            the {@link VersionRange}s to check against
+	 * @param version
+	 *            the {@link Version} to check
+	 * @return <code>true</code> if the specified {@link Version} matches all of
+	 *         the specified constraints, <code>false</code> if it doesn't
+	 */
+	private static <V extends Version> boolean matchesAll(List<VersionRange<V>> constraints, V version) {
+		for (int i = 0; i < constraints.size(); i++)
+			if (!constraints.get(i).matches(version))
+				return false;
+		return true;
+	}
+
+	/**
+	 * @param constraints
+	 *            the {@link VersionRange}s that can't all be satisfied at once
+	 * @param boundOwners
+	 *            the positions of the constraints with the tightest lower and
+	 *            upper bounds, as reported by
+	 *            {@link #findHighest(Iterable, int[])}
+	 * @return a minimal subset of the specified constraints that can't all be
+	 *         satisfied at once, in their original order
+	 */
+	private List<VersionRange<V>> findConflicts(List<VersionRange<V>> constraints, int[] boundOwners) {
+		List<VersionRange<V>> conflicts = constraints;
+
+		/*
+		 * Most conflicts are just between the tightest lower bound and the
+		 * tightest upper bound, so check those first: if they conflict on
+		 * their own, there's no need to consider any of the others.
+		 */
+		if (boundOwners[0] >= 0 || boundOwners[1] >= 0) {
+			List<VersionRange<V>> boundConstraints = new ArrayList<VersionRange<V>>(2);
+			for (int i = 0; i < constraints.size(); i++)
+				if (i == boundOwners[0] || i == boundOwners[1])
+					boundConstraints.add(constraints.get(i));
+			if (findHighest(boundConstraints, null) < 0)
+				conflicts = boundConstraints;
+		}
+
+		// Drop every constraint that isn't needed for the conflict.
+		for (int i = conflicts.size() - 1; i >= 0; i--) {
+			VersionRange<V> removed = conflicts.remove(i);
+			if (findHighest(conflicts, null) >= 0)
+				conflicts.add(i, removed);
+		}
+		return conflicts;
+	}
+
+	/**
+	 * @param a
+	 *            the (non-<code>null</code>) lower bound {@link Version} to
+	 *            check
+	 * @param aInclusive
+	 *            whether or not the lower bound being checked is inclusive
+	 * @param b
+	 *            the lower bound {@link Version} to compare against, or
+	 *            <code>null</code> if there isn't one
+	 * @param bInclusive
+	 *            whether or not the lower bound being compared against is
+	 *            inclusive
+	 * @return <code>true</code> if the first lower bound excludes more
+	 *         {@link Version}s than the second, <code>false</code> if it
+	 *         doesn't
+	 */
+	private static boolean isTighterLower(Version a, boolean aInclusive, Version b, boolean bInclusive) {
+		if (b == null)
+			return true;
+		int comparison = a.compareTo(b);
+		return comparison > 0 || (comparison == 0 && bInclusive && !aInclusive);
+	}
+
+	/**
+	 * @param a
+	 *            the (non-<code>null</code>) upper bound {@link Version} to
+	 *            check
+	 * @param aInclusive
+	 *            whether or not the upper bound being checked is inclusive
+	 * @param b
+	 *            the upper bound {@link Version} to compare against, or
+	 *            <code>null</code> if there isn't one
+	 * @param bInclusive
+	 *            whether or not the upper bound being compared against is
+	 *            inclusive
+	 * @return <code>true</code> if the first upper bound excludes more
+	 *         {@link Version}s than the second, <code>false</code> if it
+	 *         doesn't
+	 */
+	private static boolean isTighterUpper(Version a, boolean aInclusive, Version b, boolean bInclusive) {
+		if (b == null)
+			return true;
+		int comparison = a.compareTo(b);
+		return comparison < 0 || (comparison == 0 && bInclusive && !aInclusive);
+	}
+}
@@ -0,0 +1,7 @@
+/**
+ * Contains indexes over collections of
+ * {@link com.justdavis.jessentials.jversionsanity.Version}s, which can be used
+ * to efficiently answer queries such as "what's the newest version that matches
+ * this {@link com.justdavis.jessentials.jversionsanity.range.VersionRange}?".
+ */
+package com.justdavis.jessentials.jversionsanity.index;
\ No newline at end of file
@@ -1,12 +1,68 @@
 package com.justdavis.jessentials.jversionsanity.range;
 
+import com.justdavis.jessentials.jversionsanity.ParseResult;
+
 /**
+ * <p>
  * Indicates that a {@link VersionRange} could not be parsed from a
  * {@link String} representation of a version range.
+ * </p>
+ * <p>
+ * Instances created during a {@link ParseResult#attempt(java.util.function.Supplier, Class)}
+ * (e.g. by
+ * {@link com.justdavis.jessentials.jversionsanity.range.interval.IntervalVersionRange#tryParseRange(com.justdavis.jessentials.jversionsanity.VersionParser, String)}
+ * ) don't capture a stack trace.
+ * </p>
  */
 public class VersionRangeParseException extends RuntimeException {
 	private static final long serialVersionUID = 2176571051879639L;
 
+	/**
+	 * The value of {@link #getErrorOffset()} when the position of the error is
+	 * not known.
+	 */
+	public static final int UNKNOWN_OFFSET = -1;
+
+	private final int errorOffset;
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param versionRangeString
+	 *            the {@link String} (supposed) representation of a version
+	 *            range that could not be parsed.
+	 * @param errorOffset
+	 *            the value to use for {@link #getErrorOffset()}
+	 * @param reason
+	 *            a short description of what was wrong with the version range
+	 *            {@link String}
+	 * @param cause
+	 *            the other {@link Throwable} that terminated the parsing
+	 *            attempt, or <code>null</code> if there was no such other
+	 *            exception
+	 */
+	public VersionRangeParseException(String versionRangeString, int errorOffset, String reason, Throwable cause) {
+		super(String.format("The version range string '%s' could not be parsed: %s (at index %d).",
+				versionRangeString, reason, errorOffset), cause);
+		this.errorOffset = errorOffset;
+	}
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param versionRangeString
+	 *            the {@link String} (supposed) representation of a version
+	 *            range that could not be parsed.
+	 * @param errorOffset
+	 *            the value to use for {@link #getErrorOffset()}
+	 * @param reason
+	 *            a short description of what was wrong with the version range
+	 *            {@link String}
+	 */
+	public VersionRangeParseException(String versionRangeString, int errorOffset, String reason) {
+		this(versionRangeString, errorOffset, reason, null);
+	}
+
 	/**
 	 * Constructor.
 	 * 
@@ -20,6 +76,7 @@ public class VersionRangeParseException extends RuntimeException {
 	 */
 	public VersionRangeParseException(String versionRangeString, Throwable cause) {
 		super(String.format("The version range string '%s' could not be parsed.", versionRangeString), cause);
+		this.errorOffset = UNKNOWN_OFFSET;
 	}
 
 	/**
@@ -32,4 +89,26 @@ public class VersionRangeParseException extends RuntimeException {
 	public VersionRangeParseException(String versionRangeString) {
 		this(versionRangeString, null);
 	}
+
+	/**
+	 * @return the (zero-based) index of the character in the version range
+	 *         {@link String} where the problem was found, or
+	 *         {@link #UNKNOWN_OFFSET} if that's not known
+	 */
+	public int getErrorOffset() {
+		return errorOffset;
+	}
+
+	/**
+	 * Skips capturing the stack trace when
+	 * {@link ParseResult#isAttemptInProgress()}.
+	 * 
+	 * @see java.lang.Throwable#fillInStackTrace()
+	 */
+	@Override
+	public synchronized Throwable fillInStackTrace() {
+		if (ParseResult.isAttemptInProgress())
+			return this;
+		return super.fillInStackTrace();
+	}
 }
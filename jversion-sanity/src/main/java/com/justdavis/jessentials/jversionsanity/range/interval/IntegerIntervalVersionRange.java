@@ -0,0 +1,179 @@
+package com.justdavis.jessentials.jversionsanity.range.interval;
+
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersion;
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersionParser;
+import com.justdavis.jessentials.jversionsanity.range.VersionRange;
+import com.justdavis.jessentials.jversionsanity.range.VersionRangeParseException;
+
+/**
+ * <p>
+ * A specialization of {@link IntervalVersionRange} for {@link IntegerVersion}s
+ * , which supports exactly the same {@link String} format, but matches using
+ * plain <code>int</code> comparisons.
+ * </p>
+ * <p>
+ * When the range is created, its bounds are folded into a pair of inclusive
+ * <code>int</code> bounds, e.g. <code>(2,5)</code> becomes <code>3 &lt;= v
+ * &lt;= 4</code>, so {@link #matches(IntegerVersion)} is just two primitive
+ * comparisons. Callers that already have the raw version number can skip
+ * creating an {@link IntegerVersion} entirely, via {@link #matchesInt(int)}.
+ * </p>
+ * <p>
+ * {@link IntervalVersionRange#parse(com.justdavis.jessentials.jversionsanity.VersionParser, String)}
+ * will automatically create instances of this class when passed an
+ * {@link IntegerVersionParser}.
+ * </p>
+ */
+public final class IntegerIntervalVersionRange implements VersionRange<IntegerVersion> {
+	/**
+	 * The {@link IntegerVersionParser} used by
+	 * {@link #IntegerIntervalVersionRange(String)}, which is stateless and so
+	 * can be shared.
+	 */
+	private static final IntegerVersionParser VERSION_PARSER = new IntegerVersionParser();
+
+	private final IntervalVersionRange<IntegerVersion> range;
+
+	/**
+	 * The lowest version value that will match. If this is greater than
+	 * {@link #upper}, nothing will match.
+	 */
+	private final int lower;
+
+	/**
+	 * The highest version value that will match.
+	 */
+	private final int upper;
+
+	/**
+	 * Parses an {@link IntegerIntervalVersionRange} from the specified
+	 * {@link String} representation.
+	 * 
+	 * @param rangeString
+	 *            a {@link String} representation of an
+	 *            {@link IntervalVersionRange}, e.g. as produced by
+	 *            {@link #toString()}
+	 * @throws VersionRangeParseException
+	 *             A {@link VersionRangeParseException} will be thrown if the
+	 *             specified {@link String} cannot be parsed.
+	 */
+	public IntegerIntervalVersionRange(String rangeString) throws VersionRangeParseException {
+		this(new IntervalVersionRange<IntegerVersion>(VERSION_PARSER, rangeString));
+	}
+
+	/**
+	 * Constructs a new {@link IntegerIntervalVersionRange} that's equivalent to
+	 * the specified {@link IntervalVersionRange}.
+	 * 
+	 * @param range
+	 *            the {@link IntervalVersionRange} to specialize
+	 */
+	public IntegerIntervalVersionRange(IntervalVersionRange<IntegerVersion> range) {
+		if (range == null)
+			throw new IllegalArgumentException();
+
+		this.range = range;
+
+		// Fold the bounds into inclusive ones, using longs to avoid overflow.
+		NormalizedInterval<IntegerVersion> interval = new NormalizedInterval<IntegerVersion>(range.getInterval());
+		long lowerValue = 0;
+		if (interval.getLower() != null)
+			lowerValue = interval.getLower().getVersionValue() + (interval.isLowerInclusive() ? 0L : 1L);
+		long upperValue = Integer.MAX_VALUE;
+		if (interval.getUpper() != null)
+			upperValue = interval.getUpper().getVersionValue() - (interval.isUpperInclusive() ? 0L : 1L);
+
+		if (lowerValue > upperValue) {
+			this.lower = 1;
+			this.upper = 0;
+		} else {
+			this.lower = (int) lowerValue;
+			this.upper = (int) upperValue;
+		}
+	}
+
+	/**
+	 * @return the {@link IntervalVersionRange} that this
+	 *         {@link IntegerIntervalVersionRange} is equivalent to
+	 */
+	IntervalVersionRange<IntegerVersion> getRange() {
+		return range;
+	}
+
+	/**
+	 * @see com.justdavis.jessentials.jversionsanity.range.VersionRange#matches(com.justdavis.jessentials.jversionsanity.Version)
+	 */
+	@Override
+	public boolean matches(IntegerVersion version) {
+		if (version == null)
+			throw new IllegalArgumentException();
+
+		int versionValue = version.getVersionValue();
+		return versionValue >= lower && versionValue <= upper;
+	}
+
+	/**
+	 * Determines whether or not the {@link IntegerVersion} with the specified
+	 * value matches this {@link IntegerIntervalVersionRange}, without needing
+	 * an {@link IntegerVersion} instance.
+	 * 
+	 * @param versionValue
+	 *            the {@link IntegerVersion#getVersionValue()} of the version to
+	 *            check
+	 * @return <code>true</code> if the specified version matches this
+	 *         {@link IntegerIntervalVersionRange}, <code>false</code> if it
+	 *         does not
+	 */
+	public boolean matchesInt(int versionValue) {
+		return versionValue >= lower && versionValue <= upper;
+	}
+
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return range.toString();
+	}
+
+	/**
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		/*
+		 * This method was generated by Eclipse's 'Source > Generate hashCode()
+		 * and equals()...' feature.
+		 */
+
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + ((range == null) ? 0 : range.hashCode());
+		return result;
+	}
+
+	/**
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		/*
+		 * This method was generated by Eclipse's 'Source > Generate hashCode()
+		 * and equals()...' feature.
+		 */
+
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		IntegerIntervalVersionRange other = (IntegerIntervalVersionRange) obj;
+		if (range == null) {
+			if (other.range != null)
+				return false;
+		} else if (!range.equals(other.range))
+			return false;
+		return true;
+	}
+}
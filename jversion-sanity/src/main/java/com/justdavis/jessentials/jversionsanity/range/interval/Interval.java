@@ -19,6 +19,12 @@ final class Interval<V extends Object> {
 	private final V versionUpper;
 	private final IntervalBoundaryType typeUpper;
 
+	/**
+	 * The cached result of {@link #hashCode()}, which is computed up front as
+	 * {@link Interval}s are immutable and are frequently used as keys.
+	 */
+	private final int hashCode;
+
 	/**
 	 * Constructor for {@link Interval}s where {@link #isSingleValued()} is
 	 * <code>false</code>.
@@ -56,6 +62,7 @@ final class Interval<V extends Object> {
 		this.versionLower = versionLower;
 		this.versionUpper = versionUpper;
 		this.typeUpper = typeUpper;
+		this.hashCode = computeHashCode();
 	}
 
 	/**
@@ -103,11 +110,60 @@ final class Interval<V extends Object> {
 		return typeUpper;
 	}
 
+	/**
+	 * <p>
+	 * Returns the canonical form of this {@link Interval}, in which equivalent
+	 * intervals that were written differently are {@link #equals(Object)}:
+	 * </p>
+	 * <ul>
+	 * <li>An {@link IntervalBoundaryType#OMITTED} interval "<code>a</code>"
+	 * becomes "<code>[a,)</code>".</li>
+	 * <li>The boundary type of an unbounded end is always
+	 * {@link IntervalBoundaryType#EXCLUSIVE}, e.g. "<code>[a,]</code>" becomes
+	 * "<code>[a,)</code>".</li>
+	 * </ul>
+	 * 
+	 * @return the canonical form of this {@link Interval}, which will be this
+	 *         {@link Interval} itself if it's already in that form
+	 */
+	Interval<V> toCanonical() {
+		IntervalBoundaryType canonicalLower = canonicalBoundaryType(typeLower, versionLower);
+		IntervalBoundaryType canonicalUpper = canonicalBoundaryType(typeUpper, versionUpper);
+		if (canonicalLower == typeLower && canonicalUpper == typeUpper)
+			return this;
+		return new Interval<V>(canonicalLower, versionLower, versionUpper, canonicalUpper);
+	}
+
+	/**
+	 * @param type
+	 *            the {@link IntervalBoundaryType} of one end of an
+	 *            {@link Interval}
+	 * @param version
+	 *            the version at that same end, or <code>null</code> if it's
+	 *            unbounded
+	 * @return the {@link IntervalBoundaryType} to use for that end in the
+	 *         {@link #toCanonical()} form
+	 */
+	private static IntervalBoundaryType canonicalBoundaryType(IntervalBoundaryType type, Object version) {
+		if (version == null)
+			return IntervalBoundaryType.EXCLUSIVE;
+		if (type == IntervalBoundaryType.OMITTED)
+			return IntervalBoundaryType.INCLUSIVE;
+		return type;
+	}
+
 	/**
 	 * @see java.lang.Object#hashCode()
 	 */
 	@Override
 	public int hashCode() {
+		return hashCode;
+	}
+
+	/**
+	 * @return the value to use for {@link #hashCode()}
+	 */
+	private int computeHashCode() {
 		/*
 		 * This method was generated by Eclipse's 'Source > Generate hashCode()
 		 * and equals()...' feature.
@@ -139,6 +195,8 @@ final class Interval<V extends Object> {
 		if (getClass() != obj.getClass())
 			return false;
 		Interval<?> other = (Interval<?>) obj;
+		if (hashCode != other.hashCode)
+			return false;
 		if (typeLower != other.typeLower)
 			return false;
 		if (typeUpper != other.typeUpper)
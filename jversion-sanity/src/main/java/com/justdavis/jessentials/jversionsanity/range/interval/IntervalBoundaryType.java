@@ -12,24 +12,37 @@ public enum IntervalBoundaryType {
 	 * Indicates that the range includes the start/end version. Would be
 	 * "greater than" or "less than" in mathematical terms.
 	 */
-	INCLUSIVE('[', ']'),
+	INCLUSIVE('[', ']', 1),
 
 	/**
 	 * Indicates that the range excludes the start/end version. Would be
 	 * "greater than or equal to" or "less than or equal to" in mathematical
 	 * terms.
 	 */
-	EXCLUSIVE('(', ')'),
+	EXCLUSIVE('(', ')', 2),
 
 	/**
 	 * The meaning of this {@link BoundaryTypes} is dependent on the
 	 * {@link VersionRange} implementation. That said, Apache Maven uses this
 	 * boundary type to represent an implicit "greater than or equal to."
 	 */
-	OMITTED(null, null);
+	OMITTED(null, null, 0);
+
+	/**
+	 * The {@link IntervalBoundaryType} constants, indexed by
+	 * {@link #getBinaryCode()}.
+	 */
+	private static final IntervalBoundaryType[] BY_BINARY_CODE;
+
+	static {
+		BY_BINARY_CODE = new IntervalBoundaryType[values().length];
+		for (IntervalBoundaryType type : values())
+			BY_BINARY_CODE[type.binaryCode] = type;
+	}
 
 	private final Character lowerBoundarySymbol;
 	private final Character upperBoundarySymbol;
+	private final int binaryCode;
 
 	/**
 	 * Enum constant constructor.
@@ -38,10 +51,13 @@ public enum IntervalBoundaryType {
 	 *            the value to use for {@link #getSymbolForLowerBoundary()}
 	 * @param upperBoundarySymbol
 	 *            the value to use for {@link #getSymbolForUpperBoundary()}
+	 * @param binaryCode
+	 *            the value to use for {@link #getBinaryCode()}
 	 */
-	private IntervalBoundaryType(Character lowerBoundarySymbol, Character upperBoundarySymbol) {
+	private IntervalBoundaryType(Character lowerBoundarySymbol, Character upperBoundarySymbol, int binaryCode) {
 		this.lowerBoundarySymbol = lowerBoundarySymbol;
 		this.upperBoundarySymbol = upperBoundarySymbol;
+		this.binaryCode = binaryCode;
 	}
 
 	/**
@@ -64,6 +80,28 @@ public enum IntervalBoundaryType {
 		return upperBoundarySymbol;
 	}
 
+	/**
+	 * @return the two-bit code that represents this {@link IntervalBoundaryType}
+	 *         in {@link IntervalVersionRangeCodec}'s binary encoding, which
+	 *         (unlike {@link #ordinal()}) must never change
+	 */
+	int getBinaryCode() {
+		return binaryCode;
+	}
+
+	/**
+	 * @param binaryCode
+	 *            a {@link #getBinaryCode()} value
+	 * @return the {@link IntervalBoundaryType} with the specified
+	 *         {@link #getBinaryCode()}, or <code>null</code> if there is no
+	 *         such {@link IntervalBoundaryType}
+	 */
+	static IntervalBoundaryType forBinaryCode(int binaryCode) {
+		if (binaryCode < 0 || binaryCode >= BY_BINARY_CODE.length)
+			return null;
+		return BY_BINARY_CODE[binaryCode];
+	}
+
 	/**
 	 * Determines which of the {@link IntervalBoundaryType} constants the
 	 * specified string matches.
@@ -1,20 +1,33 @@
 package com.justdavis.jessentials.jversionsanity.range.interval;
 
-import org.hamcrest.BaseMatcher;
-import org.hamcrest.CoreMatchers;
-import org.hamcrest.Description;
-import org.hamcrest.Matcher;
-
 import com.justdavis.jessentials.jversionsanity.Version;
 import com.justdavis.jessentials.jversionsanity.range.VersionRange;
 
 /**
- * A {@link Matcher} that determines whether or not specific {@link Version}s
- * match a given {@link VersionRange}, according to the logic described in the
- * class JavaDoc for {@link Interval}.
+ * <p>
+ * Determines whether or not specific {@link Version}s match a given
+ * {@link VersionRange}, according to the logic described in the class JavaDoc
+ * for {@link IntervalVersionRange}.
+ * </p>
+ * <p>
+ * Each {@link IntervalMatcher} "compiles" its {@link Interval} once, at
+ * construction: the {@link IntervalBoundaryType}s are folded down into a
+ * single {@link BoundsMode} constant and two inclusive/exclusive flags. After
+ * that, {@link #matches(Version)} is just a <code>switch</code> and at most two
+ * {@link Version#compareTo(Version)} calls, and never allocates anything.
+ * Instances are immutable and thread-safe, so they should be created once per
+ * range and then reused.
+ * </p>
+ * 
+ * @param <V>
+ *            the {@link Version} implementation that will be checked
  */
-final class IntervalMatcher<V extends Version> extends BaseMatcher<V> {
-	private final Interval<V> range;
+final class IntervalMatcher<V extends Version> {
+	private final BoundsMode mode;
+	private final V versionLower;
+	private final boolean lowerInclusive;
+	private final V versionUpper;
+	private final boolean upperInclusive;
 
 	/**
 	 * Constructor.
@@ -24,280 +37,106 @@ final class IntervalMatcher<V extends Version> extends BaseMatcher<V> {
 	 *            be matched against
 	 */
 	public IntervalMatcher(Interval<V> range) {
-		this.range = range;
-	}
-
-	/**
-	 * @see org.hamcrest.Matcher#matches(java.lang.Object)
-	 */
-	@Override
-	public boolean matches(Object item) {
-		if (!(item instanceof Version))
+		if (range == null)
 			throw new IllegalArgumentException();
-		Version version = (Version) item;
 
-		return CoreMatchers.allOf(new LowerBoundMatcher<V>(range), new UpperBoundMatcher<V>(range)).matches(version);
-	}
+		this.versionLower = range.getVersionLower();
+		this.versionUpper = range.getVersionUpper();
 
-	/**
-	 * @see org.hamcrest.SelfDescribing#describeTo(org.hamcrest.Description)
-	 */
-	@Override
-	public void describeTo(Description description) {
-		throw new UnsupportedOperationException();
+		/*
+		 * Note: An OMITTED bound is equivalent to an INCLUSIVE one. An OMITTED
+		 * upper bound will never have a version, so it's always unbounded.
+		 */
+		this.lowerInclusive = range.getTypeLower() != IntervalBoundaryType.EXCLUSIVE;
+		this.upperInclusive = range.getTypeUpper() != IntervalBoundaryType.EXCLUSIVE;
+
+		if (versionLower != null && versionUpper != null)
+			this.mode = BoundsMode.BOTH;
+		else if (versionLower != null)
+			this.mode = BoundsMode.LOWER_ONLY;
+		else if (versionUpper != null)
+			this.mode = BoundsMode.UPPER_ONLY;
+		else
+			this.mode = BoundsMode.NEITHER;
 	}
 
 	/**
-	 * This {@link org.hamcrest.Matcher} verifies that {@link Version}s match
-	 * the lower bound (if any) of {@link Interval} version ranges.
-	 * 
-	 * @param <V>
-	 *            the {@link Version} implementation that will be checked
+	 * @param version
+	 *            the {@link Version} to check against this
+	 *            {@link IntervalMatcher}'s range
+	 * @return <code>true</code> if the specified {@link Version} falls within
+	 *         this {@link IntervalMatcher}'s range, <code>false</code> if it
+	 *         does not
 	 */
-	private static final class LowerBoundMatcher<V extends Version> extends BaseMatcher<V> {
-		private final Interval<V> range;
-
-		/**
-		 * Constructor.
-		 * 
-		 * @param range
-		 *            the {@link Interval} version range that {@link Version}s
-		 *            will be matched against
-		 */
-		public LowerBoundMatcher(Interval<V> range) {
-			this.range = range;
-		}
+	public boolean matches(V version) {
+		if (version == null)
+			throw new IllegalArgumentException();
 
-		/**
-		 * @see org.hamcrest.Matcher#matches(java.lang.Object)
-		 */
-		@Override
-		public boolean matches(Object item) {
+		switch (mode) {
+		case BOTH:
+			return matchesLower(version) && matchesUpper(version);
+		case LOWER_ONLY:
+			return matchesLower(version);
+		case UPPER_ONLY:
+			return matchesUpper(version);
+		case NEITHER:
+			return true;
+		default:
 			/*
-			 * This will store the "greater than" and (possibly) "equal to"
-			 * comparisons.
+			 * Library author error: this will only occur if a new mode has
+			 * been added
 			 */
-			Matcher<V> equalityMatcher;
-
-			// We always need to perform a "greater than" comparison.
-			equalityMatcher = new GreaterThanMatcher<V>(range.getVersionLower());
-
-			// Is an "equal to" comparison needed?
-			if (range.getTypeLower() == IntervalBoundaryType.OMITTED
-					|| range.getTypeLower() == IntervalBoundaryType.INCLUSIVE) {
-				/*
-				 * Note: An OMITTED bound is equivalent to an INCLUSIVE one.
-				 */
-
-				equalityMatcher = CoreMatchers.either(equalityMatcher)
-						.or(new EqualToMatcher<V>(range.getVersionLower()));
-			}
-
-			return equalityMatcher.matches(item);
-		}
-
-		/**
-		 * @see org.hamcrest.SelfDescribing#describeTo(org.hamcrest.Description)
-		 */
-		@Override
-		public void describeTo(Description description) {
-			throw new UnsupportedOperationException();
+			throw new IllegalStateException(String.format("Unsupported %s constant: %s.", BoundsMode.class, mode));
 		}
 	}
 
 	/**
-	 * This {@link org.hamcrest.Matcher} verifies that {@link Version}s match
-	 * the upper bound (if any) of {@link Interval} version ranges.
-	 * 
-	 * @param <V>
-	 *            the {@link Version} implementation that will be checked
+	 * @param version
+	 *            the {@link Version} to check
+	 * @return <code>true</code> if the specified {@link Version} is above (or,
+	 *         if inclusive, equal to) the lower bound, <code>false</code> if it
+	 *         is not
 	 */
-	private static final class UpperBoundMatcher<V extends Version> extends BaseMatcher<V> {
-		private final Interval<V> range;
-
-		/**
-		 * Constructor.
-		 * 
-		 * @param range
-		 *            the {@link Interval} version range that {@link Version}s
-		 *            will be matched against
-		 */
-		public UpperBoundMatcher(Interval<V> range) {
-			this.range = range;
-		}
-
-		/**
-		 * @see org.hamcrest.Matcher#matches(java.lang.Object)
-		 */
-		@Override
-		public boolean matches(Object item) {
-			/*
-			 * This will store the "less than" and (possibly) "equal to"
-			 * comparisons.
-			 */
-			Matcher<V> equalityMatcher;
-
-			// We always need to perform a "greater than" comparison.
-			equalityMatcher = new LessThanMatcher<V>(range.getVersionUpper());
-
-			// Is an "equal to" comparison needed?
-			if (range.getTypeUpper() == IntervalBoundaryType.OMITTED
-					|| range.getTypeUpper() == IntervalBoundaryType.INCLUSIVE) {
-				/*
-				 * Note: An OMITTED bound is equivalent to an INCLUSIVE one.
-				 */
-
-				equalityMatcher = CoreMatchers.either(equalityMatcher)
-						.or(new EqualToMatcher<V>(range.getVersionUpper()));
-			}
-
-			return equalityMatcher.matches(item);
-		}
-
-		/**
-		 * @see org.hamcrest.SelfDescribing#describeTo(org.hamcrest.Description)
-		 */
-		@Override
-		public void describeTo(Description description) {
-			throw new UnsupportedOperationException();
-		}
+	private boolean matchesLower(V version) {
+		int comparison = version.compareTo(versionLower);
+		return lowerInclusive ? comparison >= 0 : comparison > 0;
 	}
 
 	/**
-	 * This {@link org.hamcrest.Matcher} verifies that one {@link Version} is
-	 * equal/equivalent to another.
-	 * 
-	 * @param <V>
-	 *            the {@link Version} implementation that will be checked
+	 * @param version
+	 *            the {@link Version} to check
+	 * @return <code>true</code> if the specified {@link Version} is below (or,
+	 *         if inclusive, equal to) the upper bound, <code>false</code> if it
+	 *         is not
 	 */
-	private static final class EqualToMatcher<V extends Version> extends BaseMatcher<V> {
-		private final V boundingVersion;
-
-		/**
-		 * Constructor.
-		 * 
-		 * @param boundingVersion
-		 *            the bounding {@link Version} that other {@link Version}s
-		 *            will be compared against, or <code>null</code> to
-		 *            represent "any version"
-		 */
-		public EqualToMatcher(V boundingVersion) {
-			this.boundingVersion = boundingVersion;
-		}
-
-		/**
-		 * @see org.hamcrest.Matcher#matches(java.lang.Object)
-		 */
-		@Override
-		public boolean matches(Object item) {
-			if (!(item instanceof Version))
-				throw new IllegalArgumentException();
-			Version version = (Version) item;
-
-			if (boundingVersion != null)
-				return version.compareTo(boundingVersion) == 0;
-			else
-				return true;
-		}
-
-		/**
-		 * @see org.hamcrest.SelfDescribing#describeTo(org.hamcrest.Description)
-		 */
-		@Override
-		public void describeTo(Description description) {
-			throw new UnsupportedOperationException();
-		}
+	private boolean matchesUpper(V version) {
+		int comparison = version.compareTo(versionUpper);
+		return upperInclusive ? comparison <= 0 : comparison < 0;
 	}
 
 	/**
-	 * This {@link org.hamcrest.Matcher} verifies that one {@link Version} is
-	 * less/lower than another.
-	 * 
-	 * @param <V>
-	 *            the {@link Version} implementation that will be checked
+	 * Enumerates which of an {@link Interval}'s bounds actually need to be
+	 * checked.
 	 */
-	private static final class LessThanMatcher<V extends Version> extends BaseMatcher<V> {
-		private final V boundingVersion;
-
+	private static enum BoundsMode {
 		/**
-		 * Constructor.
-		 * 
-		 * @param boundingVersion
-		 *            the bounding {@link Version} that other {@link Version}s
-		 *            will be compared against, or <code>null</code> to
-		 *            represent "any version"
+		 * Both the lower and upper bounds have a version to compare against.
 		 */
-		public LessThanMatcher(V boundingVersion) {
-			this.boundingVersion = boundingVersion;
-		}
+		BOTH,
 
 		/**
-		 * @see org.hamcrest.Matcher#matches(java.lang.Object)
+		 * Only the lower bound has a version; the range is unbounded above.
 		 */
-		@Override
-		public boolean matches(Object item) {
-			if (!(item instanceof Version))
-				throw new IllegalArgumentException();
-			Version version = (Version) item;
-
-			if (boundingVersion != null)
-				return version.compareTo(boundingVersion) < 0;
-			else
-				return true;
-		}
+		LOWER_ONLY,
 
 		/**
-		 * @see org.hamcrest.SelfDescribing#describeTo(org.hamcrest.Description)
+		 * Only the upper bound has a version; the range is unbounded below.
 		 */
-		@Override
-		public void describeTo(Description description) {
-			throw new UnsupportedOperationException();
-		}
-	}
-
-	/**
-	 * This {@link org.hamcrest.Matcher} verifies that one {@link Version} is
-	 * greater/higher than another.
-	 * 
-	 * @param <V>
-	 *            the {@link Version} implementation that will be checked
-	 */
-	private static final class GreaterThanMatcher<V extends Version> extends BaseMatcher<V> {
-		private final V boundingVersion;
+		UPPER_ONLY,
 
 		/**
-		 * Constructor.
-		 * 
-		 * @param boundingVersion
-		 *            the bounding {@link Version} that other {@link Version}s
-		 *            will be compared against, or <code>null</code> to
-		 *            represent "any version"
+		 * Neither bound has a version, so every {@link Version} matches.
 		 */
-		public GreaterThanMatcher(V boundingVersion) {
-			this.boundingVersion = boundingVersion;
-		}
-
-		/**
-		 * @see org.hamcrest.Matcher#matches(java.lang.Object)
-		 */
-		@Override
-		public boolean matches(Object item) {
-			if (!(item instanceof Version))
-				throw new IllegalArgumentException();
-			Version version = (Version) item;
-
-			if (boundingVersion != null)
-				return version.compareTo(boundingVersion) > 0;
-			else
-				return true;
-		}
-
-		/**
-		 * @see org.hamcrest.SelfDescribing#describeTo(org.hamcrest.Description)
-		 */
-		@Override
-		public void describeTo(Description description) {
-			throw new UnsupportedOperationException();
-		}
+		NEITHER;
 	}
 }
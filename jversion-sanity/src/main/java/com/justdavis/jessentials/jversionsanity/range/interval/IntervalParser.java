@@ -1,13 +1,11 @@
 package com.justdavis.jessentials.jversionsanity.range.interval;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
-import org.hamcrest.BaseMatcher;
-import org.hamcrest.CoreMatchers;
-import org.hamcrest.Description;
+import java.util.ArrayList;
+import java.util.List;
 
 import com.justdavis.jessentials.jversionsanity.Version;
+import com.justdavis.jessentials.jversionsanity.VersionParseException;
+import com.justdavis.jessentials.jversionsanity.VersionParser;
 import com.justdavis.jessentials.jversionsanity.range.VersionRangeParseException;
 
 /**
@@ -27,36 +25,46 @@ import com.justdavis.jessentials.jversionsanity.range.VersionRangeParseException
  * <li>Version numbers can contain any characters other than: '<code>[</code>',
  * '<code>(</code>', '<code>]</code>', '<code>)</code>', and '<code>,</code>'.
  * </li>
- * <li></li>
+ * <li>Parsing is done in a single left-to-right pass over the input, without
+ * backtracking. The versions are located by index and handed straight to the
+ * {@link VersionParser} as slices of the input, via
+ * {@link VersionParser#parseVersion(CharSequence, int, int)}, so no
+ * intermediate {@link String}s are created unless that parser needs them.</li>
+ * <li>Any {@link VersionRangeParseException}s thrown will report the index
+ * (relative to the start of the range) of the character where the problem was
+ * found, via {@link VersionRangeParseException#getErrorOffset()}.</li>
  * </ul>
  * 
  * @see Interval
  * @see IntervalVersionRange
  */
 final class IntervalParser {
-	private static final String WHITESPACE = "\\s*";
-	private static final String VERSION_STRING = "([^\\[\\(\\]\\),]+)?";
-	private static final String BOUNDARY_LEFT = "([\\(\\[])?";
-	private static final String BOUNDARY_RIGHT = "([\\)\\]])?";
-	private static final String COMMA = "(,)?";
+	private static final char COMMA = ',';
 
 	/**
-	 * <p>
-	 * The {@link Pattern} that can be used to match and pick apart intervals.
-	 * Has the following capture groups, all of which are optional:
-	 * </p>
-	 * <ul>
-	 * <li>0: the entire {@link String}</li>
-	 * <li>1: the left-side '[' or '(' character</li>
-	 * <li>2: the left-side version</li>
-	 * <li>3: the comma</li>
-	 * <li>4: the right-side version</li>
-	 * <li>5: the right-side ']' or ')' character</li>
-	 * </ul>
+	 * A {@link SliceParser} that just copies each version slice into a
+	 * {@link String}.
 	 */
-	private static final Pattern INTERVAL_REGEX = Pattern
-			.compile(WHITESPACE + BOUNDARY_LEFT + WHITESPACE + VERSION_STRING + WHITESPACE + COMMA + WHITESPACE
-					+ VERSION_STRING + WHITESPACE + BOUNDARY_RIGHT + WHITESPACE);
+	private static final SliceParser<String> STRING_SLICE_PARSER = new SliceParser<String>() {
+		/**
+		 * @see com.justdavis.jessentials.jversionsanity.range.interval.IntervalParser.SliceParser#parse(java.lang.CharSequence,
+		 *      int, int)
+		 */
+		@Override
+		public String parse(CharSequence text, int start, int end) {
+			return text.subSequence(start, end).toString();
+		}
+
+		/**
+		 * @see com.justdavis.jessentials.jversionsanity.range.interval.IntervalParser.SliceParser#isInOrder(java.lang.Object,
+		 *      java.lang.Object)
+		 */
+		@Override
+		public boolean isInOrder(String versionLower, String versionUpper) {
+			// Unparsed versions can't be compared.
+			return true;
+		}
+	};
 
 	/**
 	 * Parses the specified version range {@link String} into an
@@ -68,213 +76,494 @@ final class IntervalParser {
 	 * @return an {@link Interval} model object that breaks out the range's
 	 *         components to make it easier to interpret it
 	 * @throws VersionRangeParseException
-	 *             An {@link IllegalArgumentException} will be thrown if the
+	 *             A {@link VersionRangeParseException} will be thrown if the
 	 *             version range {@link String} could not be properly parsed.
 	 */
 	public Interval<String> parseVersionRange(String versionRangeString) throws VersionRangeParseException {
-		Matcher rangeMatcher = INTERVAL_REGEX.matcher(versionRangeString);
-		if (!rangeMatcher.matches())
-			throw new VersionRangeParseException("Invalid range format.");
-
-		// Pull apart the regular expression match
-		String boundaryLeftString = rangeMatcher.group(1);
-		IntervalBoundaryType boundaryLeft = IntervalBoundaryType.determineBoundaryType(boundaryLeftString);
-		String versionLowerString = rangeMatcher.group(2);
-		if (versionLowerString != null)
-			versionLowerString = versionLowerString.trim();
-		String commaString = rangeMatcher.group(3);
-		String versionUpperString = rangeMatcher.group(4);
-		if (versionUpperString != null)
-			versionUpperString = versionUpperString.trim();
-		String boundaryRightString = rangeMatcher.group(5);
-		IntervalBoundaryType boundaryRight = IntervalBoundaryType.determineBoundaryType(boundaryRightString);
-
-		// Sanity check: either 0 or 2 boundary symbols must be present
-		if ((boundaryLeft != IntervalBoundaryType.OMITTED) != (boundaryRight != IntervalBoundaryType.OMITTED))
-			throw new VersionRangeParseException("unbalanced boundary symbols");
-
-		// Sanity check: if boundary symbols aren't present, there must not be a
-		// comma
-		if (boundaryLeft == IntervalBoundaryType.OMITTED && commaString != null)
-			throw new VersionRangeParseException("comma should not be present");
-
-		// Construct the interval, being sure to use the single-valued or
-		// non-single-valued constructor, as appropriate.
-		try {
-			if (commaString != null || boundaryLeft == IntervalBoundaryType.OMITTED)
-				return new Interval<String>(boundaryLeft, versionLowerString, versionUpperString, boundaryRight);
-			else
-				return new Interval<String>(boundaryLeft, versionLowerString, boundaryRight);
-		} catch (IllegalArgumentException e) {
-			throw new VersionRangeParseException("Invalid version range.", e);
-		}
+		if (versionRangeString == null)
+			throw new IllegalArgumentException();
+
+		return parse(versionRangeString, 0, versionRangeString.length(), STRING_SLICE_PARSER);
 	}
 
 	/**
-	 * Determines whether or not a specific {@link Version} matches a given
-	 * version range, as represented by the specified {@link Interval}.
+	 * Parses the specified slice of a {@link CharSequence} into an
+	 * {@link Interval}, using the specified {@link VersionParser} to parse the
+	 * versions in it.
 	 * 
-	 * @param range
-	 *            the {@link Interval} version range to compare the specified
-	 *            {@link Version} against
-	 * @param version
-	 *            the {@link Version} being compared against the range
-	 * @return <code>true</code> if the specified {@link Version} matches the
-	 *         specified interval version range, <code>false</code> if it does
-	 *         not
+	 * @param text
+	 *            the {@link CharSequence} containing the version range to be
+	 *            parsed
+	 * @param start
+	 *            the index of the first character of the version range
+	 * @param end
+	 *            the index after the last character of the version range
+	 * @param versionParser
+	 *            the {@link VersionParser} that should be used to parse the
+	 *            {@link Version}s represented in the version range
+	 * @return an {@link Interval} model object for the parsed version range
+	 * @throws VersionRangeParseException
+	 *             A {@link VersionRangeParseException} will be thrown if the
+	 *             version range could not be properly parsed, including if any
+	 *             of its versions could not be parsed.
 	 */
-	public <V extends Version> boolean matches(Interval<V> range, V version) {
-		/*
-		 * There are basically two ways to implement this: A) as a collection of
-		 * edge cases, with lots of if-else blocks, or B) as predicate logic.
-		 * Option (B) is a lot easier to read, so I've opted for it, even though
-		 * it requires the use of Hamcrest (or some hand-written predicate logic
-		 * classes).
-		 */
-		return CoreMatchers.allOf(new LowerBoundMatcher<V>(range), new UpperBoundMatcher<V>(range)).matches(version);
+	public <V extends Version> Interval<V> parseVersionRange(CharSequence text, int start, int end,
+			final VersionParser<V> versionParser) throws VersionRangeParseException {
+		if (text == null)
+			throw new IllegalArgumentException();
+		if (versionParser == null)
+			throw new IllegalArgumentException();
+		if (start < 0 || end > text.length() || start > end)
+			throw new IndexOutOfBoundsException();
+
+		return parse(text, start, end, new SliceParser<V>() {
+			/**
+			 * @see com.justdavis.jessentials.jversionsanity.range.interval.IntervalParser.SliceParser#parse(java.lang.CharSequence,
+			 *      int, int)
+			 */
+			@Override
+			public V parse(CharSequence text, int start, int end) {
+				return versionParser.parseVersion(text, start, end);
+			}
+
+			/**
+			 * @see com.justdavis.jessentials.jversionsanity.range.interval.IntervalParser.SliceParser#isInOrder(java.lang.Object,
+			 *      java.lang.Object)
+			 */
+			@Override
+			public boolean isInOrder(V versionLower, V versionUpper) {
+				return versionLower.compareTo(versionUpper) <= 0;
+			}
+		});
 	}
 
 	/**
-	 * This {@link org.hamcrest.Matcher} verifies that {@link Version}s match
-	 * the lower bound (if any) of {@link Interval} version ranges.
+	 * <p>
+	 * Parses the specified slice of a {@link CharSequence} as a comma-separated
+	 * list of version ranges, e.g. "<code>[1,3),(5,8],[10,]</code>", using the
+	 * specified {@link VersionParser} to parse the versions in it.
+	 * </p>
+	 * <p>
+	 * In addition to the single-interval syntax supported by
+	 * {@link #parseVersionRange(CharSequence, int, int, VersionParser)}, each
+	 * entry in the list may also be "<code>(,)</code>", which is unbounded in
+	 * both directions and so matches every version. A blank list contains no
+	 * entries at all.
+	 * </p>
 	 * 
-	 * @param <V>
-	 *            the {@link Version} implementation that will be checked
+	 * @param text
+	 *            the {@link CharSequence} containing the version range list to
+	 *            be parsed
+	 * @param start
+	 *            the index of the first character of the version range list
+	 * @param end
+	 *            the index after the last character of the version range list
+	 * @param versionParser
+	 *            the {@link VersionParser} that should be used to parse the
+	 *            {@link Version}s represented in the version range list
+	 * @return a {@link NormalizedInterval} for each entry in the list, in the
+	 *         order that they were specified
+	 * @throws VersionRangeParseException
+	 *             A {@link VersionRangeParseException} will be thrown if the
+	 *             version range list could not be properly parsed, including if
+	 *             any of its entries could not be parsed.
 	 */
-	private static final class LowerBoundMatcher<V extends Version> extends BaseMatcher<V> {
-		private final Interval<V> range;
+	public <V extends Version> List<NormalizedInterval<V>> parseVersionRangeList(CharSequence text, int start,
+			int end, VersionParser<V> versionParser) throws VersionRangeParseException {
+		if (text == null)
+			throw new IllegalArgumentException();
+		if (versionParser == null)
+			throw new IllegalArgumentException();
+		if (start < 0 || end > text.length() || start > end)
+			throw new IndexOutOfBoundsException();
 
-		/**
-		 * Constructor.
-		 * 
-		 * @param range
-		 *            the {@link Interval} version range that {@link Version}s
-		 *            will be matched against
-		 */
-		public LowerBoundMatcher(Interval<V> range) {
-			this.range = range;
-		}
+		List<NormalizedInterval<V>> intervals = new ArrayList<NormalizedInterval<V>>();
+		int index = skipWhitespace(text, start, end);
+		if (index == end)
+			return intervals;
 
-		/**
-		 * @see org.hamcrest.Matcher#matches(java.lang.Object)
-		 */
-		@Override
-		public boolean matches(Object item) {
-			if (!(item instanceof Version))
-				throw new IllegalArgumentException();
-			Version version = (Version) item;
-
-			/*
-			 * Design note: This logic could also be broken up further into
-			 * predicate clauses. I think that the logic at this level is
-			 * clearer when expressed imperatively, though.
-			 */
+		while (true) {
+			// Find the end of this entry.
+			int entryEnd;
+			if (determineLowerBoundaryType(text.charAt(index)) != IntervalBoundaryType.OMITTED) {
+				entryEnd = index + 1;
+				while (entryEnd < end && determineUpperBoundaryType(text.charAt(entryEnd)) == null)
+					entryEnd++;
+				if (entryEnd == end)
+					throw error(text, start, end, end, "unbalanced boundary symbols");
+				entryEnd++;
+			} else {
+				entryEnd = index;
+				while (entryEnd < end && text.charAt(entryEnd) != COMMA)
+					entryEnd++;
+			}
 
-			if (range.getTypeLower() == IntervalBoundaryType.OMITTED
-					|| range.getTypeLower() == IntervalBoundaryType.INCLUSIVE) {
-				/*
-				 * Note: An OMITTED lower bound is equivalent to an INCLUSIVE
-				 * one.
-				 */
-
-				/*
-				 * If no lower bound is specified, it's effectively
-				 * "version >= -infinity".
-				 */
-				if (range.getVersionLower() == null)
-					return true;
-
-				return version.compareTo(range.getVersionLower()) >= 0;
-			} else if (range.getTypeLower() == IntervalBoundaryType.EXCLUSIVE) {
-				return version.compareTo(range.getVersionLower()) > 0;
+			if (isUnbounded(text, index, entryEnd)) {
+				intervals.add(new NormalizedInterval<V>(null, false, null, false));
 			} else {
-				/*
-				 * Library author error: this will only occur if a new boundary
-				 * type has been added
-				 */
-				throw new IllegalStateException(String.format("Unsupported %s constant: %s.",
-						IntervalBoundaryType.class, range.getTypeLower()));
+				try {
+					intervals.add(new NormalizedInterval<V>(parseVersionRange(text, index, entryEnd, versionParser)));
+				} catch (VersionRangeParseException e) {
+					int errorOffset = e.getErrorOffset() == VersionRangeParseException.UNKNOWN_OFFSET ? index - start
+							: index - start + e.getErrorOffset();
+					throw new VersionRangeParseException(text.subSequence(start, end).toString(), errorOffset,
+							"invalid interval", e);
+				}
 			}
+
+			// Find the comma before the next entry, if any.
+			index = skipWhitespace(text, entryEnd, end);
+			if (index == end)
+				return intervals;
+			if (text.charAt(index) != COMMA)
+				throw error(text, start, end, index, "expected ','");
+			index = skipWhitespace(text, index + 1, end);
+			if (index == end)
+				throw error(text, start, end, index, "no interval found after ','");
 		}
+	}
 
-		/**
-		 * @see org.hamcrest.SelfDescribing#describeTo(org.hamcrest.Description)
-		 */
-		@Override
-		public void describeTo(Description description) {
-			throw new UnsupportedOperationException();
+	/**
+	 * @param text
+	 *            the {@link CharSequence} to check
+	 * @param start
+	 *            the index of the first character in the slice
+	 * @param end
+	 *            the index after the last character in the slice
+	 * @return <code>true</code> if the slice consists of just a lower boundary
+	 *         symbol, a comma, and an upper boundary symbol (ignoring
+	 *         whitespace), e.g. "<code>(,)</code>", <code>false</code> if it
+	 *         does not
+	 */
+	private static boolean isUnbounded(CharSequence text, int start, int end) {
+		int index = skipWhitespace(text, start, end);
+		if (index == end || determineLowerBoundaryType(text.charAt(index)) == IntervalBoundaryType.OMITTED)
+			return false;
+		index = skipWhitespace(text, index + 1, end);
+		if (index == end || text.charAt(index) != COMMA)
+			return false;
+		index = skipWhitespace(text, index + 1, end);
+		if (index == end || determineUpperBoundaryType(text.charAt(index)) == null)
+			return false;
+		return skipWhitespace(text, index + 1, end) == end;
+	}
+
+	/**
+	 * Scans the specified slice of a {@link CharSequence} as a version range.
+	 * 
+	 * @param text
+	 *            the {@link CharSequence} containing the version range to be
+	 *            parsed
+	 * @param start
+	 *            the index of the first character of the version range
+	 * @param end
+	 *            the index after the last character of the version range
+	 * @param sliceParser
+	 *            the {@link SliceParser} to hand each version slice to
+	 * @return an {@link Interval} model object for the parsed version range
+	 * @throws VersionRangeParseException
+	 *             A {@link VersionRangeParseException} will be thrown if the
+	 *             version range could not be properly parsed.
+	 */
+	private static <T> Interval<T> parse(CharSequence text, int start, int end, SliceParser<T> sliceParser)
+			throws VersionRangeParseException {
+		int index = skipWhitespace(text, start, end);
+		if (index == end)
+			throw error(text, start, end, index, "no version or boundary found");
+
+		IntervalBoundaryType boundaryLower = determineLowerBoundaryType(text.charAt(index));
+		if (boundaryLower == IntervalBoundaryType.OMITTED) {
+			// This should be a bare version and nothing else.
+			int versionEnd = scanVersion(text, index, end);
+			if (versionEnd < end) {
+				char unexpected = text.charAt(versionEnd);
+				if (unexpected == COMMA)
+					throw error(text, start, end, versionEnd, "comma should not be present");
+				if (determineUpperBoundaryType(unexpected) != null)
+					throw error(text, start, end, versionEnd, "unbalanced boundary symbols");
+				throw error(text, start, end, versionEnd, "unexpected character");
+			}
+			int versionLast = trimWhitespace(text, index, versionEnd);
+			if (versionLast == index)
+				throw error(text, start, end, index, "no version found");
+
+			T version = parseSlice(text, start, end, index, versionLast, sliceParser);
+			return newInterval(text, start, end, index, IntervalBoundaryType.OMITTED, version, null,
+					IntervalBoundaryType.OMITTED);
+		}
+
+		// Find the lower version (which may be blank).
+		int lowerStart = skipWhitespace(text, index + 1, end);
+		int lowerEnd = scanVersion(text, lowerStart, end);
+		if (lowerEnd == end)
+			throw error(text, start, end, end, "unbalanced boundary symbols");
+		int lowerLast = trimWhitespace(text, lowerStart, lowerEnd);
+
+		// Find the comma and upper version, if present.
+		boolean hasComma = text.charAt(lowerEnd) == COMMA;
+		int upperStart = -1;
+		int upperLast = -1;
+		int boundaryUpperIndex = lowerEnd;
+		if (hasComma) {
+			upperStart = skipWhitespace(text, lowerEnd + 1, end);
+			int upperEnd = scanVersion(text, upperStart, end);
+			if (upperEnd == end)
+				throw error(text, start, end, end, "unbalanced boundary symbols");
+			upperLast = trimWhitespace(text, upperStart, upperEnd);
+			boundaryUpperIndex = upperEnd;
+		}
+
+		// Find the upper boundary, which must be the last thing present.
+		IntervalBoundaryType boundaryUpper = determineUpperBoundaryType(text.charAt(boundaryUpperIndex));
+		if (boundaryUpper == null)
+			throw error(text, start, end, boundaryUpperIndex, "expected ']' or ')'");
+		int trailing = skipWhitespace(text, boundaryUpperIndex + 1, end);
+		if (trailing != end)
+			throw error(text, start, end, trailing, "unexpected characters after the upper boundary");
+
+		// Parse the versions, using the single-valued form if there's no comma.
+		T versionLower = lowerLast > lowerStart ? parseSlice(text, start, end, lowerStart, lowerLast, sliceParser)
+				: null;
+		if (!hasComma) {
+			if (versionLower == null)
+				throw error(text, start, end, lowerStart, "no version found");
+			return newInterval(text, start, end, index, boundaryLower, versionLower, versionLower, boundaryUpper);
+		}
+		T versionUpper = upperLast > upperStart ? parseSlice(text, start, end, upperStart, upperLast, sliceParser)
+				: null;
+		if (versionLower != null && versionUpper != null && !sliceParser.isInOrder(versionLower, versionUpper))
+			throw error(text, start, end, upperStart, "the 'upper' version is less than the 'lower' version");
+		return newInterval(text, start, end, index, boundaryLower, versionLower, versionUpper, boundaryUpper);
+	}
+
+	/**
+	 * @param text
+	 *            the {@link CharSequence} containing the version range being
+	 *            parsed
+	 * @param start
+	 *            the index of the first character of the version range
+	 * @param end
+	 *            the index after the last character of the version range
+	 * @param sliceStart
+	 *            the index of the first character of the version
+	 * @param sliceEnd
+	 *            the index after the last character of the version
+	 * @param sliceParser
+	 *            the {@link SliceParser} to hand the version slice to
+	 * @return the result of {@link SliceParser#parse(CharSequence, int, int)}
+	 * @throws VersionRangeParseException
+	 *             A {@link VersionRangeParseException} will be thrown if the
+	 *             {@link SliceParser} throws a {@link VersionParseException}.
+	 */
+	private static <T> T parseSlice(CharSequence text, int start, int end, int sliceStart, int sliceEnd,
+			SliceParser<T> sliceParser) throws VersionRangeParseException {
+		try {
+			return sliceParser.parse(text, sliceStart, sliceEnd);
+		} catch (VersionParseException e) {
+			throw new VersionRangeParseException(text.subSequence(start, end).toString(), sliceStart - start,
+					"invalid version", e);
 		}
 	}
 
 	/**
-	 * This {@link org.hamcrest.Matcher} verifies that {@link Version}s match
-	 * the upper bound (if any) of {@link Interval} version ranges.
+	 * Calls {@link Interval#Interval(IntervalBoundaryType, Object, Object, IntervalBoundaryType)}
+	 * , converting any {@link IllegalArgumentException}s that it throws into
+	 * {@link VersionRangeParseException}s.
 	 * 
-	 * @param <V>
-	 *            the {@link Version} implementation that will be checked
+	 * @param text
+	 *            the {@link CharSequence} containing the version range being
+	 *            parsed
+	 * @param start
+	 *            the index of the first character of the version range
+	 * @param end
+	 *            the index after the last character of the version range
+	 * @param index
+	 *            the index of the first non-whitespace character in the range
+	 * @param typeLower
+	 *            the value to use for {@link Interval#getTypeLower()}
+	 * @param versionLower
+	 *            the value to use for {@link Interval#getVersionLower()}
+	 * @param versionUpper
+	 *            the value to use for {@link Interval#getVersionUpper()}
+	 * @param typeUpper
+	 *            the value to use for {@link Interval#getTypeUpper()}
+	 * @return the new {@link Interval}
 	 */
-	private static final class UpperBoundMatcher<V extends Version> extends BaseMatcher<V> {
-		private final Interval<V> range;
+	private static <T> Interval<T> newInterval(CharSequence text, int start, int end, int index,
+			IntervalBoundaryType typeLower, T versionLower, T versionUpper, IntervalBoundaryType typeUpper) {
+		try {
+			return new Interval<T>(typeLower, versionLower, versionUpper, typeUpper);
+		} catch (IllegalArgumentException e) {
+			throw new VersionRangeParseException(text.subSequence(start, end).toString(), index - start,
+					"invalid version range", e);
+		}
+	}
 
-		/**
-		 * Constructor.
-		 * 
-		 * @param range
-		 *            the {@link Interval} version range that {@link Version}s
-		 *            will be matched against
-		 */
-		public UpperBoundMatcher(Interval<V> range) {
-			this.range = range;
+	/**
+	 * @param text
+	 *            the {@link CharSequence} containing the version range being
+	 *            parsed
+	 * @param start
+	 *            the index of the first character of the version range
+	 * @param end
+	 *            the index after the last character of the version range
+	 * @param errorIndex
+	 *            the index of the character where the problem was found
+	 * @param reason
+	 *            a short description of the problem
+	 * @return a new {@link VersionRangeParseException} describing the problem
+	 */
+	private static VersionRangeParseException error(CharSequence text, int start, int end, int errorIndex,
+			String reason) {
+		return new VersionRangeParseException(text.subSequence(start, end).toString(), errorIndex - start, reason);
+	}
+
+	/**
+	 * @param text
+	 *            the {@link CharSequence} to scan
+	 * @param index
+	 *            the index to start scanning at
+	 * @param end
+	 *            the index to stop scanning at
+	 * @return the index of the first non-whitespace character at or after the
+	 *         specified index, or <code>end</code> if there is none
+	 */
+	private static int skipWhitespace(CharSequence text, int index, int end) {
+		while (index < end && isWhitespace(text.charAt(index)))
+			index++;
+		return index;
+	}
+
+	/**
+	 * @param text
+	 *            the {@link CharSequence} to scan
+	 * @param start
+	 *            the index of the first character in the slice
+	 * @param end
+	 *            the index after the last character in the slice
+	 * @return the index after the last non-whitespace character in the slice,
+	 *         or <code>start</code> if there is none
+	 */
+	private static int trimWhitespace(CharSequence text, int start, int end) {
+		while (end > start && isWhitespace(text.charAt(end - 1)))
+			end--;
+		return end;
+	}
+
+	/**
+	 * @param text
+	 *            the {@link CharSequence} to scan
+	 * @param index
+	 *            the index to start scanning at
+	 * @param end
+	 *            the index to stop scanning at
+	 * @return the index of the first boundary or comma character at or after
+	 *         the specified index, or <code>end</code> if there is none
+	 */
+	private static int scanVersion(CharSequence text, int index, int end) {
+		while (index < end) {
+			char c = text.charAt(index);
+			if (c == COMMA || determineLowerBoundaryType(c) != IntervalBoundaryType.OMITTED
+					|| determineUpperBoundaryType(c) != null)
+				break;
+			index++;
 		}
+		return index;
+	}
+
+	/**
+	 * @param c
+	 *            the character to check
+	 * @return <code>true</code> if the specified character is whitespace, as
+	 *         defined by the <code>\s</code> regular expression character
+	 *         class, <code>false</code> if it is not
+	 */
+	private static boolean isWhitespace(char c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+	}
 
+	/**
+	 * @param c
+	 *            the character to check
+	 * @return the {@link IntervalBoundaryType} that the specified character is
+	 *         the lower boundary symbol for, or
+	 *         {@link IntervalBoundaryType#OMITTED} if it isn't a lower boundary
+	 *         symbol
+	 */
+	private static IntervalBoundaryType determineLowerBoundaryType(char c) {
+		if (c == IntervalBoundaryType.INCLUSIVE.getSymbolForLowerBoundary())
+			return IntervalBoundaryType.INCLUSIVE;
+		if (c == IntervalBoundaryType.EXCLUSIVE.getSymbolForLowerBoundary())
+			return IntervalBoundaryType.EXCLUSIVE;
+		return IntervalBoundaryType.OMITTED;
+	}
+
+	/**
+	 * @param c
+	 *            the character to check
+	 * @return the {@link IntervalBoundaryType} that the specified character is
+	 *         the upper boundary symbol for, or <code>null</code> if it isn't an
+	 *         upper boundary symbol
+	 */
+	private static IntervalBoundaryType determineUpperBoundaryType(char c) {
+		if (c == IntervalBoundaryType.INCLUSIVE.getSymbolForUpperBoundary())
+			return IntervalBoundaryType.INCLUSIVE;
+		if (c == IntervalBoundaryType.EXCLUSIVE.getSymbolForUpperBoundary())
+			return IntervalBoundaryType.EXCLUSIVE;
+		return null;
+	}
+
+	/**
+	 * Determines whether or not a specific {@link Version} matches a given
+	 * version range, as represented by the specified {@link Interval}. This
+	 * compiles a new {@link IntervalMatcher} on every call: callers that check
+	 * many {@link Version}s against the same range should use an
+	 * {@link IntervalVersionRange}, which compiles its {@link IntervalMatcher}
+	 * just once.
+	 * 
+	 * @param range
+	 *            the {@link Interval} version range to compare the specified
+	 *            {@link Version} against
+	 * @param version
+	 *            the {@link Version} being compared against the range
+	 * @return <code>true</code> if the specified {@link Version} matches the
+	 *         specified interval version range, <code>false</code> if it does
+	 *         not
+	 */
+	public <V extends Version> boolean matches(Interval<V> range, V version) {
+		return new IntervalMatcher<V>(range).matches(version);
+	}
+
+	/**
+	 * Converts the slices of a version range that contain versions into
+	 * objects.
+	 * 
+	 * @param <T>
+	 *            the type of object that versions are converted into
+	 */
+	private static interface SliceParser<T> {
 		/**
-		 * @see org.hamcrest.Matcher#matches(java.lang.Object)
+		 * @param text
+		 *            the {@link CharSequence} containing the version
+		 * @param start
+		 *            the index of the first character of the version
+		 * @param end
+		 *            the index after the last character of the version
+		 * @return the object representing the version
+		 * @throws VersionParseException
+		 *             A {@link VersionParseException} may be thrown if the
+		 *             version is invalid.
 		 */
-		@Override
-		public boolean matches(Object item) {
-			if (!(item instanceof Version))
-				throw new IllegalArgumentException();
-			Version version = (Version) item;
-
-			/*
-			 * Design note: This logic could also be broken up further into
-			 * predicate clauses. I think that the logic at this level is
-			 * clearer when expressed imperatively, though.
-			 */
-
-			if (range.getTypeUpper() == IntervalBoundaryType.OMITTED
-					|| range.getTypeUpper() == IntervalBoundaryType.INCLUSIVE) {
-				/*
-				 * Note: An OMITTED upper bound is functionally equivalent to
-				 * either an INCLUSIVE or an EXCLUSIVE one.
-				 */
-
-				/*
-				 * If no upper bound is specified, it's effectively
-				 * "version <= -infinity".
-				 */
-				if (range.getVersionUpper() == null)
-					return true;
-
-				return version.compareTo(range.getVersionUpper()) <= 0;
-			} else if (range.getTypeUpper() == IntervalBoundaryType.EXCLUSIVE) {
-				return version.compareTo(range.getVersionUpper()) < 0;
-			} else {
-				/*
-				 * Library author error: this will only occur if a new boundary
-				 * type has been added
-				 */
-				throw new IllegalStateException(String.format("Unsupported %s constant: %s.",
-						IntervalBoundaryType.class, range.getTypeLower()));
-			}
-		}
+		T parse(CharSequence text, int start, int end) throws VersionParseException;
 
 		/**
-		 * @see org.hamcrest.SelfDescribing#describeTo(org.hamcrest.Description)
+		 * @param versionLower
+		 *            a parsed lower version (never <code>null</code>)
+		 * @param versionUpper
+		 *            a parsed upper version (never <code>null</code>)
+		 * @return <code>false</code> if the specified versions are known to be
+		 *         backwards, <code>true</code> otherwise
 		 */
-		@Override
-		public void describeTo(Description description) {
-			throw new UnsupportedOperationException();
-		}
+		boolean isInOrder(T versionLower, T versionUpper);
 	}
 }
@@ -1,8 +1,15 @@
 package com.justdavis.jessentials.jversionsanity.range.interval;
 
+import java.nio.ByteBuffer;
+import java.util.stream.Stream;
+
+import com.justdavis.jessentials.jversionsanity.ByteBufferCharSequence;
+import com.justdavis.jessentials.jversionsanity.ParseResult;
+import com.justdavis.jessentials.jversionsanity.ParseResults;
 import com.justdavis.jessentials.jversionsanity.Version;
-import com.justdavis.jessentials.jversionsanity.VersionParseException;
 import com.justdavis.jessentials.jversionsanity.VersionParser;
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersion;
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersionParser;
 import com.justdavis.jessentials.jversionsanity.range.VersionRange;
 import com.justdavis.jessentials.jversionsanity.range.VersionRangeParseException;
 
@@ -50,6 +57,21 @@ public final class IntervalVersionRange<V extends Version> implements VersionRan
 	 * #DependencyMediationandConflictResolution-DependencyVersionRanges
 	 */
 
+	/**
+	 * The {@link IntervalParser} used by
+	 * {@link #IntervalVersionRange(VersionParser, String)}, which is stateless
+	 * and so can be shared.
+	 */
+	private static final IntervalParser INTERVAL_PARSER = new IntervalParser();
+
+	/**
+	 * The pool of canonical {@link IntervalVersionRange}s used by
+	 * {@link #canonical(IntervalVersionRange)}, along with the specialized
+	 * {@link VersionRange}s for them that are returned by
+	 * {@link #canonical(VersionParser, String)}.
+	 */
+	private static final WeakInterner<VersionRange<?>> CANONICAL_RANGES = new WeakInterner<VersionRange<?>>();
+
 	/**
 	 * Stores the {@link String} that this {@link IntervalVersionRange} instance
 	 * was parsed from, or <code>null</code> if it was constructed manually.
@@ -58,6 +80,12 @@ public final class IntervalVersionRange<V extends Version> implements VersionRan
 
 	private final Interval<V> interval;
 
+	/**
+	 * The {@link IntervalMatcher} that {@link #interval} was compiled into,
+	 * once, at construction, which is used by {@link #matches(Version)}.
+	 */
+	private final IntervalMatcher<V> matcher;
+
 	/**
 	 * Parses a {@link VersionRange} from the specified {@link String}
 	 * representation.
@@ -78,32 +106,260 @@ public final class IntervalVersionRange<V extends Version> implements VersionRan
 			throw new IllegalArgumentException("Null range strings not supported.");
 
 		this.rangeString = rangeString;
+		this.interval = INTERVAL_PARSER.parseVersionRange(rangeString, 0, rangeString.length(), versionParser);
+		this.matcher = new IntervalMatcher<V>(interval);
+	}
+
+	/**
+	 * Parses a {@link VersionRange} from the specified {@link String}
+	 * representation, in the same format as
+	 * {@link #IntervalVersionRange(VersionParser, String)}. Unlike that
+	 * constructor, this method will return a specialized {@link VersionRange}
+	 * implementation where one is available for the {@link Version} type, e.g.
+	 * an {@link IntegerIntervalVersionRange} when passed an
+	 * {@link IntegerVersionParser}.
+	 * 
+	 * @param versionParser
+	 *            the {@link VersionParser} that should be used to parse the
+	 *            {@link Version}s represented in the {@link String}
+	 * @param rangeString
+	 *            a {@link String} representation of a
+	 *            {@link IntervalVersionRange}, e.g. as produced by
+	 *            {@link #toString()}
+	 * @return a {@link VersionRange} that is equivalent to an
+	 *         {@link IntervalVersionRange} parsed from the specified
+	 *         {@link String}
+	 * @throws VersionRangeParseException
+	 *             A {@link VersionRangeParseException} will be thrown if the
+	 *             specified {@link String} cannot be parsed.
+	 */
+	public static <V extends Version> VersionRange<V> parse(VersionParser<V> versionParser, String rangeString)
+			throws VersionRangeParseException {
+		return specialize(versionParser, new IntervalVersionRange<V>(versionParser, rangeString));
+	}
+
+	/**
+	 * Parses a {@link VersionRange} from the specified {@link String}
+	 * representation, just as {@link #parse(VersionParser, String)} does, but
+	 * reports malformed input via the returned {@link ParseResult}, rather than
+	 * by throwing a {@link VersionRangeParseException}. This should be
+	 * preferred when validating lots of possibly-malformed version range
+	 * {@link String}s, as the {@link VersionRangeParseException}s it returns
+	 * don't capture stack traces.
+	 * 
+	 * @param versionParser
+	 *            the {@link VersionParser} that should be used to parse the
+	 *            {@link Version}s represented in the {@link String}
+	 * @param rangeString
+	 *            a {@link String} representation of a
+	 *            {@link IntervalVersionRange}, e.g. as produced by
+	 *            {@link #toString()}
+	 * @return a {@link ParseResult} with either the parsed {@link VersionRange},
+	 *         or the {@link VersionRangeParseException} describing why it could
+	 *         not be parsed
+	 */
+	public static <V extends Version> ParseResult<VersionRange<V>> tryParseRange(VersionParser<V> versionParser,
+			String rangeString) {
+		if (versionParser == null)
+			throw new IllegalArgumentException();
+		if (rangeString == null)
+			throw new IllegalArgumentException("Null range strings not supported.");
+
+		return ParseResult.attempt(() -> parse(versionParser, rangeString), VersionRangeParseException.class);
+	}
+
+	/**
+	 * <p>
+	 * Returns the canonical instance of the specified
+	 * {@link IntervalVersionRange}: all {@link #equals(Object)} ranges have the
+	 * same canonical instance, so canonical instances can be compared by
+	 * reference, and sets of them deduplicated cheaply. Canonicalization also
+	 * normalizes equivalent ranges that were written differently, so e.g.
+	 * "<code>[1,2)</code>" and "<code> [ 1 , 2 ) </code>" have the same
+	 * canonical instance, as do "<code>1</code>", "<code>[1,)</code>", and
+	 * "<code>[1,]</code>".
+	 * </p>
+	 * <p>
+	 * Canonical instances are kept in a thread-safe pool that only weakly
+	 * references them, so the pool doesn't prevent them from being garbage
+	 * collected. Their {@link #toString()} representation uses the normalized
+	 * bounds, rather than any original range {@link String}, but each
+	 * {@link Version} in it is still written as it was parsed: e.g. an
+	 * {@link IntegerVersion} parsed from "<code>01</code>" is equal to one
+	 * parsed from "<code>1</code>", but keeps its original text. As equal
+	 * ranges share a single canonical instance, it's the {@link Version}s of
+	 * whichever range was canonicalized first that will be used.
+	 * </p>
+	 * 
+	 * @param range
+	 *            the {@link IntervalVersionRange} to canonicalize
+	 * @return the canonical instance that's {@link #equals(Object)} to the
+	 *         normalized form of the specified {@link IntervalVersionRange}
+	 */
+	@SuppressWarnings("unchecked")
+	public static <V extends Version> IntervalVersionRange<V> canonical(IntervalVersionRange<V> range) {
+		if (range == null)
+			throw new IllegalArgumentException();
+
+		Interval<V> canonicalInterval = range.interval.toCanonical();
+		IntervalVersionRange<V> candidate = range.rangeString == null && canonicalInterval == range.interval ? range
+				: new IntervalVersionRange<V>(canonicalInterval);
+
+		/*
+		 * This cast is safe, as an equal range has equal bounds, which (for all
+		 * of the Version implementations here) means bounds of the same type.
+		 */
+		return (IntervalVersionRange<V>) CANONICAL_RANGES.intern(candidate);
+	}
+
+	/**
+	 * Parses the specified {@link String} representation of a range, just as
+	 * {@link #parse(VersionParser, String)} does, and returns the canonical
+	 * instance for it. If a specialized {@link VersionRange} implementation
+	 * is available for the {@link Version} type, e.g. an
+	 * {@link IntegerIntervalVersionRange} for an {@link IntegerVersionParser},
+	 * the canonical instance will be one of those, wrapping the
+	 * {@link #canonical(IntervalVersionRange)} instance. Otherwise, it will be
+	 * the {@link #canonical(IntervalVersionRange)} instance itself. Either
+	 * way, all equivalent ranges parsed by this method have the same canonical
+	 * instance.
+	 * 
+	 * @param versionParser
+	 *            the {@link VersionParser} that should be used to parse the
+	 *            {@link Version}s represented in the {@link String}
+	 * @param rangeString
+	 *            a {@link String} representation of a
+	 *            {@link IntervalVersionRange}, e.g. as produced by
+	 *            {@link #toString()}
+	 * @return the canonical {@link VersionRange} for the specified
+	 *         {@link String}
+	 * @throws VersionRangeParseException
+	 *             A {@link VersionRangeParseException} will be thrown if the
+	 *             specified {@link String} cannot be parsed.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <V extends Version> VersionRange<V> canonical(VersionParser<V> versionParser, String rangeString)
+			throws VersionRangeParseException {
+		if (rangeString == null)
+			throw new IllegalArgumentException("Null range strings not supported.");
+
+		IntervalVersionRange<V> range = canonical(new IntervalVersionRange<V>(
+				INTERVAL_PARSER.parseVersionRange(rangeString, 0, rangeString.length(), versionParser)));
+
+		/*
+		 * This cast is safe, as an equal range wraps the same canonical
+		 * IntervalVersionRange<V>. If no specialization is available, the
+		 * range is already in the pool, so this just returns it.
+		 */
+		return (VersionRange<V>) CANONICAL_RANGES.intern(specialize(versionParser, range));
+	}
 
-		IntervalParser intervalParser = new IntervalParser();
-		Interval<String> parsedStringInterval = intervalParser.parseVersionRange(rangeString);
+	/**
+	 * Parses all of the specified version range {@link String}s, in parallel,
+	 * as {@link #parse(VersionParser, String)} does. Malformed {@link String}s
+	 * don't abort the batch: their {@link VersionRangeParseException}s are
+	 * instead collected into the returned {@link ParseResults}, by index. See
+	 * {@link ParseResults#parseAll(Stream, java.util.function.Function, Class)}
+	 * for details.
+	 * 
+	 * @param versionParser
+	 *            the {@link VersionParser} that should be used to parse the
+	 *            {@link Version}s represented in the {@link String}s, which
+	 *            must be safe to use concurrently
+	 * @param rangeStrings
+	 *            the {@link String} representations of the version ranges to
+	 *            be parsed, none of which may be <code>null</code>
+	 * @return a {@link ParseResults} with the parsed {@link VersionRange}s (in
+	 *         the same order as the {@link String}s), and the
+	 *         {@link VersionRangeParseException}s for any that could not be
+	 *         parsed
+	 */
+	public static <V extends Version> ParseResults<VersionRange<V>> parseAll(VersionParser<V> versionParser,
+			Stream<String> rangeStrings) {
+		if (versionParser == null)
+			throw new IllegalArgumentException();
 
-		try {
-			V versionLower;
-			if (parsedStringInterval.getVersionLower() != null)
-				versionLower = versionParser.parseVersion(parsedStringInterval.getVersionLower());
-			else
-				versionLower = null;
+		return ParseResults.parseAll(rangeStrings, rangeString -> parse(versionParser, rangeString),
+				VersionRangeParseException.class);
+	}
 
-			V versionUpper;
-			if (parsedStringInterval.getVersionUpper() != null)
-				versionUpper = versionParser.parseVersion(parsedStringInterval.getVersionUpper());
-			else
-				versionUpper = null;
+	/**
+	 * Parses a {@link VersionRange} from the specified slice of a
+	 * {@link CharSequence}, just as {@link #parse(VersionParser, String)} does,
+	 * but without copying the slice into a new {@link String}. Instead, the
+	 * versions in it are handed straight to
+	 * {@link VersionParser#parseVersion(CharSequence, int, int)}. As a result,
+	 * the {@link #toString()} representation of the returned
+	 * {@link VersionRange} will be a normalized one, rather than the original
+	 * slice.
+	 * 
+	 * @param versionParser
+	 *            the {@link VersionParser} that should be used to parse the
+	 *            {@link Version}s represented in the slice
+	 * @param text
+	 *            the {@link CharSequence} containing the version range
+	 * @param start
+	 *            the index of the first character of the version range
+	 * @param end
+	 *            the index after the last character of the version range
+	 * @return a {@link VersionRange} that is equivalent to an
+	 *         {@link IntervalVersionRange} parsed from the specified slice
+	 * @throws VersionRangeParseException
+	 *             A {@link VersionRangeParseException} will be thrown if the
+	 *             specified slice cannot be parsed.
+	 */
+	public static <V extends Version> VersionRange<V> parse(VersionParser<V> versionParser, CharSequence text,
+			int start, int end) throws VersionRangeParseException {
+		return specialize(versionParser,
+				new IntervalVersionRange<V>(INTERVAL_PARSER.parseVersionRange(text, start, end, versionParser)));
+	}
 
-			// Sanity check: ensure that the versions aren't backwards
-			if (versionLower != null && versionUpper != null && versionLower.compareTo(versionUpper) > 0)
-				throw new IllegalArgumentException("The 'lower' version is actually greater than the 'upper' version.");
+	/**
+	 * Parses a {@link VersionRange} from the bytes between the specified
+	 * {@link ByteBuffer}'s position and limit, which must contain the ASCII (or
+	 * UTF-8) encoded {@link String} representation of it, via a
+	 * {@link ByteBufferCharSequence} view of them. This is otherwise identical
+	 * to {@link #parse(VersionParser, CharSequence, int, int)}. The
+	 * {@link ByteBuffer}'s position and limit will not be modified.
+	 * 
+	 * @param versionParser
+	 *            the {@link VersionParser} that should be used to parse the
+	 *            {@link Version}s represented in the {@link ByteBuffer}
+	 * @param buffer
+	 *            the {@link ByteBuffer} containing the version range
+	 * @return a {@link VersionRange} that is equivalent to an
+	 *         {@link IntervalVersionRange} parsed from the specified bytes
+	 * @throws VersionRangeParseException
+	 *             A {@link VersionRangeParseException} will be thrown if the
+	 *             specified bytes cannot be parsed.
+	 */
+	public static <V extends Version> VersionRange<V> parse(VersionParser<V> versionParser, ByteBuffer buffer)
+			throws VersionRangeParseException {
+		if (buffer == null)
+			throw new IllegalArgumentException();
+		return parse(versionParser, new ByteBufferCharSequence(buffer), 0, buffer.remaining());
+	}
 
-			this.interval = new Interval<V>(parsedStringInterval.getTypeLower(), versionLower, versionUpper,
-					parsedStringInterval.getTypeUpper());
-		} catch (VersionParseException e) {
-			throw new VersionRangeParseException(rangeString, e);
-		}
+	/**
+	 * @param versionParser
+	 *            the {@link VersionParser} that the range was parsed with
+	 * @param range
+	 *            the {@link IntervalVersionRange} to specialize
+	 * @return a specialized {@link VersionRange} implementation equivalent to
+	 *         the specified {@link IntervalVersionRange}, if one is available
+	 *         for the {@link Version} type, or just the specified
+	 *         {@link IntervalVersionRange} if not
+	 */
+	@SuppressWarnings("unchecked")
+	private static <V extends Version> VersionRange<V> specialize(VersionParser<V> versionParser,
+			IntervalVersionRange<V> range) {
+		/*
+		 * The casts here are safe: an IntegerVersionParser can only be a
+		 * VersionParser<IntegerVersion>.
+		 */
+		if (versionParser instanceof IntegerVersionParser)
+			return (VersionRange<V>) new IntegerIntervalVersionRange((IntervalVersionRange<IntegerVersion>) range);
+		return range;
 	}
 
 	/**
@@ -132,6 +388,28 @@ public final class IntervalVersionRange<V extends Version> implements VersionRan
 
 		this.rangeString = null;
 		this.interval = new Interval<V>(boundaryLower, versionLower, versionUpper, boundaryUpper);
+		this.matcher = new IntervalMatcher<V>(interval);
+	}
+
+	/**
+	 * Constructs a new {@link IntervalVersionRange} for an already-parsed
+	 * {@link Interval}.
+	 * 
+	 * @param interval
+	 *            the value to use for {@link #interval}
+	 */
+	private IntervalVersionRange(Interval<V> interval) {
+		this.rangeString = null;
+		this.interval = interval;
+		this.matcher = new IntervalMatcher<V>(interval);
+	}
+
+	/**
+	 * @return the {@link Interval} that this {@link IntervalVersionRange}
+	 *         represents
+	 */
+	Interval<V> getInterval() {
+		return interval;
 	}
 
 	/**
@@ -191,13 +469,6 @@ public final class IntervalVersionRange<V extends Version> implements VersionRan
 	 */
 	@Override
 	public boolean matches(V version) {
-		/*
-		 * There are basically two ways to implement this: A) as a collection of
-		 * edge cases, with lots of if-else blocks, or B) as predicate logic.
-		 * Option (B) is a lot easier to read, so I've opted for it, even though
-		 * it requires the use of Hamcrest (or some hand-written predicate logic
-		 * classes).
-		 */
-		return new IntervalMatcher<V>(interval).matches(version);
+		return matcher.matches(version);
 	}
 }
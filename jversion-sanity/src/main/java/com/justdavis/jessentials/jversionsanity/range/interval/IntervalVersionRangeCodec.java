@@ -0,0 +1,278 @@
+package com.justdavis.jessentials.jversionsanity.range.interval;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import com.justdavis.jessentials.jversionsanity.Version;
+import com.justdavis.jessentials.jversionsanity.VersionCodec;
+
+/**
+ * <p>
+ * Writes {@link IntervalVersionRange}s in a compact binary form, and reads them
+ * back again, which is much faster than formatting them via
+ * {@link IntervalVersionRange#toString()} and re-parsing them with
+ * {@link IntervalParser}. Decoded {@link IntervalVersionRange}s are
+ * {@link IntervalVersionRange#equals(Object)} to the originals, though their
+ * {@link IntervalVersionRange#toString()} representations will be the
+ * normalized ones.
+ * </p>
+ * <p>
+ * Each {@link IntervalVersionRange} is encoded as a single flag byte, followed
+ * by its versions (as encoded by the {@link VersionCodec} that this
+ * {@link IntervalVersionRangeCodec} was created with). The flag byte's bits
+ * are, from least significant to most:
+ * </p>
+ * <ul>
+ * <li>Bits 0-1: the lower {@link IntervalBoundaryType}'s binary code.</li>
+ * <li>Bits 2-3: the upper {@link IntervalBoundaryType}'s binary code.</li>
+ * <li>Bit 4: set if there's a lower version, which follows the flag byte.</li>
+ * <li>Bit 5: set if there's an upper version, which follows the lower version
+ * (if any).</li>
+ * <li>Bit 6: set if the upper version is equal to the lower version, e.g. for
+ * "<code>[a]</code>", in which case it is not written again.</li>
+ * <li>Bit 7: reserved, and always zero.</li>
+ * </ul>
+ * <p>
+ * Instances are stateless (as long as their {@link VersionCodec} is), and so
+ * are safe to share between threads.
+ * </p>
+ * 
+ * @param <V>
+ *            the {@link Version} implementation bounding the ranges
+ */
+public final class IntervalVersionRangeCodec<V extends Version> {
+	private static final int UPPER_TYPE_SHIFT = 2;
+	private static final int TYPE_MASK = 0x03;
+	private static final int HAS_LOWER = 0x10;
+	private static final int HAS_UPPER = 0x20;
+	private static final int UPPER_SAME_AS_LOWER = 0x40;
+	private static final int RESERVED = 0x80;
+
+	private final VersionCodec<V> versionCodec;
+
+	/**
+	 * Constructs a new {@link IntervalVersionRangeCodec}.
+	 * 
+	 * @param versionCodec
+	 *            the {@link VersionCodec} to encode and decode the ranges'
+	 *            {@link Version}s with
+	 */
+	public IntervalVersionRangeCodec(VersionCodec<V> versionCodec) {
+		if (versionCodec == null)
+			throw new IllegalArgumentException();
+
+		this.versionCodec = versionCodec;
+	}
+
+	/**
+	 * @param interval
+	 *            the {@link Interval} to encode
+	 * @return the flag byte for the specified {@link Interval}
+	 */
+	private static int encodeFlags(Interval<?> interval) {
+		int flags = interval.getTypeLower().getBinaryCode()
+				| (interval.getTypeUpper().getBinaryCode() << UPPER_TYPE_SHIFT);
+		if (interval.getVersionLower() != null)
+			flags |= HAS_LOWER;
+		if (interval.getVersionUpper() != null) {
+			flags |= HAS_UPPER;
+			if (interval.getVersionUpper().equals(interval.getVersionLower()))
+				flags |= UPPER_SAME_AS_LOWER;
+		}
+		return flags;
+	}
+
+	/**
+	 * Writes the specified {@link IntervalVersionRange} to a
+	 * {@link DataOutput}.
+	 * 
+	 * @param range
+	 *            the {@link IntervalVersionRange} to write
+	 * @param out
+	 *            the {@link DataOutput} to write to
+	 * @throws IOException
+	 *             Any {@link IOException}s thrown by the {@link DataOutput}
+	 *             will be passed through.
+	 */
+	public void write(IntervalVersionRange<V> range, DataOutput out) throws IOException {
+		if (range == null)
+			throw new IllegalArgumentException();
+		if (out == null)
+			throw new IllegalArgumentException();
+
+		Interval<V> interval = range.getInterval();
+		int flags = encodeFlags(interval);
+		out.writeByte(flags);
+		if ((flags & HAS_LOWER) != 0)
+			versionCodec.write(interval.getVersionLower(), out);
+		if ((flags & HAS_UPPER) != 0 && (flags & UPPER_SAME_AS_LOWER) == 0)
+			versionCodec.write(interval.getVersionUpper(), out);
+	}
+
+	/**
+	 * Writes the specified {@link IntervalVersionRange} to a
+	 * {@link ByteBuffer}, starting at its current position, and advances its
+	 * position past it.
+	 * 
+	 * @param range
+	 *            the {@link IntervalVersionRange} to write
+	 * @param buffer
+	 *            the {@link ByteBuffer} to write to
+	 * @throws java.nio.BufferOverflowException
+	 *             A {@link java.nio.BufferOverflowException} will be thrown if
+	 *             the {@link ByteBuffer} does not have enough room remaining.
+	 */
+	public void write(IntervalVersionRange<V> range, ByteBuffer buffer) {
+		if (range == null)
+			throw new IllegalArgumentException();
+		if (buffer == null)
+			throw new IllegalArgumentException();
+
+		Interval<V> interval = range.getInterval();
+		int flags = encodeFlags(interval);
+		buffer.put((byte) flags);
+		if ((flags & HAS_LOWER) != 0)
+			versionCodec.write(interval.getVersionLower(), buffer);
+		if ((flags & HAS_UPPER) != 0 && (flags & UPPER_SAME_AS_LOWER) == 0)
+			versionCodec.write(interval.getVersionUpper(), buffer);
+	}
+
+	/**
+	 * Writes the specified {@link IntervalVersionRange}s to a
+	 * {@link DataOutput}: their count (as a varint), followed by each of them,
+	 * as written by {@link #write(IntervalVersionRange, DataOutput)}.
+	 * 
+	 * @param ranges
+	 *            the {@link IntervalVersionRange}s to write
+	 * @param out
+	 *            the {@link DataOutput} to write to
+	 * @throws IOException
+	 *             Any {@link IOException}s thrown by the {@link DataOutput}
+	 *             will be passed through.
+	 */
+	public void writeAll(Collection<? extends IntervalVersionRange<V>> ranges, DataOutput out) throws IOException {
+		if (ranges == null)
+			throw new IllegalArgumentException();
+		if (out == null)
+			throw new IllegalArgumentException();
+
+		VersionCodec.writeVarInt(ranges.size(), out);
+		for (IntervalVersionRange<V> range : ranges)
+			write(range, out);
+	}
+
+	/**
+	 * Reads an {@link IntervalVersionRange} that was written by
+	 * {@link #write(IntervalVersionRange, DataOutput)}.
+	 * 
+	 * @param in
+	 *            the {@link DataInput} to read from
+	 * @return the {@link IntervalVersionRange} that was read
+	 * @throws IOException
+	 *             An {@link IOException} will be thrown if the data is
+	 *             malformed, and any {@link IOException}s thrown by the
+	 *             {@link DataInput} (e.g. {@link java.io.EOFException}s) will
+	 *             be passed through.
+	 */
+	public IntervalVersionRange<V> read(DataInput in) throws IOException {
+		if (in == null)
+			throw new IllegalArgumentException();
+
+		int flags = in.readUnsignedByte();
+		if ((flags & RESERVED) != 0)
+			throw new IOException("Malformed range: reserved flag set.");
+		V versionLower = (flags & HAS_LOWER) != 0 ? versionCodec.read(in) : null;
+		V versionUpper = null;
+		if ((flags & HAS_UPPER) != 0)
+			versionUpper = (flags & UPPER_SAME_AS_LOWER) != 0 ? versionLower : versionCodec.read(in);
+
+		try {
+			return decode(flags, versionLower, versionUpper);
+		} catch (IllegalArgumentException e) {
+			throw new IOException("Malformed range.", e);
+		}
+	}
+
+	/**
+	 * Reads an {@link IntervalVersionRange} that was written by
+	 * {@link #write(IntervalVersionRange, ByteBuffer)}, starting at the
+	 * {@link ByteBuffer}'s current position, and advances its position past
+	 * it.
+	 * 
+	 * @param buffer
+	 *            the {@link ByteBuffer} to read from
+	 * @return the {@link IntervalVersionRange} that was read
+	 * @throws java.nio.BufferUnderflowException
+	 *             A {@link java.nio.BufferUnderflowException} will be thrown if
+	 *             the {@link ByteBuffer} ends before the range does.
+	 * @throws IllegalArgumentException
+	 *             An {@link IllegalArgumentException} will be thrown if the
+	 *             data is malformed.
+	 */
+	public IntervalVersionRange<V> read(ByteBuffer buffer) {
+		if (buffer == null)
+			throw new IllegalArgumentException();
+
+		int flags = buffer.get() & 0xFF;
+		if ((flags & RESERVED) != 0)
+			throw new IllegalArgumentException("Malformed range: reserved flag set.");
+		V versionLower = (flags & HAS_LOWER) != 0 ? versionCodec.read(buffer) : null;
+		V versionUpper = null;
+		if ((flags & HAS_UPPER) != 0)
+			versionUpper = (flags & UPPER_SAME_AS_LOWER) != 0 ? versionLower : versionCodec.read(buffer);
+
+		return decode(flags, versionLower, versionUpper);
+	}
+
+	/**
+	 * Reads {@link IntervalVersionRange}s that were written by
+	 * {@link #writeAll(Collection, DataOutput)}.
+	 * 
+	 * @param in
+	 *            the {@link DataInput} to read from
+	 * @return the {@link IntervalVersionRange}s that were read, in the order
+	 *         they were written
+	 * @throws IOException
+	 *             An {@link IOException} will be thrown if the data is
+	 *             malformed, and any {@link IOException}s thrown by the
+	 *             {@link DataInput} (e.g. {@link java.io.EOFException}s) will
+	 *             be passed through.
+	 */
+	public List<IntervalVersionRange<V>> readAll(DataInput in) throws IOException {
+		if (in == null)
+			throw new IllegalArgumentException();
+
+		int count = VersionCodec.readVarInt(in);
+		// Cap the initial capacity, so a corrupt count can't exhaust the heap.
+		List<IntervalVersionRange<V>> ranges = new ArrayList<IntervalVersionRange<V>>(Math.min(count, 1 << 16));
+		for (int i = 0; i < count; i++)
+			ranges.add(read(in));
+		return ranges;
+	}
+
+	/**
+	 * @param flags
+	 *            the flag byte that was read
+	 * @param versionLower
+	 *            the lower {@link Version} that was read, if any
+	 * @param versionUpper
+	 *            the upper {@link Version} that was read, if any
+	 * @return the decoded {@link IntervalVersionRange}
+	 * @throws IllegalArgumentException
+	 *             An {@link IllegalArgumentException} will be thrown if the
+	 *             decoded range is not valid.
+	 */
+	private IntervalVersionRange<V> decode(int flags, V versionLower, V versionUpper) {
+		IntervalBoundaryType typeLower = IntervalBoundaryType.forBinaryCode(flags & TYPE_MASK);
+		IntervalBoundaryType typeUpper = IntervalBoundaryType.forBinaryCode((flags >>> UPPER_TYPE_SHIFT) & TYPE_MASK);
+		if (typeLower == null || typeUpper == null)
+			throw new IllegalArgumentException("Malformed range: unknown boundary type.");
+
+		return new IntervalVersionRange<V>(typeLower, versionLower, versionUpper, typeUpper);
+	}
+}
@@ -0,0 +1,320 @@
+package com.justdavis.jessentials.jversionsanity.range.interval;
+
+import java.util.Comparator;
+
+import com.justdavis.jessentials.jversionsanity.Version;
+
+/**
+ * <p>
+ * A normalized form of {@link Interval}, used when working with sets of
+ * intervals, e.g. in {@link UnionVersionRange}. Unlike {@link Interval}, it has
+ * no notion of {@link IntervalBoundaryType#OMITTED}: each bound is either a
+ * {@link Version} that is included or excluded, or <code>null</code> to
+ * indicate that the interval is unbounded in that direction. The inclusive
+ * flags of unbounded ends are always <code>false</code>, so that equivalent
+ * {@link NormalizedInterval}s are always {@link #equals(Object)}.
+ * </p>
+ * <p>
+ * Instances are immutable.
+ * </p>
+ * 
+ * @param <V>
+ *            the {@link Version} implementation being bounded
+ */
+final class NormalizedInterval<V extends Version> {
+	/**
+	 * A {@link Comparator} that orders {@link NormalizedInterval}s by their
+	 * lower bounds, with unbounded lower ends first, and inclusive lower bounds
+	 * before exclusive ones for the same {@link Version}.
+	 */
+	static final Comparator<NormalizedInterval<?>> LOWER_BOUND_ORDER = new Comparator<NormalizedInterval<?>>() {
+		/**
+		 * @see java.util.Comparator#compare(java.lang.Object, java.lang.Object)
+		 */
+		@Override
+		public int compare(NormalizedInterval<?> a, NormalizedInterval<?> b) {
+			return compareLowerBounds(a.lower, a.lowerInclusive, b.lower, b.lowerInclusive);
+		}
+	};
+
+	private final V lower;
+	private final boolean lowerInclusive;
+	private final V upper;
+	private final boolean upperInclusive;
+
+	/**
+	 * Constructs a new {@link NormalizedInterval}.
+	 * 
+	 * @param lower
+	 *            the value to use for {@link #getLower()}
+	 * @param lowerInclusive
+	 *            the value to use for {@link #isLowerInclusive()} (ignored if
+	 *            <code>lower</code> is <code>null</code>)
+	 * @param upper
+	 *            the value to use for {@link #getUpper()}
+	 * @param upperInclusive
+	 *            the value to use for {@link #isUpperInclusive()} (ignored if
+	 *            <code>upper</code> is <code>null</code>)
+	 */
+	NormalizedInterval(V lower, boolean lowerInclusive, V upper, boolean upperInclusive) {
+		this.lower = lower;
+		this.lowerInclusive = lower != null && lowerInclusive;
+		this.upper = upper;
+		this.upperInclusive = upper != null && upperInclusive;
+	}
+
+	/**
+	 * Constructs a new {@link NormalizedInterval} that's equivalent to the
+	 * specified {@link Interval}.
+	 * 
+	 * @param interval
+	 *            the {@link Interval} to normalize
+	 */
+	NormalizedInterval(Interval<V> interval) {
+		/*
+		 * Note: An OMITTED bound is equivalent to an INCLUSIVE one, and an
+		 * OMITTED upper bound will never have a version.
+		 */
+		this(interval.getVersionLower(), interval.getTypeLower() != IntervalBoundaryType.EXCLUSIVE,
+				interval.getVersionUpper(), interval.getTypeUpper() != IntervalBoundaryType.EXCLUSIVE);
+	}
+
+	/**
+	 * @return the lower bound {@link Version}, or <code>null</code> if this
+	 *         {@link NormalizedInterval} is unbounded below
+	 */
+	V getLower() {
+		return lower;
+	}
+
+	/**
+	 * @return <code>true</code> if {@link #getLower()} is included in this
+	 *         {@link NormalizedInterval}, <code>false</code> if it is excluded
+	 *         or <code>null</code>
+	 */
+	boolean isLowerInclusive() {
+		return lowerInclusive;
+	}
+
+	/**
+	 * @return the upper bound {@link Version}, or <code>null</code> if this
+	 *         {@link NormalizedInterval} is unbounded above
+	 */
+	V getUpper() {
+		return upper;
+	}
+
+	/**
+	 * @return <code>true</code> if {@link #getUpper()} is included in this
+	 *         {@link NormalizedInterval}, <code>false</code> if it is excluded
+	 *         or <code>null</code>
+	 */
+	boolean isUpperInclusive() {
+		return upperInclusive;
+	}
+
+	/**
+	 * @return <code>true</code> if no {@link Version} could possibly fall
+	 *         within this {@link NormalizedInterval}, e.g. <code>(a,a)</code>
+	 *         or <code>[b,a]</code> (where <code>a &lt; b</code>)
+	 */
+	boolean isEmpty() {
+		if (lower == null || upper == null)
+			return false;
+		int comparison = lower.compareTo(upper);
+		return comparison > 0 || (comparison == 0 && !(lowerInclusive && upperInclusive));
+	}
+
+	/**
+	 * @param version
+	 *            the {@link Version} to check
+	 * @return <code>true</code> if the specified {@link Version} is above (or,
+	 *         if inclusive, equal to) the lower bound, <code>false</code> if it
+	 *         is not
+	 */
+	boolean isAboveLower(V version) {
+		if (lower == null)
+			return true;
+		int comparison = version.compareTo(lower);
+		return lowerInclusive ? comparison >= 0 : comparison > 0;
+	}
+
+	/**
+	 * @param version
+	 *            the {@link Version} to check
+	 * @return <code>true</code> if the specified {@link Version} is below (or,
+	 *         if inclusive, equal to) the upper bound, <code>false</code> if it
+	 *         is not
+	 */
+	boolean isBelowUpper(V version) {
+		if (upper == null)
+			return true;
+		int comparison = version.compareTo(upper);
+		return upperInclusive ? comparison <= 0 : comparison < 0;
+	}
+
+	/**
+	 * @param other
+	 *            the {@link NormalizedInterval} to check, whose lower bound
+	 *            must not be less than this one's
+	 * @return <code>true</code> if the specified {@link NormalizedInterval}
+	 *         overlaps with or is directly adjacent to (e.g. <code>[a,b)</code>
+	 *         and <code>[b,c]</code>) this one, such that the two could be
+	 *         merged into a single {@link NormalizedInterval}
+	 */
+	boolean isMergeableWith(NormalizedInterval<V> other) {
+		if (upper == null || other.lower == null)
+			return true;
+		int comparison = other.lower.compareTo(upper);
+		return comparison < 0 || (comparison == 0 && (upperInclusive || other.lowerInclusive));
+	}
+
+	/**
+	 * @param other
+	 *            a {@link NormalizedInterval} for which
+	 *            {@link #isMergeableWith(NormalizedInterval)} is
+	 *            <code>true</code>
+	 * @return a new {@link NormalizedInterval} that spans both this one and the
+	 *         specified one
+	 */
+	NormalizedInterval<V> mergeWith(NormalizedInterval<V> other) {
+		if (compareUpperBounds(other.upper, other.upperInclusive, upper, upperInclusive) <= 0)
+			return this;
+		return new NormalizedInterval<V>(lower, lowerInclusive, other.upper, other.upperInclusive);
+	}
+
+	/**
+	 * Compares two lower bounds, where <code>null</code> represents negative
+	 * infinity, and an inclusive bound is lower than an exclusive one on the
+	 * same {@link Version}.
+	 * 
+	 * @param a
+	 *            the first lower bound {@link Version}, or <code>null</code>
+	 * @param aInclusive
+	 *            whether or not the first lower bound is inclusive
+	 * @param b
+	 *            the second lower bound {@link Version}, or <code>null</code>
+	 * @param bInclusive
+	 *            whether or not the second lower bound is inclusive
+	 * @return a negative number, zero, or a positive number if the first bound
+	 *         is less than, equal to, or greater than the second
+	 */
+	static int compareLowerBounds(Version a, boolean aInclusive, Version b, boolean bInclusive) {
+		if (a == null || b == null)
+			return (a == null ? 0 : 1) - (b == null ? 0 : 1);
+		int comparison = a.compareTo(b);
+		if (comparison != 0)
+			return comparison;
+		return Boolean.compare(!aInclusive, !bInclusive);
+	}
+
+	/**
+	 * Compares two upper bounds, where <code>null</code> represents positive
+	 * infinity, and an exclusive bound is lower than an inclusive one on the
+	 * same {@link Version}.
+	 * 
+	 * @param a
+	 *            the first upper bound {@link Version}, or <code>null</code>
+	 * @param aInclusive
+	 *            whether or not the first upper bound is inclusive
+	 * @param b
+	 *            the second upper bound {@link Version}, or <code>null</code>
+	 * @param bInclusive
+	 *            whether or not the second upper bound is inclusive
+	 * @return a negative number, zero, or a positive number if the first bound
+	 *         is less than, equal to, or greater than the second
+	 */
+	static int compareUpperBounds(Version a, boolean aInclusive, Version b, boolean bInclusive) {
+		if (a == null || b == null)
+			return (a == null ? 1 : 0) - (b == null ? 1 : 0);
+		int comparison = a.compareTo(b);
+		if (comparison != 0)
+			return comparison;
+		return Boolean.compare(aInclusive, bInclusive);
+	}
+
+	/**
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		/*
+		 * This method was generated by Eclipse's 'Source > Generate hashCode()
+		 * and equals()...' feature.
+		 */
+
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + ((lower == null) ? 0 : lower.hashCode());
+		result = prime * result + (lowerInclusive ? 1231 : 1237);
+		result = prime * result + ((upper == null) ? 0 : upper.hashCode());
+		result = prime * result + (upperInclusive ? 1231 : 1237);
+		return result;
+	}
+
+	/**
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		/*
+		 * This method was generated by Eclipse's 'Source > Generate hashCode()
+		 * and equals()...' feature.
+		 */
+
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		NormalizedInterval<?> other = (NormalizedInterval<?>) obj;
+		if (lower == null) {
+			if (other.lower != null)
+				return false;
+		} else if (!lower.equals(other.lower))
+			return false;
+		if (lowerInclusive != other.lowerInclusive)
+			return false;
+		if (upper == null) {
+			if (other.upper != null)
+				return false;
+		} else if (!upper.equals(other.upper))
+			return false;
+		if (upperInclusive != other.upperInclusive)
+			return false;
+		return true;
+	}
+
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		StringBuilder rangeString = new StringBuilder();
+		appendTo(rangeString);
+		return rangeString.toString();
+	}
+
+	/**
+	 * Appends the interval notation for this {@link NormalizedInterval} to the
+	 * specified {@link StringBuilder}, e.g. "<code>[1,3)</code>",
+	 * "<code>(,2]</code>", or "<code>[4]</code>".
+	 * 
+	 * @param rangeString
+	 *            the {@link StringBuilder} to append to
+	 */
+	void appendTo(StringBuilder rangeString) {
+		rangeString.append(lowerInclusive ? IntervalBoundaryType.INCLUSIVE.getSymbolForLowerBoundary()
+				: IntervalBoundaryType.EXCLUSIVE.getSymbolForLowerBoundary());
+		if (lower != null)
+			rangeString.append(lower);
+		if (lower == null || upper == null || !lower.equals(upper)) {
+			rangeString.append(',');
+			if (upper != null)
+				rangeString.append(upper);
+		}
+		rangeString.append(upperInclusive ? IntervalBoundaryType.INCLUSIVE.getSymbolForUpperBoundary()
+				: IntervalBoundaryType.EXCLUSIVE.getSymbolForUpperBoundary());
+	}
+}
@@ -0,0 +1,591 @@
+package com.justdavis.jessentials.jversionsanity.range.interval;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import com.justdavis.jessentials.jversionsanity.ByteBufferCharSequence;
+import com.justdavis.jessentials.jversionsanity.ParseResult;
+import com.justdavis.jessentials.jversionsanity.Version;
+import com.justdavis.jessentials.jversionsanity.VersionParser;
+import com.justdavis.jessentials.jversionsanity.range.VersionRange;
+import com.justdavis.jessentials.jversionsanity.range.VersionRangeParseException;
+
+/**
+ * <p>
+ * Models a {@link VersionRange} as the union of zero or more
+ * <a href= "http://en.wikipedia.org/wiki/Interval_%28mathematics%29" >
+ * mathematical intervals</a>, e.g. "<code>[1,3),(5,8],[10,]</code>".
+ * </p>
+ * <p>
+ * Each {@link UnionVersionRange} can be represented as a {@link String} (via
+ * {@link #toString()}) and can also be parsed from a {@link String} (via
+ * {@link #UnionVersionRange(VersionParser, String)}). The format of these
+ * {@link String}s is a comma-separated list of intervals, each in the format
+ * supported by {@link IntervalVersionRange}, or "<code>(,)</code>" (which will
+ * match all versions). A blank {@link String} is also allowed, and will not
+ * match any versions.
+ * </p>
+ * <p>
+ * The intervals are normalized when the {@link UnionVersionRange} is created:
+ * they're sorted, empty intervals are discarded, and intervals that overlap or
+ * are directly adjacent to each other (e.g. <code>[1,3)</code> and
+ * <code>[3,4]</code>) are merged. As a result, {@link #matches(Version)} can
+ * use a binary search to find the one interval that might match, and so takes
+ * <code>O(log n)</code> time, rather than checking each interval in turn.
+ * </p>
+ * <p>
+ * {@link UnionVersionRange}s also support set operations: {@link #union(VersionRange)},
+ * {@link #intersect(VersionRange)}, {@link #complement()}, {@link #isEmpty()},
+ * and {@link #contains(VersionRange)}. These are computed symbolically, from the
+ * interval bounds, without enumerating any {@link Version}s. Note that this
+ * means that a gap such as <code>(1,2)</code> is treated as non-empty even if,
+ * like {@link com.justdavis.jessentials.jversionsanity.bareint.IntegerVersion},
+ * the {@link Version} implementation can't represent anything within it.
+ * </p>
+ */
+public final class UnionVersionRange<V extends Version> implements VersionRange<V> {
+	/**
+	 * The {@link IntervalParser} used by
+	 * {@link #UnionVersionRange(VersionParser, String)}, which is stateless and
+	 * so can be shared.
+	 */
+	private static final IntervalParser INTERVAL_PARSER = new IntervalParser();
+
+	/**
+	 * Stores the {@link String} that this {@link UnionVersionRange} instance
+	 * was parsed from, or <code>null</code> if it was constructed manually.
+	 */
+	private final String rangeString;
+
+	/**
+	 * The sorted, non-empty, non-overlapping, and non-adjacent intervals that
+	 * make up this {@link UnionVersionRange}.
+	 */
+	private final NormalizedInterval<V>[] intervals;
+
+	/**
+	 * Parses a {@link UnionVersionRange} from the specified {@link String}
+	 * representation.
+	 * 
+	 * @param versionParser
+	 *            the {@link VersionParser} that should be used to parse the
+	 *            {@link Version}s represented in the {@link String}
+	 * @param rangeString
+	 *            a {@link String} representation of a {@link UnionVersionRange}
+	 *            , e.g. as produced by {@link #toString()}
+	 * @throws VersionRangeParseException
+	 *             A {@link VersionRangeParseException} will be thrown if the
+	 *             specified {@link String} cannot be parsed.
+	 */
+	public UnionVersionRange(VersionParser<V> versionParser, String rangeString) throws VersionRangeParseException {
+		if (rangeString == null)
+			throw new IllegalArgumentException("Null range strings not supported.");
+
+		this.rangeString = rangeString;
+		this.intervals = normalize(
+				INTERVAL_PARSER.parseVersionRangeList(rangeString, 0, rangeString.length(), versionParser));
+	}
+
+	/**
+	 * Parses a {@link UnionVersionRange} from the specified {@link String}
+	 * representation, just as
+	 * {@link #UnionVersionRange(VersionParser, String)} does, but reports
+	 * malformed input via the returned {@link ParseResult}, rather than by
+	 * throwing a {@link VersionRangeParseException}. This should be preferred
+	 * when validating lots of possibly-malformed version range {@link String}s,
+	 * as the {@link VersionRangeParseException}s it returns don't capture stack
+	 * traces.
+	 * 
+	 * @param versionParser
+	 *            the {@link VersionParser} that should be used to parse the
+	 *            {@link Version}s represented in the {@link String}
+	 * @param rangeString
+	 *            a {@link String} representation of a {@link UnionVersionRange}
+	 *            , e.g. as produced by {@link #toString()}
+	 * @return a {@link ParseResult} with either the parsed
+	 *         {@link UnionVersionRange}, or the
+	 *         {@link VersionRangeParseException} describing why it could not be
+	 *         parsed
+	 */
+	public static <V extends Version> ParseResult<UnionVersionRange<V>> tryParseRange(
+			VersionParser<V> versionParser, String rangeString) {
+		if (versionParser == null)
+			throw new IllegalArgumentException();
+		if (rangeString == null)
+			throw new IllegalArgumentException("Null range strings not supported.");
+
+		return ParseResult.attempt(() -> new UnionVersionRange<V>(versionParser, rangeString),
+				VersionRangeParseException.class);
+	}
+
+	/**
+	 * Parses a {@link UnionVersionRange} from the specified slice of a
+	 * {@link CharSequence}, just as
+	 * {@link #UnionVersionRange(VersionParser, String)} does, but without
+	 * copying the slice into a new {@link String}. Instead, the versions in it
+	 * are handed straight to
+	 * {@link VersionParser#parseVersion(CharSequence, int, int)}. As a result,
+	 * the {@link #toString()} representation of the returned
+	 * {@link UnionVersionRange} will be a normalized one, rather than the
+	 * original slice.
+	 * 
+	 * @param versionParser
+	 *            the {@link VersionParser} that should be used to parse the
+	 *            {@link Version}s represented in the slice
+	 * @param text
+	 *            the {@link CharSequence} containing the version range
+	 * @param start
+	 *            the index of the first character of the version range
+	 * @param end
+	 *            the index after the last character of the version range
+	 * @return the {@link UnionVersionRange} represented by the specified slice
+	 * @throws VersionRangeParseException
+	 *             A {@link VersionRangeParseException} will be thrown if the
+	 *             specified slice cannot be parsed.
+	 */
+	public static <V extends Version> UnionVersionRange<V> parse(VersionParser<V> versionParser, CharSequence text,
+			int start, int end) throws VersionRangeParseException {
+		return new UnionVersionRange<V>(
+				normalize(INTERVAL_PARSER.parseVersionRangeList(text, start, end, versionParser)));
+	}
+
+	/**
+	 * Parses a {@link UnionVersionRange} from the bytes between the specified
+	 * {@link ByteBuffer}'s position and limit, which must contain the ASCII (or
+	 * UTF-8) encoded {@link String} representation of it, via a
+	 * {@link ByteBufferCharSequence} view of them. This is otherwise identical
+	 * to {@link #parse(VersionParser, CharSequence, int, int)}. The
+	 * {@link ByteBuffer}'s position and limit will not be modified.
+	 * 
+	 * @param versionParser
+	 *            the {@link VersionParser} that should be used to parse the
+	 *            {@link Version}s represented in the {@link ByteBuffer}
+	 * @param buffer
+	 *            the {@link ByteBuffer} containing the version range
+	 * @return the {@link UnionVersionRange} represented by the specified bytes
+	 * @throws VersionRangeParseException
+	 *             A {@link VersionRangeParseException} will be thrown if the
+	 *             specified bytes cannot be parsed.
+	 */
+	public static <V extends Version> UnionVersionRange<V> parse(VersionParser<V> versionParser, ByteBuffer buffer)
+			throws VersionRangeParseException {
+		if (buffer == null)
+			throw new IllegalArgumentException();
+		return parse(versionParser, new ByteBufferCharSequence(buffer), 0, buffer.remaining());
+	}
+
+	/**
+	 * Constructs a new {@link UnionVersionRange} that will match any
+	 * {@link Version} matched by at least one of the specified
+	 * {@link IntervalVersionRange}s.
+	 * 
+	 * @param ranges
+	 *            the {@link IntervalVersionRange}s to combine
+	 */
+	public UnionVersionRange(Collection<IntervalVersionRange<V>> ranges) {
+		if (ranges == null)
+			throw new IllegalArgumentException();
+
+		List<NormalizedInterval<V>> unnormalized = new ArrayList<NormalizedInterval<V>>(ranges.size());
+		for (IntervalVersionRange<V> range : ranges) {
+			if (range == null)
+				throw new IllegalArgumentException();
+			unnormalized.add(new NormalizedInterval<V>(range.getInterval()));
+		}
+
+		this.rangeString = null;
+		this.intervals = normalize(unnormalized);
+	}
+
+	/**
+	 * Constructs a new {@link UnionVersionRange} from already-normalized
+	 * intervals.
+	 * 
+	 * @param intervals
+	 *            the value to use for {@link #intervals}
+	 */
+	private UnionVersionRange(NormalizedInterval<V>[] intervals) {
+		this.rangeString = null;
+		this.intervals = intervals;
+	}
+
+	/**
+	 * Sorts and merges the specified {@link NormalizedInterval}s.
+	 * 
+	 * @param unnormalized
+	 *            the {@link NormalizedInterval}s to normalize, in any order
+	 *            (this {@link List} will be modified)
+	 * @return the equivalent sorted, non-empty, non-overlapping, and
+	 *         non-adjacent {@link NormalizedInterval}s
+	 */
+	private static <V extends Version> NormalizedInterval<V>[] normalize(List<NormalizedInterval<V>> unnormalized) {
+		Collections.sort(unnormalized, NormalizedInterval.LOWER_BOUND_ORDER);
+
+		List<NormalizedInterval<V>> merged = new ArrayList<NormalizedInterval<V>>(unnormalized.size());
+		NormalizedInterval<V> current = null;
+		for (NormalizedInterval<V> interval : unnormalized) {
+			if (interval.isEmpty())
+				continue;
+
+			if (current == null) {
+				current = interval;
+			} else if (current.isMergeableWith(interval)) {
+				current = current.mergeWith(interval);
+			} else {
+				merged.add(current);
+				current = interval;
+			}
+		}
+		if (current != null)
+			merged.add(current);
+
+		return merged.toArray(newIntervalArray(merged.size()));
+	}
+
+	/**
+	 * @param length
+	 *            the length of the array to create
+	 * @return a new {@link NormalizedInterval} array of the specified length
+	 */
+	@SuppressWarnings("unchecked")
+	private static <V extends Version> NormalizedInterval<V>[] newIntervalArray(int length) {
+		return (NormalizedInterval<V>[]) new NormalizedInterval<?>[length];
+	}
+
+	/**
+	 * Converts the specified interval-based {@link VersionRange} into an
+	 * equivalent {@link UnionVersionRange}, so that it can be used with the
+	 * set operations or bounds accessors here.
+	 * 
+	 * @param range
+	 *            the {@link VersionRange} to convert
+	 * @return the specified {@link VersionRange} as a {@link UnionVersionRange}
+	 *         , or <code>null</code> if it isn't an
+	 *         {@link IntervalVersionRange}, {@link IntegerIntervalVersionRange},
+	 *         or {@link UnionVersionRange}
+	 */
+	@SuppressWarnings("unchecked")
+	public static <V extends Version> UnionVersionRange<V> asUnion(VersionRange<V> range) {
+		if (range == null)
+			throw new IllegalArgumentException();
+
+		IntervalVersionRange<V> intervalRange;
+		if (range instanceof UnionVersionRange)
+			return (UnionVersionRange<V>) range;
+		else if (range instanceof IntervalVersionRange)
+			intervalRange = (IntervalVersionRange<V>) range;
+		else if (range instanceof IntegerIntervalVersionRange)
+			intervalRange = (IntervalVersionRange<V>) ((IntegerIntervalVersionRange) range).getRange();
+		else
+			return null;
+
+		List<NormalizedInterval<V>> unnormalized = new ArrayList<NormalizedInterval<V>>(1);
+		unnormalized.add(new NormalizedInterval<V>(intervalRange.getInterval()));
+		return new UnionVersionRange<V>(normalize(unnormalized));
+	}
+
+	/**
+	 * @param range
+	 *            the interval-based {@link VersionRange} to get the intervals
+	 *            of
+	 * @return the sorted, non-empty, non-overlapping, and non-adjacent
+	 *         {@link NormalizedInterval}s equivalent to the specified
+	 *         {@link VersionRange}
+	 */
+	private static <V extends Version> NormalizedInterval<V>[] toIntervals(VersionRange<V> range) {
+		UnionVersionRange<V> union = asUnion(range);
+		if (union == null)
+			throw new IllegalArgumentException("Unsupported VersionRange implementation: " + range.getClass());
+		return union.intervals;
+	}
+
+	/**
+	 * @return <code>true</code> if this {@link UnionVersionRange} contains no
+	 *         intervals, and so won't match any {@link Version}s,
+	 *         <code>false</code> if it does
+	 */
+	public boolean isEmpty() {
+		return intervals.length == 0;
+	}
+
+	/**
+	 * Computes the union of this {@link UnionVersionRange} and the specified
+	 * one, in <code>O(n log n)</code> time.
+	 * 
+	 * @param other
+	 *            the interval-based {@link VersionRange} (see
+	 *            {@link #asUnion(VersionRange)}) to combine with this one
+	 * @return a new {@link UnionVersionRange} that matches any {@link Version}
+	 *         matched by either this {@link UnionVersionRange} or the
+	 *         specified one
+	 */
+	public UnionVersionRange<V> union(VersionRange<V> other) {
+		NormalizedInterval<V>[] otherIntervals = toIntervals(other);
+		List<NormalizedInterval<V>> combined = new ArrayList<NormalizedInterval<V>>(
+				intervals.length + otherIntervals.length);
+		combined.addAll(Arrays.asList(intervals));
+		combined.addAll(Arrays.asList(otherIntervals));
+		return new UnionVersionRange<V>(normalize(combined));
+	}
+
+	/**
+	 * Computes the intersection of this {@link UnionVersionRange} and the
+	 * specified one, in <code>O(n)</code> time.
+	 * 
+	 * @param other
+	 *            the interval-based {@link VersionRange} (see
+	 *            {@link #asUnion(VersionRange)}) to intersect with this one
+	 * @return a new {@link UnionVersionRange} that matches only those
+	 *         {@link Version}s matched by both this {@link UnionVersionRange}
+	 *         and the specified one
+	 */
+	public UnionVersionRange<V> intersect(VersionRange<V> other) {
+		NormalizedInterval<V>[] otherIntervals = toIntervals(other);
+		List<NormalizedInterval<V>> intersections = new ArrayList<NormalizedInterval<V>>();
+
+		/*
+		 * Sweep over both sorted lists at once, intersecting each pair of
+		 * intervals that might overlap, and then moving past whichever of the
+		 * pair ends first.
+		 */
+		int i = 0;
+		int j = 0;
+		while (i < intervals.length && j < otherIntervals.length) {
+			NormalizedInterval<V> a = intervals[i];
+			NormalizedInterval<V> b = otherIntervals[j];
+
+			boolean aLowerIsHigher = NormalizedInterval.compareLowerBounds(a.getLower(), a.isLowerInclusive(),
+					b.getLower(), b.isLowerInclusive()) >= 0;
+			boolean aUpperIsLower = NormalizedInterval.compareUpperBounds(a.getUpper(), a.isUpperInclusive(),
+					b.getUpper(), b.isUpperInclusive()) <= 0;
+			NormalizedInterval<V> intersection = new NormalizedInterval<V>(
+					aLowerIsHigher ? a.getLower() : b.getLower(),
+					aLowerIsHigher ? a.isLowerInclusive() : b.isLowerInclusive(),
+					aUpperIsLower ? a.getUpper() : b.getUpper(),
+					aUpperIsLower ? a.isUpperInclusive() : b.isUpperInclusive());
+			if (!intersection.isEmpty())
+				intersections.add(intersection);
+
+			if (aUpperIsLower)
+				i++;
+			else
+				j++;
+		}
+
+		return new UnionVersionRange<V>(intersections.toArray(UnionVersionRange.<V> newIntervalArray(intersections
+				.size())));
+	}
+
+	/**
+	 * Computes the complement of this {@link UnionVersionRange}, in
+	 * <code>O(n)</code> time.
+	 * 
+	 * @return a new {@link UnionVersionRange} that matches exactly those
+	 *         {@link Version}s not matched by this {@link UnionVersionRange}
+	 */
+	public UnionVersionRange<V> complement() {
+		List<NormalizedInterval<V>> gaps = new ArrayList<NormalizedInterval<V>>(intervals.length + 1);
+
+		// Each gap runs from the end of one interval to the start of the next.
+		V gapLower = null;
+		boolean gapLowerInclusive = false;
+		for (NormalizedInterval<V> interval : intervals) {
+			// (Only the first interval can be unbounded below.)
+			if (interval.getLower() != null)
+				gaps.add(new NormalizedInterval<V>(gapLower, gapLowerInclusive, interval.getLower(),
+						!interval.isLowerInclusive()));
+			gapLower = interval.getUpper();
+			gapLowerInclusive = !interval.isUpperInclusive();
+		}
+		if (intervals.length == 0 || gapLower != null)
+			gaps.add(new NormalizedInterval<V>(gapLower, gapLowerInclusive, null, false));
+
+		return new UnionVersionRange<V>(gaps.toArray(UnionVersionRange.<V> newIntervalArray(gaps.size())));
+	}
+
+	/**
+	 * Determines whether or not every {@link Version} matched by the specified
+	 * {@link VersionRange} is also matched by this one, in
+	 * <code>O(m log n)</code> time.
+	 * 
+	 * @param other
+	 *            the interval-based {@link VersionRange} (see
+	 *            {@link #asUnion(VersionRange)}) to check
+	 * @return <code>true</code> if the specified {@link VersionRange} is a
+	 *         subset of this {@link UnionVersionRange}, <code>false</code> if
+	 *         it is not
+	 */
+	public boolean contains(VersionRange<V> other) {
+		/*
+		 * As the intervals in both ranges are disjoint and non-adjacent, each
+		 * of the other range's intervals must fit entirely within just one of
+		 * this range's intervals: the last one that starts before it does.
+		 */
+		for (NormalizedInterval<V> otherInterval : toIntervals(other)) {
+			int low = 0;
+			int high = intervals.length - 1;
+			int candidate = -1;
+			while (low <= high) {
+				int middle = (low + high) >>> 1;
+				if (NormalizedInterval.compareLowerBounds(intervals[middle].getLower(),
+						intervals[middle].isLowerInclusive(), otherInterval.getLower(),
+						otherInterval.isLowerInclusive()) <= 0) {
+					candidate = middle;
+					low = middle + 1;
+				} else {
+					high = middle - 1;
+				}
+			}
+
+			if (candidate < 0)
+				return false;
+			if (NormalizedInterval.compareUpperBounds(otherInterval.getUpper(), otherInterval.isUpperInclusive(),
+					intervals[candidate].getUpper(), intervals[candidate].isUpperInclusive()) > 0)
+				return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * @return the number of (normalized) intervals in this
+	 *         {@link UnionVersionRange}
+	 */
+	public int getIntervalCount() {
+		return intervals.length;
+	}
+
+	/**
+	 * @param index
+	 *            the index of the (normalized) interval to get the bound of,
+	 *            where intervals are ordered from lowest to highest
+	 * @return the lower bound {@link Version} of the specified interval, or
+	 *         <code>null</code> if it is unbounded below
+	 */
+	public V getVersionLower(int index) {
+		return intervals[index].getLower();
+	}
+
+	/**
+	 * @param index
+	 *            the index of the (normalized) interval to check, where
+	 *            intervals are ordered from lowest to highest
+	 * @return <code>true</code> if {@link #getVersionLower(int)} is included in
+	 *         the specified interval, <code>false</code> if it's excluded or
+	 *         <code>null</code>
+	 */
+	public boolean isLowerInclusive(int index) {
+		return intervals[index].isLowerInclusive();
+	}
+
+	/**
+	 * @param index
+	 *            the index of the (normalized) interval to get the bound of,
+	 *            where intervals are ordered from lowest to highest
+	 * @return the upper bound {@link Version} of the specified interval, or
+	 *         <code>null</code> if it is unbounded above
+	 */
+	public V getVersionUpper(int index) {
+		return intervals[index].getUpper();
+	}
+
+	/**
+	 * @param index
+	 *            the index of the (normalized) interval to check, where
+	 *            intervals are ordered from lowest to highest
+	 * @return <code>true</code> if {@link #getVersionUpper(int)} is included in
+	 *         the specified interval, <code>false</code> if it's excluded or
+	 *         <code>null</code>
+	 */
+	public boolean isUpperInclusive(int index) {
+		return intervals[index].isUpperInclusive();
+	}
+
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		if (rangeString != null)
+			return rangeString;
+
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < intervals.length; i++) {
+			if (i > 0)
+				builder.append(',');
+			intervals[i].appendTo(builder);
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		/*
+		 * This method was generated by Eclipse's 'Source > Generate hashCode()
+		 * and equals()...' feature.
+		 */
+
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + Arrays.hashCode(intervals);
+		return result;
+	}
+
+	/**
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		/*
+		 * This method was generated by Eclipse's 'Source > Generate hashCode()
+		 * and equals()...' feature.
+		 */
+
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		UnionVersionRange<?> other = (UnionVersionRange<?>) obj;
+		if (!Arrays.equals(intervals, other.intervals))
+			return false;
+		return true;
+	}
+
+	/**
+	 * @see com.justdavis.jessentials.jversionsanity.range.VersionRange#matches(com.justdavis.jessentials.jversionsanity.Version)
+	 */
+	@Override
+	public boolean matches(V version) {
+		if (version == null)
+			throw new IllegalArgumentException();
+
+		/*
+		 * Find the last interval whose lower bound the version satisfies. As the
+		 * intervals are sorted and disjoint, that's the only one that could
+		 * possibly contain it.
+		 */
+		int low = 0;
+		int high = intervals.length - 1;
+		int candidate = -1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			if (intervals[middle].isAboveLower(version)) {
+				candidate = middle;
+				low = middle + 1;
+			} else {
+				high = middle - 1;
+			}
+		}
+
+		return candidate >= 0 && intervals[candidate].isBelowUpper(version);
+	}
+}
@@ -0,0 +1,298 @@
+package com.justdavis.jessentials.jversionsanity.range.interval;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.justdavis.jessentials.jversionsanity.Version;
+import com.justdavis.jessentials.jversionsanity.VersionParser;
+import com.justdavis.jessentials.jversionsanity.range.VersionRangeParseException;
+
+/**
+ * <p>
+ * A thread-safe, size-bounded cache of parsed {@link IntervalVersionRange}s,
+ * keyed by {@link VersionParser} type and range {@link String}. This is safe
+ * because {@link IntervalVersionRange}s are immutable: the same instance can be
+ * handed out to every caller that asks for the same range {@link String}.
+ * </p>
+ * <p>
+ * Some notes on how this cache functions:
+ * </p>
+ * <ul>
+ * <li>Lookups are lock-free: a cache hit is just two
+ * {@link ConcurrentHashMap#get(Object)} calls and (at most) one volatile write,
+ * and doesn't allocate anything. Only cache misses take a lock, and only after
+ * the range has been parsed.</li>
+ * <li>Eviction uses the <a href=
+ * "https://en.wikipedia.org/wiki/Page_replacement_algorithm#Clock">CLOCK</a>
+ * algorithm, which approximates LRU: each hit marks its entry as recently
+ * used, and when the cache is full the "clock hand" sweeps over the entries,
+ * giving each marked entry a second chance and evicting the first unmarked
+ * one.</li>
+ * <li>The size bound may be briefly exceeded by the number of threads that are
+ * concurrently inserting new entries.</li>
+ * <li>Range {@link String}s that can't be parsed are not cached: every attempt
+ * to get them will throw a new {@link VersionRangeParseException}.</li>
+ * <li>All {@link VersionParser}s of the same type are assumed to be
+ * interchangeable, which is true of all the parsers included in this library.
+ * </li>
+ * </ul>
+ */
+public final class VersionRangeCache {
+	/**
+	 * The maximum size used by {@link #VersionRangeCache()}.
+	 */
+	public static final int DEFAULT_MAXIMUM_SIZE = 10000;
+
+	private final int maximumSize;
+
+	/**
+	 * The cached entries, keyed first by {@link VersionParser} type, and then
+	 * by range {@link String}. Splitting the key like this means that lookups
+	 * don't need to allocate a composite key object.
+	 */
+	private final ConcurrentMap<Class<?>, ConcurrentMap<String, CacheEntry>> entries;
+
+	/**
+	 * Guards {@link #clock}, {@link #clockSize}, and {@link #clockHand}.
+	 */
+	private final Object evictionLock;
+
+	/**
+	 * The ring of all cached entries, which the CLOCK eviction algorithm sweeps
+	 * over.
+	 */
+	private final CacheEntry[] clock;
+
+	/**
+	 * The number of entries in {@link #clock}, which will only be less than
+	 * {@link #maximumSize} until the cache fills up.
+	 */
+	private int clockSize;
+
+	/**
+	 * The index in {@link #clock} of the next eviction candidate.
+	 */
+	private int clockHand;
+
+	private final LongAdder hitCount;
+	private final LongAdder missCount;
+	private final LongAdder evictionCount;
+
+	/**
+	 * Constructs a new {@link VersionRangeCache}.
+	 * 
+	 * @param maximumSize
+	 *            the maximum number of {@link IntervalVersionRange}s to cache
+	 *            (across all {@link VersionParser} types)
+	 */
+	public VersionRangeCache(int maximumSize) {
+		if (maximumSize < 1)
+			throw new IllegalArgumentException("The maximum size must be positive.");
+
+		this.maximumSize = maximumSize;
+		this.entries = new ConcurrentHashMap<Class<?>, ConcurrentMap<String, CacheEntry>>();
+		this.evictionLock = new Object();
+		this.clock = new CacheEntry[maximumSize];
+		this.clockSize = 0;
+		this.clockHand = 0;
+		this.hitCount = new LongAdder();
+		this.missCount = new LongAdder();
+		this.evictionCount = new LongAdder();
+	}
+
+	/**
+	 * Constructs a new {@link VersionRangeCache} with a maximum size of
+	 * {@link #DEFAULT_MAXIMUM_SIZE}.
+	 */
+	public VersionRangeCache() {
+		this(DEFAULT_MAXIMUM_SIZE);
+	}
+
+	/**
+	 * Returns the cached {@link IntervalVersionRange} for the specified range
+	 * {@link String}, parsing and caching it first if it's not already present.
+	 * The result will be equivalent to calling
+	 * {@link IntervalVersionRange#IntervalVersionRange(VersionParser, String)}.
+	 * 
+	 * @param versionParser
+	 *            the {@link VersionParser} that should be used to parse the
+	 *            {@link Version}s represented in the {@link String}
+	 * @param rangeString
+	 *            a {@link String} representation of a
+	 *            {@link IntervalVersionRange}
+	 * @return the (possibly shared) {@link IntervalVersionRange} represented
+	 *         by the specified {@link String}
+	 * @throws VersionRangeParseException
+	 *             A {@link VersionRangeParseException} will be thrown if the
+	 *             specified {@link String} cannot be parsed.
+	 */
+	public <V extends Version> IntervalVersionRange<V> get(VersionParser<V> versionParser, String rangeString)
+			throws VersionRangeParseException {
+		if (versionParser == null)
+			throw new IllegalArgumentException();
+		if (rangeString == null)
+			throw new IllegalArgumentException("Null range strings not supported.");
+
+		ConcurrentMap<String, CacheEntry> parserEntries = entries.get(versionParser.getClass());
+		CacheEntry entry = parserEntries != null ? parserEntries.get(rangeString) : null;
+		if (entry != null) {
+			hitCount.increment();
+			// Avoid the (contended) write if the entry is already marked.
+			if (!entry.recentlyUsed)
+				entry.recentlyUsed = true;
+			return cast(entry.range);
+		}
+
+		missCount.increment();
+		IntervalVersionRange<V> range = new IntervalVersionRange<V>(versionParser, rangeString);
+
+		if (parserEntries == null)
+			parserEntries = entries.computeIfAbsent(versionParser.getClass(),
+					k -> new ConcurrentHashMap<String, CacheEntry>());
+		CacheEntry newEntry = new CacheEntry(parserEntries, rangeString, range);
+		CacheEntry existingEntry = parserEntries.putIfAbsent(rangeString, newEntry);
+		if (existingEntry != null) {
+			// Another thread beat us to it; use its copy.
+			return cast(existingEntry.range);
+		}
+
+		addToClock(newEntry);
+		return range;
+	}
+
+	/**
+	 * Adds the specified (newly-cached) {@link CacheEntry} to {@link #clock},
+	 * evicting another entry if the cache is full.
+	 * 
+	 * @param newEntry
+	 *            the {@link CacheEntry} to add
+	 */
+	private void addToClock(CacheEntry newEntry) {
+		synchronized (evictionLock) {
+			if (clockSize < maximumSize) {
+				clock[clockSize++] = newEntry;
+				return;
+			}
+
+			// Sweep until we find an entry that hasn't been used recently.
+			while (clock[clockHand].recentlyUsed) {
+				clock[clockHand].recentlyUsed = false;
+				clockHand = (clockHand + 1) % maximumSize;
+			}
+
+			CacheEntry victim = clock[clockHand];
+			victim.parserEntries.remove(victim.rangeString, victim);
+			evictionCount.increment();
+
+			clock[clockHand] = newEntry;
+			clockHand = (clockHand + 1) % maximumSize;
+		}
+	}
+
+	/**
+	 * Removes all entries from this {@link VersionRangeCache}. Does not reset
+	 * the hit, miss, or eviction counts.
+	 */
+	public void clear() {
+		synchronized (evictionLock) {
+			for (int i = 0; i < clockSize; i++) {
+				clock[i].parserEntries.remove(clock[i].rangeString, clock[i]);
+				clock[i] = null;
+			}
+			clockSize = 0;
+			clockHand = 0;
+		}
+	}
+
+	/**
+	 * @return the maximum number of {@link IntervalVersionRange}s that this
+	 *         {@link VersionRangeCache} will hold
+	 */
+	public int getMaximumSize() {
+		return maximumSize;
+	}
+
+	/**
+	 * @return the (approximate, if other threads are modifying this
+	 *         {@link VersionRangeCache}) number of entries currently cached
+	 */
+	public int size() {
+		synchronized (evictionLock) {
+			return clockSize;
+		}
+	}
+
+	/**
+	 * @return the number of calls to {@link #get(VersionParser, String)} that
+	 *         found their range already cached
+	 */
+	public long getHitCount() {
+		return hitCount.sum();
+	}
+
+	/**
+	 * @return the number of calls to {@link #get(VersionParser, String)} that
+	 *         had to parse their range, including those that failed
+	 */
+	public long getMissCount() {
+		return missCount.sum();
+	}
+
+	/**
+	 * @return the number of entries that have been evicted to make room for
+	 *         newer ones
+	 */
+	public long getEvictionCount() {
+		return evictionCount.sum();
+	}
+
+	/**
+	 * @param range
+	 *            the {@link IntervalVersionRange} to cast
+	 * @return the specified {@link IntervalVersionRange}, cast to the
+	 *         {@link Version} type produced by the {@link VersionParser} type
+	 *         that it was cached under
+	 */
+	@SuppressWarnings("unchecked")
+	private static <V extends Version> IntervalVersionRange<V> cast(IntervalVersionRange<?> range) {
+		return (IntervalVersionRange<V>) range;
+	}
+
+	/**
+	 * Each {@link CacheEntry} instance represents a single cached
+	 * {@link IntervalVersionRange}.
+	 */
+	private static final class CacheEntry {
+		private final ConcurrentMap<String, CacheEntry> parserEntries;
+		private final String rangeString;
+		private final IntervalVersionRange<?> range;
+
+		/**
+		 * The CLOCK algorithm's "reference bit": set whenever this entry is
+		 * returned from the cache, and cleared when the clock hand sweeps past
+		 * it.
+		 */
+		private volatile boolean recentlyUsed;
+
+		/**
+		 * Constructs a new {@link CacheEntry}.
+		 * 
+		 * @param parserEntries
+		 *            the map in {@link VersionRangeCache#entries} that this
+		 *            {@link CacheEntry} is stored in
+		 * @param rangeString
+		 *            the range {@link String} that this {@link CacheEntry} is
+		 *            keyed by
+		 * @param range
+		 *            the {@link IntervalVersionRange} being cached
+		 */
+		public CacheEntry(ConcurrentMap<String, CacheEntry> parserEntries, String rangeString,
+				IntervalVersionRange<?> range) {
+			this.parserEntries = parserEntries;
+			this.rangeString = rangeString;
+			this.range = range;
+			this.recentlyUsed = false;
+		}
+	}
+}
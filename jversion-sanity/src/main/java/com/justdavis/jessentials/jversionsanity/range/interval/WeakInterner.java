@@ -0,0 +1,191 @@
+package com.justdavis.jessentials.jversionsanity.range.interval;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>
+ * A thread-safe pool of canonical instances, similar to
+ * {@link String#intern()}: {@link #intern(Object)} returns the same instance
+ * for every {@link Object#equals(Object)} argument, so that callers can compare
+ * the results by reference.
+ * </p>
+ * <p>
+ * The pool only holds weak references to its instances, so it doesn't keep
+ * them alive once nothing else refers to them. Cleared entries are purged as
+ * part of each {@link #intern(Object)} call.
+ * </p>
+ * 
+ * @param <T>
+ *            the type of instances being interned, which must be immutable
+ *            (at least as far as {@link Object#equals(Object)} and
+ *            {@link Object#hashCode()} are concerned)
+ */
+final class WeakInterner<T> {
+	/**
+	 * The pooled entries, where each {@link WeakEntry} maps to itself. Lookups
+	 * use a {@link LookupKey}, which is {@link Object#equals(Object)} to the
+	 * {@link WeakEntry} for an equal instance.
+	 */
+	private final ConcurrentMap<Object, WeakEntry<T>> entries;
+
+	/**
+	 * Receives the {@link WeakEntry}s whose instances have been garbage
+	 * collected, so they can be removed from {@link #entries}.
+	 */
+	private final ReferenceQueue<T> clearedEntries;
+
+	/**
+	 * Constructs a new, empty {@link WeakInterner}.
+	 */
+	WeakInterner() {
+		this.entries = new ConcurrentHashMap<Object, WeakEntry<T>>();
+		this.clearedEntries = new ReferenceQueue<T>();
+	}
+
+	/**
+	 * @param instance
+	 *            the instance to intern
+	 * @return the pooled instance that is {@link Object#equals(Object)} to the
+	 *         specified one, which will be the specified instance itself if no
+	 *         such instance was already pooled
+	 */
+	T intern(T instance) {
+		if (instance == null)
+			throw new IllegalArgumentException();
+
+		purgeClearedEntries();
+
+		LookupKey lookupKey = new LookupKey(instance);
+		while (true) {
+			WeakEntry<T> existingEntry = entries.get(lookupKey);
+			if (existingEntry == null) {
+				WeakEntry<T> newEntry = new WeakEntry<T>(instance, lookupKey.hashCode, clearedEntries);
+				existingEntry = entries.putIfAbsent(newEntry, newEntry);
+				if (existingEntry == null)
+					return instance;
+			}
+
+			T existing = existingEntry.get();
+			if (existing != null)
+				return existing;
+
+			// The pooled instance was just collected: replace its entry.
+			entries.remove(existingEntry, existingEntry);
+		}
+	}
+
+	/**
+	 * @return the number of entries in the pool, which may include some whose
+	 *         instances have been garbage collected but not yet purged
+	 */
+	int size() {
+		purgeClearedEntries();
+		return entries.size();
+	}
+
+	/**
+	 * Removes the entries in {@link #clearedEntries} from {@link #entries}.
+	 */
+	private void purgeClearedEntries() {
+		Reference<? extends T> clearedEntry;
+		while ((clearedEntry = clearedEntries.poll()) != null)
+			entries.remove(clearedEntry, clearedEntry);
+	}
+
+	/**
+	 * A pooled instance. Once its instance has been collected, a
+	 * {@link WeakEntry} is only equal to itself.
+	 * 
+	 * @param <T>
+	 *            the type of instance being pooled
+	 */
+	private static final class WeakEntry<T> extends WeakReference<T> {
+		private final int hashCode;
+
+		/**
+		 * Constructs a new {@link WeakEntry}.
+		 * 
+		 * @param instance
+		 *            the instance being pooled
+		 * @param hashCode
+		 *            the {@link Object#hashCode()} of the instance
+		 * @param queue
+		 *            the {@link ReferenceQueue} to register with
+		 */
+		WeakEntry(T instance, int hashCode, ReferenceQueue<T> queue) {
+			super(instance, queue);
+			this.hashCode = hashCode;
+		}
+
+		/**
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		/**
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (obj instanceof LookupKey)
+				return obj.equals(this);
+			if (!(obj instanceof WeakEntry))
+				return false;
+			WeakEntry<?> other = (WeakEntry<?>) obj;
+			if (hashCode != other.hashCode)
+				return false;
+			Object instance = get();
+			return instance != null && instance.equals(other.get());
+		}
+	}
+
+	/**
+	 * A (strongly-referenced) key for looking up the {@link WeakEntry} of an
+	 * instance, without having to create a {@link WeakReference} first.
+	 */
+	private static final class LookupKey {
+		private final Object instance;
+		private final int hashCode;
+
+		/**
+		 * Constructs a new {@link LookupKey}.
+		 * 
+		 * @param instance
+		 *            the instance to look up
+		 */
+		LookupKey(Object instance) {
+			this.instance = instance;
+			this.hashCode = instance.hashCode();
+		}
+
+		/**
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		/**
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof WeakEntry))
+				return false;
+			WeakEntry<?> other = (WeakEntry<?>) obj;
+			return hashCode == other.hashCode && instance.equals(other.get());
+		}
+	}
+}
@@ -0,0 +1,630 @@
+package com.justdavis.jessentials.jversionsanity.semver;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+import com.justdavis.jessentials.jversionsanity.OrderedKeyVersion;
+import com.justdavis.jessentials.jversionsanity.Version;
+import com.justdavis.jessentials.jversionsanity.VersionParseException;
+
+/**
+ * <p>
+ * This {@link Version} implementation can be used to represent
+ * <a href="http://semver.org/spec/v2.0.0.html">Semantic Versioning 2.0.0</a>
+ * versions, e.g. "<code>1.4.2</code>", "<code>2.0.0-rc.1</code>", or "
+ * <code>1.0.0-beta+exp.sha.5114f85</code>".
+ * </p>
+ * <p>
+ * The <code>major.minor.patch</code> core of each {@link SemanticVersion} is
+ * packed into a single <code>long</code> sort key (21 bits per component) when
+ * it's created, so {@link #compareTo(Version)} is a single <code>long</code>
+ * comparison whenever neither version has a pre-release tag. Pre-release tags
+ * are kept as-is and their identifiers are only examined when two versions with
+ * the same core need to be compared. Versions with a component too large to
+ * pack (i.e. greater than {@value #MAX_PACKED_COMPONENT}) still work correctly;
+ * they're just compared component by component.
+ * </p>
+ * <h3>Equivalency</h3>
+ * <p>
+ * Two {@link SemanticVersion}s are considered equivalent if they have the same
+ * precedence, per the specification. This equivalency intentionally ignores
+ * build metadata, just as {@link #compareTo(Version)} does.
+ * </p>
+ * <h3>Sort Keys</h3>
+ * <p>
+ * The {@link OrderedKeyVersion} sort key for a {@link SemanticVersion} is its
+ * major, minor, and patch numbers, as four byte big-endian integers, followed
+ * by either <code>0x02</code> (if there's no pre-release tag) or
+ * <code>0x01</code> and the pre-release identifiers. Each numeric identifier
+ * is encoded as <code>0x01</code>, its length as a four byte big-endian
+ * integer, and then its digits; each alphanumeric identifier is encoded as
+ * <code>0x02</code>, its characters, and then <code>0x00</code>. The
+ * identifiers are followed by <code>0x00</code>. Build metadata is ignored.
+ * </p>
+ */
+public final class SemanticVersion implements OrderedKeyVersion {
+	/**
+	 * The number of bits used for each component in {@link #sortKey}.
+	 */
+	private static final int PACKED_COMPONENT_BITS = 21;
+
+	/**
+	 * The highest component value that can be packed into {@link #sortKey}.
+	 */
+	static final int MAX_PACKED_COMPONENT = (1 << PACKED_COMPONENT_BITS) - 1;
+
+	/**
+	 * The value of {@link #sortKey} for {@link SemanticVersion}s that have a
+	 * component greater than {@link #MAX_PACKED_COMPONENT}.
+	 */
+	private static final long UNPACKED = -1L;
+
+	private final int major;
+	private final int minor;
+	private final int patch;
+
+	/**
+	 * The pre-release tag (without its leading '<code>-</code>'), or
+	 * <code>null</code> if this {@link SemanticVersion} doesn't have one.
+	 */
+	private final String preRelease;
+
+	/**
+	 * The build metadata (without its leading '<code>+</code>'), or
+	 * <code>null</code> if this {@link SemanticVersion} doesn't have any.
+	 */
+	private final String buildMetadata;
+
+	/**
+	 * The {@link #major}, {@link #minor}, and {@link #patch} components, packed
+	 * into a single value that sorts in the same order, or {@link #UNPACKED}
+	 * if they don't all fit.
+	 */
+	private final long sortKey;
+
+	/**
+	 * Parses a {@link SemanticVersion} from the specified {@link String}
+	 * representation.
+	 * 
+	 * @param versionString
+	 *            a {@link String} representation of a {@link SemanticVersion},
+	 *            e.g. as produced by {@link #toString()}
+	 * @throws VersionParseException
+	 *             A {@link VersionParseException} will be thrown if the
+	 *             specified {@link String} cannot be parsed.
+	 */
+	public SemanticVersion(String versionString) {
+		this(requireNonNull(versionString), 0, versionString.length());
+	}
+
+	/**
+	 * Parses a {@link SemanticVersion} from the specified slice of a
+	 * {@link CharSequence}, without copying it (other than for the pre-release
+	 * tag and build metadata, if present).
+	 * 
+	 * @param text
+	 *            the {@link CharSequence} containing the version
+	 * @param start
+	 *            the index of the first character of the version
+	 * @param end
+	 *            the index after the last character of the version
+	 * @throws VersionParseException
+	 *             A {@link VersionParseException} will be thrown if the
+	 *             specified slice cannot be parsed.
+	 */
+	SemanticVersion(CharSequence text, int start, int end) {
+		int minorStart = indexOf(text, '.', start, end) + 1;
+		int patchStart = minorStart == 0 ? 0 : indexOf(text, '.', minorStart, end) + 1;
+		if (patchStart == 0)
+			throw parseError(text, start, end);
+
+		int coreEnd = patchStart;
+		while (coreEnd < end && text.charAt(coreEnd) != '-' && text.charAt(coreEnd) != '+')
+			coreEnd++;
+		int buildStart = indexOf(text, '+', coreEnd, end) + 1;
+		int preReleaseEnd = buildStart == 0 ? end : buildStart - 1;
+
+		this.major = parseNumericIdentifier(text, start, minorStart - 1);
+		this.minor = parseNumericIdentifier(text, minorStart, patchStart - 1);
+		this.patch = parseNumericIdentifier(text, patchStart, coreEnd);
+		if (major < 0 || minor < 0 || patch < 0)
+			throw parseError(text, start, end);
+
+		if (coreEnd < end && text.charAt(coreEnd) == '-') {
+			if (!isValidIdentifiers(text, coreEnd + 1, preReleaseEnd, true))
+				throw parseError(text, start, end);
+			this.preRelease = text.subSequence(coreEnd + 1, preReleaseEnd).toString();
+		} else {
+			this.preRelease = null;
+		}
+
+		if (buildStart > 0) {
+			if (!isValidIdentifiers(text, buildStart, end, false))
+				throw parseError(text, start, end);
+			this.buildMetadata = text.subSequence(buildStart, end).toString();
+		} else {
+			this.buildMetadata = null;
+		}
+
+		this.sortKey = pack(major, minor, patch);
+	}
+
+	/**
+	 * Constructs a new {@link SemanticVersion} with no pre-release tag or build
+	 * metadata.
+	 * 
+	 * @param major
+	 *            the (non-negative) major version number
+	 * @param minor
+	 *            the (non-negative) minor version number
+	 * @param patch
+	 *            the (non-negative) patch version number
+	 */
+	public SemanticVersion(int major, int minor, int patch) {
+		if (major < 0 || minor < 0 || patch < 0)
+			throw new IllegalArgumentException("Negative version numbers not supported.");
+
+		this.major = major;
+		this.minor = minor;
+		this.patch = patch;
+		this.preRelease = null;
+		this.buildMetadata = null;
+		this.sortKey = pack(major, minor, patch);
+	}
+
+	/**
+	 * @param versionString
+	 *            the {@link String} to check
+	 * @return the specified {@link String}
+	 */
+	private static String requireNonNull(String versionString) {
+		if (versionString == null)
+			throw new IllegalArgumentException("Null version strings not supported.");
+		return versionString;
+	}
+
+	/**
+	 * @param text
+	 *            the {@link CharSequence} to search
+	 * @param c
+	 *            the character to search for
+	 * @param start
+	 *            the index to start searching at
+	 * @param end
+	 *            the index to stop searching before
+	 * @return the index of the first occurrence of the specified character in
+	 *         the specified slice, or <code>-1</code> if there is none
+	 */
+	private static int indexOf(CharSequence text, char c, int start, int end) {
+		for (int i = start; i < end; i++)
+			if (text.charAt(i) == c)
+				return i;
+		return -1;
+	}
+
+	/**
+	 * @param text
+	 *            the {@link CharSequence} containing the identifier
+	 * @param start
+	 *            the index of the first character of the identifier
+	 * @param end
+	 *            the index after the last character of the identifier
+	 * @return the value of the specified numeric identifier, or <code>-1</code>
+	 *         if it is empty, has leading zeroes or non-digit characters, or is
+	 *         larger than {@link Integer#MAX_VALUE}
+	 */
+	private static int parseNumericIdentifier(CharSequence text, int start, int end) {
+		if (start >= end || (text.charAt(start) == '0' && end - start > 1))
+			return -1;
+
+		long value = 0;
+		for (int i = start; i < end; i++) {
+			char digit = text.charAt(i);
+			if (digit < '0' || digit > '9')
+				return -1;
+			value = value * 10 + (digit - '0');
+			if (value > Integer.MAX_VALUE)
+				return -1;
+		}
+		return (int) value;
+	}
+
+	/**
+	 * @param text
+	 *            the {@link CharSequence} containing the identifiers
+	 * @param start
+	 *            the index of the first character of the identifiers
+	 * @param end
+	 *            the index after the last character of the identifiers
+	 * @param preRelease
+	 *            <code>true</code> if the identifiers are a pre-release tag, in
+	 *            which numeric identifiers may not have leading zeroes, or
+	 *            <code>false</code> if they're build metadata
+	 * @return <code>true</code> if the specified slice is a non-empty,
+	 *         '<code>.</code>'-separated list of non-empty identifiers made up
+	 *         of only <code>[0-9A-Za-z-]</code>, <code>false</code> if not
+	 */
+	private static boolean isValidIdentifiers(CharSequence text, int start, int end, boolean preRelease) {
+		int identifierStart = start;
+		boolean numeric = true;
+		for (int i = start; i <= end; i++) {
+			char c = i < end ? text.charAt(i) : '.';
+			if (c == '.') {
+				if (i == identifierStart)
+					return false;
+				if (preRelease && numeric && text.charAt(identifierStart) == '0' && i - identifierStart > 1)
+					return false;
+				identifierStart = i + 1;
+				numeric = true;
+			} else if (c >= '0' && c <= '9') {
+				// Valid, and doesn't change whether or not it's numeric.
+			} else if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || c == '-') {
+				numeric = false;
+			} else {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @param text
+	 *            the {@link CharSequence} containing the version that couldn't
+	 *            be parsed
+	 * @param start
+	 *            the index of the first character of the version
+	 * @param end
+	 *            the index after the last character of the version
+	 * @return a new {@link VersionParseException} for the specified version
+	 */
+	private static VersionParseException parseError(CharSequence text, int start, int end) {
+		return new VersionParseException(text.subSequence(start, end).toString(), SemanticVersion.class);
+	}
+
+	/**
+	 * @param major
+	 *            the major version number
+	 * @param minor
+	 *            the minor version number
+	 * @param patch
+	 *            the patch version number
+	 * @return the specified components packed into a sort key, or
+	 *         {@link #UNPACKED} if they don't all fit
+	 */
+	private static long pack(int major, int minor, int patch) {
+		if (major > MAX_PACKED_COMPONENT || minor > MAX_PACKED_COMPONENT || patch > MAX_PACKED_COMPONENT)
+			return UNPACKED;
+		return ((long) major << (2 * PACKED_COMPONENT_BITS)) | ((long) minor << PACKED_COMPONENT_BITS) | patch;
+	}
+
+	/**
+	 * @return the major version number
+	 */
+	public int getMajor() {
+		return major;
+	}
+
+	/**
+	 * @return the minor version number
+	 */
+	public int getMinor() {
+		return minor;
+	}
+
+	/**
+	 * @return the patch version number
+	 */
+	public int getPatch() {
+		return patch;
+	}
+
+	/**
+	 * @return the pre-release tag (without its leading '<code>-</code>'), or
+	 *         <code>null</code> if this {@link SemanticVersion} doesn't have
+	 *         one
+	 */
+	public String getPreRelease() {
+		return preRelease;
+	}
+
+	/**
+	 * @return the build metadata (without its leading '<code>+</code>'), or
+	 *         <code>null</code> if this {@link SemanticVersion} doesn't have
+	 *         any
+	 */
+	public String getBuildMetadata() {
+		return buildMetadata;
+	}
+
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		StringBuilder versionString = new StringBuilder();
+		versionString.append(major).append('.').append(minor).append('.').append(patch);
+		if (preRelease != null)
+			versionString.append('-').append(preRelease);
+		if (buildMetadata != null)
+			versionString.append('+').append(buildMetadata);
+		return versionString.toString();
+	}
+
+	/**
+	 * @see com.justdavis.jessentials.jversionsanity.OrderedKeyVersion#getSortKeyLength()
+	 */
+	@Override
+	public int getSortKeyLength() {
+		int length = 3 * Integer.BYTES + 1;
+		if (preRelease != null) {
+			int identifierStart = 0;
+			while (identifierStart <= preRelease.length()) {
+				int identifierEnd = preRelease.indexOf('.', identifierStart);
+				if (identifierEnd < 0)
+					identifierEnd = preRelease.length();
+				int identifierLength = identifierEnd - identifierStart;
+				if (isNumeric(preRelease, identifierStart, identifierEnd))
+					length += 1 + Integer.BYTES + identifierLength;
+				else
+					length += 1 + identifierLength + 1;
+				identifierStart = identifierEnd + 1;
+			}
+			length += 1;
+		}
+		return length;
+	}
+
+	/**
+	 * @see com.justdavis.jessentials.jversionsanity.OrderedKeyVersion#writeSortKey(java.nio.ByteBuffer)
+	 */
+	@Override
+	public void writeSortKey(ByteBuffer buffer) {
+		if (buffer.remaining() < getSortKeyLength())
+			throw new BufferOverflowException();
+
+		putInt(buffer, major);
+		putInt(buffer, minor);
+		putInt(buffer, patch);
+		if (preRelease == null) {
+			// Releases have higher precedence than any pre-release.
+			buffer.put((byte) 0x02);
+			return;
+		}
+
+		buffer.put((byte) 0x01);
+		int identifierStart = 0;
+		while (identifierStart <= preRelease.length()) {
+			int identifierEnd = preRelease.indexOf('.', identifierStart);
+			if (identifierEnd < 0)
+				identifierEnd = preRelease.length();
+			if (isNumeric(preRelease, identifierStart, identifierEnd)) {
+				/*
+				 * Numeric identifiers can't have leading zeroes, so ordering
+				 * them by length and then digits orders them numerically.
+				 */
+				buffer.put((byte) 0x01);
+				putInt(buffer, identifierEnd - identifierStart);
+				for (int i = identifierStart; i < identifierEnd; i++)
+					buffer.put((byte) preRelease.charAt(i));
+			} else {
+				buffer.put((byte) 0x02);
+				for (int i = identifierStart; i < identifierEnd; i++)
+					buffer.put((byte) preRelease.charAt(i));
+				buffer.put((byte) 0x00);
+			}
+			identifierStart = identifierEnd + 1;
+		}
+		// Fewer identifiers have lower precedence, so this sorts first.
+		buffer.put((byte) 0x00);
+	}
+
+	/**
+	 * Writes the specified value to the specified {@link ByteBuffer} as a big
+	 * endian integer, regardless of the {@link ByteBuffer}'s byte order.
+	 * 
+	 * @param buffer
+	 *            the {@link ByteBuffer} to write to
+	 * @param value
+	 *            the (non-negative) value to write
+	 */
+	private static void putInt(ByteBuffer buffer, int value) {
+		buffer.put((byte) (value >>> 24));
+		buffer.put((byte) (value >>> 16));
+		buffer.put((byte) (value >>> 8));
+		buffer.put((byte) value);
+	}
+
+	/**
+	 * @see com.justdavis.jessentials.jversionsanity.Version#compareTo(com.justdavis.jessentials.jversionsanity.Version)
+	 */
+	@Override
+	public int compareTo(Version otherVersion) {
+		if (otherVersion == null)
+			throw new IllegalArgumentException();
+		if (!(otherVersion instanceof SemanticVersion))
+			throw new ClassCastException(String.format(
+					"The version '%s'" + " of type '%s' does not match this Version" + " implementation type of '%s'.",
+					otherVersion, otherVersion.getClass(), this.getClass()));
+
+		SemanticVersion otherSemanticVersion = (SemanticVersion) otherVersion;
+		int coreComparison;
+		if (sortKey != UNPACKED && otherSemanticVersion.sortKey != UNPACKED)
+			coreComparison = Long.compare(sortKey, otherSemanticVersion.sortKey);
+		else
+			coreComparison = compareCores(this, otherSemanticVersion);
+		if (coreComparison != 0)
+			return coreComparison;
+
+		// A version without a pre-release tag has higher precedence.
+		if (preRelease == null)
+			return otherSemanticVersion.preRelease == null ? 0 : 1;
+		if (otherSemanticVersion.preRelease == null)
+			return -1;
+		return comparePreReleases(preRelease, otherSemanticVersion.preRelease);
+	}
+
+	/**
+	 * @param a
+	 *            the first {@link SemanticVersion} to compare
+	 * @param b
+	 *            the second {@link SemanticVersion} to compare
+	 * @return the result of comparing the <code>major.minor.patch</code> cores
+	 *         of the specified {@link SemanticVersion}s, one component at a
+	 *         time
+	 */
+	private static int compareCores(SemanticVersion a, SemanticVersion b) {
+		int comparison = Integer.compare(a.major, b.major);
+		if (comparison != 0)
+			return comparison;
+		comparison = Integer.compare(a.minor, b.minor);
+		if (comparison != 0)
+			return comparison;
+		return Integer.compare(a.patch, b.patch);
+	}
+
+	/**
+	 * Compares two pre-release tags, per the precedence rules in the
+	 * specification, walking their identifiers in place rather than splitting
+	 * them up.
+	 * 
+	 * @param a
+	 *            the first pre-release tag to compare
+	 * @param b
+	 *            the second pre-release tag to compare
+	 * @return a negative number, zero, or a positive number as the first tag
+	 *         has lower, the same, or higher precedence than the second
+	 */
+	static int comparePreReleases(String a, String b) {
+		int aStart = 0;
+		int bStart = 0;
+		while (aStart <= a.length() && bStart <= b.length()) {
+			int aEnd = a.indexOf('.', aStart);
+			if (aEnd < 0)
+				aEnd = a.length();
+			int bEnd = b.indexOf('.', bStart);
+			if (bEnd < 0)
+				bEnd = b.length();
+
+			int comparison = compareIdentifiers(a, aStart, aEnd, b, bStart, bEnd);
+			if (comparison != 0)
+				return comparison;
+
+			aStart = aEnd + 1;
+			bStart = bEnd + 1;
+		}
+
+		// Whichever tag has identifiers left over has higher precedence.
+		return Integer.compare(a.length() - aStart, b.length() - bStart);
+	}
+
+	/**
+	 * @param a
+	 *            the {@link String} containing the first identifier
+	 * @param aStart
+	 *            the index of the first character of the first identifier
+	 * @param aEnd
+	 *            the index after the last character of the first identifier
+	 * @param b
+	 *            the {@link String} containing the second identifier
+	 * @param bStart
+	 *            the index of the first character of the second identifier
+	 * @param bEnd
+	 *            the index after the last character of the second identifier
+	 * @return the result of comparing the two pre-release identifiers: numeric
+	 *         identifiers are compared numerically, and have lower precedence
+	 *         than alphanumeric ones, which are compared lexically
+	 */
+	private static int compareIdentifiers(String a, int aStart, int aEnd, String b, int bStart, int bEnd) {
+		boolean aNumeric = isNumeric(a, aStart, aEnd);
+		boolean bNumeric = isNumeric(b, bStart, bEnd);
+		if (aNumeric != bNumeric)
+			return aNumeric ? -1 : 1;
+
+		/*
+		 * Numeric identifiers can't have leading zeroes, so the longer one is
+		 * always larger, and if they're the same length then they compare the
+		 * same as they would lexically.
+		 */
+		if (aNumeric && aEnd - aStart != bEnd - bStart)
+			return Integer.compare(aEnd - aStart, bEnd - bStart);
+
+		int aLength = aEnd - aStart;
+		int bLength = bEnd - bStart;
+		for (int i = 0; i < aLength && i < bLength; i++) {
+			char aChar = a.charAt(aStart + i);
+			char bChar = b.charAt(bStart + i);
+			if (aChar != bChar)
+				return aChar - bChar;
+		}
+		return Integer.compare(aLength, bLength);
+	}
+
+	/**
+	 * @param text
+	 *            the {@link String} containing the identifier
+	 * @param start
+	 *            the index of the first character of the identifier
+	 * @param end
+	 *            the index after the last character of the identifier
+	 * @return <code>true</code> if the specified identifier is all digits,
+	 *         <code>false</code> if not
+	 */
+	private static boolean isNumeric(String text, int start, int end) {
+		for (int i = start; i < end; i++) {
+			char c = text.charAt(i);
+			if (c < '0' || c > '9')
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		/*
+		 * This method was generated by Eclipse's 'Source > Generate hashCode()
+		 * and equals()...' feature.
+		 */
+
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + major;
+		result = prime * result + minor;
+		result = prime * result + patch;
+		result = prime * result + ((preRelease == null) ? 0 : preRelease.hashCode());
+		return result;
+	}
+
+	/**
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		/*
+		 * This method was generated by Eclipse's 'Source > Generate hashCode()
+		 * and equals()...' feature.
+		 */
+
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		SemanticVersion other = (SemanticVersion) obj;
+		if (major != other.major)
+			return false;
+		if (minor != other.minor)
+			return false;
+		if (patch != other.patch)
+			return false;
+		if (preRelease == null) {
+			if (other.preRelease != null)
+				return false;
+		} else if (!preRelease.equals(other.preRelease))
+			return false;
+		return true;
+	}
+}
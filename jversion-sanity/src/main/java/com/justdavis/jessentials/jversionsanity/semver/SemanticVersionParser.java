@@ -0,0 +1,29 @@
+package com.justdavis.jessentials.jversionsanity.semver;
+
+import com.justdavis.jessentials.jversionsanity.VersionParseException;
+import com.justdavis.jessentials.jversionsanity.VersionParser;
+
+/**
+ * The {@link VersionParser} for {@link SemanticVersion}s.
+ */
+public final class SemanticVersionParser implements VersionParser<SemanticVersion> {
+	/**
+	 * @see com.justdavis.jessentials.jversionsanity.VersionParser#parseVersion(java.lang.String)
+	 */
+	@Override
+	public SemanticVersion parseVersion(String versionString) throws VersionParseException {
+		return new SemanticVersion(versionString);
+	}
+
+	/**
+	 * Parses the slice in place, so only the pre-release tag and build
+	 * metadata (if any) are copied into new {@link String}s.
+	 * 
+	 * @see com.justdavis.jessentials.jversionsanity.VersionParser#parseVersion(java.lang.CharSequence,
+	 *      int, int)
+	 */
+	@Override
+	public SemanticVersion parseVersion(CharSequence text, int start, int end) throws VersionParseException {
+		return new SemanticVersion(text, start, end);
+	}
+}
@@ -0,0 +1,7 @@
+/**
+ * Classes in this package provide support for
+ * {@link com.justdavis.jessentials.jversionsanity.semver.SemanticVersion}: the
+ * <a href="http://semver.org/spec/v2.0.0.html">Semantic Versioning 2.0.0</a>
+ * scheme, e.g. "<code>1.4.2</code>" or "<code>2.0.0-rc.1+build.5</code>".
+ */
+package com.justdavis.jessentials.jversionsanity.semver;
\ No newline at end of file
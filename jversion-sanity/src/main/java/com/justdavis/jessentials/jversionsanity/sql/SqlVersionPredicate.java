@@ -0,0 +1,105 @@
+package com.justdavis.jessentials.jversionsanity.sql;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * <p>
+ * A parameterized SQL boolean expression, suitable for use in a
+ * <code>WHERE</code> clause, along with the values of its <code>?</code>
+ * parameters, as produced by {@link VersionRangeSqlTranslator}. For example:
+ * </p>
+ * 
+ * <pre>
+ * SqlVersionPredicate predicate = translator.translate(range);
+ * PreparedStatement statement = connection
+ * 		.prepareStatement("SELECT version FROM artifact_versions WHERE artifact_id = ? AND " + predicate.getSql());
+ * statement.setLong(1, artifactId);
+ * predicate.bind(statement, 2);
+ * </pre>
+ * <p>
+ * The parameters are all sort keys (see
+ * {@link com.justdavis.jessentials.jversionsanity.OrderedKeyVersion}), and so
+ * are bound via {@link PreparedStatement#setBytes(int, byte[])}. Instances are
+ * immutable.
+ * </p>
+ */
+public final class SqlVersionPredicate {
+	private final String sql;
+	private final byte[][] parameters;
+
+	/**
+	 * Constructs a new {@link SqlVersionPredicate}.
+	 * 
+	 * @param sql
+	 *            the value to use for {@link #getSql()}
+	 * @param parameters
+	 *            the parameter values, in the order that their <code>?</code>
+	 *            placeholders appear in the SQL
+	 */
+	SqlVersionPredicate(String sql, List<byte[]> parameters) {
+		this.sql = sql;
+		this.parameters = parameters.toArray(new byte[parameters.size()][]);
+	}
+
+	/**
+	 * @return the SQL boolean expression, which will be wrapped in parentheses
+	 *         if it contains any <code>AND</code>s or <code>OR</code>s, and so
+	 *         can safely be combined with other conditions
+	 */
+	public String getSql() {
+		return sql;
+	}
+
+	/**
+	 * @return the number of <code>?</code> parameters in {@link #getSql()}
+	 */
+	public int getParameterCount() {
+		return parameters.length;
+	}
+
+	/**
+	 * @param index
+	 *            the (0-based) index of the parameter to get
+	 * @return a copy of the value of the specified parameter
+	 */
+	public byte[] getParameter(int index) {
+		return parameters[index].clone();
+	}
+
+	/**
+	 * Binds this {@link SqlVersionPredicate}'s parameters to the specified
+	 * {@link PreparedStatement}.
+	 * 
+	 * @param statement
+	 *            the {@link PreparedStatement} whose SQL includes
+	 *            {@link #getSql()}
+	 * @param firstParameterIndex
+	 *            the (1-based) index in the {@link PreparedStatement} of this
+	 *            {@link SqlVersionPredicate}'s first parameter
+	 * @return the (1-based) index in the {@link PreparedStatement} of the
+	 *         parameter after this {@link SqlVersionPredicate}'s last one
+	 * @throws SQLException
+	 *             Any {@link SQLException}s thrown by the
+	 *             {@link PreparedStatement} will be passed through.
+	 */
+	public int bind(PreparedStatement statement, int firstParameterIndex) throws SQLException {
+		if (statement == null)
+			throw new IllegalArgumentException();
+		if (firstParameterIndex < 1)
+			throw new IllegalArgumentException();
+
+		for (int i = 0; i < parameters.length; i++)
+			statement.setBytes(firstParameterIndex + i, parameters[i]);
+		return firstParameterIndex + parameters.length;
+	}
+
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return sql;
+	}
+}
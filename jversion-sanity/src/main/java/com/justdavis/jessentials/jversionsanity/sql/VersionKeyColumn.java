@@ -0,0 +1,268 @@
+package com.justdavis.jessentials.jversionsanity.sql;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.justdavis.jessentials.jversionsanity.OrderedKeyVersion;
+import com.justdavis.jessentials.jversionsanity.ParseResult;
+import com.justdavis.jessentials.jversionsanity.VersionParser;
+import com.justdavis.jessentials.jversionsanity.range.VersionRange;
+
+/**
+ * <p>
+ * Maintains an indexed column of version sort keys (see
+ * {@link OrderedKeyVersion#toSortKey()}) alongside an existing column of
+ * version {@link String}s in a database table, so that the rows can be
+ * filtered by {@link VersionRange}s inside the database, via the
+ * {@link SqlVersionPredicate}s from {@link #translate(VersionRange)}.
+ * </p>
+ * <p>
+ * This works with any JDBC {@link Connection}, e.g. one from a
+ * {@link javax.sql.DataSource} created by
+ * <code>DataSourceConnectorsManager</code> for an HSQLDB or PostgreSQL
+ * database. The sort keys are stored as <code>BYTEA</code> values in
+ * PostgreSQL, and as <code>VARBINARY</code> values everywhere else. None of
+ * the methods here commit or roll back the {@link Connection}'s transactions:
+ * that's left to the caller.
+ * </p>
+ * <p>
+ * Instances are immutable, and so are safe to share between threads (as long
+ * as their {@link VersionParser} is).
+ * </p>
+ * 
+ * @param <V>
+ *            the {@link OrderedKeyVersion} implementation stored in the table
+ */
+public final class VersionKeyColumn<V extends OrderedKeyVersion> {
+	/**
+	 * The maximum length (in bytes) of the sort keys that can be stored in a
+	 * <code>VARBINARY</code> key column.
+	 */
+	static final int MAX_VARBINARY_KEY_LENGTH = 1024;
+
+	/**
+	 * The maximum number of updates that {@link #update(Connection)} sends to
+	 * the database in a single batch.
+	 */
+	static final int UPDATE_BATCH_SIZE = 500;
+
+	private final String table;
+	private final String versionColumn;
+	private final String keyColumn;
+	private final VersionParser<V> versionParser;
+	private final VersionRangeSqlTranslator<V> translator;
+
+	/**
+	 * Constructs a new {@link VersionKeyColumn}.
+	 * 
+	 * @param table
+	 *            the name of the table, which may be qualified by a schema
+	 *            name
+	 * @param versionColumn
+	 *            the name of the existing column in the table that holds the
+	 *            version {@link String}s
+	 * @param keyColumn
+	 *            the name of the column in the table that holds (or will hold)
+	 *            the version sort keys
+	 * @param versionParser
+	 *            the {@link VersionParser} to parse the version {@link String}s
+	 *            with
+	 */
+	public VersionKeyColumn(String table, String versionColumn, String keyColumn, VersionParser<V> versionParser) {
+		if (table == null || !VersionRangeSqlTranslator.IDENTIFIER.matcher(table).matches())
+			throw new IllegalArgumentException("Unsupported table name: " + table);
+		if (versionColumn == null || versionColumn.indexOf('.') >= 0
+				|| !VersionRangeSqlTranslator.IDENTIFIER.matcher(versionColumn).matches())
+			throw new IllegalArgumentException("Unsupported column name: " + versionColumn);
+		if (keyColumn == null || keyColumn.indexOf('.') >= 0
+				|| !VersionRangeSqlTranslator.IDENTIFIER.matcher(keyColumn).matches())
+			throw new IllegalArgumentException("Unsupported column name: " + keyColumn);
+		if (versionParser == null)
+			throw new IllegalArgumentException();
+
+		this.table = table;
+		this.versionColumn = versionColumn;
+		this.keyColumn = keyColumn;
+		this.versionParser = versionParser;
+		this.translator = new VersionRangeSqlTranslator<V>(keyColumn);
+	}
+
+	/**
+	 * @param connection
+	 *            the {@link Connection} to the database that will hold the
+	 *            key column
+	 * @return the SQL type to use for the key column in the specified database
+	 * @throws SQLException
+	 *             Any {@link SQLException}s thrown by the {@link Connection}
+	 *             will be passed through.
+	 */
+	static String getKeyColumnType(Connection connection) throws SQLException {
+		if (isPostgreSql(connection))
+			return "BYTEA";
+		return "VARBINARY(" + MAX_VARBINARY_KEY_LENGTH + ")";
+	}
+
+	/**
+	 * @param connection
+	 *            the {@link Connection} to the database that holds the key
+	 *            column
+	 * @return the maximum length (in bytes) of the sort keys that can be
+	 *         stored in the key column
+	 * @throws SQLException
+	 *             Any {@link SQLException}s thrown by the {@link Connection}
+	 *             will be passed through.
+	 */
+	static int getMaxKeyLength(Connection connection) throws SQLException {
+		return isPostgreSql(connection) ? Integer.MAX_VALUE : MAX_VARBINARY_KEY_LENGTH;
+	}
+
+	/**
+	 * @param connection
+	 *            the {@link Connection} to check
+	 * @return <code>true</code> if the specified {@link Connection} is to a
+	 *         PostgreSQL database, <code>false</code> if it is not
+	 * @throws SQLException
+	 *             Any {@link SQLException}s thrown by the {@link Connection}
+	 *             will be passed through.
+	 */
+	private static boolean isPostgreSql(Connection connection) throws SQLException {
+		return "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+	}
+
+	/**
+	 * @return the name of the index that {@link #create(Connection)} creates
+	 *         on the key column
+	 */
+	String getIndexName() {
+		// Index names can't be schema-qualified in PostgreSQL.
+		return table.substring(table.indexOf('.') + 1) + "_" + keyColumn + "_idx";
+	}
+
+	/**
+	 * Adds the (initially empty) key column to the table, and creates an index
+	 * on it. Call {@link #update(Connection)} afterwards to populate it.
+	 * 
+	 * @param connection
+	 *            the {@link Connection} to the database with the table
+	 * @throws SQLException
+	 *             Any {@link SQLException}s thrown by the {@link Connection}
+	 *             will be passed through, e.g. if the column already exists.
+	 */
+	public void create(Connection connection) throws SQLException {
+		if (connection == null)
+			throw new IllegalArgumentException();
+
+		try (Statement statement = connection.createStatement()) {
+			statement.executeUpdate(
+					"ALTER TABLE " + table + " ADD COLUMN " + keyColumn + " " + getKeyColumnType(connection));
+			statement.executeUpdate("CREATE INDEX " + getIndexName() + " ON " + table + " (" + keyColumn + ")");
+		}
+	}
+
+	/**
+	 * Populates the key column of every row in the table that has a version
+	 * {@link String} but no sort key yet, e.g. those added since the last
+	 * call. Rows whose version {@link String}s can't be parsed, or whose sort
+	 * keys are too long for the key column (see
+	 * {@link VersionKeyUpdateResult#getOversizedVersions()}), are left without
+	 * a sort key, and so won't match any {@link SqlVersionPredicate}. The
+	 * updates are sent to the database in batches of
+	 * {@link #UPDATE_BATCH_SIZE}.
+	 * 
+	 * @param connection
+	 *            the {@link Connection} to the database with the table
+	 * @return a {@link VersionKeyUpdateResult} with the number of rows that
+	 *         were updated, and the versions that had to be skipped
+	 * @throws SQLException
+	 *             Any {@link SQLException}s thrown by the {@link Connection}
+	 *             will be passed through.
+	 */
+	public VersionKeyUpdateResult update(Connection connection) throws SQLException {
+		if (connection == null)
+			throw new IllegalArgumentException();
+
+		/*
+		 * Collect all of the distinct versions first, as not every driver
+		 * allows updates to a table while a query on it is still open.
+		 */
+		List<String> versionStrings = new ArrayList<String>();
+		try (Statement statement = connection.createStatement();
+				ResultSet results = statement.executeQuery("SELECT DISTINCT " + versionColumn + " FROM " + table
+						+ " WHERE " + keyColumn + " IS NULL AND " + versionColumn + " IS NOT NULL")) {
+			while (results.next())
+				versionStrings.add(results.getString(1));
+		}
+
+		int maxKeyLength = getMaxKeyLength(connection);
+		List<String> oversizedVersions = new ArrayList<String>();
+		int updatedRows = 0;
+		try (PreparedStatement statement = connection.prepareStatement("UPDATE " + table + " SET " + keyColumn
+				+ " = ? WHERE " + versionColumn + " = ? AND " + keyColumn + " IS NULL")) {
+			int batchSize = 0;
+			for (String versionString : versionStrings) {
+				ParseResult<V> version = versionParser.tryParseVersion(versionString);
+				if (!version.isSuccess())
+					continue;
+				// Skip these, rather than failing the whole batch on them.
+				if (version.getValue().getSortKeyLength() > maxKeyLength) {
+					oversizedVersions.add(versionString);
+					continue;
+				}
+
+				statement.setBytes(1, version.getValue().toSortKey());
+				statement.setString(2, versionString);
+				statement.addBatch();
+				batchSize++;
+
+				if (batchSize == UPDATE_BATCH_SIZE) {
+					updatedRows += executeBatch(statement);
+					batchSize = 0;
+				}
+			}
+
+			if (batchSize > 0)
+				updatedRows += executeBatch(statement);
+		}
+		return new VersionKeyUpdateResult(updatedRows, oversizedVersions);
+	}
+
+	/**
+	 * @param statement
+	 *            the {@link PreparedStatement} with the batch to execute
+	 * @return the total number of rows updated by the batch (not counting any
+	 *         statements whose update count the driver couldn't report)
+	 * @throws SQLException
+	 *             Any {@link SQLException}s thrown by the
+	 *             {@link PreparedStatement} will be passed through.
+	 */
+	private static int executeBatch(PreparedStatement statement) throws SQLException {
+		int updatedRows = 0;
+		for (int updateCount : statement.executeBatch())
+			if (updateCount > 0)
+				updatedRows += updateCount;
+		return updatedRows;
+	}
+
+	/**
+	 * @param range
+	 *            the interval-based {@link VersionRange} to translate
+	 * @return a {@link SqlVersionPredicate} over this key column, as produced
+	 *         by {@link VersionRangeSqlTranslator#translate(VersionRange)}
+	 */
+	public SqlVersionPredicate translate(VersionRange<V> range) {
+		return translator.translate(range);
+	}
+
+	/**
+	 * @return the {@link VersionRangeSqlTranslator} for this
+	 *         {@link VersionKeyColumn}
+	 */
+	public VersionRangeSqlTranslator<V> getTranslator() {
+		return translator;
+	}
+}
@@ -0,0 +1,58 @@
+package com.justdavis.jessentials.jversionsanity.sql;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The outcome of a {@link VersionKeyColumn#update(java.sql.Connection)} call:
+ * how many rows were given sort keys, and which version {@link String}s had
+ * to be skipped, as their sort keys were too long to store.
+ */
+public final class VersionKeyUpdateResult {
+	private final int updatedRowCount;
+	private final List<String> oversizedVersions;
+
+	/**
+	 * Constructs a new {@link VersionKeyUpdateResult}.
+	 * 
+	 * @param updatedRowCount
+	 *            the value to use for {@link #getUpdatedRowCount()}
+	 * @param oversizedVersions
+	 *            the value to use for {@link #getOversizedVersions()}
+	 */
+	VersionKeyUpdateResult(int updatedRowCount, List<String> oversizedVersions) {
+		if (updatedRowCount < 0)
+			throw new IllegalArgumentException();
+		if (oversizedVersions == null)
+			throw new IllegalArgumentException();
+
+		this.updatedRowCount = updatedRowCount;
+		this.oversizedVersions = Collections.unmodifiableList(oversizedVersions);
+	}
+
+	/**
+	 * @return the number of rows whose key column was populated
+	 */
+	public int getUpdatedRowCount() {
+		return updatedRowCount;
+	}
+
+	/**
+	 * @return the distinct version {@link String}s that were parsed
+	 *         successfully, but whose sort keys were longer than the key
+	 *         column can hold, and so were left without a sort key (an empty
+	 *         {@link List} if there weren't any)
+	 */
+	public List<String> getOversizedVersions() {
+		return oversizedVersions;
+	}
+
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "VersionKeyUpdateResult [updatedRowCount=" + updatedRowCount + ", oversizedVersions="
+				+ oversizedVersions + "]";
+	}
+}
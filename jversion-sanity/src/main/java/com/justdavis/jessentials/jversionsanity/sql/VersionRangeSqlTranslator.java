@@ -0,0 +1,121 @@
+package com.justdavis.jessentials.jversionsanity.sql;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import com.justdavis.jessentials.jversionsanity.OrderedKeyVersion;
+import com.justdavis.jessentials.jversionsanity.range.VersionRange;
+import com.justdavis.jessentials.jversionsanity.range.interval.UnionVersionRange;
+
+/**
+ * <p>
+ * Translates interval-based {@link VersionRange}s (see
+ * {@link UnionVersionRange#asUnion(VersionRange)}) into
+ * {@link SqlVersionPredicate}s over a column of version sort keys (see
+ * {@link OrderedKeyVersion#toSortKey()}), e.g. one maintained by
+ * {@link VersionKeyColumn}. As sort keys compare in the same order as the
+ * {@link OrderedKeyVersion}s they were encoded from, each interval becomes a
+ * simple range condition on that column, which the database can answer with
+ * an index scan.
+ * </p>
+ * <p>
+ * This relies on the database comparing binary values as unsigned bytes, with
+ * a value that's a prefix of another being "less" than it, which is the case
+ * for both PostgreSQL's <code>BYTEA</code> and HSQLDB's <code>VARBINARY</code>
+ * types. Rows with a <code>NULL</code> sort key will never match.
+ * </p>
+ * <p>
+ * Instances are immutable, and so are safe to share between threads.
+ * </p>
+ * 
+ * @param <V>
+ *            the {@link OrderedKeyVersion} implementation stored in the column
+ */
+public final class VersionRangeSqlTranslator<V extends OrderedKeyVersion> {
+	/**
+	 * Matches the (unquoted, and optionally qualified) table and column names
+	 * accepted by this package, which keeps them from being used to inject
+	 * arbitrary SQL.
+	 */
+	static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*(\\.[A-Za-z_][A-Za-z0-9_]*)?");
+
+	private final String keyColumn;
+
+	/**
+	 * Constructs a new {@link VersionRangeSqlTranslator}.
+	 * 
+	 * @param keyColumn
+	 *            the name of the column holding the sort keys, which may be
+	 *            qualified by a table name or alias, e.g.
+	 *            "<code>v.version_key</code>"
+	 */
+	public VersionRangeSqlTranslator(String keyColumn) {
+		if (keyColumn == null)
+			throw new IllegalArgumentException();
+		if (!IDENTIFIER.matcher(keyColumn).matches())
+			throw new IllegalArgumentException("Unsupported column name: " + keyColumn);
+
+		this.keyColumn = keyColumn;
+	}
+
+	/**
+	 * @return the name of the column holding the sort keys
+	 */
+	public String getKeyColumn() {
+		return keyColumn;
+	}
+
+	/**
+	 * @param range
+	 *            the interval-based {@link VersionRange} (see
+	 *            {@link UnionVersionRange#asUnion(VersionRange)}) to translate
+	 * @return a {@link SqlVersionPredicate} that matches exactly those rows
+	 *         whose sort key is that of an {@link OrderedKeyVersion} matched by
+	 *         the specified {@link VersionRange}
+	 */
+	public SqlVersionPredicate translate(VersionRange<V> range) {
+		if (range == null)
+			throw new IllegalArgumentException();
+		UnionVersionRange<V> union = UnionVersionRange.asUnion(range);
+		if (union == null)
+			throw new IllegalArgumentException("Unsupported VersionRange implementation: " + range.getClass());
+
+		if (union.isEmpty())
+			return new SqlVersionPredicate("1 = 0", Collections.<byte[]> emptyList());
+
+		StringBuilder sql = new StringBuilder();
+		List<byte[]> parameters = new ArrayList<byte[]>(2 * union.getIntervalCount());
+		for (int i = 0; i < union.getIntervalCount(); i++) {
+			if (i > 0)
+				sql.append(" OR ");
+
+			V lower = union.getVersionLower(i);
+			V upper = union.getVersionUpper(i);
+			if (lower == null && upper == null) {
+				// (Only possible if this is the only interval.)
+				sql.append(keyColumn).append(" IS NOT NULL");
+			} else if (lower != null && upper != null && lower.compareTo(upper) == 0) {
+				// (A normalized single-version interval is always inclusive.)
+				sql.append(keyColumn).append(" = ?");
+				parameters.add(lower.toSortKey());
+			} else if (lower != null && upper != null) {
+				sql.append('(').append(keyColumn).append(union.isLowerInclusive(i) ? " >= ?" : " > ?");
+				sql.append(" AND ").append(keyColumn).append(union.isUpperInclusive(i) ? " <= ?" : " < ?").append(')');
+				parameters.add(lower.toSortKey());
+				parameters.add(upper.toSortKey());
+			} else if (lower != null) {
+				sql.append(keyColumn).append(union.isLowerInclusive(i) ? " >= ?" : " > ?");
+				parameters.add(lower.toSortKey());
+			} else {
+				sql.append(keyColumn).append(union.isUpperInclusive(i) ? " <= ?" : " < ?");
+				parameters.add(upper.toSortKey());
+			}
+		}
+		if (union.getIntervalCount() > 1)
+			sql.insert(0, '(').append(')');
+
+		return new SqlVersionPredicate(sql.toString(), parameters);
+	}
+}
@@ -0,0 +1,10 @@
+/**
+ * Contains support for storing
+ * {@link com.justdavis.jessentials.jversionsanity.OrderedKeyVersion}s in SQL
+ * databases, and for filtering them by
+ * {@link com.justdavis.jessentials.jversionsanity.range.VersionRange}s inside
+ * the database, rather than by loading every row and calling
+ * {@link com.justdavis.jessentials.jversionsanity.range.VersionRange#matches(com.justdavis.jessentials.jversionsanity.Version)}
+ * on it.
+ */
+package com.justdavis.jessentials.jversionsanity.sql;
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.justdavis.jessentials.jversionsanity;
 
+import java.nio.ByteBuffer;
+
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -61,6 +63,14 @@ public abstract class AbstractVersionTest<V extends Version> {
 	 */
 	protected abstract V getSample2();
 
+	/**
+	 * @return the {@link String} representations of several distinct
+	 *         {@link Version}s, in strictly ascending order, which should
+	 *         cover the edge cases of the {@link Version} implementation's
+	 *         ordering rules
+	 */
+	protected abstract String[] getOrderedVersionStrings();
+
 	/**
 	 * @return the {@link Version} implementation being tested
 	 */
@@ -146,4 +156,58 @@ public abstract class AbstractVersionTest<V extends Version> {
 		Assert.assertTrue(sample1.compareTo(getSample2()) < 0);
 		Assert.assertTrue(sample2.compareTo(getSample1()) > 0);
 	}
+
+	/**
+	 * Ensures that, if the {@link Version} implementation is an
+	 * {@link OrderedKeyVersion}, its sort keys are ordered the same as
+	 * {@link Comparable#compareTo(Object)}, testing it against
+	 * {@link #getSample1()} and {@link #getSample2()}.
+	 */
+	@Test
+	public final void sortKeysWorkCorrectly() {
+		if (!(getSample1() instanceof OrderedKeyVersion))
+			return;
+
+		OrderedKeyVersion sample1 = (OrderedKeyVersion) getSample1();
+		OrderedKeyVersion sample2 = (OrderedKeyVersion) getSample2();
+
+		ByteBuffer buffer = ByteBuffer.allocate(sample1.getSortKeyLength() + 1);
+		buffer.position(1);
+		sample1.writeSortKey(buffer);
+		Assert.assertEquals(0, buffer.remaining());
+		buffer.position(1);
+		Assert.assertEquals(0, OrderedKeyVersion.compareSortKeys(buffer, ByteBuffer.wrap(sample1.toSortKey())));
+
+		Assert.assertArrayEquals(sample1.toSortKey(), ((OrderedKeyVersion) getSample1()).toSortKey());
+		Assert.assertTrue(OrderedKeyVersion.compareSortKeys(sample1.toSortKey(), sample2.toSortKey()) < 0);
+		Assert.assertTrue(OrderedKeyVersion.compareSortKeys(sample2.toSortKey(), sample1.toSortKey()) > 0);
+	}
+
+	/**
+	 * Ensures that the {@link Version} implementation orders the
+	 * {@link #getOrderedVersionStrings()} samples correctly, and that, if it's
+	 * an {@link OrderedKeyVersion}, its sort keys are ordered the same way, and
+	 * are exactly {@link OrderedKeyVersion#getSortKeyLength()} bytes long.
+	 */
+	@Test
+	public final void orderedSamplesWorkCorrectly() {
+		String[] ordered = getOrderedVersionStrings();
+		for (int i = 0; i < ordered.length; i++) {
+			V version = getParser().parseVersion(ordered[i]);
+			for (int j = 0; j < ordered.length; j++) {
+				V other = getParser().parseVersion(ordered[j]);
+				int expected = Integer.signum(Integer.compare(i, j));
+				String message = ordered[i] + " vs. " + ordered[j];
+				Assert.assertEquals(message, expected, Integer.signum(version.compareTo(other)));
+
+				if (version instanceof OrderedKeyVersion) {
+					OrderedKeyVersion keyVersion = (OrderedKeyVersion) version;
+					Assert.assertEquals(ordered[i], keyVersion.getSortKeyLength(), keyVersion.toSortKey().length);
+					int comparison = OrderedKeyVersion.compareSortKeys(keyVersion.toSortKey(),
+							((OrderedKeyVersion) other).toSortKey());
+					Assert.assertEquals(message, expected, Integer.signum(comparison));
+				}
+			}
+		}
+	}
 }
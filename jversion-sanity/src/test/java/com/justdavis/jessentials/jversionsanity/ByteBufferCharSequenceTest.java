@@ -0,0 +1,58 @@
+package com.justdavis.jessentials.jversionsanity;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ByteBufferCharSequence}.
+ */
+public final class ByteBufferCharSequenceTest {
+	/**
+	 * Verifies that {@link ByteBufferCharSequence} provides a view of the
+	 * bytes between the {@link ByteBuffer}'s position and limit, at the time it
+	 * was created.
+	 */
+	@Test
+	public void viewOfRemainingBytes() {
+		ByteBuffer buffer = ByteBuffer.wrap("xx[1,2.3)yy".getBytes(StandardCharsets.US_ASCII));
+		buffer.position(2);
+		buffer.limit(9);
+		ByteBufferCharSequence sequence = new ByteBufferCharSequence(buffer);
+		buffer.clear();
+
+		Assert.assertEquals(7, sequence.length());
+		Assert.assertEquals('[', sequence.charAt(0));
+		Assert.assertEquals(')', sequence.charAt(6));
+		Assert.assertEquals("[1,2.3)", sequence.toString());
+		Assert.assertEquals("2.3", sequence.subSequence(3, 6).toString());
+		Assert.assertEquals(".", sequence.subSequence(3, 6).subSequence(1, 2).toString());
+		Assert.assertEquals(0, sequence.subSequence(7, 7).length());
+	}
+
+	/**
+	 * Verifies that {@link ByteBufferCharSequence} maps non-ASCII bytes to the
+	 * Unicode replacement character, and rejects out-of-bounds indexes.
+	 */
+	@Test
+	public void nonAsciiAndBounds() {
+		ByteBufferCharSequence sequence = new ByteBufferCharSequence(
+				ByteBuffer.wrap("1\u00E9".getBytes(StandardCharsets.UTF_8)));
+		Assert.assertEquals("1\uFFFD\uFFFD", sequence.toString());
+
+		try {
+			sequence.charAt(3);
+			Assert.fail();
+		} catch (IndexOutOfBoundsException e) {
+			// Expected.
+		}
+		try {
+			sequence.subSequence(2, 4);
+			Assert.fail();
+		} catch (IndexOutOfBoundsException e) {
+			// Expected.
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package com.justdavis.jessentials.jversionsanity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersion;
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersionParser;
+import com.justdavis.jessentials.jversionsanity.range.interval.IntervalVersionRange;
+import com.justdavis.jessentials.jversionsanity.range.interval.UnionVersionRange;
+
+/**
+ * Contains the fixture helpers shared by the unit tests for the various
+ * version ranges and indexes, to eliminate some boilerplate. It's public only
+ * so that the tests in the sub-packages can reach it.
+ */
+public final class TestVersions {
+	/**
+	 * This class only has static methods, so it can't be instantiated.
+	 */
+	private TestVersions() {
+	}
+
+	/**
+	 * @param rangeString
+	 *            the {@link String} representation of an
+	 *            {@link IntervalVersionRange} to be parsed
+	 * @return a new instance of the {@link IntervalVersionRange} represented by
+	 *         the specified {@link String}
+	 */
+	public static IntervalVersionRange<IntegerVersion> parseIntervalRange(String rangeString) {
+		return parseIntervalRange(new IntegerVersionParser(), rangeString);
+	}
+
+	/**
+	 * @param <V>
+	 *            the {@link Version} implementation to parse
+	 * @param versionParser
+	 *            the {@link VersionParser} to use for the range's versions
+	 * @param rangeString
+	 *            the {@link String} representation of an
+	 *            {@link IntervalVersionRange} to be parsed
+	 * @return a new instance of the {@link IntervalVersionRange} represented by
+	 *         the specified {@link String}
+	 */
+	public static <V extends Version> IntervalVersionRange<V> parseIntervalRange(VersionParser<V> versionParser,
+			String rangeString) {
+		return new IntervalVersionRange<V>(versionParser, rangeString);
+	}
+
+	/**
+	 * @param rangeString
+	 *            the {@link String} representation of a
+	 *            {@link UnionVersionRange} to be parsed
+	 * @return a new instance of the {@link UnionVersionRange} represented by
+	 *         the specified {@link String}
+	 */
+	public static UnionVersionRange<IntegerVersion> parseUnionRange(String rangeString) {
+		return new UnionVersionRange<IntegerVersion>(new IntegerVersionParser(), rangeString);
+	}
+
+	/**
+	 * @param values
+	 *            the {@link IntegerVersion} values to create
+	 * @return new {@link IntegerVersion}s for the specified values, in the same
+	 *         order
+	 */
+	public static List<IntegerVersion> createVersions(int... values) {
+		List<IntegerVersion> versions = new ArrayList<IntegerVersion>();
+		for (int value : values)
+			versions.add(new IntegerVersion(value));
+		return versions;
+	}
+
+	/**
+	 * @param <V>
+	 *            the {@link Version} implementation to parse
+	 * @param versionParser
+	 *            the {@link VersionParser} to use
+	 * @param versionStrings
+	 *            the {@link String} representations of the {@link Version}s
+	 *            to parse
+	 * @return the parsed {@link Version}s, in the same order
+	 */
+	public static <V extends Version> List<V> createVersions(VersionParser<V> versionParser, String... versionStrings) {
+		List<V> versions = new ArrayList<V>();
+		for (String versionString : versionStrings)
+			versions.add(versionParser.parseVersion(versionString));
+		return versions;
+	}
+}
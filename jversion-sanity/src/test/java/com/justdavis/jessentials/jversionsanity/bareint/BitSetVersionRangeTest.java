@@ -0,0 +1,239 @@
+package com.justdavis.jessentials.jversionsanity.bareint;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.justdavis.jessentials.jversionsanity.TestVersions;
+import com.justdavis.jessentials.jversionsanity.range.VersionRange;
+import com.justdavis.jessentials.jversionsanity.range.interval.IntegerIntervalVersionRange;
+import com.justdavis.jessentials.jversionsanity.range.interval.UnionVersionRange;
+
+/**
+ * Unit tests for {@link BitSetVersionRange}.
+ */
+public final class BitSetVersionRangeTest {
+	/**
+	 * @param rangeString
+	 *            the {@link String} representation of a
+	 *            {@link UnionVersionRange} to be parsed
+	 * @return the {@link BitSetVersionRange} equivalent to the specified range
+	 */
+	private static BitSetVersionRange parseBitSetRange(String rangeString) {
+		return BitSetVersionRange.valueOf(TestVersions.parseUnionRange(rangeString));
+	}
+
+	/**
+	 * Tests {@link BitSetVersionRange#valueOf(VersionRange)},
+	 * {@link BitSetVersionRange#matches(IntegerVersion)}, and
+	 * {@link BitSetVersionRange#toString()}.
+	 */
+	@Test
+	public void valueOfIntervals() {
+		BitSetVersionRange range = parseBitSetRange("[,3],(4,6),[70],[100,200),(300,)");
+		Assert.assertEquals("[0,3],[5],[70],[100,199],[301,)", range.toString());
+		for (int value : new int[] { 0, 3, 5, 70, 100, 199, 301, 5000, Integer.MAX_VALUE })
+			Assert.assertTrue("" + value, range.matches(new IntegerVersion(value)));
+		for (int value : new int[] { 4, 6, 69, 71, 99, 200, 300 })
+			Assert.assertFalse("" + value, range.matches(new IntegerVersion(value)));
+
+		Assert.assertEquals("[2,4]", BitSetVersionRange.valueOf(new IntegerIntervalVersionRange("(1,5)")).toString());
+		Assert.assertTrue(parseBitSetRange("(2,3)").isEmpty());
+		Assert.assertEquals("", parseBitSetRange("(2,3),(7,8)").toString());
+		Assert.assertEquals("[2147483647]", parseBitSetRange("[2147483647]").toString());
+		Assert.assertTrue(parseBitSetRange("(2147483647,)").isEmpty());
+	}
+
+	/**
+	 * Tests {@link BitSetVersionRange#valueOf(VersionRange, int)}.
+	 */
+	@Test
+	public void valueOfAnyRange() {
+		VersionRange<IntegerVersion> evens = new VersionRange<IntegerVersion>() {
+			@Override
+			public boolean matches(IntegerVersion version) {
+				return version.getVersionValue() % 2 == 0;
+			}
+		};
+		BitSetVersionRange range = BitSetVersionRange.valueOf(evens, 200);
+		Assert.assertEquals(101, range.cardinality());
+		Assert.assertTrue(range.matchesInt(200));
+		Assert.assertFalse(range.matchesInt(201));
+		Assert.assertFalse(range.matchesInt(202));
+
+		Assert.assertEquals("[10,100]", BitSetVersionRange.valueOf(TestVersions.parseUnionRange("10"), 100).toString());
+		Assert.assertEquals(parseBitSetRange("[10,100]"),
+				BitSetVersionRange.valueOf(TestVersions.parseUnionRange("10"), 100));
+
+		try {
+			BitSetVersionRange.valueOf(evens);
+			Assert.fail();
+		} catch (IllegalArgumentException e) {
+			// Expected.
+		}
+	}
+
+	/**
+	 * Verifies that {@link BitSetVersionRange} only stores the chunks of its
+	 * bitmap that are actually needed, for ranges of sparse, high values.
+	 */
+	@Test
+	public void sparseHighValues() {
+		BitSetVersionRange range = parseBitSetRange("[1],[2000000000]");
+		Assert.assertEquals("[1],[2000000000]", range.toString());
+		Assert.assertEquals(2, range.cardinality());
+		Assert.assertEquals(4, range.getSegmentCount());
+		for (int value : new int[] { 1, 2000000000 })
+			Assert.assertTrue("" + value, range.matchesInt(value));
+		for (int value : new int[] { 0, 2, 4096, 1999999999, 2000000001, Integer.MAX_VALUE })
+			Assert.assertFalse("" + value, range.matchesInt(value));
+
+		BitSetVersionRange complement = range.complement();
+		Assert.assertEquals("[0],[2,1999999999],[2000000001,)", complement.toString());
+		Assert.assertEquals(1L + Integer.MAX_VALUE - 2, complement.cardinality());
+		Assert.assertEquals(range, complement.complement());
+		Assert.assertEquals("[1],[1000000000],[2000000000]",
+				range.union(parseBitSetRange("[1000000000]")).toString());
+		Assert.assertEquals("[2000000000]", range.intersect(parseBitSetRange("[1999999999,)")).toString());
+		Assert.assertEquals(range, BitSetVersionRange.valueOf(range, Integer.MAX_VALUE));
+
+		List<BitSetVersionRange> ranges = new ArrayList<BitSetVersionRange>();
+		for (int i = 0; i < 1000; i++)
+			ranges.add(parseBitSetRange("[" + (i * 2000000) + "]"));
+		BitSetVersionRange union = BitSetVersionRange.unionAll(ranges);
+		Assert.assertEquals(1000, union.cardinality());
+		Assert.assertTrue(union.matchesInt(1998000000));
+		Assert.assertFalse(union.matchesInt(1998000001));
+		Assert.assertTrue(BitSetVersionRange.intersectAll(ranges).isEmpty());
+	}
+
+	/**
+	 * Tests {@link BitSetVersionRange#cardinality()} and
+	 * {@link BitSetVersionRange#isEmpty()}.
+	 */
+	@Test
+	public void cardinality() {
+		Assert.assertEquals(4 + 1 + 100, parseBitSetRange("[,3],[5],[100,200)").cardinality());
+		Assert.assertEquals(1L + Integer.MAX_VALUE, parseBitSetRange("0").cardinality());
+		Assert.assertEquals(1L + Integer.MAX_VALUE - 64, parseBitSetRange("64").cardinality());
+		Assert.assertEquals(0, parseBitSetRange("64").complement().complement().complement().intersect(
+				parseBitSetRange("64")).cardinality());
+		Assert.assertFalse(parseBitSetRange("64").isEmpty());
+	}
+
+	/**
+	 * Verifies that equivalent {@link BitSetVersionRange}s are always
+	 * {@link BitSetVersionRange#equals(Object)}, no matter how they were
+	 * constructed.
+	 */
+	@Test
+	public void equalsIsCanonical() {
+		Assert.assertEquals(parseBitSetRange("64"), parseBitSetRange("[,63]").complement());
+		Assert.assertEquals(parseBitSetRange("64").hashCode(), parseBitSetRange("[,63]").complement().hashCode());
+		Assert.assertEquals(parseBitSetRange("0"), parseBitSetRange("[0,2147483647]"));
+		Assert.assertEquals(parseBitSetRange("[5,500]"),
+				parseBitSetRange("[5,10),[300,)").union(parseBitSetRange("[10,400]")).intersect(
+						parseBitSetRange("[,500]")));
+		Assert.assertEquals(parseBitSetRange("(2,3)"), parseBitSetRange("[4]").intersect(parseBitSetRange("[5]")));
+		Assert.assertNotEquals(parseBitSetRange("[4]"), parseBitSetRange("[5]"));
+	}
+
+	/**
+	 * Verifies that the set operations of {@link BitSetVersionRange} agree with
+	 * those of {@link UnionVersionRange}, for a bunch of random ranges.
+	 */
+	@Test
+	public void agreesWithUnionVersionRange() {
+		Random random = new Random(42L);
+		for (int trial = 0; trial < 200; trial++) {
+			UnionVersionRange<IntegerVersion> a = randomUnion(random);
+			UnionVersionRange<IntegerVersion> b = randomUnion(random);
+			BitSetVersionRange bitsA = BitSetVersionRange.valueOf(a);
+			BitSetVersionRange bitsB = BitSetVersionRange.valueOf(b);
+
+			assertSameMatches(a, bitsA);
+			assertSameMatches(a.union(b), bitsA.union(bitsB));
+			assertSameMatches(a.intersect(b), bitsA.intersect(bitsB));
+			assertSameMatches(a.complement(), bitsA.complement());
+			Assert.assertEquals(BitSetVersionRange.valueOf(a.union(b)), bitsA.union(bitsB));
+			Assert.assertEquals(BitSetVersionRange.valueOf(a.intersect(b)), bitsA.intersect(bitsB));
+			Assert.assertEquals(BitSetVersionRange.valueOf(a.complement()), bitsA.complement());
+		}
+	}
+
+	/**
+	 * Tests {@link BitSetVersionRange#unionAll(java.util.Collection)} and
+	 * {@link BitSetVersionRange#intersectAll(java.util.Collection)}.
+	 */
+	@Test
+	public void combineAll() {
+		Random random = new Random(7L);
+		List<BitSetVersionRange> ranges = new ArrayList<BitSetVersionRange>();
+		BitSetVersionRange union = BitSetVersionRange.valueOf(TestVersions.parseUnionRange("(2,3)"));
+		BitSetVersionRange intersection = BitSetVersionRange.valueOf(TestVersions.parseUnionRange("0"));
+		for (int i = 0; i < 50; i++) {
+			BitSetVersionRange range = BitSetVersionRange.valueOf(randomUnion(random));
+			ranges.add(range);
+			union = union.union(range);
+			intersection = intersection.intersect(range);
+		}
+		Assert.assertEquals(union, BitSetVersionRange.unionAll(ranges));
+		Assert.assertEquals(intersection, BitSetVersionRange.intersectAll(ranges));
+
+		List<BitSetVersionRange> nested = Arrays.asList(parseBitSetRange("[10,1000]"), parseBitSetRange("20"),
+				parseBitSetRange("[,900)"), parseBitSetRange("[0,)"));
+		Assert.assertEquals(parseBitSetRange("[20,900)"), BitSetVersionRange.intersectAll(nested));
+		Assert.assertEquals(parseBitSetRange("0"), BitSetVersionRange.unionAll(nested));
+		Assert.assertTrue(BitSetVersionRange.unionAll(Collections.<BitSetVersionRange> emptyList()).isEmpty());
+		Assert.assertEquals(parseBitSetRange("0"),
+				BitSetVersionRange.intersectAll(Collections.<BitSetVersionRange> emptyList()));
+		Assert.assertTrue(BitSetVersionRange.intersectAll(
+				Arrays.asList(parseBitSetRange("[10,1000]"), parseBitSetRange("(2,3)"))).isEmpty());
+	}
+
+	/**
+	 * @param random
+	 *            the {@link Random} to use
+	 * @return a random {@link UnionVersionRange} of a few intervals, some of
+	 *         which may be unbounded
+	 */
+	private static UnionVersionRange<IntegerVersion> randomUnion(Random random) {
+		StringBuilder rangeString = new StringBuilder();
+		int intervalCount = 1 + random.nextInt(4);
+		for (int i = 0; i < intervalCount; i++) {
+			if (i > 0)
+				rangeString.append(',');
+			int lower = random.nextInt(1000);
+			int upper = lower + 1 + random.nextInt(300);
+			boolean omitLower = random.nextInt(8) == 0;
+			boolean omitUpper = !omitLower && random.nextInt(8) == 0;
+			rangeString.append(random.nextBoolean() ? '[' : '(');
+			if (!omitLower)
+				rangeString.append(lower);
+			rangeString.append(',');
+			if (!omitUpper)
+				rangeString.append(upper);
+			rangeString.append(random.nextBoolean() ? ']' : ')');
+		}
+		return TestVersions.parseUnionRange(rangeString.toString());
+	}
+
+	/**
+	 * @param expected
+	 *            the {@link UnionVersionRange} to compare against
+	 * @param actual
+	 *            the {@link BitSetVersionRange} to check
+	 */
+	private static void assertSameMatches(UnionVersionRange<IntegerVersion> expected, BitSetVersionRange actual) {
+		for (int value = 0; value < 1500; value++)
+			Assert.assertEquals(expected + " vs. " + actual + " at " + value,
+					expected.matches(new IntegerVersion(value)), actual.matchesInt(value));
+		Assert.assertEquals(expected.matches(new IntegerVersion(Integer.MAX_VALUE)),
+				actual.matchesInt(Integer.MAX_VALUE));
+	}
+}
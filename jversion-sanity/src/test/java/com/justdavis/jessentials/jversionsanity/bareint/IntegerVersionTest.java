@@ -1,8 +1,24 @@
 package com.justdavis.jessentials.jversionsanity.bareint;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.Assert;
 import org.junit.Test;
 
 import com.justdavis.jessentials.jversionsanity.AbstractVersionTest;
+import com.justdavis.jessentials.jversionsanity.ParseResult;
+import com.justdavis.jessentials.jversionsanity.ParseResults;
+import com.justdavis.jessentials.jversionsanity.VersionCodec;
 import com.justdavis.jessentials.jversionsanity.VersionParseException;
 import com.justdavis.jessentials.jversionsanity.VersionParser;
 
@@ -42,6 +58,14 @@ public final class IntegerVersionTest extends AbstractVersionTest<IntegerVersion
 		return new IntegerVersion(42);
 	}
 
+	/**
+	 * @see com.justdavis.jessentials.jversionsanity.AbstractVersionTest#getOrderedVersionStrings()
+	 */
+	@Override
+	protected String[] getOrderedVersionStrings() {
+		return new String[] { "0", "1", "127", "128", "255", "256", "1023", "65536", "2147483647" };
+	}
+
 	/**
 	 * Verifies that {@link IntegerVersion#IntegerVersion(Integer)} fails as
 	 * expected when passed a <code>null</code> {@link Integer}.
@@ -51,6 +75,35 @@ public final class IntegerVersionTest extends AbstractVersionTest<IntegerVersion
 		new IntegerVersion((Integer) null);
 	}
 
+	/**
+	 * Verifies that {@link IntegerVersion#valueOf(int)} returns shared
+	 * instances for small values, and that {@link IntegerVersionParser} uses
+	 * them for canonical version {@link String}s.
+	 */
+	@Test
+	public void valueOf() {
+		Assert.assertSame(IntegerVersion.valueOf(0), IntegerVersion.valueOf(0));
+		Assert.assertSame(IntegerVersion.valueOf(1023), IntegerVersion.valueOf(1023));
+		Assert.assertEquals(new IntegerVersion(1024), IntegerVersion.valueOf(1024));
+		Assert.assertEquals(1024, IntegerVersion.valueOf(1024).getVersionValue());
+
+		IntegerVersionParser parser = new IntegerVersionParser();
+		Assert.assertSame(IntegerVersion.valueOf(42), parser.parseVersion("42"));
+		Assert.assertNotSame(IntegerVersion.valueOf(42), parser.parseVersion("042"));
+		Assert.assertEquals("042", parser.parseVersion("042").toString());
+		Assert.assertEquals("+42", parser.parseVersion("+42").toString());
+		Assert.assertEquals("2147483647", parser.parseVersion("2147483647").toString());
+	}
+
+	/**
+	 * Verifies that {@link IntegerVersion#IntegerVersion(int)} fails as
+	 * expected when passed a negative value.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void constructWithNegativeInt() {
+		new IntegerVersion(-1);
+	}
+
 	/**
 	 * Verifies that {@link IntegerVersion#IntegerVersion(String)} fails as
 	 * expected when passed an invalid version string to parse.
@@ -59,4 +112,221 @@ public final class IntegerVersionTest extends AbstractVersionTest<IntegerVersion
 	public void parseInvalidString() {
 		new IntegerVersion("4.1");
 	}
+
+	/**
+	 * Verifies that {@link IntegerVersionParser#parseVersion(CharSequence, int, int)}
+	 * works as expected for both canonical and non-canonical slices.
+	 */
+	@Test
+	public void parseSlice() {
+		IntegerVersionParser parser = new IntegerVersionParser();
+		String text = "[42, 007 ,2147483648]";
+
+		IntegerVersion canonical = parser.parseVersion(text, 1, 3);
+		Assert.assertEquals(new IntegerVersion(42), canonical);
+		Assert.assertEquals("42", canonical.toString());
+
+		IntegerVersion padded = parser.parseVersion(text, 4, 9);
+		Assert.assertEquals(new IntegerVersion(7), padded);
+		Assert.assertEquals(" 007 ", padded.toString());
+
+		try {
+			parser.parseVersion(text, 10, 20);
+			Assert.fail();
+		} catch (VersionParseException e) {
+			// Expected: too large for an int.
+		}
+	}
+
+	/**
+	 * Verifies that {@link IntegerVersionParser#parseVersion(CharSequence, int, int)}
+	 * rejects <code>null</code> and out-of-bounds slices up front, rather than
+	 * mistaking them for malformed versions.
+	 */
+	@Test
+	public void parseSliceOutOfBounds() {
+		IntegerVersionParser parser = new IntegerVersionParser();
+		String text = "[42]";
+		int[][] slices = { { -1, 3 }, { 1, 5 }, { 3, 1 } };
+
+		try {
+			parser.parseVersion(null, 0, 0);
+			Assert.fail();
+		} catch (IllegalArgumentException e) {
+			// Expected.
+		}
+		for (int[] slice : slices) {
+			try {
+				parser.parseVersion(text, slice[0], slice[1]);
+				Assert.fail(slice[0] + ", " + slice[1]);
+			} catch (IllegalArgumentException e) {
+				// Expected.
+			}
+		}
+	}
+
+	/**
+	 * Verifies that {@link IntegerVersion#writeSortKey(ByteBuffer)} produces
+	 * unsigned, big-endian keys, regardless of the {@link ByteBuffer}'s byte
+	 * order. (Their ordering is checked by
+	 * {@link #orderedSamplesWorkCorrectly()}.)
+	 */
+	@Test
+	public void sortKeys() {
+		ByteBuffer littleEndian = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+		new IntegerVersion(" 0258 ").writeSortKey(littleEndian);
+		Assert.assertArrayEquals(new byte[] { 0, 0, 1, 2 }, littleEndian.array());
+		Assert.assertArrayEquals(new byte[] { 0, 0, 1, 2 }, new IntegerVersion(258).toSortKey());
+	}
+
+	/**
+	 * Verifies that {@link IntegerVersionParser#parseVersion(ByteBuffer)}
+	 * works as expected, and leaves the {@link ByteBuffer}'s position alone.
+	 */
+	@Test
+	public void parseByteBuffer() {
+		IntegerVersionParser parser = new IntegerVersionParser();
+		ByteBuffer buffer = ByteBuffer.wrap("42, 042 ,4x".getBytes(StandardCharsets.US_ASCII));
+
+		buffer.limit(2);
+		Assert.assertSame(IntegerVersion.valueOf(42), parser.parseVersion(buffer));
+		Assert.assertEquals(0, buffer.position());
+
+		buffer.limit(8).position(3);
+		IntegerVersion padded = parser.parseVersion(buffer);
+		Assert.assertEquals(IntegerVersion.valueOf(42), padded);
+		Assert.assertEquals(" 042 ", padded.toString());
+		Assert.assertEquals(3, buffer.position());
+
+		buffer.limit(11).position(9);
+		try {
+			parser.parseVersion(buffer);
+			Assert.fail();
+		} catch (VersionParseException e) {
+			// Expected.
+		}
+		try {
+			parser.parseVersion(ByteBuffer.wrap("\u0664\u0662".getBytes(StandardCharsets.UTF_8)));
+			Assert.fail();
+		} catch (VersionParseException e) {
+			// Expected.
+		}
+	}
+
+	/**
+	 * Verifies that {@link IntegerVersionParser#tryParseVersion(String)} works
+	 * as expected, and that the {@link VersionParseException}s it returns
+	 * don't have stack traces (while those thrown by
+	 * {@link IntegerVersionParser#parseVersion(String)} still do).
+	 */
+	@Test
+	public void tryParseVersion() {
+		IntegerVersionParser parser = new IntegerVersionParser();
+
+		ParseResult<IntegerVersion> valid = parser.tryParseVersion(" 42 ");
+		Assert.assertTrue(valid.isSuccess());
+		Assert.assertEquals(IntegerVersion.valueOf(42), valid.getValue());
+		Assert.assertNull(valid.getError());
+		Assert.assertEquals(IntegerVersion.valueOf(0), parser.tryParseVersion("-0").getValue());
+		Assert.assertEquals(IntegerVersion.valueOf(7), parser.tryParseVersion("+7").getValue());
+
+		for (String invalidString : new String[] { "4.1", "", "-", "-1", "2147483648", "4x" }) {
+			ParseResult<IntegerVersion> invalid = parser.tryParseVersion(invalidString);
+			Assert.assertFalse(invalid.isSuccess());
+			Assert.assertTrue(invalid.getError() instanceof VersionParseException);
+			Assert.assertEquals(0, invalid.getError().getStackTrace().length);
+			try {
+				invalid.getValue();
+				Assert.fail();
+			} catch (VersionParseException e) {
+				Assert.assertSame(invalid.getError(), e);
+			}
+		}
+
+		try {
+			parser.parseVersion("4.1");
+			Assert.fail();
+		} catch (VersionParseException e) {
+			Assert.assertTrue(e.getStackTrace().length > 0);
+		}
+	}
+
+	/**
+	 * Verifies that {@link IntegerVersionParser#parseAll(Stream)} parses
+	 * everything in order, and collects the failures by index rather than
+	 * aborting.
+	 */
+	@Test
+	public void parseAll() {
+		ParseResults<IntegerVersion> results = new IntegerVersionParser()
+				.parseAll(IntStream.range(0, 10000).mapToObj(i -> i % 5 == 3 ? i + ".0" : Integer.toString(i)));
+
+		Assert.assertEquals(10000, results.size());
+		Assert.assertEquals(2000, results.getFailureCount());
+		for (int i = 0; i < results.size(); i++) {
+			if (i % 5 == 3) {
+				Assert.assertNull(results.get(i));
+				Assert.assertFalse(results.isSuccess(i));
+				Assert.assertTrue(results.getError(i) instanceof VersionParseException);
+				Assert.assertEquals(0, results.getError(i).getStackTrace().length);
+			} else {
+				Assert.assertEquals(IntegerVersion.valueOf(i), results.get(i));
+				Assert.assertTrue(results.isSuccess(i));
+			}
+		}
+		Assert.assertEquals(3, results.getFailureIndexes()[0]);
+
+		Assert.assertTrue(new IntegerVersionParser().parseAll(Stream.empty()).isEmpty());
+	}
+
+	/**
+	 * Verifies that {@link IntegerVersionCodec} round-trips
+	 * {@link IntegerVersion}s through both {@link java.io.DataOutput}s and
+	 * {@link ByteBuffer}s, using the expected number of bytes.
+	 * 
+	 * @throws IOException
+	 *             (indicates a test error)
+	 */
+	@Test
+	public void codec() throws IOException {
+		IntegerVersionCodec codec = new IntegerVersionCodec();
+		int[] values = { 0, 1, 127, 128, 16383, 16384, 1 << 21, 1 << 28, Integer.MAX_VALUE };
+		int[] lengths = { 1, 1, 1, 2, 2, 3, 4, 5, 5 };
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		ByteBuffer buffer = ByteBuffer.allocate(64);
+		for (int i = 0; i < values.length; i++) {
+			int before = out.size();
+			codec.write(IntegerVersion.valueOf(values[i]), out);
+			Assert.assertEquals(lengths[i], out.size() - before);
+			Assert.assertEquals(lengths[i], VersionCodec.getVarIntLength(values[i]));
+			codec.write(IntegerVersion.valueOf(values[i]), buffer);
+		}
+		Assert.assertArrayEquals(bytes.toByteArray(), Arrays.copyOf(buffer.array(), buffer.position()));
+
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+		buffer.flip();
+		for (int value : values) {
+			Assert.assertEquals(IntegerVersion.valueOf(value), codec.read(in));
+			Assert.assertEquals(IntegerVersion.valueOf(value), codec.read(buffer));
+		}
+		Assert.assertFalse(buffer.hasRemaining());
+		Assert.assertEquals("7", codec.read(ByteBuffer.wrap(new byte[] { 7 })).toString());
+
+		// Values that don't fit in an int should be rejected, not wrapped.
+		byte[] tooLarge = { (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F };
+		try {
+			codec.read(ByteBuffer.wrap(tooLarge));
+			Assert.fail();
+		} catch (IllegalArgumentException e) {
+			// Expected.
+		}
+		try {
+			codec.read(new DataInputStream(new ByteArrayInputStream(tooLarge)));
+			Assert.fail();
+		} catch (IOException e) {
+			// Expected.
+		}
+	}
 }
@@ -0,0 +1,100 @@
+package com.justdavis.jessentials.jversionsanity.dotted;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.justdavis.jessentials.jversionsanity.range.VersionRangeParseException;
+
+/**
+ * Unit tests for {@link DottedPrefixVersionRange}.
+ */
+public final class DottedPrefixVersionRangeTest {
+	/**
+	 * Tests {@link DottedPrefixVersionRange#matches(DottedVersion)}.
+	 */
+	@Test
+	public void matches() {
+		DottedPrefixVersionRange range = new DottedPrefixVersionRange("1.2.*");
+		for (String version : new String[] { "1.2", "1.2.0", "1.2.5", "1.2.5.7", "1.2-SNAPSHOT", "1.2.5-rc1" })
+			Assert.assertTrue(version, range.matches(new DottedVersion(version)));
+		for (String version : new String[] { "1", "1.3", "1.20", "2.2", "0.1.2", "1.3-alpha" })
+			Assert.assertFalse(version, range.matches(new DottedVersion(version)));
+
+		Assert.assertTrue(new DottedPrefixVersionRange("1.0.x").matches(new DottedVersion("1")));
+		Assert.assertTrue(new DottedPrefixVersionRange("2.X").matches(new DottedVersion("2.9.9")));
+		Assert.assertTrue(new DottedPrefixVersionRange("2.+").matches(new DottedVersion("2.0-beta")));
+		Assert.assertTrue(new DottedPrefixVersionRange("*").matches(new DottedVersion("42.0.1")));
+		Assert.assertTrue(new DottedPrefixVersionRange(0).matches(new DottedVersion("0.1")));
+		Assert.assertFalse(new DottedPrefixVersionRange(0).matches(new DottedVersion("1.0")));
+	}
+
+	/**
+	 * Verifies that {@link DottedPrefixVersionRange}s created with the same
+	 * {@link DottedPrefixTrie} share the same prefix trie node when they're
+	 * equal, and that overlapping ones share their parent nodes.
+	 */
+	@Test
+	public void sharedPrefixNodes() {
+		DottedPrefixTrie trie = new DottedPrefixTrie();
+		DottedPrefixVersionRange range = new DottedPrefixVersionRange(trie, "1.2.*");
+		Assert.assertSame(range.getPrefix(), new DottedPrefixVersionRange(trie, "1.2.+").getPrefix());
+		Assert.assertSame(range.getPrefix(), new DottedPrefixVersionRange(trie, 1, 2).getPrefix());
+		Assert.assertSame(range.getPrefix().parent, new DottedPrefixVersionRange(trie, "1.3.*").getPrefix().parent);
+		Assert.assertNotSame(range.getPrefix(), new DottedPrefixVersionRange("1.2.*").getPrefix());
+	}
+
+	/**
+	 * Verifies that {@link DottedPrefixVersionRange#equals(Object)} and
+	 * {@link DottedPrefixVersionRange#hashCode()} compare the prefixes
+	 * themselves, no matter which {@link DottedPrefixTrie}s they're from.
+	 */
+	@Test
+	public void equalsIsStructural() {
+		DottedPrefixTrie trie = new DottedPrefixTrie();
+		DottedPrefixVersionRange range = new DottedPrefixVersionRange(trie, "1.2.*");
+		Assert.assertEquals(range, new DottedPrefixVersionRange(trie, "1.2.x"));
+		Assert.assertEquals(range, new DottedPrefixVersionRange(1, 2));
+		Assert.assertEquals(range, new DottedPrefixVersionRange(new DottedPrefixTrie(), "1.2.X"));
+		Assert.assertEquals(range.hashCode(), new DottedPrefixVersionRange(1, 2).hashCode());
+		Assert.assertEquals(new DottedPrefixVersionRange("*"), new DottedPrefixVersionRange(trie));
+		Assert.assertNotEquals(range, new DottedPrefixVersionRange("1.2.0.*"));
+		Assert.assertNotEquals(range, new DottedPrefixVersionRange(trie, "1.*"));
+		Assert.assertNotEquals(range, new DottedPrefixVersionRange(1, 3));
+
+		// These prefixes have the same depth and hash code.
+		Assert.assertEquals(new DottedPrefixVersionRange(1, 2).hashCode(),
+				new DottedPrefixVersionRange(0, 33).hashCode());
+		Assert.assertNotEquals(new DottedPrefixVersionRange(1, 2), new DottedPrefixVersionRange(0, 33));
+		Assert.assertNotEquals(range, new DottedPrefixVersionRange(trie, 0, 33));
+	}
+
+	/**
+	 * Tests {@link DottedPrefixVersionRange#toString()} and
+	 * {@link DottedPrefixVersionRange#getDepth()}.
+	 */
+	@Test
+	public void toStringAndDepth() {
+		DottedPrefixVersionRange range = new DottedPrefixVersionRange("1.2.*");
+		Assert.assertEquals("1.2.*", range.toString());
+		Assert.assertEquals("*", new DottedPrefixVersionRange("x").toString());
+		Assert.assertEquals(2, range.getDepth());
+	}
+
+	/**
+	 * Verifies that
+	 * {@link DottedPrefixVersionRange#DottedPrefixVersionRange(String)} rejects
+	 * malformed ranges.
+	 */
+	@Test
+	public void invalidRanges() {
+		for (String rangeString : new String[] { "", "1.2", "1.2*", ".*", "1..*", "1.a.*", "1.*.*", "-1.*",
+				"99999999999.*" }) {
+			try {
+				new DottedPrefixVersionRange(rangeString);
+				Assert.fail(rangeString);
+			} catch (VersionRangeParseException e) {
+				// Expected.
+			}
+		}
+	}
+}
@@ -0,0 +1,191 @@
+package com.justdavis.jessentials.jversionsanity.dotted;
+
+import java.util.Locale;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.justdavis.jessentials.jversionsanity.AbstractVersionTest;
+import com.justdavis.jessentials.jversionsanity.VersionParseException;
+import com.justdavis.jessentials.jversionsanity.VersionParser;
+
+/**
+ * Unit tests for {@link DottedVersion}.
+ */
+public final class DottedVersionTest extends AbstractVersionTest<DottedVersion> {
+	/**
+	 * @see com.justdavis.jessentials.jversionsanity.AbstractVersionTest#getParser()
+	 */
+	@Override
+	protected VersionParser<DottedVersion> getParser() {
+		return new DottedVersionParser();
+	}
+
+	/**
+	 * @see com.justdavis.jessentials.jversionsanity.AbstractVersionTest#getSample1()
+	 */
+	@Override
+	protected DottedVersion getSample1() {
+		return new DottedVersion("1.2.3.4-SNAPSHOT");
+	}
+
+	/**
+	 * @see com.justdavis.jessentials.jversionsanity.AbstractVersionTest#getSample1String()
+	 */
+	@Override
+	protected String getSample1String() {
+		return "1.2.3.4-SNAPSHOT";
+	}
+
+	/**
+	 * @see com.justdavis.jessentials.jversionsanity.AbstractVersionTest#getSample2()
+	 */
+	@Override
+	protected DottedVersion getSample2() {
+		return new DottedVersion(1, 2, 3, 4);
+	}
+
+	/**
+	 * @see com.justdavis.jessentials.jversionsanity.AbstractVersionTest#getOrderedVersionStrings()
+	 */
+	@Override
+	protected String[] getOrderedVersionStrings() {
+		return new String[] { "1.0-alpha", "1.0-alpha-2", "1.0-beta", "1.0-m3", "1.0-rc1", "1.0-CR2", "1.0-SNAPSHOT",
+				"1.0", "1.0-sp", "1.0-xyz", "1.0-xyz2", "1.0.1", "1.2.3.4", "2.0-rc1", "2.0.RELEASE.1", "10" };
+	}
+
+	/**
+	 * Verifies that
+	 * {@link DottedVersion#compareTo(com.justdavis.jessentials.jversionsanity.Version)}
+	 * orders numeric components and qualifiers as documented.
+	 */
+	@Test
+	public void ordering() {
+		String[] ordered = { "1.0-alpha", "1.0-alpha-2", "1.0-beta", "1.0-m3", "1.0-rc1", "1.0-CR2", "1.0-SNAPSHOT",
+				"1.0", "1.0-sp", "1.0-xyz", "1.0.1", "1.2.3.4", "2.0-rc1", "2.0.RELEASE.1", "10" };
+		DottedVersionParser parser = new DottedVersionParser();
+		for (int i = 0; i < ordered.length; i++) {
+			for (int j = 0; j < ordered.length; j++) {
+				int comparison = parser.parseVersion(ordered[i]).compareTo(parser.parseVersion(ordered[j]));
+				Assert.assertEquals(ordered[i] + " vs. " + ordered[j], Integer.signum(Integer.compare(i, j)),
+						Integer.signum(comparison));
+			}
+		}
+	}
+
+	/**
+	 * Verifies that {@link DottedVersion#equals(Object)} and
+	 * {@link DottedVersion#hashCode()} ignore trailing zeroes, leading zeroes,
+	 * qualifier case, and release aliases, while {@link DottedVersion#toString()}
+	 * preserves the original {@link String}.
+	 */
+	@Test
+	public void equivalency() {
+		String[] equivalent = { "1", "1.0", "01.0.0", "1.0-GA", "1.0.Final", "1.0.0-release", "1ga" };
+		for (String versionString : equivalent) {
+			DottedVersion version = new DottedVersion(versionString);
+			Assert.assertEquals(versionString, new DottedVersion(1), version);
+			Assert.assertEquals(versionString, new DottedVersion(1).hashCode(), version.hashCode());
+			Assert.assertEquals(versionString, version.toString());
+		}
+
+		Assert.assertEquals(new DottedVersion("2.0-RC.1"), new DottedVersion("2.0rc1"));
+		Assert.assertEquals(new DottedVersion("2.0-Foo"), new DottedVersion("2.0.foo"));
+		Assert.assertNotEquals(new DottedVersion("2.0-rc1"), new DottedVersion("2.0-rc2"));
+		Assert.assertEquals("1.0.0", new DottedVersion(1, 0, 0).toString());
+	}
+
+	/**
+	 * Verifies that {@link DottedVersion#getComponent(int)} and
+	 * {@link DottedVersion#isPreRelease()} work as expected.
+	 */
+	@Test
+	public void accessors() {
+		DottedVersion version = new DottedVersion("3.14.0-beta-2");
+		Assert.assertEquals(3, version.getComponent(0));
+		Assert.assertEquals(14, version.getComponent(1));
+		Assert.assertEquals(0, version.getComponent(2));
+		Assert.assertEquals(0, version.getComponent(42));
+		Assert.assertTrue(version.isPreRelease());
+		Assert.assertFalse(new DottedVersion("3.14").isPreRelease());
+		Assert.assertFalse(new DottedVersion("3.14-sp1").isPreRelease());
+	}
+
+	/**
+	 * Verifies that {@link DottedVersion#DottedVersion(String)} rejects
+	 * malformed version strings.
+	 */
+	@Test
+	public void parseInvalidStrings() {
+		String[] invalid = { "", "1.", "1..2", ".1", "1.0-", "a1", "-1", "1.0-.x", "1.0 ", " 1.0", "1.0-a b",
+				"1.2147483648" };
+		for (String versionString : invalid) {
+			try {
+				new DottedVersion(versionString);
+				Assert.fail(versionString);
+			} catch (VersionParseException e) {
+				// Expected.
+			}
+		}
+	}
+
+	/**
+	 * Verifies that {@link DottedVersion#DottedVersion(int...)} fails as
+	 * expected when passed a negative component.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void constructWithNegativeComponent() {
+		new DottedVersion(1, -2);
+	}
+
+	/**
+	 * Verifies that {@link DottedVersionParser#parseVersion(CharSequence, int, int)}
+	 * works as expected.
+	 */
+	@Test
+	public void parseSlice() {
+		DottedVersionParser parser = new DottedVersionParser();
+		String text = "[1.2-rc1,2.0.0.1]";
+		Assert.assertEquals("1.2-rc1", parser.parseVersion(text, 1, 8).toString());
+		Assert.assertEquals(new DottedVersion(2, 0, 0, 1), parser.parseVersion(text, 9, 16));
+	}
+
+	/**
+	 * Verifies that {@link DottedVersion#writeSortKey(java.nio.ByteBuffer)}
+	 * produces identical keys for versions that
+	 * {@link DottedVersion#compareTo(com.justdavis.jessentials.jversionsanity.Version)}
+	 * considers equivalent. (Their ordering is checked by
+	 * {@link #orderedSamplesWorkCorrectly()}.)
+	 */
+	@Test
+	public void sortKeys() {
+		Assert.assertArrayEquals(new DottedVersion(1).toSortKey(), new DottedVersion("1.0.0-GA").toSortKey());
+		Assert.assertArrayEquals(new DottedVersion("2.0-Foo").toSortKey(), new DottedVersion("2.0.foo").toSortKey());
+	}
+
+	/**
+	 * Verifies that {@link DottedVersion}'s case-insensitive handling of
+	 * qualifiers doesn't depend on the default {@link Locale}, e.g. with the
+	 * Turkish dotless '<code>&#305;</code>'.
+	 */
+	@Test
+	public void qualifiersIgnoreDefaultLocale() {
+		Locale defaultLocale = Locale.getDefault();
+		try {
+			Locale.setDefault(new Locale("tr", "TR"));
+			DottedVersion upper = new DottedVersion("1.0-MILK");
+			DottedVersion lower = new DottedVersion("1.0-milk");
+			Assert.assertEquals(upper, lower);
+			Assert.assertEquals(upper.hashCode(), lower.hashCode());
+			Assert.assertEquals(0, upper.compareTo(lower));
+			Assert.assertArrayEquals(lower.toSortKey(), upper.toSortKey());
+			byte[] sortKey = upper.toSortKey();
+			Assert.assertEquals('i', sortKey[sortKey.length - 3]);
+
+			Assert.assertTrue(new DottedVersion("1.0-RC1").isPreRelease());
+			Assert.assertTrue(new DottedVersion("1.0-ALPHA").compareTo(new DottedVersion("1.0-BETA")) < 0);
+		} finally {
+			Locale.setDefault(defaultLocale);
+		}
+	}
+}
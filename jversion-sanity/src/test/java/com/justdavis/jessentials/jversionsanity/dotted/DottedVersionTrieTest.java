@@ -0,0 +1,102 @@
+package com.justdavis.jessentials.jversionsanity.dotted;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.justdavis.jessentials.jversionsanity.TestVersions;
+
+/**
+ * Unit tests for {@link DottedVersionTrie}.
+ */
+public final class DottedVersionTrieTest {
+	/**
+	 * The {@link DottedVersionParser} used to parse all of the test's versions.
+	 */
+	private static final DottedVersionParser VERSION_PARSER = new DottedVersionParser();
+
+	/**
+	 * Tests {@link DottedVersionTrie#allMatching(DottedPrefixVersionRange)}
+	 * and {@link DottedVersionTrie#highestMatching(DottedPrefixVersionRange)}
+	 * against a few hand-picked prefixes.
+	 */
+	@Test
+	public void matching() {
+		DottedVersionTrie trie = new DottedVersionTrie(TestVersions.createVersions(VERSION_PARSER, "1.2.3", "1.0",
+				"1.2", "2.0-rc1", "1.2.10", "1.0.1", "1.3-alpha", "1.2-SNAPSHOT", "2.0", "1.0.0", "0.9"));
+		Assert.assertEquals(10, trie.size());
+
+		Assert.assertEquals(TestVersions.createVersions(VERSION_PARSER, "1.2-SNAPSHOT", "1.2", "1.2.3", "1.2.10"),
+				trie.allMatching(new DottedPrefixVersionRange("1.2.*")));
+		Assert.assertEquals(TestVersions.createVersions(VERSION_PARSER, "1.0", "1.0.1"),
+				trie.allMatching(new DottedPrefixVersionRange("1.0.*")));
+		Assert.assertEquals(TestVersions.createVersions(VERSION_PARSER, "1.0"),
+				trie.allMatching(new DottedPrefixVersionRange("1.0.0.0.*")));
+		Assert.assertEquals(TestVersions.createVersions(VERSION_PARSER, "2.0-rc1", "2.0"),
+				trie.allMatching(new DottedPrefixVersionRange("2.x")));
+		Assert.assertEquals(TestVersions.createVersions(VERSION_PARSER, "2.0-rc1", "2.0"),
+				trie.allMatching(new DottedPrefixVersionRange("2.0.0.*")));
+		Assert.assertEquals(Collections.emptyList(), trie.allMatching(new DottedPrefixVersionRange("2.1.*")));
+		Assert.assertEquals(Collections.emptyList(), trie.allMatching(new DottedPrefixVersionRange("1.0.0.1.*")));
+		Assert.assertEquals(Collections.emptyList(), trie.allMatching(new DottedPrefixVersionRange("3.*")));
+		Assert.assertEquals(trie.getVersions(), trie.allMatching(new DottedPrefixVersionRange("*")));
+
+		Assert.assertEquals(new DottedVersion("1.3-alpha"), trie.highestMatching(new DottedPrefixVersionRange("1.*")));
+		Assert.assertEquals(new DottedVersion("1.2.10"), trie.highestMatching(new DottedPrefixVersionRange("1.2.*")));
+		Assert.assertNull(trie.highestMatching(new DottedPrefixVersionRange("1.4.*")));
+		Assert.assertNull(new DottedVersionTrie(Collections.<DottedVersion> emptyList())
+				.highestMatching(new DottedPrefixVersionRange("*")));
+	}
+
+	/**
+	 * Verifies that {@link DottedVersionTrie} agrees with
+	 * {@link DottedPrefixVersionRange#matches(DottedVersion)}, for a bunch of
+	 * random versions and prefixes.
+	 */
+	@Test
+	public void agreesWithMatches() {
+		Random random = new Random(42L);
+		List<DottedVersion> versions = new ArrayList<DottedVersion>();
+		for (int i = 0; i < 500; i++)
+			versions.add(new DottedVersion(randomComponents(random, 1)));
+		DottedVersionTrie trie = new DottedVersionTrie(versions);
+
+		for (int i = 0; i < 500; i++) {
+			DottedPrefixVersionRange range = new DottedPrefixVersionRange(randomComponents(random, 0));
+			List<DottedVersion> expected = new ArrayList<DottedVersion>();
+			for (DottedVersion version : trie.getVersions())
+				if (range.matches(version))
+					expected.add(version);
+			Assert.assertEquals(range.toString(), expected, trie.allMatching(range));
+		}
+	}
+
+	/**
+	 * @param random
+	 *            the {@link Random} to use
+	 * @param minimumLength
+	 *            the minimum number of components to return
+	 * @return a random array of up to four small version components
+	 */
+	private static int[] randomComponents(Random random, int minimumLength) {
+		int[] components = new int[minimumLength + random.nextInt(5 - minimumLength)];
+		for (int i = 0; i < components.length; i++)
+			components[i] = random.nextInt(3);
+		return components;
+	}
+
+	/**
+	 * Verifies that the {@link java.util.List}s returned by
+	 * {@link DottedVersionTrie} can't be modified.
+	 */
+	@Test(expected = UnsupportedOperationException.class)
+	public void listsAreUnmodifiable() {
+		DottedVersionTrie trie = new DottedVersionTrie(Arrays.asList(new DottedVersion("1.0")));
+		trie.allMatching(new DottedPrefixVersionRange("1.*")).set(0, new DottedVersion("2.0"));
+	}
+}
@@ -0,0 +1,99 @@
+package com.justdavis.jessentials.jversionsanity.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.justdavis.jessentials.jversionsanity.TestVersions;
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersion;
+import com.justdavis.jessentials.jversionsanity.range.VersionRange;
+import com.justdavis.jessentials.jversionsanity.range.interval.IntegerIntervalVersionRange;
+
+/**
+ * Unit tests for {@link CompatibilityMatrix}.
+ */
+public final class CompatibilityMatrixTest {
+	/**
+	 * Tests the basic {@link CompatibilityMatrix} accessors against a few
+	 * hand-picked ranges.
+	 */
+	@Test
+	public void basicRows() {
+		VersionRange<IntegerVersion> evens = new VersionRange<IntegerVersion>() {
+			@Override
+			public boolean matches(IntegerVersion version) {
+				return version.getVersionValue() % 2 == 0;
+			}
+		};
+		List<VersionRange<IntegerVersion>> ranges = Arrays.<VersionRange<IntegerVersion>> asList(
+				TestVersions.parseIntervalRange("[2,5)"), TestVersions.parseUnionRange("[,1],(3,4],[7,)"),
+				new IntegerIntervalVersionRange("(5,6)"), evens);
+		CompatibilityMatrix<IntegerVersion> matrix = new CompatibilityMatrix<IntegerVersion>(
+				TestVersions.createVersions(7, 3, 1, 5, 2, 4, 6, 3), ranges);
+
+		Assert.assertEquals(4, matrix.getRowCount());
+		Assert.assertEquals(7, matrix.getColumnCount());
+		Assert.assertEquals(ranges, matrix.getRanges());
+		Assert.assertEquals(TestVersions.createVersions(2, 3, 4), matrix.getCompatibleVersions(0));
+		Assert.assertEquals(TestVersions.createVersions(1, 4, 7), matrix.getCompatibleVersions(1));
+		Assert.assertEquals(TestVersions.createVersions(), matrix.getCompatibleVersions(2));
+		Assert.assertEquals(TestVersions.createVersions(2, 4, 6), matrix.getCompatibleVersions(3));
+		Assert.assertArrayEquals(new int[] { 1, 3, 5 }, matrix.getCompatibleColumns(3));
+		Assert.assertEquals(3, matrix.getCompatibleCount(1));
+		Assert.assertTrue(matrix.isCompatible(1, 6));
+		Assert.assertFalse(matrix.isCompatible(1, 5));
+		Assert.assertFalse(matrix.isCompatible(2, 0));
+
+		try {
+			matrix.isCompatible(0, 7);
+			Assert.fail();
+		} catch (IndexOutOfBoundsException e) {
+			// Expected.
+		}
+	}
+
+	/**
+	 * Verifies that {@link CompatibilityMatrix} agrees with calling
+	 * {@link VersionRange#matches(com.justdavis.jessentials.jversionsanity.Version)}
+	 * for every pair, with enough ranges that the rows are computed in
+	 * parallel.
+	 */
+	@Test
+	public void agreesWithMatches() {
+		Random random = new Random(42L);
+		List<IntegerVersion> versions = new ArrayList<IntegerVersion>();
+		for (int i = 0; i < 500; i++)
+			versions.add(new IntegerVersion(random.nextInt(2000)));
+
+		List<VersionRange<IntegerVersion>> ranges = new ArrayList<VersionRange<IntegerVersion>>();
+		for (int i = 0; i < CompatibilityMatrix.PARALLEL_THRESHOLD + 100; i++) {
+			int lower = random.nextInt(2100);
+			int upper = lower + random.nextInt(i % 2 == 0 ? 20 : 1000);
+			String interval = (random.nextBoolean() ? "[" : "(") + lower + "," + upper
+					+ (random.nextBoolean() ? "]" : ")");
+			if (lower == upper)
+				interval = "[" + lower + "]";
+			if (i % 3 == 0)
+				ranges.add(TestVersions.parseUnionRange(interval + ",[" + (upper + 70) + "," + (upper + 200) + ")"));
+			else
+				ranges.add(TestVersions.parseIntervalRange(interval));
+		}
+
+		CompatibilityMatrix<IntegerVersion> matrix = new CompatibilityMatrix<IntegerVersion>(versions, ranges);
+		List<IntegerVersion> sortedVersions = matrix.getIndex().getVersions();
+		for (int row = 0; row < ranges.size(); row++) {
+			List<IntegerVersion> expected = new ArrayList<IntegerVersion>();
+			for (int column = 0; column < sortedVersions.size(); column++) {
+				boolean matches = ranges.get(row).matches(sortedVersions.get(column));
+				Assert.assertEquals(ranges.get(row) + " at " + column, matches, matrix.isCompatible(row, column));
+				if (matches)
+					expected.add(sortedVersions.get(column));
+			}
+			Assert.assertEquals(expected, matrix.getCompatibleVersions(row));
+		}
+	}
+}
@@ -0,0 +1,119 @@
+package com.justdavis.jessentials.jversionsanity.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.justdavis.jessentials.jversionsanity.TestVersions;
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersion;
+
+/**
+ * Unit tests for {@link LatestVersionTracker}.
+ */
+public final class LatestVersionTrackerTest {
+	/**
+	 * Tests
+	 * {@link LatestVersionTracker#publish(String, com.justdavis.jessentials.jversionsanity.Version)}
+	 * and the queries, from a single thread.
+	 */
+	@Test
+	public void publishAndQuery() {
+		LatestVersionTracker<IntegerVersion> tracker = new LatestVersionTracker<IntegerVersion>();
+		Assert.assertNull(tracker.getLatest("foo"));
+		Assert.assertNull(tracker.getLatestMatching("foo", TestVersions.parseIntervalRange("1")));
+		Assert.assertEquals(0, tracker.getHistory("foo").size());
+
+		for (int value : new int[] { 3, 1, 7, 5 })
+			Assert.assertTrue(tracker.publish("foo", new IntegerVersion(value)));
+		Assert.assertFalse(tracker.publish("foo", new IntegerVersion(5)));
+		Assert.assertTrue(tracker.publish("bar", new IntegerVersion(2)));
+		VersionIndex<IntegerVersion> snapshot = tracker.getHistory("foo");
+		Assert.assertTrue(tracker.publish("foo", new IntegerVersion(4)));
+
+		Assert.assertEquals(new IntegerVersion(7), tracker.getLatest("foo"));
+		Assert.assertEquals(new IntegerVersion(5),
+				tracker.getLatestMatching("foo", TestVersions.parseIntervalRange("[,6]")));
+		Assert.assertEquals(new IntegerVersion(4),
+				tracker.getLatestMatching("foo", TestVersions.parseIntervalRange("(3,5)")));
+		Assert.assertNull(tracker.getLatestMatching("foo", TestVersions.parseIntervalRange("8")));
+		Assert.assertEquals(new IntegerVersion(2), tracker.getLatest("bar"));
+		Assert.assertEquals(Arrays.asList(new IntegerVersion(1), new IntegerVersion(3), new IntegerVersion(5),
+				new IntegerVersion(7)), snapshot.getVersions());
+		Assert.assertEquals(5, tracker.getHistory("foo").size());
+
+		Assert.assertEquals(2, tracker.size());
+		Assert.assertEquals(6, tracker.getPublishCount());
+		Assert.assertEquals(1, tracker.getDuplicateCount());
+		Assert.assertEquals(0, tracker.getContentionCount());
+	}
+
+	/**
+	 * Verifies that no {@link IntegerVersion}s are lost when many threads
+	 * publish to the same artifacts at once.
+	 * 
+	 * @throws Exception
+	 *             (indicates a test error)
+	 */
+	@Test
+	public void concurrentPublishing() throws Exception {
+		LatestVersionTracker<IntegerVersion> tracker = new LatestVersionTracker<IntegerVersion>();
+		int threadCount = 4;
+		int versionCount = 2000;
+		ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+		try {
+			List<Future<?>> futures = new ArrayList<Future<?>>();
+			for (int t = 0; t < threadCount; t++) {
+				int thread = t;
+				futures.add(executor.submit(() -> {
+					// Every thread publishes every version, in a different order.
+					for (int i = 0; i < versionCount; i++)
+						tracker.publish("artifact-" + (i % 3), version(thread, i, versionCount));
+				}));
+			}
+			for (Future<?> future : futures)
+				future.get();
+		} finally {
+			executor.shutdown();
+		}
+
+		// Work out what each artifact's history should be.
+		List<TreeSet<IntegerVersion>> expectedHistories = new ArrayList<TreeSet<IntegerVersion>>();
+		for (int a = 0; a < 3; a++)
+			expectedHistories.add(new TreeSet<IntegerVersion>());
+		for (int thread = 0; thread < threadCount; thread++)
+			for (int i = 0; i < versionCount; i++)
+				expectedHistories.get(i % 3).add(version(thread, i, versionCount));
+
+		Assert.assertEquals(3, tracker.size());
+		long distinctCount = 0;
+		for (int a = 0; a < 3; a++) {
+			Assert.assertEquals(new ArrayList<IntegerVersion>(expectedHistories.get(a)),
+					tracker.getHistory("artifact-" + a).getVersions());
+			Assert.assertEquals(expectedHistories.get(a).last(), tracker.getLatest("artifact-" + a));
+			distinctCount += expectedHistories.get(a).size();
+		}
+		Assert.assertEquals(distinctCount, tracker.getPublishCount());
+		Assert.assertEquals((long) threadCount * versionCount, tracker.getPublishCount() + tracker.getDuplicateCount());
+	}
+
+	/**
+	 * @param thread
+	 *            the index of the publishing thread
+	 * @param i
+	 *            the index of the publication within that thread
+	 * @param versionCount
+	 *            the number of publications per thread
+	 * @return the {@link IntegerVersion} for the specified publication, which
+	 *         will be published for <code>"artifact-" + (i % 3)</code>
+	 */
+	private static IntegerVersion version(int thread, int i, int versionCount) {
+		return new IntegerVersion(((i * (thread + 1)) % versionCount) * 3 + i % 3);
+	}
+}
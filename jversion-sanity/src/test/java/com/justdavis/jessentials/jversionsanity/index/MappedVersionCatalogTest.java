@@ -0,0 +1,162 @@
+package com.justdavis.jessentials.jversionsanity.index;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.justdavis.jessentials.jversionsanity.TestVersions;
+import com.justdavis.jessentials.jversionsanity.range.VersionRange;
+import com.justdavis.jessentials.jversionsanity.range.interval.UnionVersionRange;
+import com.justdavis.jessentials.jversionsanity.semver.SemanticVersion;
+import com.justdavis.jessentials.jversionsanity.semver.SemanticVersionParser;
+
+/**
+ * Unit tests for {@link MappedVersionCatalog}.
+ */
+public final class MappedVersionCatalogTest {
+	/**
+	 * The {@link SemanticVersionParser} used to parse all of the test's
+	 * versions and ranges.
+	 */
+	private static final SemanticVersionParser VERSION_PARSER = new SemanticVersionParser();
+
+	/**
+	 * @param catalogFile
+	 *            the catalog file to write
+	 * @throws IOException
+	 *             (indicates a test error)
+	 */
+	private static void writeSampleCatalog(Path catalogFile) throws IOException {
+		try (MappedVersionCatalog.Writer<SemanticVersion> writer = new MappedVersionCatalog.Writer<SemanticVersion>(
+				catalogFile)) {
+			writer.appendAll("com.example:bar", TestVersions.createVersions(VERSION_PARSER, "2.0.0", "1.0.0",
+					"1.5.0-rc.1", "1.5.0", "1.10.0+build.3"));
+			writer.appendAll("com.example:foo", TestVersions.createVersions(VERSION_PARSER, "0.1.0", "0.2.0", "0.2.0"));
+			writer.append("com.example:\u00FCber", new SemanticVersion("3.0.0"));
+		}
+	}
+
+	/**
+	 * Verifies that {@link MappedVersionCatalog} answers queries for
+	 * interval-based {@link VersionRange}s correctly.
+	 * 
+	 * @throws IOException
+	 *             (indicates a test error)
+	 */
+	@Test
+	public void intervalQueries() throws IOException {
+		Path catalogFile = Files.createTempFile("versions", ".catalog");
+		try {
+			writeSampleCatalog(catalogFile);
+			MappedVersionCatalog<SemanticVersion> catalog = MappedVersionCatalog.open(catalogFile,
+					new SemanticVersionParser());
+
+			Assert.assertEquals(8, catalog.size());
+			Assert.assertEquals(5, catalog.getVersionCount("com.example:bar"));
+			Assert.assertEquals(2, catalog.getVersionCount("com.example:foo"));
+			Assert.assertEquals(1, catalog.getVersionCount("com.example:\u00FCber"));
+			Assert.assertEquals(0, catalog.getVersionCount("com.example:baz"));
+
+			Assert.assertTrue(catalog.contains("com.example:bar", new SemanticVersion("1.5.0-rc.1")));
+			Assert.assertTrue(catalog.contains("com.example:bar", new SemanticVersion("1.10.0")));
+			Assert.assertFalse(catalog.contains("com.example:bar", new SemanticVersion("0.1.0")));
+			Assert.assertFalse(catalog.contains("com.example:baz", new SemanticVersion("0.1.0")));
+
+			Assert.assertEquals("1.10.0+build.3", catalog.highestMatching("com.example:bar",
+					TestVersions.parseIntervalRange(VERSION_PARSER, "[1.0.0,2.0.0)")).toString());
+			Assert.assertEquals(new SemanticVersion("1.5.0-rc.1"), catalog.lowestMatching("com.example:bar",
+					TestVersions.parseIntervalRange(VERSION_PARSER, "(1.0.0,2.0.0)")));
+			Assert.assertEquals(new SemanticVersion("2.0.0"), catalog.highestMatching("com.example:bar",
+					TestVersions.parseIntervalRange(VERSION_PARSER, "[1.0.0,)")));
+			Assert.assertEquals(new SemanticVersion("0.2.0"), catalog.highestMatching("com.example:foo",
+					TestVersions.parseIntervalRange(VERSION_PARSER, "[0.0.0,)")));
+			Assert.assertNull(catalog.highestMatching("com.example:foo",
+					TestVersions.parseIntervalRange(VERSION_PARSER, "[1.0.0,)")));
+			Assert.assertNull(catalog.highestMatching("com.example:baz",
+					TestVersions.parseIntervalRange(VERSION_PARSER, "[0.0.0,)")));
+
+			UnionVersionRange<SemanticVersion> union = new UnionVersionRange<SemanticVersion>(VERSION_PARSER,
+					"[1.0.0,1.5.0),[2.0.0]");
+			Assert.assertEquals(TestVersions.createVersions(VERSION_PARSER, "1.0.0", "1.5.0-rc.1", "2.0.0"),
+					catalog.allMatching("com.example:bar", union));
+		} finally {
+			Files.deleteIfExists(catalogFile);
+		}
+	}
+
+	/**
+	 * Verifies that {@link MappedVersionCatalog} falls back to
+	 * {@link VersionRange#matches(com.justdavis.jessentials.jversionsanity.Version)}
+	 * for other {@link VersionRange} implementations, and agrees with it.
+	 * 
+	 * @throws IOException
+	 *             (indicates a test error)
+	 */
+	@Test
+	public void otherRangeImplementations() throws IOException {
+		Path catalogFile = Files.createTempFile("versions", ".catalog");
+		try {
+			writeSampleCatalog(catalogFile);
+			MappedVersionCatalog<SemanticVersion> catalog = MappedVersionCatalog.open(catalogFile,
+					new SemanticVersionParser());
+			VersionRange<SemanticVersion> releases = new VersionRange<SemanticVersion>() {
+				@Override
+				public boolean matches(SemanticVersion version) {
+					return version.getPreRelease() == null && version.getMinor() < 10;
+				}
+			};
+
+			Assert.assertEquals(new SemanticVersion("2.0.0"), catalog.highestMatching("com.example:bar", releases));
+			Assert.assertEquals(new SemanticVersion("1.0.0"), catalog.lowestMatching("com.example:bar", releases));
+			Assert.assertEquals(3, catalog.allMatching("com.example:bar", releases).size());
+		} finally {
+			Files.deleteIfExists(catalogFile);
+		}
+	}
+
+	/**
+	 * Verifies that {@link MappedVersionCatalog.Writer} rejects out-of-order
+	 * entries, and that {@link MappedVersionCatalog#open(Path,
+	 * com.justdavis.jessentials.jversionsanity.VersionParser)} rejects files
+	 * that aren't catalogs.
+	 * 
+	 * @throws IOException
+	 *             (indicates a test error)
+	 */
+	@Test
+	public void invalidInput() throws IOException {
+		Path catalogFile = Files.createTempFile("versions", ".catalog");
+		try {
+			try (MappedVersionCatalog.Writer<SemanticVersion> writer = new MappedVersionCatalog.Writer<SemanticVersion>(
+					catalogFile)) {
+				writer.append("b", new SemanticVersion("1.0.0"));
+				try {
+					writer.append("b", new SemanticVersion("0.9.0"));
+					Assert.fail();
+				} catch (IllegalArgumentException e) {
+					// Expected.
+				}
+				try {
+					writer.append("a", new SemanticVersion("2.0.0"));
+					Assert.fail();
+				} catch (IllegalArgumentException e) {
+					// Expected.
+				}
+			}
+			Assert.assertEquals(1, MappedVersionCatalog.open(catalogFile, new SemanticVersionParser()).size());
+
+			Files.write(catalogFile, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16 });
+			try {
+				MappedVersionCatalog.open(catalogFile, new SemanticVersionParser());
+				Assert.fail();
+			} catch (IOException e) {
+				// Expected.
+			}
+		} finally {
+			Files.deleteIfExists(catalogFile);
+		}
+	}
+}
@@ -0,0 +1,120 @@
+package com.justdavis.jessentials.jversionsanity.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.justdavis.jessentials.jversionsanity.TestVersions;
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersion;
+import com.justdavis.jessentials.jversionsanity.range.VersionRange;
+
+/**
+ * Unit tests for {@link VersionIndex}.
+ */
+public final class VersionIndexTest {
+	/**
+	 * @param values
+	 *            the {@link IntegerVersion} values to index
+	 * @return a new {@link VersionIndex} containing the specified versions
+	 */
+	private static VersionIndex<IntegerVersion> createIndex(int... values) {
+		List<IntegerVersion> versions = new ArrayList<IntegerVersion>();
+		for (int value : values)
+			versions.add(new IntegerVersion(value));
+		return new VersionIndex<IntegerVersion>(versions);
+	}
+
+	/**
+	 * Verifies that {@link VersionIndex} sorts and de-duplicates its
+	 * {@link IntegerVersion}s.
+	 */
+	@Test
+	public void sortsAndDeduplicates() {
+		VersionIndex<IntegerVersion> index = createIndex(5, 1, 3, 5, 1, 9);
+		Assert.assertEquals(4, index.size());
+		Assert.assertEquals(Arrays.asList(new IntegerVersion(1), new IntegerVersion(3), new IntegerVersion(5),
+				new IntegerVersion(9)), index.getVersions());
+		Assert.assertEquals(0, createIndex().size());
+	}
+
+	/**
+	 * Tests {@link VersionIndex#floor(IntegerVersion)} and
+	 * {@link VersionIndex#ceiling(IntegerVersion)}.
+	 */
+	@Test
+	public void floorAndCeiling() {
+		VersionIndex<IntegerVersion> index = createIndex(2, 4, 6);
+		Assert.assertNull(index.floor(new IntegerVersion(1)));
+		Assert.assertEquals(new IntegerVersion(2), index.floor(new IntegerVersion(2)));
+		Assert.assertEquals(new IntegerVersion(4), index.floor(new IntegerVersion(5)));
+		Assert.assertEquals(new IntegerVersion(6), index.floor(new IntegerVersion(100)));
+		Assert.assertEquals(new IntegerVersion(2), index.ceiling(new IntegerVersion(0)));
+		Assert.assertEquals(new IntegerVersion(4), index.ceiling(new IntegerVersion(3)));
+		Assert.assertEquals(new IntegerVersion(6), index.ceiling(new IntegerVersion(6)));
+		Assert.assertNull(index.ceiling(new IntegerVersion(7)));
+	}
+
+	/**
+	 * Tests {@link VersionIndex#highestMatching(VersionRange)} and
+	 * {@link VersionIndex#lowestMatching(VersionRange)}.
+	 */
+	@Test
+	public void highestAndLowestMatching() {
+		VersionIndex<IntegerVersion> index = createIndex(1, 2, 3, 5, 8, 13);
+		Assert.assertEquals(new IntegerVersion(3), index.highestMatching(TestVersions.parseIntervalRange("[2,5)")));
+		Assert.assertEquals(new IntegerVersion(2), index.lowestMatching(TestVersions.parseIntervalRange("[2,5)")));
+		Assert.assertEquals(new IntegerVersion(13), index.highestMatching(TestVersions.parseIntervalRange("4")));
+		Assert.assertEquals(new IntegerVersion(1), index.lowestMatching(TestVersions.parseIntervalRange("[,4]")));
+		Assert.assertNull(index.highestMatching(TestVersions.parseIntervalRange("(8,13)")));
+		Assert.assertNull(index.lowestMatching(TestVersions.parseIntervalRange("[14,]")));
+
+		Assert.assertEquals(new IntegerVersion(5),
+				index.highestMatching(TestVersions.parseUnionRange("[1,2),(4,6),[9,12]")));
+		Assert.assertEquals(new IntegerVersion(5),
+				index.lowestMatching(TestVersions.parseUnionRange("(3,4],(4,6),[9,]")));
+	}
+
+	/**
+	 * Tests {@link VersionIndex#allMatching(VersionRange)}.
+	 */
+	@Test
+	public void allMatching() {
+		VersionIndex<IntegerVersion> index = createIndex(1, 2, 3, 5, 8, 13);
+		Assert.assertEquals(Arrays.asList(new IntegerVersion(2), new IntegerVersion(3)),
+				index.allMatching(TestVersions.parseIntervalRange("(1,5)")));
+		Assert.assertEquals(Arrays.asList(new IntegerVersion(1), new IntegerVersion(5), new IntegerVersion(8),
+				new IntegerVersion(13)), index.allMatching(TestVersions.parseUnionRange("[,2),[4,6],(7,9],[12,]")));
+		Assert.assertEquals(Collections.emptyList(), index.allMatching(TestVersions.parseUnionRange("(5,8),[20,]")));
+
+		try {
+			index.allMatching(TestVersions.parseIntervalRange("(1,5)")).set(0, new IntegerVersion(0));
+			Assert.fail();
+		} catch (UnsupportedOperationException e) {
+			// Expected.
+		}
+	}
+
+	/**
+	 * Verifies that {@link VersionIndex} falls back to
+	 * {@link VersionRange#matches(com.justdavis.jessentials.jversionsanity.Version)}
+	 * for other {@link VersionRange} implementations, and agrees with it.
+	 */
+	@Test
+	public void otherRangeImplementations() {
+		VersionIndex<IntegerVersion> index = createIndex(1, 2, 3, 4, 5, 6, 7, 8, 9);
+		VersionRange<IntegerVersion> evens = new VersionRange<IntegerVersion>() {
+			@Override
+			public boolean matches(IntegerVersion version) {
+				return Integer.parseInt(version.toString()) % 2 == 0;
+			}
+		};
+
+		Assert.assertEquals(new IntegerVersion(8), index.highestMatching(evens));
+		Assert.assertEquals(new IntegerVersion(2), index.lowestMatching(evens));
+		Assert.assertEquals(4, index.allMatching(evens).size());
+	}
+}
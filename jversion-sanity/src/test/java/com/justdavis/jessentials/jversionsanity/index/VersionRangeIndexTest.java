@@ -0,0 +1,184 @@
+package com.justdavis.jessentials.jversionsanity.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.justdavis.jessentials.jversionsanity.TestVersions;
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersion;
+import com.justdavis.jessentials.jversionsanity.range.VersionRange;
+import com.justdavis.jessentials.jversionsanity.range.interval.IntervalVersionRange;
+import com.justdavis.jessentials.jversionsanity.range.interval.UnionVersionRange;
+
+/**
+ * Unit tests for {@link VersionRangeIndex}.
+ */
+public final class VersionRangeIndexTest {
+	/**
+	 * Verifies that {@link VersionRangeIndex#findMatching(IntegerVersion)}
+	 * returns exactly the specified {@link VersionRange}s, in any order.
+	 * 
+	 * @param index
+	 *            the {@link VersionRangeIndex} to query
+	 * @param versionValue
+	 *            the {@link IntegerVersion} value to match
+	 * @param expected
+	 *            the {@link VersionRange}s that should match
+	 */
+	@SafeVarargs
+	private static void assertMatches(VersionRangeIndex<IntegerVersion> index, int versionValue,
+			VersionRange<IntegerVersion>... expected) {
+		List<VersionRange<IntegerVersion>> actual = index.findMatching(new IntegerVersion(versionValue));
+		Assert.assertEquals(expected.length, actual.size());
+		Assert.assertEquals(new HashSet<Object>(Arrays.asList(expected)), new HashSet<Object>(actual));
+	}
+
+	/**
+	 * Tests {@link VersionRangeIndex#findMatching(IntegerVersion)} against a
+	 * few simple ranges.
+	 */
+	@Test
+	public void findMatching() {
+		IntervalVersionRange<IntegerVersion> range1 = TestVersions.parseIntervalRange("[1,5)");
+		IntervalVersionRange<IntegerVersion> range2 = TestVersions.parseIntervalRange("(3,]");
+		IntervalVersionRange<IntegerVersion> range3 = TestVersions.parseIntervalRange("[,2]");
+		UnionVersionRange<IntegerVersion> range4 = TestVersions.parseUnionRange("[0],[4],[8,9]");
+
+		VersionRangeIndex<IntegerVersion> index = new VersionRangeIndex<IntegerVersion>();
+		index.add(range1);
+		index.add(range2);
+		index.add(range3);
+		index.add(range4);
+		Assert.assertEquals(4, index.size());
+
+		assertMatches(index, 0, range3, range4);
+		assertMatches(index, 2, range1, range3);
+		assertMatches(index, 3, range1);
+		assertMatches(index, 4, range1, range2, range4);
+		assertMatches(index, 5, range2);
+		assertMatches(index, 9, range2, range4);
+	}
+
+	/**
+	 * Verifies that {@link VersionRangeIndex#findMatching(IntegerVersion)}
+	 * handles ranges added in sorted order, with many that end just below the
+	 * version being matched interleaved with ones that end far above it.
+	 */
+	@Test
+	public void findMatchingInterleaved() {
+		VersionRangeIndex<IntegerVersion> index = new VersionRangeIndex<IntegerVersion>();
+		List<IntervalVersionRange<IntegerVersion>> expected = new ArrayList<IntervalVersionRange<IntegerVersion>>();
+		for (int i = 0; i < 1000; i++) {
+			IntervalVersionRange<IntegerVersion> range = TestVersions.parseIntervalRange(
+					"[" + i + "," + (i % 2 == 0 ? 999 : 2000) + "]");
+			index.add(range);
+			if (i % 2 != 0)
+				expected.add(range);
+		}
+
+		List<VersionRange<IntegerVersion>> actual = index.findMatching(new IntegerVersion(1000));
+		Assert.assertEquals(expected.size(), actual.size());
+		Assert.assertEquals(new HashSet<Object>(expected), new HashSet<Object>(actual));
+	}
+
+	/**
+	 * Tests {@link VersionRangeIndex#remove(VersionRange)}, including for
+	 * {@link VersionRange}s that were added more than once.
+	 */
+	@Test
+	public void remove() {
+		VersionRangeIndex<IntegerVersion> index = new VersionRangeIndex<IntegerVersion>();
+		index.add(TestVersions.parseIntervalRange("[1,5)"));
+		index.add(TestVersions.parseIntervalRange("[1,5)"));
+		index.add(TestVersions.parseIntervalRange("[2,3]"));
+		Assert.assertEquals(3, index.findMatching(new IntegerVersion(2)).size());
+
+		Assert.assertTrue(index.remove(TestVersions.parseIntervalRange("[1,5)")));
+		Assert.assertEquals(2, index.findMatching(new IntegerVersion(2)).size());
+		Assert.assertTrue(index.remove(TestVersions.parseIntervalRange("[1,5)")));
+		Assert.assertFalse(index.remove(TestVersions.parseIntervalRange("[1,5)")));
+		Assert.assertEquals(Arrays.asList(TestVersions.parseIntervalRange("[2,3]")),
+				index.findMatching(new IntegerVersion(2)));
+		Assert.assertEquals(1, index.size());
+
+		Assert.assertTrue(index.remove(TestVersions.parseIntervalRange("[2,3]")));
+		Assert.assertEquals(0, index.size());
+		Assert.assertEquals(Collections.emptyList(), index.findMatching(new IntegerVersion(2)));
+	}
+
+	/**
+	 * Verifies that {@link VersionRangeIndex#findMatching(IntegerVersion)}
+	 * agrees with calling
+	 * {@link VersionRange#matches(com.justdavis.jessentials.jversionsanity.Version)}
+	 * on every range, across a random series of adds and removes.
+	 */
+	@Test
+	public void agreesWithMatches() {
+		Random random = new Random(42);
+		VersionRangeIndex<IntegerVersion> index = new VersionRangeIndex<IntegerVersion>();
+		List<IntervalVersionRange<IntegerVersion>> ranges = new ArrayList<IntervalVersionRange<IntegerVersion>>();
+
+		for (int round = 0; round < 2000; round++) {
+			if (ranges.isEmpty() || random.nextInt(3) > 0) {
+				int lower = random.nextInt(100);
+				int upper = lower + random.nextInt(20);
+				int unbounded = random.nextInt(10);
+				String rangeString = (random.nextBoolean() ? "[" : "(") + (unbounded == 0 ? "" : lower) + ","
+						+ (unbounded == 1 ? "" : upper) + (random.nextBoolean() ? "]" : ")");
+				IntervalVersionRange<IntegerVersion> range = TestVersions.parseIntervalRange(rangeString);
+				ranges.add(range);
+				index.add(range);
+			} else {
+				IntervalVersionRange<IntegerVersion> range = ranges.remove(random.nextInt(ranges.size()));
+				Assert.assertTrue(index.remove(range));
+			}
+
+			IntegerVersion version = new IntegerVersion(random.nextInt(130));
+			List<IntervalVersionRange<IntegerVersion>> expected = new ArrayList<IntervalVersionRange<IntegerVersion>>();
+			for (IntervalVersionRange<IntegerVersion> range : ranges)
+				if (range.matches(version))
+					expected.add(range);
+			List<VersionRange<IntegerVersion>> actual = index.findMatching(version);
+			Assert.assertEquals(expected.size(), actual.size());
+			Assert.assertEquals(new HashSet<Object>(expected), new HashSet<Object>(actual));
+		}
+		Assert.assertEquals(ranges.size(), index.size());
+	}
+
+	/**
+	 * Verifies that {@link VersionRangeIndex} doesn't leak any of its tree's
+	 * nodes across a long series of adds and removes, including the ones left
+	 * empty by the rotations that rebalance it.
+	 */
+	@Test
+	public void churnLeavesNoNodes() {
+		Random random = new Random(42);
+		VersionRangeIndex<IntegerVersion> index = new VersionRangeIndex<IntegerVersion>();
+		List<IntervalVersionRange<IntegerVersion>> ranges = new ArrayList<IntervalVersionRange<IntegerVersion>>();
+
+		for (int round = 0; round < 20000; round++) {
+			if (ranges.isEmpty() || random.nextBoolean()) {
+				int lower = random.nextInt(1000);
+				IntervalVersionRange<IntegerVersion> range = TestVersions.parseIntervalRange(
+						"[" + lower + "," + (lower + random.nextInt(200)) + "]");
+				ranges.add(range);
+				index.add(range);
+			} else {
+				Assert.assertTrue(index.remove(ranges.remove(random.nextInt(ranges.size()))));
+			}
+		}
+		Assert.assertEquals(0, index.countNodes(true));
+
+		Collections.shuffle(ranges, random);
+		for (IntervalVersionRange<IntegerVersion> range : ranges)
+			Assert.assertTrue(index.remove(range));
+		Assert.assertEquals(0, index.size());
+		Assert.assertEquals(0, index.countNodes(false));
+	}
+}
@@ -0,0 +1,179 @@
+package com.justdavis.jessentials.jversionsanity.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.justdavis.jessentials.jversionsanity.TestVersions;
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersion;
+import com.justdavis.jessentials.jversionsanity.range.VersionRange;
+import com.justdavis.jessentials.jversionsanity.range.interval.IntegerIntervalVersionRange;
+import com.justdavis.jessentials.jversionsanity.range.interval.IntervalVersionRange;
+import com.justdavis.jessentials.jversionsanity.range.interval.UnionVersionRange;
+
+/**
+ * Unit tests for {@link VersionResolver}.
+ */
+public final class VersionResolverTest {
+	/**
+	 * @param values
+	 *            the {@link IntegerVersion} values to make available
+	 * @return a new {@link VersionResolver} for the specified versions
+	 */
+	private static VersionResolver<IntegerVersion> createResolver(int... values) {
+		List<IntegerVersion> versions = new ArrayList<IntegerVersion>();
+		for (int value : values)
+			versions.add(new IntegerVersion(value));
+		return new VersionResolver<IntegerVersion>(versions);
+	}
+
+	/**
+	 * Tests {@link VersionResolver#resolve(java.util.Collection)} with
+	 * single-interval constraints.
+	 */
+	@Test
+	public void resolveIntervals() {
+		VersionResolver<IntegerVersion> resolver = createResolver(1, 2, 3, 5, 8, 13);
+		Assert.assertEquals(new IntegerVersion(13),
+				resolver.resolve(Collections.<VersionRange<IntegerVersion>> emptyList()).getVersion());
+
+		List<VersionRange<IntegerVersion>> constraints = new ArrayList<VersionRange<IntegerVersion>>();
+		constraints.add(TestVersions.parseIntervalRange("2"));
+		constraints.add(TestVersions.parseIntervalRange("[1,9)"));
+		constraints.add(new IntegerIntervalVersionRange("(,8]"));
+		constraints.add(TestVersions.parseIntervalRange("[3,13]"));
+		VersionResolution<IntegerVersion> resolution = resolver.resolve(constraints);
+		Assert.assertTrue(resolution.isResolved());
+		Assert.assertEquals(new IntegerVersion(8), resolution.getVersion());
+		Assert.assertEquals(Collections.emptyList(), resolution.getConflicts());
+
+		constraints.add(TestVersions.parseIntervalRange("(3,8)"));
+		Assert.assertEquals(new IntegerVersion(5), resolver.resolve(constraints).getVersion());
+		constraints.add(TestVersions.parseIntervalRange("[5]"));
+		Assert.assertEquals(new IntegerVersion(5), resolver.resolve(constraints).getVersion());
+	}
+
+	/**
+	 * Tests {@link VersionResolver#resolve(java.util.Collection)} with
+	 * multiple-interval and other constraints.
+	 */
+	@Test
+	public void resolveUnionsAndOthers() {
+		VersionResolver<IntegerVersion> resolver = createResolver(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+		VersionRange<IntegerVersion> odds = new VersionRange<IntegerVersion>() {
+			@Override
+			public boolean matches(IntegerVersion version) {
+				return Integer.parseInt(version.toString()) % 2 == 1;
+			}
+		};
+
+		Assert.assertEquals(new IntegerVersion(7),
+				resolver.resolve(Arrays.<VersionRange<IntegerVersion>> asList(
+						TestVersions.parseUnionRange("[1,3],[6,8)"), TestVersions.parseIntervalRange("[,9]")))
+						.getVersion());
+		Assert.assertEquals(new IntegerVersion(3),
+				resolver.resolve(Arrays.<VersionRange<IntegerVersion>> asList(
+						TestVersions.parseUnionRange("[1,3],[6,8)"), TestVersions.parseUnionRange("[2,4],(7,]")))
+						.getVersion());
+		Assert.assertEquals(new IntegerVersion(5),
+				resolver.resolve(Arrays.<VersionRange<IntegerVersion>> asList(odds,
+						TestVersions.parseUnionRange("[1,5],[8,]"), TestVersions.parseIntervalRange("[,8]")))
+						.getVersion());
+	}
+
+	/**
+	 * Verifies that {@link VersionResolver#resolve(java.util.Collection)}
+	 * reports a minimal subset of the constraints when they conflict.
+	 */
+	@Test
+	public void conflicts() {
+		VersionResolver<IntegerVersion> resolver = createResolver(1, 2, 3, 5, 8, 13);
+
+		// The tightest bounds conflict with each other.
+		IntervalVersionRange<IntegerVersion> atLeastFive = TestVersions.parseIntervalRange("5");
+		IntervalVersionRange<IntegerVersion> belowThree = TestVersions.parseIntervalRange("[,3)");
+		VersionResolution<IntegerVersion> resolution = resolver.resolve(Arrays.<VersionRange<IntegerVersion>> asList(
+				TestVersions.parseIntervalRange("[1,13]"), atLeastFive, TestVersions.parseIntervalRange("(,8]"),
+				belowThree));
+		Assert.assertFalse(resolution.isResolved());
+		Assert.assertNull(resolution.getVersion());
+		Assert.assertEquals(Arrays.asList(atLeastFive, belowThree), resolution.getConflicts());
+
+		// A single constraint doesn't match any of the available versions.
+		IntervalVersionRange<IntegerVersion> gap = TestVersions.parseIntervalRange("(8,13)");
+		resolution = resolver
+				.resolve(Arrays.<VersionRange<IntegerVersion>> asList(TestVersions.parseIntervalRange("[2,]"), gap));
+		Assert.assertEquals(Arrays.asList(gap), resolution.getConflicts());
+
+		// The conflict involves a multiple-interval constraint.
+		UnionVersionRange<IntegerVersion> union = TestVersions.parseUnionRange("[1,2],[8,]");
+		IntervalVersionRange<IntegerVersion> middle = TestVersions.parseIntervalRange("[3,5]");
+		resolution = resolver.resolve(
+				Arrays.<VersionRange<IntegerVersion>> asList(TestVersions.parseIntervalRange("[1,8]"), union, middle));
+		Assert.assertEquals(Arrays.asList(union, middle), resolution.getConflicts());
+
+		// Nothing is available at all.
+		resolution = createResolver()
+				.resolve(Arrays.<VersionRange<IntegerVersion>> asList(TestVersions.parseIntervalRange("1")));
+		Assert.assertFalse(resolution.isResolved());
+		Assert.assertEquals(Collections.emptyList(), resolution.getConflicts());
+	}
+
+	/**
+	 * Verifies that {@link VersionResolver#resolve(java.util.Collection)}
+	 * agrees with filtering the available {@link IntegerVersion}s by every
+	 * constraint, for a bunch of random constraints.
+	 */
+	@Test
+	public void agreesWithFiltering() {
+		Random random = new Random(42L);
+		List<IntegerVersion> versions = new ArrayList<IntegerVersion>();
+		for (int i = 0; i < 200; i += 1 + random.nextInt(4))
+			versions.add(new IntegerVersion(i));
+		VersionResolver<IntegerVersion> resolver = new VersionResolver<IntegerVersion>(versions);
+
+		for (int trial = 0; trial < 500; trial++) {
+			List<VersionRange<IntegerVersion>> constraints = new ArrayList<VersionRange<IntegerVersion>>();
+			int constraintCount = 1 + random.nextInt(4);
+			for (int c = 0; c < constraintCount; c++) {
+				int a = random.nextInt(200);
+				int b = a + random.nextInt(150);
+				String interval = (random.nextBoolean() ? "[" : "(") + a + "," + b + (random.nextBoolean() ? "]" : ")");
+				if (random.nextInt(3) == 0) {
+					int d = b + 1 + random.nextInt(50);
+					constraints.add(
+							TestVersions.parseUnionRange(interval + ",[" + d + "," + (d + random.nextInt(30)) + "]"));
+				} else {
+					constraints.add(TestVersions.parseIntervalRange(interval));
+				}
+			}
+
+			IntegerVersion expected = null;
+			for (IntegerVersion version : versions) {
+				boolean matchesAll = true;
+				for (VersionRange<IntegerVersion> constraint : constraints)
+					matchesAll &= constraint.matches(version);
+				if (matchesAll)
+					expected = version;
+			}
+
+			VersionResolution<IntegerVersion> resolution = resolver.resolve(constraints);
+			Assert.assertEquals(constraints.toString(), expected, resolution.getVersion());
+			if (expected == null) {
+				// Every reported conflict must be needed for it.
+				List<VersionRange<IntegerVersion>> conflicts = resolution.getConflicts();
+				Assert.assertFalse(resolver.resolve(conflicts).isResolved());
+				for (int i = 0; i < conflicts.size(); i++) {
+					List<VersionRange<IntegerVersion>> subset = new ArrayList<VersionRange<IntegerVersion>>(conflicts);
+					subset.remove(i);
+					Assert.assertTrue(resolver.resolve(subset).isResolved());
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package com.justdavis.jessentials.jversionsanity.range.interval;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.justdavis.jessentials.jversionsanity.VersionParser;
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersion;
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersionParser;
+import com.justdavis.jessentials.jversionsanity.range.VersionRange;
+
+/**
+ * Unit tests for {@link IntegerIntervalVersionRange}.
+ */
+public final class IntegerIntervalVersionRangeTest {
+	/**
+	 * Verifies that {@link IntegerIntervalVersionRange#matches(IntegerVersion)}
+	 * and {@link IntegerIntervalVersionRange#matchesInt(int)} agree with
+	 * {@link IntervalVersionRange#matches(com.justdavis.jessentials.jversionsanity.Version)}
+	 * for every kind of boundary.
+	 */
+	@Test
+	public void agreesWithIntervalVersionRange() {
+		String[] rangeStrings = new String[] { "[2,5]", "(2,5)", "[2,5)", "(2,5]", "[3]", "(3)", "(3,3]", "[2,]",
+				"(2,]", "[,5]", "[,5)", "(,0)", "3", "[0,2147483647]", "(2147483647,]", "(2147483646,]" };
+		int[] versionValues = new int[] { 0, 1, 2, 3, 4, 5, 6, 2147483646, 2147483647 };
+
+		for (String rangeString : rangeStrings) {
+			IntervalVersionRange<IntegerVersion> expected = new IntervalVersionRange<IntegerVersion>(
+					new IntegerVersionParser(), rangeString);
+			IntegerIntervalVersionRange actual = new IntegerIntervalVersionRange(rangeString);
+			for (int versionValue : versionValues) {
+				String message = rangeString + " vs " + versionValue;
+				boolean expectedMatch = expected.matches(new IntegerVersion(versionValue));
+				Assert.assertEquals(message, expectedMatch, actual.matches(new IntegerVersion(versionValue)));
+				Assert.assertEquals(message, expectedMatch, actual.matchesInt(versionValue));
+			}
+			Assert.assertEquals(rangeString, actual.toString());
+		}
+	}
+
+	/**
+	 * Verifies that
+	 * {@link IntervalVersionRange#parse(VersionParser, String)} produces
+	 * {@link IntegerIntervalVersionRange}s for {@link IntegerVersionParser}s.
+	 */
+	@Test
+	public void parseFactory() {
+		VersionRange<IntegerVersion> range = IntervalVersionRange.parse(new IntegerVersionParser(), "[1,3)");
+		Assert.assertEquals(new IntegerIntervalVersionRange("[1,3)"), range);
+		Assert.assertTrue(range.matches(new IntegerVersion(2)));
+
+		VersionParser<IntegerVersion> otherParser = new VersionParser<IntegerVersion>() {
+			@Override
+			public IntegerVersion parseVersion(String versionString) {
+				return new IntegerVersion(versionString);
+			}
+		};
+		Assert.assertEquals(new IntervalVersionRange<IntegerVersion>(otherParser, "[1,3)"),
+				IntervalVersionRange.parse(otherParser, "[1,3)"));
+	}
+
+	/**
+	 * Verifies that {@link IntegerIntervalVersionRange}s can be used with
+	 * {@link UnionVersionRange}'s set operations.
+	 */
+	@Test
+	public void asUnion() {
+		UnionVersionRange<IntegerVersion> union = new UnionVersionRange<IntegerVersion>(new IntegerVersionParser(),
+				"[1,3),[5,8)");
+		Assert.assertEquals("[2,3),[5,6]", union.intersect(new IntegerIntervalVersionRange("[2,6]")).toString());
+		Assert.assertTrue(union.contains(new IntegerIntervalVersionRange("[6,7]")));
+		Assert.assertEquals(1, UnionVersionRange.asUnion(new IntegerIntervalVersionRange("[6,7]")).getIntervalCount());
+	}
+}
@@ -0,0 +1,97 @@
+package com.justdavis.jessentials.jversionsanity.range.interval;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersion;
+
+/**
+ * Unit tests for {@link IntervalMatcher}.
+ */
+public final class IntervalMatcherTest {
+	/**
+	 * Verifies that {@link IntervalMatcher#matches(com.justdavis.jessentials.jversionsanity.Version)}
+	 * works as expected for every combination of {@link IntervalBoundaryType}s.
+	 */
+	@Test
+	public void matchesAllBoundaryTypes() {
+		IntervalMatcher<IntegerVersion> omitted = matcher(IntervalBoundaryType.OMITTED, 4, null,
+				IntervalBoundaryType.OMITTED);
+		Assert.assertFalse(omitted.matches(new IntegerVersion(3)));
+		Assert.assertTrue(omitted.matches(new IntegerVersion(4)));
+		Assert.assertTrue(omitted.matches(new IntegerVersion(Integer.MAX_VALUE)));
+
+		IntervalMatcher<IntegerVersion> inclusive = matcher(IntervalBoundaryType.INCLUSIVE, 4, 7,
+				IntervalBoundaryType.INCLUSIVE);
+		Assert.assertFalse(inclusive.matches(new IntegerVersion(3)));
+		Assert.assertTrue(inclusive.matches(new IntegerVersion(4)));
+		Assert.assertTrue(inclusive.matches(new IntegerVersion(7)));
+		Assert.assertFalse(inclusive.matches(new IntegerVersion(8)));
+
+		IntervalMatcher<IntegerVersion> exclusive = matcher(IntervalBoundaryType.EXCLUSIVE, 4, 7,
+				IntervalBoundaryType.EXCLUSIVE);
+		Assert.assertFalse(exclusive.matches(new IntegerVersion(4)));
+		Assert.assertTrue(exclusive.matches(new IntegerVersion(5)));
+		Assert.assertFalse(exclusive.matches(new IntegerVersion(7)));
+
+		IntervalMatcher<IntegerVersion> mixed = matcher(IntervalBoundaryType.EXCLUSIVE, 4, 7,
+				IntervalBoundaryType.INCLUSIVE);
+		Assert.assertFalse(mixed.matches(new IntegerVersion(4)));
+		Assert.assertTrue(mixed.matches(new IntegerVersion(7)));
+	}
+
+	/**
+	 * Verifies that {@link IntervalMatcher#matches(com.justdavis.jessentials.jversionsanity.Version)}
+	 * treats missing versions as unbounded, regardless of the
+	 * {@link IntervalBoundaryType} on that side.
+	 */
+	@Test
+	public void matchesHalfOpen() {
+		IntervalMatcher<IntegerVersion> noUpper = matcher(IntervalBoundaryType.INCLUSIVE, 4, null,
+				IntervalBoundaryType.EXCLUSIVE);
+		Assert.assertFalse(noUpper.matches(new IntegerVersion(3)));
+		Assert.assertTrue(noUpper.matches(new IntegerVersion(4)));
+		Assert.assertTrue(noUpper.matches(new IntegerVersion(Integer.MAX_VALUE)));
+
+		IntervalMatcher<IntegerVersion> noLower = matcher(IntervalBoundaryType.EXCLUSIVE, null, 4,
+				IntervalBoundaryType.EXCLUSIVE);
+		Assert.assertTrue(noLower.matches(new IntegerVersion(0)));
+		Assert.assertTrue(noLower.matches(new IntegerVersion(3)));
+		Assert.assertFalse(noLower.matches(new IntegerVersion(4)));
+	}
+
+	/**
+	 * Verifies that {@link IntervalParser#matches(Interval, com.justdavis.jessentials.jversionsanity.Version)}
+	 * agrees with {@link IntervalMatcher}.
+	 */
+	@Test
+	public void parserMatchesUsesSameLogic() {
+		IntervalParser parser = new IntervalParser();
+		Interval<IntegerVersion> interval = new Interval<IntegerVersion>(IntervalBoundaryType.EXCLUSIVE, null,
+				new IntegerVersion(4), IntervalBoundaryType.INCLUSIVE);
+
+		Assert.assertTrue(parser.matches(interval, new IntegerVersion(0)));
+		Assert.assertTrue(parser.matches(interval, new IntegerVersion(4)));
+		Assert.assertFalse(parser.matches(interval, new IntegerVersion(5)));
+	}
+
+	/**
+	 * Convenience method to eliminate some boilerplate.
+	 * 
+	 * @param typeLower
+	 *            the lower {@link IntervalBoundaryType}
+	 * @param versionLower
+	 *            the lower version value, or <code>null</code>
+	 * @param versionUpper
+	 *            the upper version value, or <code>null</code>
+	 * @param typeUpper
+	 *            the upper {@link IntervalBoundaryType}
+	 * @return a new {@link IntervalMatcher} for the specified bounds
+	 */
+	private static IntervalMatcher<IntegerVersion> matcher(IntervalBoundaryType typeLower, Integer versionLower,
+			Integer versionUpper, IntervalBoundaryType typeUpper) {
+		return new IntervalMatcher<IntegerVersion>(new Interval<IntegerVersion>(typeLower,
+				versionLower != null ? new IntegerVersion(versionLower) : null,
+				versionUpper != null ? new IntegerVersion(versionUpper) : null, typeUpper));
+	}
+}
@@ -3,6 +3,10 @@ package com.justdavis.jessentials.jversionsanity.range.interval;
 import org.junit.Assert;
 import org.junit.Test;
 
+import com.justdavis.jessentials.jversionsanity.VersionParseException;
+import com.justdavis.jessentials.jversionsanity.VersionParser;
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersion;
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersionParser;
 import com.justdavis.jessentials.jversionsanity.range.VersionRangeParseException;
 
 /**
@@ -146,4 +150,86 @@ public final class IntervalParserTest {
 		IntervalParser parser = new IntervalParser();
 		parser.parseVersionRange("[1.2)3.4]");
 	}
+
+	/**
+	 * Tests {@link IntervalParser#parseVersionRange(CharSequence, int, int, VersionParser)}
+	 * when passed a range that's just one slice of a larger
+	 * {@link CharSequence}.
+	 */
+	@Test
+	public void parseRange_slice() {
+		IntervalParser parser = new IntervalParser();
+		StringBuilder text = new StringBuilder("junk [ 4 , 07 ) more junk");
+		Interval<IntegerVersion> interval = parser.parseVersionRange(text, 4, 16, new IntegerVersionParser());
+		Assert.assertEquals(IntervalBoundaryType.INCLUSIVE, interval.getTypeLower());
+		Assert.assertEquals(new IntegerVersion(4), interval.getVersionLower());
+		Assert.assertEquals(new IntegerVersion(7), interval.getVersionUpper());
+		Assert.assertEquals("07", interval.getVersionUpper().toString());
+		Assert.assertEquals(IntervalBoundaryType.EXCLUSIVE, interval.getTypeUpper());
+	}
+
+	/**
+	 * Tests {@link IntervalParser#parseVersionRange(String)} when passed
+	 * various invalid ranges, verifying that the errors are reported at the
+	 * correct positions.
+	 */
+	@Test
+	public void parseRange_errorOffsets() {
+		IntervalParser parser = new IntervalParser();
+		assertErrorOffset(parser, "", 0);
+		assertErrorOffset(parser, "   ", 3);
+		assertErrorOffset(parser, " 1,4)", 2);
+		assertErrorOffset(parser, "1]", 1);
+		assertErrorOffset(parser, "(1", 2);
+		assertErrorOffset(parser, "[1,4", 4);
+		assertErrorOffset(parser, "[1.2)3.4]", 5);
+		assertErrorOffset(parser, "[1,2,3]", 4);
+		assertErrorOffset(parser, " [ ] ", 3);
+		assertErrorOffset(parser, " [,]", 1);
+	}
+
+	/**
+	 * Tests {@link IntervalParser#parseVersionRange(CharSequence, int, int, VersionParser)}
+	 * when passed ranges with invalid or backwards versions, verifying that the
+	 * errors are reported at the position of the offending version.
+	 */
+	@Test
+	public void parseRange_invalidVersionOffsets() {
+		IntervalParser parser = new IntervalParser();
+		try {
+			parser.parseVersionRange("[1, 4.1]", 0, 8, new IntegerVersionParser());
+			Assert.fail();
+		} catch (VersionRangeParseException e) {
+			Assert.assertEquals(4, e.getErrorOffset());
+			Assert.assertTrue(e.getCause() instanceof VersionParseException);
+		}
+
+		try {
+			parser.parseVersionRange("[4,1]", 0, 5, new IntegerVersionParser());
+			Assert.fail();
+		} catch (VersionRangeParseException e) {
+			Assert.assertEquals(3, e.getErrorOffset());
+		}
+	}
+
+	/**
+	 * Verifies that {@link IntervalParser#parseVersionRange(String)} throws a
+	 * {@link VersionRangeParseException} at the expected position.
+	 * 
+	 * @param parser
+	 *            the {@link IntervalParser} to use
+	 * @param rangeString
+	 *            the invalid version range {@link String} to parse
+	 * @param expectedOffset
+	 *            the expected value of
+	 *            {@link VersionRangeParseException#getErrorOffset()}
+	 */
+	private static void assertErrorOffset(IntervalParser parser, String rangeString, int expectedOffset) {
+		try {
+			parser.parseVersionRange(rangeString);
+			Assert.fail("Expected a parse failure for: " + rangeString);
+		} catch (VersionRangeParseException e) {
+			Assert.assertEquals(rangeString, expectedOffset, e.getErrorOffset());
+		}
+	}
 }
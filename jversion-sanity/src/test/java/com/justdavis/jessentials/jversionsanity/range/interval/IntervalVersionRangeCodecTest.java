@@ -0,0 +1,147 @@
+package com.justdavis.jessentials.jversionsanity.range.interval;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersion;
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersionCodec;
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersionParser;
+
+/**
+ * Unit tests for {@link IntervalVersionRangeCodec}.
+ */
+public final class IntervalVersionRangeCodecTest {
+	/**
+	 * A sample of ranges covering every combination of boundary types and
+	 * missing versions.
+	 */
+	private static final String[] RANGE_STRINGS = { "4", "[4]", "(4)", "[4,4]", "[4,7]", "(4,7)", "[4,7)", "(4,7]",
+			"[4,]", "(4,)", "[,7]", "(,7)", "[4,300)", "[100000,2147483647]" };
+
+	/**
+	 * @return the parsed {@link #RANGE_STRINGS}
+	 */
+	private static List<IntervalVersionRange<IntegerVersion>> parseSampleRanges() {
+		List<IntervalVersionRange<IntegerVersion>> ranges = new ArrayList<IntervalVersionRange<IntegerVersion>>();
+		for (String rangeString : RANGE_STRINGS)
+			ranges.add(new IntervalVersionRange<IntegerVersion>(new IntegerVersionParser(), rangeString));
+		return ranges;
+	}
+
+	/**
+	 * Verifies that {@link IntervalVersionRangeCodec} round-trips ranges
+	 * through {@link java.io.DataOutput}s.
+	 * 
+	 * @throws IOException
+	 *             (indicates a test error)
+	 */
+	@Test
+	public void roundTripDataOutput() throws IOException {
+		IntervalVersionRangeCodec<IntegerVersion> codec = new IntervalVersionRangeCodec<IntegerVersion>(
+				new IntegerVersionCodec());
+		List<IntervalVersionRange<IntegerVersion>> ranges = parseSampleRanges();
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		codec.writeAll(ranges, new DataOutputStream(bytes));
+		List<IntervalVersionRange<IntegerVersion>> decoded = codec
+				.readAll(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+		Assert.assertEquals(ranges, decoded);
+		for (int i = 0; i < ranges.size(); i++)
+			Assert.assertEquals(ranges.get(i).getInterval().toString(), decoded.get(i).toString());
+	}
+
+	/**
+	 * Verifies that {@link IntervalVersionRangeCodec} round-trips ranges
+	 * through {@link ByteBuffer}s, and that small ranges are as compact as
+	 * expected.
+	 */
+	@Test
+	public void roundTripByteBuffer() {
+		IntervalVersionRangeCodec<IntegerVersion> codec = new IntervalVersionRangeCodec<IntegerVersion>(
+				new IntegerVersionCodec());
+		ByteBuffer buffer = ByteBuffer.allocate(1024);
+		for (IntervalVersionRange<IntegerVersion> range : parseSampleRanges())
+			codec.write(range, buffer);
+		buffer.flip();
+		for (IntervalVersionRange<IntegerVersion> range : parseSampleRanges())
+			Assert.assertEquals(range, codec.read(buffer));
+		Assert.assertFalse(buffer.hasRemaining());
+
+		buffer.clear();
+		codec.write(new IntervalVersionRange<IntegerVersion>(new IntegerVersionParser(), "[4,7)"), buffer);
+		Assert.assertEquals(3, buffer.position());
+		buffer.clear();
+		codec.write(new IntervalVersionRange<IntegerVersion>(new IntegerVersionParser(), "[4]"), buffer);
+		Assert.assertEquals(2, buffer.position());
+	}
+
+	/**
+	 * Verifies that
+	 * {@link IntervalVersionRangeCodec#writeAll(java.util.Collection, java.io.DataOutput)}
+	 * rejects <code>null</code> arguments.
+	 * 
+	 * @throws IOException
+	 *             (indicates a test error)
+	 */
+	@Test
+	public void writeAllRejectsNulls() throws IOException {
+		IntervalVersionRangeCodec<IntegerVersion> codec = new IntervalVersionRangeCodec<IntegerVersion>(
+				new IntegerVersionCodec());
+
+		try {
+			codec.writeAll(null, new DataOutputStream(new ByteArrayOutputStream()));
+			Assert.fail();
+		} catch (IllegalArgumentException e) {
+			// Expected.
+		}
+		try {
+			codec.writeAll(parseSampleRanges(), null);
+			Assert.fail();
+		} catch (IllegalArgumentException e) {
+			// Expected.
+		}
+	}
+
+	/**
+	 * Verifies that {@link IntervalVersionRangeCodec} rejects malformed data.
+	 */
+	@Test
+	public void malformedData() {
+		IntervalVersionRangeCodec<IntegerVersion> codec = new IntervalVersionRangeCodec<IntegerVersion>(
+				new IntegerVersionCodec());
+
+		// Reserved flag bit set.
+		try {
+			codec.read(ByteBuffer.wrap(new byte[] { (byte) 0x80 }));
+			Assert.fail();
+		} catch (IllegalArgumentException e) {
+			// Expected.
+		}
+
+		// Unknown boundary type code.
+		try {
+			codec.read(ByteBuffer.wrap(new byte[] { 0x13, 4 }));
+			Assert.fail();
+		} catch (IllegalArgumentException e) {
+			// Expected.
+		}
+
+		// Lower version greater than the upper version.
+		try {
+			codec.read(new DataInputStream(new ByteArrayInputStream(new byte[] { 0x35, 7, 4 })));
+			Assert.fail();
+		} catch (IOException e) {
+			// Expected.
+		}
+	}
+}
@@ -1,12 +1,22 @@
 package com.justdavis.jessentials.jversionsanity.range.interval;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
 import org.junit.Assert;
 import org.junit.Test;
 
+import com.justdavis.jessentials.jversionsanity.ParseResult;
+import com.justdavis.jessentials.jversionsanity.ParseResults;
 import com.justdavis.jessentials.jversionsanity.Version;
+import com.justdavis.jessentials.jversionsanity.VersionParseException;
 import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersion;
 import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersionParser;
+import com.justdavis.jessentials.jversionsanity.range.VersionRange;
 import com.justdavis.jessentials.jversionsanity.range.VersionRangeParseException;
+import com.justdavis.jessentials.jversionsanity.semver.SemanticVersion;
+import com.justdavis.jessentials.jversionsanity.semver.SemanticVersionParser;
 
 /**
  * Unit tests for {@link IntervalVersionRange}. These tests use
@@ -195,4 +205,139 @@ public final class IntervalVersionRangeTest {
 		Assert.assertFalse(parseIntegerRange("(4,7)").matches(new IntegerVersion(3)));
 		Assert.assertFalse(parseIntegerRange("(4,7)").matches(new IntegerVersion(8)));
 	}
+
+	/**
+	 * Verifies that
+	 * {@link IntervalVersionRange#parse(com.justdavis.jessentials.jversionsanity.VersionParser, CharSequence, int, int)}
+	 * and
+	 * {@link IntervalVersionRange#parse(com.justdavis.jessentials.jversionsanity.VersionParser, ByteBuffer)}
+	 * work as expected.
+	 */
+	@Test
+	public void parseSlices() {
+		String text = "deps: [1.0.0, 2.0.0-rc.1) ; 3";
+		VersionRange<SemanticVersion> range = IntervalVersionRange.parse(new SemanticVersionParser(), text, 6, 25);
+		Assert.assertEquals(
+				new IntervalVersionRange<SemanticVersion>(new SemanticVersionParser(), "[1.0.0,2.0.0-rc.1)"), range);
+		Assert.assertEquals("[1.0.0,2.0.0-rc.1)", range.toString());
+
+		ByteBuffer buffer = ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII));
+		buffer.position(6).limit(25);
+		Assert.assertEquals(range, IntervalVersionRange.parse(new SemanticVersionParser(), buffer));
+		Assert.assertEquals(6, buffer.position());
+
+		VersionRange<IntegerVersion> integerRange = IntervalVersionRange.parse(new IntegerVersionParser(), text, 28,
+				29);
+		Assert.assertTrue(integerRange instanceof IntegerIntervalVersionRange);
+		Assert.assertTrue(integerRange.matches(new IntegerVersion(4)));
+		Assert.assertFalse(integerRange.matches(new IntegerVersion(2)));
+
+		try {
+			IntervalVersionRange.parse(new SemanticVersionParser(), text, 0, 25);
+			Assert.fail();
+		} catch (VersionRangeParseException e) {
+			// Expected.
+		}
+	}
+
+	/**
+	 * Verifies that
+	 * {@link IntervalVersionRange#tryParseRange(com.justdavis.jessentials.jversionsanity.VersionParser, String)}
+	 * works as expected, and that neither the
+	 * {@link VersionRangeParseException}s it returns nor their causes have
+	 * stack traces.
+	 */
+	@Test
+	public void tryParseRange() {
+		ParseResult<VersionRange<IntegerVersion>> valid = IntervalVersionRange
+				.tryParseRange(new IntegerVersionParser(), "[1,3)");
+		Assert.assertTrue(valid.isSuccess());
+		Assert.assertTrue(valid.getValue() instanceof IntegerIntervalVersionRange);
+		Assert.assertTrue(valid.getValue().matches(new IntegerVersion(2)));
+
+		ParseResult<VersionRange<IntegerVersion>> unbalanced = IntervalVersionRange
+				.tryParseRange(new IntegerVersionParser(), "[1,3");
+		Assert.assertFalse(unbalanced.isSuccess());
+		Assert.assertEquals(0, unbalanced.getError().getStackTrace().length);
+
+		ParseResult<VersionRange<SemanticVersion>> invalidVersion = IntervalVersionRange
+				.tryParseRange(new SemanticVersionParser(), "[1.0.0,2.x)");
+		Assert.assertFalse(invalidVersion.isSuccess());
+		Assert.assertEquals(7, ((VersionRangeParseException) invalidVersion.getError()).getErrorOffset());
+		Assert.assertEquals(0, invalidVersion.getError().getStackTrace().length);
+		Assert.assertTrue(invalidVersion.getError().getCause() instanceof VersionParseException);
+		Assert.assertEquals(0, invalidVersion.getError().getCause().getStackTrace().length);
+	}
+
+	/**
+	 * Verifies that
+	 * {@link IntervalVersionRange#parseAll(com.justdavis.jessentials.jversionsanity.VersionParser, Stream)}
+	 * works as expected.
+	 */
+	@Test
+	public void parseAll() {
+		ParseResults<VersionRange<IntegerVersion>> results = IntervalVersionRange
+				.parseAll(new IntegerVersionParser(), Stream.of("[1,3)", "[1,3", "(,5]", "[5,1]"));
+
+		Assert.assertEquals(4, results.size());
+		Assert.assertArrayEquals(new int[] { 1, 3 }, results.getFailureIndexes());
+		Assert.assertTrue(results.get(0).matches(new IntegerVersion(2)));
+		Assert.assertNull(results.get(1));
+		Assert.assertTrue(results.get(2).matches(new IntegerVersion(5)));
+		Assert.assertTrue(results.getError(3) instanceof VersionRangeParseException);
+	}
+
+	/**
+	 * Verifies that
+	 * {@link IntervalVersionRange#canonical(com.justdavis.jessentials.jversionsanity.VersionParser, String)}
+	 * returns the same instance for equivalent ranges, however they were
+	 * written, and that it's specialized where possible.
+	 */
+	@Test
+	public void canonical() {
+		VersionRange<IntegerVersion> canonical = IntervalVersionRange.canonical(new IntegerVersionParser(), "[1,2)");
+		Assert.assertTrue(canonical instanceof IntegerIntervalVersionRange);
+		Assert.assertSame(canonical, IntervalVersionRange.canonical(new IntegerVersionParser(), " [ 1 , 2 ) "));
+		Assert.assertEquals("[1,2)", canonical.toString());
+		Assert.assertEquals(IntervalVersionRange.parse(new IntegerVersionParser(), "[1,2)"), canonical);
+		Assert.assertTrue(canonical.matches(new IntegerVersion(1)));
+		Assert.assertFalse(canonical.matches(new IntegerVersion(2)));
+		Assert.assertNotSame(canonical, IntervalVersionRange.canonical(new IntegerVersionParser(), "[1,2]"));
+
+		VersionRange<IntegerVersion> atLeastOne = IntervalVersionRange.canonical(new IntegerVersionParser(), "1");
+		Assert.assertSame(atLeastOne, IntervalVersionRange.canonical(new IntegerVersionParser(), "[1,)"));
+		Assert.assertSame(atLeastOne, IntervalVersionRange.canonical(new IntegerVersionParser(), "[1,]"));
+		Assert.assertEquals("[1,)", atLeastOne.toString());
+		Assert.assertTrue(atLeastOne.matches(new IntegerVersion(1)));
+		Assert.assertTrue(atLeastOne.matches(new IntegerVersion(Integer.MAX_VALUE)));
+
+		VersionRange<IntegerVersion> atMostTwo = IntervalVersionRange.canonical(new IntegerVersionParser(), "(,2]");
+		Assert.assertSame(atMostTwo, IntervalVersionRange.canonical(new IntegerVersionParser(), "[,2]"));
+		Assert.assertEquals("(,2]", atMostTwo.toString());
+
+		SemanticVersionParser semVerParser = new SemanticVersionParser();
+		VersionRange<SemanticVersion> semVerRange = IntervalVersionRange.canonical(semVerParser, "[1.0.0,2.0.0)");
+		Assert.assertTrue(semVerRange instanceof IntervalVersionRange);
+		Assert.assertSame(semVerRange, IntervalVersionRange.canonical(semVerParser, " [ 1.0.0 , 2.0.0 ) "));
+		Assert.assertSame(semVerRange, IntervalVersionRange
+				.canonical(new IntervalVersionRange<SemanticVersion>(semVerParser, "[1.0.0,2.0.0)")));
+	}
+
+	/**
+	 * Verifies that {@link IntervalVersionRange#canonical(IntervalVersionRange)}
+	 * returns the same instance for equivalent ranges, and that the
+	 * {@link Version}s of the first range canonicalized are the ones kept.
+	 */
+	@Test
+	public void canonicalInstance() {
+		IntervalVersionRange<IntegerVersion> canonical = IntervalVersionRange.canonical(parseIntegerRange("[3,04)"));
+		Assert.assertSame(canonical, IntervalVersionRange.canonical(parseIntegerRange(" [ 3 , 4 ) ")));
+		Assert.assertSame(canonical, IntervalVersionRange.canonical(canonical));
+		Assert.assertEquals(parseIntegerRange("[3,4)"), canonical);
+		Assert.assertEquals(parseIntegerRange("[3,4)").hashCode(), canonical.hashCode());
+
+		// The bounds are normalized, but the versions keep their parsed text.
+		Assert.assertEquals("[3,04)", canonical.toString());
+		Assert.assertEquals("[3,04)", IntervalVersionRange.canonical(parseIntegerRange("[3,4)")).toString());
+	}
 }
@@ -0,0 +1,224 @@
+package com.justdavis.jessentials.jversionsanity.range.interval;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.justdavis.jessentials.jversionsanity.ParseResult;
+import com.justdavis.jessentials.jversionsanity.TestVersions;
+import com.justdavis.jessentials.jversionsanity.Version;
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersion;
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersionParser;
+import com.justdavis.jessentials.jversionsanity.range.VersionRangeParseException;
+
+/**
+ * Unit tests for {@link UnionVersionRange}. These tests use
+ * {@link IntegerVersion} as the ranges' {@link Version} format, but should be
+ * valid for any other format.
+ */
+public final class UnionVersionRangeTest {
+	/**
+	 * Ensures that the {@link UnionVersionRange} implementation's parse
+	 * constructor works correctly, and normalizes its intervals as expected.
+	 */
+	@Test
+	public void parseValidString() {
+		Assert.assertEquals(3, TestVersions.parseUnionRange("[1,3),(5,8],[10,]").getIntervalCount());
+		Assert.assertEquals(1, TestVersions.parseUnionRange(" [1,3) , [2,4] ").getIntervalCount());
+		Assert.assertEquals(0, TestVersions.parseUnionRange("").getIntervalCount());
+		Assert.assertEquals(1, TestVersions.parseUnionRange("(,)").getIntervalCount());
+
+		// Out-of-order, overlapping, adjacent, and empty intervals.
+		Assert.assertEquals("[1,4]", new UnionVersionRange<IntegerVersion>(
+				Arrays.asList(TestVersions.parseIntervalRange("[3,4]"),
+						TestVersions.parseIntervalRange("[1,3)"))).toString());
+		Assert.assertEquals(TestVersions.parseUnionRange("[1,4]"), TestVersions.parseUnionRange("[3,4],[1,3)"));
+		Assert.assertEquals(TestVersions.parseUnionRange("[1,6)"), TestVersions.parseUnionRange("[1,3],[2,6),(4,5]"));
+		Assert.assertEquals(TestVersions.parseUnionRange("[1,2)"), TestVersions.parseUnionRange("[1,2),(5,5),[7,7)"));
+		Assert.assertEquals(TestVersions.parseUnionRange("[1,3),(3,5]"), TestVersions.parseUnionRange("(3,5],[1,3)"));
+		Assert.assertEquals(TestVersions.parseUnionRange("(,)"), TestVersions.parseUnionRange("[,4],2"));
+		Assert.assertEquals(TestVersions.parseUnionRange("[2]"), TestVersions.parseUnionRange("[2,2]"));
+
+		UnionVersionRange<IntegerVersion> range = TestVersions.parseUnionRange("(5,8],[1,3)");
+		Assert.assertEquals(new IntegerVersion(1), range.getVersionLower(0));
+		Assert.assertTrue(range.isLowerInclusive(0));
+		Assert.assertEquals(new IntegerVersion(3), range.getVersionUpper(0));
+		Assert.assertFalse(range.isUpperInclusive(0));
+		Assert.assertEquals(new IntegerVersion(5), range.getVersionLower(1));
+		Assert.assertFalse(range.isLowerInclusive(1));
+	}
+
+	/**
+	 * Ensures that the {@link UnionVersionRange} implementation's parse
+	 * constructor rejects invalid {@link String}s.
+	 */
+	@Test
+	public void parseInvalidString() {
+		String[] invalidRangeStrings = new String[] { "[1,2],", ",[1,2]", "[1,2] [3,4]", "[1,2", "[1,2],[a,3]",
+				"[4,3]", "[1,2],,[3,4]" };
+		for (String invalidRangeString : invalidRangeStrings) {
+			try {
+				TestVersions.parseUnionRange(invalidRangeString);
+				Assert.fail("Expected parse failure for: " + invalidRangeString);
+			} catch (VersionRangeParseException e) {
+				// Expected.
+			}
+		}
+
+		try {
+			TestVersions.parseUnionRange("[1,2], [a,3]");
+			Assert.fail();
+		} catch (VersionRangeParseException e) {
+			Assert.assertEquals(8, e.getErrorOffset());
+		}
+	}
+
+	/**
+	 * Tests {@link UnionVersionRange#matches(IntegerVersion)}.
+	 */
+	@Test
+	public void matches() {
+		UnionVersionRange<IntegerVersion> range = TestVersions.parseUnionRange("[1,3),(5,8],[10,]");
+		boolean[] expected = new boolean[] { false, true, true, false, false, false, true, true, true, false, true,
+				true };
+		for (int i = 0; i < expected.length; i++)
+			Assert.assertEquals("Version: " + i, expected[i], range.matches(new IntegerVersion(i)));
+
+		Assert.assertFalse(TestVersions.parseUnionRange("").matches(new IntegerVersion(1)));
+		Assert.assertTrue(TestVersions.parseUnionRange("(,)").matches(new IntegerVersion(1)));
+		Assert.assertTrue(TestVersions.parseUnionRange("[,2),[4]").matches(new IntegerVersion(0)));
+		Assert.assertTrue(TestVersions.parseUnionRange("[,2),[4]").matches(new IntegerVersion(4)));
+		Assert.assertFalse(TestVersions.parseUnionRange("[,2),[4]").matches(new IntegerVersion(3)));
+	}
+
+	/**
+	 * Verifies that {@link UnionVersionRange#matches(IntegerVersion)} agrees
+	 * with checking each of its {@link IntervalVersionRange}s in turn.
+	 */
+	@Test
+	public void matchesAgreesWithIntervals() {
+		String[] intervalStrings = new String[] { "(2,4]", "[7,9)", "[9]", "(12,15)", "[15,16)", "(20,]" };
+		UnionVersionRange<IntegerVersion> union = TestVersions.parseUnionRange(String.join(",", intervalStrings));
+		for (int i = 0; i < 25; i++) {
+			IntegerVersion version = new IntegerVersion(i);
+			boolean expected = false;
+			for (String intervalString : intervalStrings)
+				expected |= TestVersions.parseIntervalRange(intervalString).matches(version);
+			Assert.assertEquals("Version: " + i, expected, union.matches(version));
+		}
+	}
+
+	/**
+	 * Tests {@link UnionVersionRange#union(com.justdavis.jessentials.jversionsanity.range.VersionRange)}
+	 * .
+	 */
+	@Test
+	public void union() {
+		Assert.assertEquals("[1,4],[6,8)",
+				TestVersions.parseUnionRange("[1,2),[6,7]").union(TestVersions.parseUnionRange("[2,4],(6,8)"))
+				.toString());
+		Assert.assertEquals("[1,2)",
+				TestVersions.parseUnionRange("[1,2)").union(TestVersions.parseUnionRange("")).toString());
+		Assert.assertEquals("(,)",
+				TestVersions.parseUnionRange("[,2)").union(TestVersions.parseIntervalRange("[2,]")).toString());
+	}
+
+	/**
+	 * Tests {@link UnionVersionRange#intersect(com.justdavis.jessentials.jversionsanity.range.VersionRange)}
+	 * .
+	 */
+	@Test
+	public void intersect() {
+		Assert.assertEquals("[2,3),[5],[7,8)",
+				TestVersions.parseUnionRange("[1,3),[5,8)").intersect(TestVersions.parseUnionRange("[2,5],[7,]"))
+				.toString());
+		Assert.assertEquals("[3,5)",
+				TestVersions.parseUnionRange("(,5)").intersect(TestVersions.parseIntervalRange("3")).toString());
+		Assert.assertTrue(
+				TestVersions.parseUnionRange("[1,3)").intersect(TestVersions.parseUnionRange("[3,4]")).isEmpty());
+		Assert.assertTrue(TestVersions.parseUnionRange("[1,3)").intersect(TestVersions.parseUnionRange("")).isEmpty());
+		Assert.assertEquals(TestVersions.parseUnionRange("[1,3),(5,8]"),
+				TestVersions.parseUnionRange("[1,3),(5,8]").intersect(TestVersions.parseUnionRange("(,)")));
+	}
+
+	/**
+	 * Tests {@link UnionVersionRange#complement()}.
+	 */
+	@Test
+	public void complement() {
+		Assert.assertEquals("(,1),[3,5],(8,10)",
+				TestVersions.parseUnionRange("[1,3),(5,8],[10,]").complement().toString());
+		Assert.assertEquals("[2,)", TestVersions.parseUnionRange("[,2)").complement().toString());
+		Assert.assertEquals("(,)", TestVersions.parseUnionRange("").complement().toString());
+		Assert.assertEquals("", TestVersions.parseUnionRange("(,)").complement().toString());
+
+		UnionVersionRange<IntegerVersion> range = TestVersions.parseUnionRange("(2,4],[6],[9,12)");
+		UnionVersionRange<IntegerVersion> complement = range.complement();
+		Assert.assertEquals(range, complement.complement());
+		for (int i = 0; i < 15; i++)
+			Assert.assertNotEquals(range.matches(new IntegerVersion(i)), complement.matches(new IntegerVersion(i)));
+		Assert.assertTrue(range.intersect(complement).isEmpty());
+		Assert.assertEquals(TestVersions.parseUnionRange("(,)"), range.union(complement));
+	}
+
+	/**
+	 * Tests {@link UnionVersionRange#contains(com.justdavis.jessentials.jversionsanity.range.VersionRange)}
+	 * .
+	 */
+	@Test
+	public void contains() {
+		UnionVersionRange<IntegerVersion> range = TestVersions.parseUnionRange("[1,3),(5,8],[10,]");
+		Assert.assertTrue(range.contains(TestVersions.parseUnionRange("[1,2],[6,8],[12,15)")));
+		Assert.assertTrue(range.contains(TestVersions.parseIntervalRange("11")));
+		Assert.assertTrue(range.contains(TestVersions.parseUnionRange("")));
+		Assert.assertTrue(range.contains(range));
+		Assert.assertFalse(range.contains(TestVersions.parseUnionRange("[1,3]")));
+		Assert.assertFalse(range.contains(TestVersions.parseUnionRange("[5,6]")));
+		Assert.assertFalse(range.contains(TestVersions.parseUnionRange("[0]")));
+		Assert.assertFalse(range.contains(TestVersions.parseUnionRange("[1,2],[4]")));
+		Assert.assertFalse(range.contains(TestVersions.parseUnionRange("(,)")));
+		Assert.assertTrue(TestVersions.parseUnionRange("(,)").contains(range));
+		Assert.assertFalse(TestVersions.parseUnionRange("").contains(range));
+	}
+
+	/**
+	 * Verifies that
+	 * {@link UnionVersionRange#parse(com.justdavis.jessentials.jversionsanity.VersionParser, CharSequence, int, int)}
+	 * and
+	 * {@link UnionVersionRange#parse(com.justdavis.jessentials.jversionsanity.VersionParser, ByteBuffer)}
+	 * work as expected.
+	 */
+	@Test
+	public void parseSlices() {
+		String text = "x=[4,6),[1,3];";
+		UnionVersionRange<IntegerVersion> range = UnionVersionRange.parse(new IntegerVersionParser(), text, 2, 13);
+		Assert.assertEquals(new UnionVersionRange<IntegerVersion>(new IntegerVersionParser(), "[1,3],[4,6)"), range);
+		Assert.assertEquals("[1,3],[4,6)", range.toString());
+
+		ByteBuffer buffer = ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII));
+		buffer.position(2).limit(13);
+		Assert.assertEquals(range, UnionVersionRange.parse(new IntegerVersionParser(), buffer));
+	}
+
+	/**
+	 * Verifies that
+	 * {@link UnionVersionRange#tryParseRange(com.justdavis.jessentials.jversionsanity.VersionParser, String)}
+	 * works as expected.
+	 */
+	@Test
+	public void tryParseRange() {
+		ParseResult<UnionVersionRange<IntegerVersion>> valid = UnionVersionRange
+				.tryParseRange(new IntegerVersionParser(), "[4,6),[1,3]");
+		Assert.assertTrue(valid.isSuccess());
+		Assert.assertEquals(TestVersions.parseUnionRange("[1,3],[4,6)"), valid.getValue());
+
+		ParseResult<UnionVersionRange<IntegerVersion>> invalid = UnionVersionRange
+				.tryParseRange(new IntegerVersionParser(), "[4,6),[1,x]");
+		Assert.assertFalse(invalid.isSuccess());
+		Assert.assertEquals(9, ((VersionRangeParseException) invalid.getError()).getErrorOffset());
+		Assert.assertEquals(0, invalid.getError().getStackTrace().length);
+	}
+}
@@ -0,0 +1,116 @@
+package com.justdavis.jessentials.jversionsanity.range.interval;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.justdavis.jessentials.jversionsanity.VersionParseException;
+import com.justdavis.jessentials.jversionsanity.VersionParser;
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersion;
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersionParser;
+import com.justdavis.jessentials.jversionsanity.range.VersionRangeParseException;
+
+/**
+ * Unit tests for {@link VersionRangeCache}.
+ */
+public final class VersionRangeCacheTest {
+	/**
+	 * Verifies that {@link VersionRangeCache#get(VersionParser, String)}
+	 * returns the same instance for repeated lookups, and counts hits and
+	 * misses correctly.
+	 */
+	@Test
+	public void hitsAndMisses() {
+		VersionRangeCache cache = new VersionRangeCache(10);
+		IntegerVersionParser parser = new IntegerVersionParser();
+
+		IntervalVersionRange<IntegerVersion> range = cache.get(parser, "[1,2)");
+		Assert.assertEquals(new IntervalVersionRange<IntegerVersion>(parser, "[1,2)"), range);
+		Assert.assertSame(range, cache.get(parser, "[1,2)"));
+		Assert.assertSame(range, cache.get(new IntegerVersionParser(), "[1,2)"));
+		Assert.assertNotSame(range, cache.get(parser, "[1,2]"));
+
+		Assert.assertEquals(2, cache.getHitCount());
+		Assert.assertEquals(2, cache.getMissCount());
+		Assert.assertEquals(0, cache.getEvictionCount());
+		Assert.assertEquals(2, cache.size());
+	}
+
+	/**
+	 * Verifies that {@link VersionRangeCache} keeps the entries for different
+	 * {@link VersionParser} types separate.
+	 */
+	@Test
+	public void keyedByParserType() {
+		VersionRangeCache cache = new VersionRangeCache(10);
+		VersionParser<IntegerVersion> otherParser = new VersionParser<IntegerVersion>() {
+			@Override
+			public IntegerVersion parseVersion(String versionString) throws VersionParseException {
+				return new IntegerVersion(versionString);
+			}
+		};
+
+		IntervalVersionRange<IntegerVersion> range = cache.get(new IntegerVersionParser(), "[3,]");
+		Assert.assertNotSame(range, cache.get(otherParser, "[3,]"));
+		Assert.assertEquals(2, cache.getMissCount());
+	}
+
+	/**
+	 * Verifies that {@link VersionRangeCache} evicts entries once full, giving
+	 * recently-used entries a second chance.
+	 */
+	@Test
+	public void eviction() {
+		VersionRangeCache cache = new VersionRangeCache(3);
+		IntegerVersionParser parser = new IntegerVersionParser();
+
+		IntervalVersionRange<IntegerVersion> range1 = cache.get(parser, "1");
+		cache.get(parser, "2");
+		cache.get(parser, "3");
+
+		// Mark "1" as recently used, so that "2" gets evicted instead of it.
+		cache.get(parser, "1");
+		cache.get(parser, "4");
+		Assert.assertEquals(1, cache.getEvictionCount());
+		Assert.assertEquals(3, cache.size());
+
+		long missCount = cache.getMissCount();
+		Assert.assertSame(range1, cache.get(parser, "1"));
+		Assert.assertEquals(missCount, cache.getMissCount());
+		cache.get(parser, "2");
+		Assert.assertEquals(missCount + 1, cache.getMissCount());
+	}
+
+	/**
+	 * Verifies that {@link VersionRangeCache#clear()} works as expected.
+	 */
+	@Test
+	public void clear() {
+		VersionRangeCache cache = new VersionRangeCache(3);
+		IntegerVersionParser parser = new IntegerVersionParser();
+		IntervalVersionRange<IntegerVersion> range = cache.get(parser, "1");
+
+		cache.clear();
+		Assert.assertEquals(0, cache.size());
+		Assert.assertNotSame(range, cache.get(parser, "1"));
+		Assert.assertEquals(1, cache.size());
+	}
+
+	/**
+	 * Verifies that {@link VersionRangeCache} doesn't cache invalid ranges.
+	 */
+	@Test
+	public void invalidRangesAreNotCached() {
+		VersionRangeCache cache = new VersionRangeCache(3);
+		for (int i = 0; i < 2; i++) {
+			try {
+				cache.get(new IntegerVersionParser(), "[1,");
+				Assert.fail();
+			} catch (VersionRangeParseException e) {
+				// Expected.
+			}
+		}
+
+		Assert.assertEquals(2, cache.getMissCount());
+		Assert.assertEquals(0, cache.size());
+	}
+}
@@ -0,0 +1,66 @@
+package com.justdavis.jessentials.jversionsanity.range.interval;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link WeakInterner}.
+ */
+public final class WeakInternerTest {
+	/**
+	 * Verifies that {@link WeakInterner#intern(Object)} returns the first
+	 * instance passed in for all equal instances.
+	 */
+	@Test
+	public void intern() {
+		WeakInterner<String> interner = new WeakInterner<String>();
+		String first = new String("foo");
+		String second = new String("foo");
+
+		Assert.assertSame(first, interner.intern(first));
+		Assert.assertSame(first, interner.intern(second));
+		Assert.assertSame(first, interner.intern(first));
+		Assert.assertEquals(1, interner.size());
+
+		String other = new String("bar");
+		Assert.assertSame(other, interner.intern(other));
+		Assert.assertEquals(2, interner.size());
+	}
+
+	/**
+	 * Verifies that {@link WeakInterner#intern(Object)} returns the same
+	 * instance to every thread, even when they race to intern equal instances.
+	 * 
+	 * @throws Exception
+	 *             (indicates a test error)
+	 */
+	@Test
+	public void internConcurrently() throws Exception {
+		WeakInterner<String> interner = new WeakInterner<String>();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<String>> results = new ArrayList<Future<String>>();
+			for (int i = 0; i < 100; i++) {
+				results.add(executor.submit(new Callable<String>() {
+					@Override
+					public String call() throws Exception {
+						return interner.intern(new String("foo"));
+					}
+				}));
+			}
+
+			String canonical = results.get(0).get();
+			for (Future<String> result : results)
+				Assert.assertSame(canonical, result.get());
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
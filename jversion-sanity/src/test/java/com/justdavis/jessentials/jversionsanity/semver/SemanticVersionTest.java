@@ -0,0 +1,160 @@
+package com.justdavis.jessentials.jversionsanity.semver;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.justdavis.jessentials.jversionsanity.AbstractVersionTest;
+import com.justdavis.jessentials.jversionsanity.VersionParseException;
+import com.justdavis.jessentials.jversionsanity.VersionParser;
+
+/**
+ * Unit tests for {@link SemanticVersion}.
+ */
+public final class SemanticVersionTest extends AbstractVersionTest<SemanticVersion> {
+	/**
+	 * @see com.justdavis.jessentials.jversionsanity.AbstractVersionTest#getParser()
+	 */
+	@Override
+	protected VersionParser<SemanticVersion> getParser() {
+		return new SemanticVersionParser();
+	}
+
+	/**
+	 * @see com.justdavis.jessentials.jversionsanity.AbstractVersionTest#getSample1()
+	 */
+	@Override
+	protected SemanticVersion getSample1() {
+		return new SemanticVersion("1.0.0-rc.1+build.5");
+	}
+
+	/**
+	 * @see com.justdavis.jessentials.jversionsanity.AbstractVersionTest#getSample1String()
+	 */
+	@Override
+	protected String getSample1String() {
+		return "1.0.0-rc.1+build.5";
+	}
+
+	/**
+	 * @see com.justdavis.jessentials.jversionsanity.AbstractVersionTest#getSample2()
+	 */
+	@Override
+	protected SemanticVersion getSample2() {
+		return new SemanticVersion(1, 0, 0);
+	}
+
+	/**
+	 * @see com.justdavis.jessentials.jversionsanity.AbstractVersionTest#getOrderedVersionStrings()
+	 */
+	@Override
+	protected String[] getOrderedVersionStrings() {
+		return new String[] { "1.0.0-2", "1.0.0-10", "1.0.0-alpha", "1.0.0-alpha.1", "1.0.0-alpha.beta",
+				"1.0.0-alpha-1", "1.0.0-beta", "1.0.0-beta.2", "1.0.0-beta.11", "1.0.0-rc.1", "1.0.0", "1.0.1", "1.1.0",
+				"1.10.0", "2.0.0", "2.0.3000000" };
+	}
+
+	/**
+	 * Verifies that {@link SemanticVersion#compareTo(com.justdavis.jessentials.jversionsanity.Version)}
+	 * orders versions per the precedence example in the specification.
+	 */
+	@Test
+	public void precedence() {
+		String[] ordered = { "1.0.0-alpha", "1.0.0-alpha.1", "1.0.0-alpha.beta", "1.0.0-beta", "1.0.0-beta.2",
+				"1.0.0-beta.11", "1.0.0-rc.1", "1.0.0", "1.0.1", "1.1.0", "1.10.0", "2.0.0", "2.0.3000000" };
+		SemanticVersionParser parser = new SemanticVersionParser();
+		for (int i = 0; i < ordered.length; i++) {
+			for (int j = 0; j < ordered.length; j++) {
+				int comparison = parser.parseVersion(ordered[i]).compareTo(parser.parseVersion(ordered[j]));
+				Assert.assertEquals(ordered[i] + " vs. " + ordered[j], Integer.signum(Integer.compare(i, j)),
+						Integer.signum(comparison));
+			}
+		}
+	}
+
+	/**
+	 * Verifies that {@link SemanticVersion}s with components too large to pack
+	 * into a single sort key still compare correctly.
+	 */
+	@Test
+	public void compareUnpackedComponents() {
+		int big = SemanticVersion.MAX_PACKED_COMPONENT + 1;
+		Assert.assertTrue(new SemanticVersion(1, 2, big).compareTo(new SemanticVersion(1, 3, 0)) < 0);
+		Assert.assertTrue(new SemanticVersion(big, 0, 0).compareTo(new SemanticVersion(big - 1, 9, 9)) > 0);
+		Assert.assertTrue(new SemanticVersion(1, big, 0).compareTo(new SemanticVersion(1, big, 0)) == 0);
+		Assert.assertTrue(new SemanticVersion(Integer.MAX_VALUE, 0, 0).compareTo(new SemanticVersion(big, 0, 0)) > 0);
+		Assert.assertEquals("20240101.0.0", new SemanticVersion("20240101.0.0").toString());
+	}
+
+	/**
+	 * Verifies that build metadata is ignored by
+	 * {@link SemanticVersion#equals(Object)} and
+	 * {@link SemanticVersion#compareTo(com.justdavis.jessentials.jversionsanity.Version)}
+	 * , but kept by {@link SemanticVersion#toString()}.
+	 */
+	@Test
+	public void buildMetadataIgnored() {
+		SemanticVersion withBuild = new SemanticVersion("1.2.3-beta+exp.sha.5114f85");
+		SemanticVersion withoutBuild = new SemanticVersion("1.2.3-beta");
+		Assert.assertEquals(withoutBuild, withBuild);
+		Assert.assertEquals(withoutBuild.hashCode(), withBuild.hashCode());
+		Assert.assertEquals(0, withBuild.compareTo(withoutBuild));
+		Assert.assertEquals("exp.sha.5114f85", withBuild.getBuildMetadata());
+		Assert.assertEquals("beta", withBuild.getPreRelease());
+		Assert.assertEquals("1.2.3-beta+exp.sha.5114f85", withBuild.toString());
+		Assert.assertEquals("1.2.3+001", new SemanticVersion("1.2.3+001").toString());
+	}
+
+	/**
+	 * Verifies that {@link SemanticVersion#SemanticVersion(String)} rejects
+	 * malformed version strings.
+	 */
+	@Test
+	public void parseInvalidStrings() {
+		String[] invalid = { "", "1", "1.2", "1.2.3.4", "01.2.3", "1.02.3", "-1.2.3", " 1.2.3", "1.2.3-", "1.2.3-a..b",
+				"1.2.3-01", "1.2.3+", "1.2.3+a+b", "1.2.3-a_b", "v1.2.3", "1.2.3a", "1.2.2147483648" };
+		for (String versionString : invalid) {
+			try {
+				new SemanticVersion(versionString);
+				Assert.fail(versionString);
+			} catch (VersionParseException e) {
+				// Expected.
+			}
+		}
+	}
+
+	/**
+	 * Verifies that {@link SemanticVersionParser#parseVersion(CharSequence, int, int)}
+	 * works as expected.
+	 */
+	@Test
+	public void parseSlice() {
+		SemanticVersionParser parser = new SemanticVersionParser();
+		String text = "[1.2.3-rc.1,4.5.6+b]";
+		Assert.assertEquals(new SemanticVersion("1.2.3-rc.1"), parser.parseVersion(text, 1, 11));
+		Assert.assertEquals("4.5.6+b", parser.parseVersion(text, 12, 19).toString());
+	}
+
+	/**
+	 * Verifies that {@link SemanticVersion#writeSortKey(java.nio.ByteBuffer)}
+	 * produces keys that ignore build metadata. (Their ordering per the
+	 * precedence rules is checked by {@link #orderedSamplesWorkCorrectly()}.)
+	 */
+	@Test
+	public void sortKeys() {
+		Assert.assertArrayEquals(new SemanticVersion("1.2.3-rc.1").toSortKey(),
+				new SemanticVersion("1.2.3-rc.1+build.5").toSortKey());
+	}
+
+	/**
+	 * Verifies that {@link SemanticVersionParser#parseVersion(ByteBuffer)}
+	 * works as expected.
+	 */
+	@Test
+	public void parseByteBuffer() {
+		ByteBuffer buffer = ByteBuffer.wrap("1.2.3-rc.1+b".getBytes(StandardCharsets.US_ASCII));
+		Assert.assertEquals("1.2.3-rc.1+b", new SemanticVersionParser().parseVersion(buffer).toString());
+	}
+}
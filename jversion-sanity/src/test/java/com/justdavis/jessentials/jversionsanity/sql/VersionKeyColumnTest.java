@@ -0,0 +1,208 @@
+package com.justdavis.jessentials.jversionsanity.sql;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersion;
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersionParser;
+import com.justdavis.jessentials.jversionsanity.dotted.DottedVersion;
+import com.justdavis.jessentials.jversionsanity.dotted.DottedVersionParser;
+import com.justdavis.jessentials.jversionsanity.range.interval.IntervalVersionRange;
+
+/**
+ * Unit tests for {@link VersionKeyColumn}.
+ */
+public final class VersionKeyColumnTest {
+	/**
+	 * Tests {@link VersionKeyColumn#getIndexName()}.
+	 */
+	@Test
+	public void indexName() {
+		Assert.assertEquals("artifact_versions_version_key_idx", new VersionKeyColumn<IntegerVersion>(
+				"artifact_versions", "version", "version_key", new IntegerVersionParser()).getIndexName());
+		Assert.assertEquals("artifact_versions_version_key_idx", new VersionKeyColumn<IntegerVersion>(
+				"repo.artifact_versions", "version", "version_key", new IntegerVersionParser()).getIndexName());
+	}
+
+	/**
+	 * Verifies that {@link VersionKeyColumn} rejects unsafe table and column
+	 * names.
+	 */
+	@Test
+	public void rejectsInvalidNames() {
+		String[][] invalidNames = new String[][] { { "artifact_versions; DROP TABLE x", "version", "version_key" },
+				{ "artifact_versions", "a.version", "version_key" },
+				{ "artifact_versions", "version", "version_key = version_key" } };
+		for (String[] names : invalidNames) {
+			try {
+				new VersionKeyColumn<IntegerVersion>(names[0], names[1], names[2], new IntegerVersionParser());
+				Assert.fail();
+			} catch (IllegalArgumentException e) {
+				// Expected.
+			}
+		}
+	}
+
+	/**
+	 * Tests {@link VersionKeyColumn#create(Connection)},
+	 * {@link VersionKeyColumn#update(Connection)}, and
+	 * {@link VersionKeyColumn#translate(com.justdavis.jessentials.jversionsanity.range.VersionRange)}
+	 * end to end, against an in-memory HSQLDB database. The versions are
+	 * chosen so that the queries only return the right rows, in the right
+	 * order, if the database compares the sort keys as unsigned bytes (e.g.
+	 * <code>0x7F</code> vs. <code>0x80</code> in <code>1.127</code> vs.
+	 * <code>1.128</code>), and sorts a key before any longer key that it's a
+	 * prefix of (e.g. <code>2-zeta</code> vs. <code>2-zetaa</code>).
+	 * 
+	 * @throws SQLException
+	 *             (indicates a test error)
+	 */
+	@Test
+	public void filterInDatabase() throws SQLException {
+		DottedVersionParser parser = new DottedVersionParser();
+		Assert.assertTrue(isStrictPrefix(parser.parseVersion("2-zeta").toSortKey(),
+				parser.parseVersion("2-zetaa").toSortKey()));
+		char[] longQualifier = new char[VersionKeyColumn.MAX_VARBINARY_KEY_LENGTH];
+		Arrays.fill(longQualifier, 'q');
+		String oversizedVersion = "3-" + new String(longQualifier);
+		List<String> versionStrings = Arrays.asList("1.256", "2-zetaa", "1.127", "not a version!", "1.255", "2-zeta",
+				oversizedVersion, "1.128", "1.127");
+
+		try (Connection connection = DriverManager.getConnection("jdbc:hsqldb:mem:versionkeycolumn;shutdown=true",
+				"SA", "")) {
+			try (Statement statement = connection.createStatement()) {
+				statement.executeUpdate("CREATE TABLE artifact_versions (id INTEGER PRIMARY KEY, version VARCHAR("
+						+ (VersionKeyColumn.MAX_VARBINARY_KEY_LENGTH * 2) + "))");
+			}
+			try (PreparedStatement statement = connection
+					.prepareStatement("INSERT INTO artifact_versions (id, version) VALUES (?, ?)")) {
+				for (int i = 0; i < versionStrings.size(); i++) {
+					statement.setInt(1, i);
+					statement.setString(2, versionStrings.get(i));
+					statement.executeUpdate();
+				}
+			}
+
+			VersionKeyColumn<DottedVersion> column = new VersionKeyColumn<DottedVersion>("artifact_versions",
+					"version", "version_key", parser);
+			column.create(connection);
+			VersionKeyUpdateResult result = column.update(connection);
+			Assert.assertEquals(7, result.getUpdatedRowCount());
+			Assert.assertEquals(Arrays.asList(oversizedVersion), result.getOversizedVersions());
+			Assert.assertEquals(0, column.update(connection).getUpdatedRowCount());
+
+			assertSelects(connection, column, "[1.127,1.128]", "1.127", "1.127", "1.128");
+			assertSelects(connection, column, "(1.127,1.256)", "1.128", "1.255");
+			assertSelects(connection, column, "[1.128,2-zeta]", "1.128", "1.255", "1.256", "2-zeta");
+			assertSelects(connection, column, "(2-zeta,)", "2-zetaa");
+
+			// The database's order should be exactly the same as the versions'.
+			List<String> expectedOrder = new ArrayList<String>();
+			List<DottedVersion> versions = new ArrayList<DottedVersion>();
+			for (String versionString : versionStrings)
+				if (parser.tryParseVersion(versionString).isSuccess() && !versionString.equals(oversizedVersion))
+					versions.add(parser.parseVersion(versionString));
+			Collections.sort(versions);
+			for (DottedVersion version : versions)
+				expectedOrder.add(version.toString());
+			assertSelects(connection, column, "[1,)", expectedOrder.toArray(new String[expectedOrder.size()]));
+		}
+	}
+
+	/**
+	 * Verifies that {@link VersionKeyColumn#update(Connection)} updates every
+	 * row when there are more distinct versions than fit in a single batch.
+	 * 
+	 * @throws SQLException
+	 *             (indicates a test error)
+	 */
+	@Test
+	public void updateInBatches() throws SQLException {
+		int versionCount = VersionKeyColumn.UPDATE_BATCH_SIZE * 2 + 1;
+		try (Connection connection = DriverManager.getConnection("jdbc:hsqldb:mem:versionkeybatches;shutdown=true",
+				"SA", "")) {
+			try (Statement statement = connection.createStatement()) {
+				statement.executeUpdate("CREATE TABLE artifact_versions (id INTEGER PRIMARY KEY, version VARCHAR(20))");
+			}
+			try (PreparedStatement statement = connection
+					.prepareStatement("INSERT INTO artifact_versions (id, version) VALUES (?, ?)")) {
+				for (int i = 0; i < versionCount; i++) {
+					statement.setInt(1, i);
+					statement.setString(2, "1." + i);
+					statement.executeUpdate();
+				}
+			}
+
+			VersionKeyColumn<DottedVersion> column = new VersionKeyColumn<DottedVersion>("artifact_versions",
+					"version", "version_key", new DottedVersionParser());
+			column.create(connection);
+			VersionKeyUpdateResult result = column.update(connection);
+			Assert.assertEquals(versionCount, result.getUpdatedRowCount());
+			Assert.assertTrue(result.getOversizedVersions().isEmpty());
+			try (Statement statement = connection.createStatement();
+					ResultSet results = statement
+							.executeQuery("SELECT COUNT(*) FROM artifact_versions WHERE version_key IS NULL")) {
+				Assert.assertTrue(results.next());
+				Assert.assertEquals(0, results.getInt(1));
+			}
+		}
+	}
+
+	/**
+	 * Verifies that the rows selected by the specified range's
+	 * {@link SqlVersionPredicate} are exactly the expected ones, in sort key
+	 * order.
+	 * 
+	 * @param connection
+	 *            the {@link Connection} to the database with the table
+	 * @param column
+	 *            the {@link VersionKeyColumn} to query
+	 * @param rangeString
+	 *            the {@link String} representation of the
+	 *            {@link IntervalVersionRange} to select the rows with
+	 * @param expectedVersions
+	 *            the version {@link String}s of the rows that should be
+	 *            selected, in order
+	 * @throws SQLException
+	 *             (indicates a test error)
+	 */
+	private static void assertSelects(Connection connection, VersionKeyColumn<DottedVersion> column,
+			String rangeString, String... expectedVersions) throws SQLException {
+		SqlVersionPredicate predicate = column
+				.translate(new IntervalVersionRange<DottedVersion>(new DottedVersionParser(), rangeString));
+		List<String> actualVersions = new ArrayList<String>();
+		try (PreparedStatement statement = connection.prepareStatement("SELECT version FROM artifact_versions WHERE "
+				+ predicate.getSql() + " ORDER BY version_key, id")) {
+			predicate.bind(statement, 1);
+			try (ResultSet results = statement.executeQuery()) {
+				while (results.next())
+					actualVersions.add(results.getString(1));
+			}
+		}
+		Assert.assertEquals(rangeString, Arrays.asList(expectedVersions), actualVersions);
+	}
+
+	/**
+	 * @param a
+	 *            the first array to check
+	 * @param b
+	 *            the second array to check
+	 * @return <code>true</code> if the first array is shorter than the second
+	 *         one, and all of its bytes match the start of it,
+	 *         <code>false</code> otherwise
+	 */
+	private static boolean isStrictPrefix(byte[] a, byte[] b) {
+		return a.length < b.length && Arrays.equals(a, Arrays.copyOf(b, a.length));
+	}
+}
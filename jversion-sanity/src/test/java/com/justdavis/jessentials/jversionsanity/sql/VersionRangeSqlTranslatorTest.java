@@ -0,0 +1,108 @@
+package com.justdavis.jessentials.jversionsanity.sql;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersion;
+import com.justdavis.jessentials.jversionsanity.bareint.IntegerVersionParser;
+import com.justdavis.jessentials.jversionsanity.range.VersionRange;
+import com.justdavis.jessentials.jversionsanity.range.interval.IntegerIntervalVersionRange;
+import com.justdavis.jessentials.jversionsanity.range.interval.IntervalVersionRange;
+import com.justdavis.jessentials.jversionsanity.range.interval.UnionVersionRange;
+
+/**
+ * Unit tests for {@link VersionRangeSqlTranslator} and
+ * {@link SqlVersionPredicate}.
+ */
+public final class VersionRangeSqlTranslatorTest {
+	private static final VersionRangeSqlTranslator<IntegerVersion> TRANSLATOR =
+			new VersionRangeSqlTranslator<IntegerVersion>("v.version_key");
+
+	/**
+	 * @param predicate
+	 *            the {@link SqlVersionPredicate} to check
+	 * @param expectedSql
+	 *            the expected value of {@link SqlVersionPredicate#getSql()}
+	 * @param expectedParameters
+	 *            the {@link IntegerVersion} values whose sort keys should be
+	 *            the {@link SqlVersionPredicate}'s parameters
+	 */
+	private static void assertPredicate(SqlVersionPredicate predicate, String expectedSql,
+			int... expectedParameters) {
+		Assert.assertEquals(expectedSql, predicate.getSql());
+		Assert.assertEquals(expectedParameters.length, predicate.getParameterCount());
+		for (int i = 0; i < expectedParameters.length; i++)
+			Assert.assertArrayEquals(new IntegerVersion(expectedParameters[i]).toSortKey(), predicate.getParameter(i));
+	}
+
+	/**
+	 * @param rangeString
+	 *            the {@link String} representation of an
+	 *            {@link IntervalVersionRange} to be parsed
+	 * @return the {@link SqlVersionPredicate} for the specified range
+	 */
+	private static SqlVersionPredicate translate(String rangeString) {
+		return TRANSLATOR.translate(new IntervalVersionRange<IntegerVersion>(new IntegerVersionParser(), rangeString));
+	}
+
+	/**
+	 * Tests {@link VersionRangeSqlTranslator#translate(VersionRange)} with
+	 * {@link IntervalVersionRange}s.
+	 */
+	@Test
+	public void translateIntervals() {
+		assertPredicate(translate("[1,5)"), "(v.version_key >= ? AND v.version_key < ?)", 1, 5);
+		assertPredicate(translate("(1,5]"), "(v.version_key > ? AND v.version_key <= ?)", 1, 5);
+		assertPredicate(translate("3"), "v.version_key >= ?", 3);
+		assertPredicate(translate("(3,]"), "v.version_key > ?", 3);
+		assertPredicate(translate("[,7)"), "v.version_key < ?", 7);
+		assertPredicate(translate("[4]"), "v.version_key = ?", 4);
+		assertPredicate(TRANSLATOR.translate(new IntegerIntervalVersionRange("[2,3]")),
+				"(v.version_key >= ? AND v.version_key <= ?)", 2, 3);
+	}
+
+	/**
+	 * Tests {@link VersionRangeSqlTranslator#translate(VersionRange)} with
+	 * {@link UnionVersionRange}s.
+	 */
+	@Test
+	public void translateUnions() {
+		UnionVersionRange<IntegerVersion> union = new UnionVersionRange<IntegerVersion>(new IntegerVersionParser(),
+				"[,2),[4],(6,9],[12,]");
+		assertPredicate(TRANSLATOR.translate(union),
+				"(v.version_key < ? OR v.version_key = ? OR (v.version_key > ? AND v.version_key <= ?)"
+						+ " OR v.version_key >= ?)",
+				2, 4, 6, 9, 12);
+		UnionVersionRange<IntegerVersion> empty = union.intersect(union.complement());
+		assertPredicate(TRANSLATOR.translate(empty), "1 = 0");
+		assertPredicate(TRANSLATOR.translate(empty.complement()), "v.version_key IS NOT NULL");
+	}
+
+	/**
+	 * Verifies that {@link VersionRangeSqlTranslator} rejects unsafe column
+	 * names and unsupported {@link VersionRange} implementations.
+	 */
+	@Test
+	public void rejectsInvalidInput() {
+		for (String keyColumn : new String[] { "", "1key", "key; DROP TABLE v", "a.b.c", "\"key\"" }) {
+			try {
+				new VersionRangeSqlTranslator<IntegerVersion>(keyColumn);
+				Assert.fail();
+			} catch (IllegalArgumentException e) {
+				// Expected.
+			}
+		}
+
+		try {
+			TRANSLATOR.translate(new VersionRange<IntegerVersion>() {
+				@Override
+				public boolean matches(IntegerVersion version) {
+					return true;
+				}
+			});
+			Assert.fail();
+		} catch (IllegalArgumentException e) {
+			// Expected.
+		}
+	}
+}